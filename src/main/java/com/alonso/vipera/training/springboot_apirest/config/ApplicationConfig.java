@@ -1,5 +1,7 @@
 package com.alonso.vipera.training.springboot_apirest.config;
 
+import java.util.Map;
+
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -9,8 +11,11 @@ import org.springframework.security.authentication.dao.DaoAuthenticationProvider
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import com.alonso.vipera.training.springboot_apirest.service.PasswordCostCalibrator;
+
 /**
  * Configuración de seguridad de la aplicación.
  * Define los beans necesarios para la autenticación y el cifrado de
@@ -20,29 +25,40 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @RequiredArgsConstructor
 public class ApplicationConfig {
 
+    private static final String BCRYPT_ID = "bcrypt";
+
     private final UserDetailsService userDetailsService;
 
     /**
      * Proveedor de autenticación que utiliza el UserDetailsService y el
      * PasswordEncoder para encriptar la contraseña.
      * 
+     * @param passwordEncoder PasswordEncoder de la aplicación
      * @return AuthenticationProvider
      */
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
     /**
-     * Bean para el cifrado de contraseñas utilizando BCrypt.
+     * Bean para el cifrado de contraseñas.
+     * Los hashes se guardan con el identificador del algoritmo como prefijo
+     * ({bcrypt}...) y con el coste calibrado por {@link PasswordCostCalibrator}.
+     * Los hashes BCrypt antiguos, sin prefijo, se siguen verificando y se
+     * actualizan en el siguiente inicio de sesión.
      * 
+     * @param calibrator Calibrador del coste BCrypt
      * @return PasswordEncoder
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordCostCalibrator calibrator) {
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT_ID,
+                Map.of(BCRYPT_ID, new CalibratedBCryptPasswordEncoder(calibrator)));
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return encoder;
     }
 
     /**
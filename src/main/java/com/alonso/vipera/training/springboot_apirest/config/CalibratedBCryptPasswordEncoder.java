@@ -0,0 +1,54 @@
+package com.alonso.vipera.training.springboot_apirest.config;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.alonso.vipera.training.springboot_apirest.service.PasswordCostCalibrator;
+
+/**
+ * Codificador BCrypt cuyo coste se obtiene en cada operación del
+ * {@link PasswordCostCalibrator}, de modo que una recalibración se aplica a los
+ * nuevos hashes sin reiniciar la aplicación.
+ *
+ * Considera que un hash debe actualizarse solo cuando su coste es menor que el
+ * coste objetivo vigente (y nunca menor que el coste mínimo configurado). Un
+ * hash con un coste mayor no se regenera: bajar el coste tras una calibración
+ * en un nodo más lento debilitaría contraseñas ya almacenadas.
+ */
+public class CalibratedBCryptPasswordEncoder implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2(a|y|b)?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+    private final PasswordCostCalibrator calibrator;
+    private final BCryptPasswordEncoder verifier = new BCryptPasswordEncoder();
+
+    public CalibratedBCryptPasswordEncoder(PasswordCostCalibrator calibrator) {
+        this.calibrator = calibrator;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return new BCryptPasswordEncoder(calibrator.getTargetCost()).encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return verifier.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        if (!matcher.matches()) {
+            return true;
+        }
+        int requiredCost = Math.max(calibrator.getTargetCost(), calibrator.getMinCost());
+        return Integer.parseInt(matcher.group(2)) < requiredCost;
+    }
+}
@@ -2,7 +2,9 @@ package com.alonso.vipera.training.springboot_apirest.config;
 
 import java.io.IOException;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -11,7 +13,11 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.alonso.vipera.training.springboot_apirest.model.user.UserPrincipal;
+import com.alonso.vipera.training.springboot_apirest.model.user.VerifiedJwt;
 import com.alonso.vipera.training.springboot_apirest.service.JwtService;
+import com.alonso.vipera.training.springboot_apirest.service.TokenRevocationService;
+import com.alonso.vipera.training.springboot_apirest.service.TokenVersionRegistry;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -24,6 +30,18 @@ import lombok.RequiredArgsConstructor;
  * Intercepta las solicitudes entrantes, extrae el token JWT del encabezado
  * Authorization, valida el token y establece la autenticación en el contexto de
  * seguridad si el token es válido.
+ *
+ * Con jwt.stateless-auth activo, los tokens que incluyen claims de identidad
+ * (ID, rol y versión) se autentican sin consultar la base de datos. En ambos
+ * modos se rechazan los tokens cuya versión haya sido invalidada y los tokens
+ * revocados individualmente (por jti), sin E/S por petición.
+ *
+ * Con jwt.stateless-auth desactivado, el usuario se carga en cada petición y
+ * el token se valida contra él, de modo que un usuario borrado o desactivado
+ * deja de autenticarse en cuanto cambia la base de datos.
+ *
+ * En las rutas públicas de catálogo y documentación el filtro no se ejecuta,
+ * aunque la petición incluya el token.
  */
 @Component
 @RequiredArgsConstructor
@@ -31,10 +49,25 @@ public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final TokenRevocationService tokenRevocationService;
+
+    @Value("${jwt.stateless-auth:false}")
+    private boolean statelessAuth;
+
+    /**
+     * Omite el filtro en las rutas públicas que no usan la identidad del
+     * usuario, evitando verificar el token en las llamadas de mayor volumen.
+     */
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return PublicRoutes.isAnonymous(request);
+    }
 
     /**
      * Procesa cada solicitud HTTP para extraer y validar el token JWT.
      * Si el token es válido, establece la autenticación en el contexto de seguridad.
+     * El token se parsea y verifica una sola vez por petición.
      */
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
@@ -47,20 +80,26 @@ public class JwtFilter extends OncePerRequestFilter {
             return;
         }
 
-        String username = null;
-        String jwt = null;
-
         try {
-            jwt = authHeader.substring(7);
-            username = jwtService.extractUsername(jwt);
-
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities());
+            String jwt = authHeader.substring(7);
+            VerifiedJwt verifiedJwt = jwtService.verify(jwt);
+
+            if (verifiedJwt.subject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                if (tokenRevocationService.isRevoked(verifiedJwt.tokenId())) {
+                    logger.debug("Token JWT revocado con jti: " + verifiedJwt.tokenId());
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+
+                if (verifiedJwt.hasIdentityClaims()
+                        && !tokenVersionRegistry.isCurrent(verifiedJwt.userId(), verifiedJwt.tokenVersion())) {
+                    logger.debug("Token JWT revocado para el usuario con ID: " + verifiedJwt.userId());
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+
+                AbstractAuthenticationToken authToken = authenticate(verifiedJwt);
+                if (authToken != null) {
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
@@ -70,4 +109,25 @@ public class JwtFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Construye la autenticación de un token verificado y no revocado.
+     * Con jwt.stateless-auth activo, los tokens con claims de identidad no
+     * consultan la base de datos; en otro caso se carga el usuario y se
+     * comprueba que el token le corresponde.
+     *
+     * @param verifiedJwt Claims verificados del token
+     * @return Autenticación, o null si el token no corresponde al usuario
+     */
+    private AbstractAuthenticationToken authenticate(VerifiedJwt verifiedJwt) {
+        if (statelessAuth && verifiedJwt.hasIdentityClaims()) {
+            return authenticated(UserPrincipal.from(verifiedJwt));
+        }
+        UserDetails userDetails = userDetailsService.loadUserByUsername(verifiedJwt.subject());
+        return jwtService.isTokenValid(verifiedJwt, userDetails) ? authenticated(userDetails) : null;
+    }
+
+    private static AbstractAuthenticationToken authenticated(UserDetails userDetails) {
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
 }
@@ -0,0 +1,74 @@
+package com.alonso.vipera.training.springboot_apirest.config;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Rutas públicas de la API, compartidas entre {@link SecurityConfig} y
+ * {@link JwtFilter}.
+ */
+final class PublicRoutes {
+
+    /**
+     * Rutas públicas que nunca usan la identidad del usuario: catálogo y
+     * documentación. En ellas no se procesa el token JWT aunque se envíe.
+     */
+    static final String[] ANONYMOUS = {
+            "/swagger-ui.html",
+            "/swagger-ui/**",
+            "/v3/api-docs/**",
+            "/v3/api-docs.yaml",
+            "/swagger-resources/**",
+            "/webjars/**",
+            "/configuration/ui",
+            "/configuration/security",
+            "/api/dog-breeds",
+            "/api/dog-breeds/save-all",
+            "/api/cat-breeds",
+            "/api/cat-breeds/save-all",
+            "/breeds/**",
+            "/species/**",
+            "/prueba/**",
+            "/auth/jwks"
+    };
+
+    /**
+     * Todas las rutas sin autenticación obligatoria. Algunos endpoints de
+     * /auth/** comprueban el rol con @PreAuthorize, por lo que en ellos sí se
+     * procesa el token.
+     */
+    static final String[] PERMIT_ALL = Stream.concat(Stream.of("/auth/**"), Arrays.stream(ANONYMOUS))
+            .toArray(String[]::new);
+
+    private static final List<PathPattern> ANONYMOUS_PATTERNS = Arrays.stream(ANONYMOUS)
+            .map(PathPatternParser.defaultInstance::parse)
+            .toList();
+
+    private PublicRoutes() {
+    }
+
+    /**
+     * Indica si la petición va a una ruta pública que no usa la identidad del
+     * usuario.
+     *
+     * @param request Petición HTTP
+     * @return true si la ruta está en {@link #ANONYMOUS}
+     */
+    static boolean isAnonymous(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(
+                request.getRequestURI().substring(request.getContextPath().length()));
+        for (PathPattern pattern : ANONYMOUS_PATTERNS) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -47,24 +47,11 @@ public class SecurityConfig {
                                                 .authenticationEntryPoint(customAuthenticationEntryPoint)
                                                 .accessDeniedHandler(customAccessDeniedHandler))
                                 .authorizeHttpRequests(auth -> auth
-                                                .requestMatchers("/auth/**",
-                                                                "/swagger-ui.html",
-                                                                "/swagger-ui/**",
-                                                                "/v3/api-docs/**",
-                                                                "/v3/api-docs.yaml",
-                                                                "/swagger-resources/**",
-                                                                "/webjars/**",
-                                                                "/configuration/ui",
-                                                                "/configuration/security",
-                                                                "/api/dog-breeds",
-                                                                "/api/dog-breeds/save-all",
-                                                                "/api/cat-breeds",
-                                                                "/api/cat-breeds/save-all",
-                                                                "/breeds/**",
-                                                                "/species/**",
-                                                                "/prueba/**")
+                                                .requestMatchers(PublicRoutes.PERMIT_ALL)
                                                 .permitAll()
                                                 .requestMatchers("/users/**").hasAnyRole("USER", "VET", "ADMIN")
+                                                .requestMatchers("/admin/**").hasRole("ADMIN")
+                                                .requestMatchers("/actuator/metrics/**").hasRole("ADMIN")
                                                 .anyRequest().authenticated()
                                 )
                                 .sessionManagement(session -> session
@@ -0,0 +1,170 @@
+package com.alonso.vipera.training.springboot_apirest.controller;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.alonso.vipera.training.springboot_apirest.exception.InvalidTokenIdException;
+import com.alonso.vipera.training.springboot_apirest.model.cache.dto.out.CacheOutDTO;
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.PasswordCalibrationOutDTO;
+import com.alonso.vipera.training.springboot_apirest.service.CacheAdminService;
+import com.alonso.vipera.training.springboot_apirest.service.JwtService;
+import com.alonso.vipera.training.springboot_apirest.service.PasswordCostCalibrator;
+import com.alonso.vipera.training.springboot_apirest.service.TokenRevocationService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Controlador REST para operaciones de administración.
+ * Todos los endpoints requieren el rol ADMIN.
+ */
+@RestController
+@RequestMapping("/admin")
+@Tag(name = "Admin", description = "API endpoints para operaciones de administración")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private static final Pattern JTI_PATTERN = Pattern
+            .compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+    private final PasswordCostCalibrator passwordCostCalibrator;
+    private final TokenRevocationService tokenRevocationService;
+    private final JwtService jwtService;
+    private final CacheAdminService cacheAdminService;
+
+    // GET calls - Consultas de administración
+
+    /**
+     * Endpoint para consultar el estado de todas las cachés de este nodo.
+     *
+     * @return ResponseEntity con el estado y las estadísticas de cada caché.
+     */
+    @Operation(summary = "Listar cachés", description = "Devuelve el tamaño y las estadísticas (aciertos, fallos, expulsiones y tiempo medio de carga) de cada caché de este nodo: la de principales (principals) y las regiones de la caché de segundo nivel de Hibernate.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cachés obtenidas con éxito", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = CacheOutDTO.class)))),
+            @ApiResponse(responseCode = "403", description = "Acceso denegado. Se necesita el rol ADMIN", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Token no válido o expirado", content = @Content)
+    })
+    @GetMapping("/caches")
+    public ResponseEntity<List<CacheOutDTO>> getCaches() {
+        return ResponseEntity.ok(cacheAdminService.getCaches());
+    }
+
+    /**
+     * Endpoint para consultar el estado de una caché de este nodo.
+     *
+     * @param name Nombre de la caché.
+     * @return ResponseEntity con el estado y las estadísticas de la caché.
+     */
+    @Operation(summary = "Consultar caché", description = "Devuelve el tamaño y las estadísticas de una caché de este nodo.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Caché obtenida con éxito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CacheOutDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Caché no encontrada", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Acceso denegado. Se necesita el rol ADMIN", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Token no válido o expirado", content = @Content)
+    })
+    @GetMapping("/caches/{name}")
+    public ResponseEntity<CacheOutDTO> getCache(@PathVariable String name) {
+        return ResponseEntity.ok(cacheAdminService.getCache(name));
+    }
+
+    // POST calls - Operaciones de administración
+
+    /**
+     * Endpoint para recalibrar el coste del hash de contraseñas en este nodo.
+     *
+     * @return ResponseEntity con el resultado de la calibración.
+     */
+    @Operation(summary = "Calibrar coste de hash", description = "Mide el tiempo de hash en este nodo y ajusta el coste BCrypt al presupuesto de latencia configurado. Los usuarios se actualizan al nuevo coste en su siguiente inicio de sesión.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Calibración realizada con éxito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PasswordCalibrationOutDTO.class))),
+            @ApiResponse(responseCode = "403", description = "Acceso denegado. Se necesita el rol ADMIN", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Token no válido o expirado", content = @Content)
+    })
+    @PostMapping("/password-encoding/calibrate")
+    public ResponseEntity<PasswordCalibrationOutDTO> calibratePasswordEncoding() {
+        return ResponseEntity.ok(passwordCostCalibrator.calibrate());
+    }
+
+    /**
+     * Endpoint para revocar un token de acceso concreto por su jti.
+     * La revocación se conserva durante la vida máxima de un token.
+     *
+     * @param jti Identificador del token a revocar.
+     * @return ResponseEntity vacío.
+     */
+    @Operation(summary = "Revocar token", description = "Revoca un token de acceso por su identificador (jti). El token deja de aceptarse en todas las instancias en el siguiente refresco de la lista de revocados.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Token revocado con éxito", content = @Content),
+            @ApiResponse(responseCode = "400", description = "El jti no es un UUID", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Acceso denegado. Se necesita el rol ADMIN", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Token no válido o expirado", content = @Content)
+    })
+    @PostMapping("/tokens/{jti}/revoke")
+    public ResponseEntity<Void> revokeToken(@PathVariable String jti) {
+        if (!JTI_PATTERN.matcher(jti).matches()) {
+            throw new InvalidTokenIdException();
+        }
+        tokenRevocationService.revoke(jti, null,
+                LocalDateTime.now().plus(Duration.ofMillis(jwtService.getExpirationMillis())));
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Endpoint para cambiar la clave con la que se firman los tokens en este nodo.
+     *
+     * @param kid Identificador de la clave a activar.
+     * @return ResponseEntity vacío.
+     */
+    @Operation(summary = "Activar clave de firma", description = "Firma los tokens nuevos de este nodo con la clave indicada. Los tokens firmados con las demás claves del conjunto siguen siendo válidos. El cambio solo afecta a este nodo y se pierde al reiniciar: la clave activa de todas las instancias es jwt.keys.active-kid.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Clave activada con éxito", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Clave no encontrada o sin parte privada", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Acceso denegado. Se necesita el rol ADMIN", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Token no válido o expirado", content = @Content)
+    })
+    @PostMapping("/jwt/keys/{kid}/activate")
+    public ResponseEntity<Void> activateSigningKey(@PathVariable String kid) {
+        jwtService.activateKey(kid);
+        return ResponseEntity.noContent().build();
+    }
+
+    // DELETE calls - Operaciones de administración
+
+    /**
+     * Endpoint para vaciar una caché de este nodo.
+     *
+     * @param name Nombre de la caché.
+     * @return ResponseEntity vacío.
+     */
+    @Operation(summary = "Vaciar caché", description = "Elimina todas las entradas de una caché de este nodo. Las siguientes lecturas se cargan de nuevo desde la base de datos. Vaciar la región de marcas de tiempo de Hibernate vacía también los resultados de consultas.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Caché vaciada con éxito", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Caché no encontrada", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Acceso denegado. Se necesita el rol ADMIN", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Token no válido o expirado", content = @Content)
+    })
+    @DeleteMapping("/caches/{name}")
+    public ResponseEntity<Void> clearCache(@PathVariable String name) {
+        cacheAdminService.clear(name);
+        return ResponseEntity.noContent().build();
+    }
+}
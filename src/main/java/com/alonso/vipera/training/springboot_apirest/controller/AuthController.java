@@ -1,11 +1,15 @@
 package com.alonso.vipera.training.springboot_apirest.controller;
 
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -14,10 +18,15 @@ import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.ActivateA
 
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.LoginRequestDTO;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.OwnerCreationRequestDTO;
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.RefreshTokenRequestDTO;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.VetRegisterRequestDTO;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.AuthResponseDTO;
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.OwnerOnboardingOutDTO;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.UserOutDTO;
 import com.alonso.vipera.training.springboot_apirest.service.AuthService;
+import com.alonso.vipera.training.springboot_apirest.service.JwtService;
+import com.alonso.vipera.training.springboot_apirest.service.LoginThrottleService;
+import com.alonso.vipera.training.springboot_apirest.service.OwnerOnboardingService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -25,6 +34,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -41,6 +51,9 @@ import lombok.extern.slf4j.Slf4j;
 public class AuthController {
 
     private final AuthService authService;
+    private final OwnerOnboardingService ownerOnboardingService;
+    private final LoginThrottleService loginThrottleService;
+    private final JwtService jwtService;
 
     /**
      * Endpoint para registrar un nuevo veterinario.
@@ -83,20 +96,44 @@ public class AuthController {
         return ResponseEntity.ok(userOutDto);
     }
 
+    /**
+     * Endpoint para dar de alta varios propietarios en una sola petición.
+     *
+     * @param owners Lista de propietarios a registrar.
+     * @return ResponseEntity con el resultado del alta y los errores por fila.
+     */
+    @Operation(summary = "Alta masiva de usuarios", description = "Da de alta una lista de propietarios en modo inactivo y les envía el correo de activación en segundo plano. Las filas no válidas o ya registradas no se dan de alta y se devuelven con su motivo.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Alta realizada. Puede incluir errores por fila", content = @Content(mediaType = "application/json", schema = @Schema(implementation = OwnerOnboardingOutDTO.class))),
+            @ApiResponse(responseCode = "403", description = "Acceso denegado. Se necesita el rol VET o ADMIN", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Token no válido o expirado", content = @Content)
+    })
+    @PreAuthorize("hasRole('VET') or hasRole('ADMIN')")
+    @PostMapping("/register/users")
+    public ResponseEntity<OwnerOnboardingOutDTO> registerUsers(@RequestBody List<OwnerCreationRequestDTO> owners) {
+        log.info("Iniciando alta masiva de {} usuarios", owners.size());
+        return ResponseEntity.ok(ownerOnboardingService.onboard(owners));
+    }
+
     /**
      * Endpoint para loggear un veterinario existente.
      *
      * @param loginRequestDto DTO que contiene las credenciales del veterinario.
+     * @param request         Petición HTTP, de la que se obtiene la IP del cliente.
      * @return ResponseEntity con el token de autenticación y detalles del veterinario loggeado.
      */
     @Operation(summary = "Login de Veterinario", description = "Permite un veterinario loggearse en el sistema y obtener un token de autenticación.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Veterinario loggeado con éxito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AuthResponseDTO.class))),
-            @ApiResponse(responseCode = "401", description = "Credenciales de entrada inválidas", content = @Content)
+            @ApiResponse(responseCode = "401", description = "Credenciales de entrada inválidas", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Demasiados intentos de inicio de sesión", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Servicio de autenticación saturado", content = @Content)
     })
     @PostMapping("/login/vet")
-    public ResponseEntity<AuthResponseDTO> loginVet(@Valid @RequestBody LoginRequestDTO loginRequestDto) {
+    public ResponseEntity<AuthResponseDTO> loginVet(@Valid @RequestBody LoginRequestDTO loginRequestDto,
+            HttpServletRequest request) {
         log.info("Iniciando proceso de login para el veterinario con email: {}", loginRequestDto.getEmail());
+        loginThrottleService.checkLoginAllowed(loginRequestDto.getEmail(), request.getRemoteAddr());
         AuthResponseDTO authResponseDto = authService.loginWithVet(loginRequestDto);
         return ResponseEntity.ok(authResponseDto);
     }
@@ -105,20 +142,66 @@ public class AuthController {
      * Endpoint para loggear un dueño existente.
      *
      * @param loginRequestDto DTO que contiene las credenciales del dueño.
+     * @param request         Petición HTTP, de la que se obtiene la IP del cliente.
      * @return ResponseEntity con el token de autenticación y detalles del dueño loggeado.
      */
     @Operation(summary = "Login de Dueño", description = "Permite un dueño loggearse en el sistema y obtener un token de autenticación.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Dueño loggeado con éxito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AuthResponseDTO.class))),
-            @ApiResponse(responseCode = "401", description = "Credenciales de entrada inválidas", content = @Content)
+            @ApiResponse(responseCode = "401", description = "Credenciales de entrada inválidas", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Demasiados intentos de inicio de sesión", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Servicio de autenticación saturado", content = @Content)
     })
     @PostMapping("/login/user")
-    public ResponseEntity<AuthResponseDTO> loginUser(@Valid @RequestBody LoginRequestDTO loginRequestDto) {
+    public ResponseEntity<AuthResponseDTO> loginUser(@Valid @RequestBody LoginRequestDTO loginRequestDto,
+            HttpServletRequest request) {
         log.info("Iniciando proceso de login para el dueño con email: {}", loginRequestDto.getEmail());
+        loginThrottleService.checkLoginAllowed(loginRequestDto.getEmail(), request.getRemoteAddr());
         AuthResponseDTO authResponseDto = authService.loginWithUser(loginRequestDto);
         return ResponseEntity.ok(authResponseDto);
     }
 
+    /**
+     * Endpoint para renovar la sesión con un refresh token.
+     *
+     * @param refreshTokenRequestDTO DTO que contiene el refresh token.
+     * @return ResponseEntity con el nuevo token de autenticación, el nuevo refresh token y detalles del usuario.
+     */
+    @Operation(summary = "Renovación de Sesión", description = "Devuelve un nuevo token JWT y un nuevo refresh token sin volver a introducir la contraseña. El refresh token presentado queda invalidado; reutilizarlo revoca toda la sesión.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sesión renovada con éxito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AuthResponseDTO.class))),
+            @ApiResponse(responseCode = "401", description = "Refresh token inválido, expirado o ya usado", content = @Content)
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponseDTO> refresh(@Valid @RequestBody RefreshTokenRequestDTO refreshTokenRequestDTO) {
+        log.info("Iniciando proceso de renovación de sesión.");
+        AuthResponseDTO authResponseDto = authService.refresh(refreshTokenRequestDTO);
+        return ResponseEntity.ok(authResponseDto);
+    }
+
+    /**
+     * Endpoint para cerrar la sesión.
+     *
+     * @param authorization          Cabecera Authorization con el token de acceso (opcional).
+     * @param refreshTokenRequestDTO DTO con el refresh token de la sesión (opcional).
+     * @return ResponseEntity vacío.
+     */
+    @Operation(summary = "Cierre de Sesión", description = "Revoca el token de acceso enviado en la cabecera Authorization y, si se incluye, el refresh token de la sesión.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Sesión cerrada con éxito", content = @Content)
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequestDTO refreshTokenRequestDTO) {
+        log.info("Iniciando proceso de cierre de sesión.");
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7)
+                : null;
+        String refreshToken = refreshTokenRequestDTO != null ? refreshTokenRequestDTO.refreshToken() : null;
+        authService.logout(accessToken, refreshToken);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Endpoint para activar una cuenta de usuario.
      *
@@ -151,4 +234,18 @@ public class AuthController {
         authService.verifyToken(token);
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * Endpoint que publica las claves públicas de verificación de tokens.
+     *
+     * @return ResponseEntity con el documento JWKS.
+     */
+    @Operation(summary = "Claves públicas (JWKS)", description = "Devuelve las claves públicas (ES256) con las que otros servicios pueden verificar los tokens localmente. Las claves HMAC no se publican.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Documento JWKS", content = @Content(mediaType = "application/json"))
+    })
+    @GetMapping("/jwks")
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        return ResponseEntity.ok(jwtService.getPublicJwks());
+    }
 }
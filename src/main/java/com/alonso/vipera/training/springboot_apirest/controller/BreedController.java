@@ -2,14 +2,18 @@ package com.alonso.vipera.training.springboot_apirest.controller;
 
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.BreedOutDTO;
 import com.alonso.vipera.training.springboot_apirest.service.BreedService;
+import com.alonso.vipera.training.springboot_apirest.service.CatalogResponseCache;
+import com.alonso.vipera.training.springboot_apirest.service.SuggestIndex;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -30,6 +34,7 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class BreedController {
 
+    private final CatalogResponseCache catalogResponseCache;
     private final BreedService breedService;
 
     // GET calls - Obtener todas las razas
@@ -37,7 +42,13 @@ public class BreedController {
     /**
      * Endpoint para obtener todas las razas de mascotas.
      *
-     * @return ResponseEntity con la lista de todas las razas.
+     * El JSON se sirve ya serializado (y comprimido con gzip si el cliente lo
+     * acepta) desde {@link CatalogResponseCache}, con un ETag fuerte: si
+     * coincide con If-None-Match se responde 304 sin cuerpo.
+     *
+     * @param specieId       ID de la especie por la que filtrar (opcional).
+     * @param acceptEncoding Cabecera Accept-Encoding de la petición.
+     * @return ResponseEntity con la lista de razas serializada.
      */
     @Operation(
         summary = "Obtener razas",
@@ -47,17 +58,46 @@ public class BreedController {
         @ApiResponse(responseCode = "200", description = "Lista de razas obtenida con éxito",
             content = @Content(mediaType = "application/json",
             array = @ArraySchema(schema = @Schema(implementation = BreedOutDTO.class)))),
+        @ApiResponse(responseCode = "304", description = "La lista no ha cambiado desde el ETag indicado"),
         @ApiResponse(responseCode = "401", description = "Token no válido o expirado"),
         @ApiResponse(responseCode = "403", description = "Acceso denegado")
     })
     @GetMapping
-    public ResponseEntity<List<BreedOutDTO>> getBreeds(
-            @RequestParam(name = "specie_id", required = false) Long specieId
+    public ResponseEntity<byte[]> getBreeds(
+            @RequestParam(name = "specie_id", required = false) Long specieId,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        return catalogResponseCache.getBreeds(specieId).toResponse(acceptEncoding);
+    }
+
+    /**
+     * Endpoint para autocompletar razas mientras el usuario escribe.
+     *
+     * @param query    Texto escrito por el usuario.
+     * @param specieId ID de la especie por la que filtrar (opcional).
+     * @param limit    Número máximo de sugerencias (opcional).
+     * @return ResponseEntity con las razas sugeridas.
+     */
+    @Operation(
+        summary = "Sugerir razas",
+        description = "Devuelve las razas cuyo nombre, o alguna de sus palabras, empieza por el texto indicado, "
+            + "sin distinguir mayúsculas ni tildes. Las razas con más mascotas aparecen primero. "
+            + "Máximo " + SuggestIndex.MAX_LIMIT + " resultados."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Sugerencias obtenidas con éxito",
+            content = @Content(mediaType = "application/json",
+            array = @ArraySchema(schema = @Schema(implementation = BreedOutDTO.class)))),
+        @ApiResponse(responseCode = "401", description = "Token no válido o expirado"),
+        @ApiResponse(responseCode = "403", description = "Acceso denegado")
+    })
+    @GetMapping("/suggest")
+    public ResponseEntity<List<BreedOutDTO>> suggestBreeds(
+            @RequestParam(name = "q") String query,
+            @RequestParam(name = "specie_id", required = false) Long specieId,
+            @RequestParam(name = "limit", required = false) Integer limit
     ) {
-        if (specieId != null) {
-            return ResponseEntity.ok(breedService.findBySpecieId(specieId));
-        }
-        return ResponseEntity.ok(breedService.getAllBreeds());
+        return ResponseEntity.ok(breedService.suggest(query, specieId, limit));
     }
 
 }
@@ -5,6 +5,7 @@ import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -18,10 +19,14 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
+import com.alonso.vipera.training.springboot_apirest.model.CursorPage;
 import com.alonso.vipera.training.springboot_apirest.model.pet.dto.in.PetInDTO;
 import com.alonso.vipera.training.springboot_apirest.model.pet.dto.in.PetUpdateDTO;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.PetImportOutDTO;
 import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.PetOutDTO;
+import com.alonso.vipera.training.springboot_apirest.service.PetImportService;
 import com.alonso.vipera.training.springboot_apirest.service.PetService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -45,6 +50,7 @@ import lombok.RequiredArgsConstructor;
 public class PetController {
 
     private final PetService petService;
+    private final PetImportService petImportService;
 
     // GET calls
 
@@ -77,9 +83,10 @@ public class PetController {
      * @return ResponseEntity con la lista de mascotas que coinciden con los
      *         filtros.
      */
-    @Operation(summary = "Buscar mascotas con filtros", description = "Devuelve una lista de mascotas que coinciden con los parámetros de búsqueda proporcionados. Si no se proporcionan parámetros, devuelve todas las mascotas.")
+    @Operation(summary = "Buscar mascotas con filtros", description = "Devuelve una lista de mascotas que coinciden con los parámetros de búsqueda proporcionados. Si no se proporcionan parámetros, devuelve todas las mascotas. El nombre se busca por prefijo; para buscarlo en cualquier posición, anteponer '*'. Solo se puede ordenar por id, name y createdAt.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Mascotas encontradas con éxito", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(type = "array", implementation = PetOutDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Campo de ordenación no permitido", content = @Content),
             @ApiResponse(responseCode = "403", description = "Acceso denegado. Se necesita un token válido", content = @Content),
             @ApiResponse(responseCode = "401", description = "Token no válido o expirado", content = @Content)
     })
@@ -97,6 +104,38 @@ public class PetController {
         return ResponseEntity.ok(petService.getAll(pageable));
     }
 
+    /**
+     * Endpoint para recorrer las mascotas por cursor.
+     *
+     * @param id        ID de la mascota (opcional).
+     * @param name      Nombre de la mascota (opcional).
+     * @param breed_id  ID de la raza de la mascota (opcional).
+     * @param specie_id ID de la especie de la mascota (opcional).
+     * @param sort      Ordenación: id o createdAt (opcional).
+     * @param cursor    Cursor devuelto en la página anterior (opcional).
+     * @param size      Tamaño de página (opcional).
+     * @return ResponseEntity con la página de mascotas y el cursor de la
+     *         siguiente.
+     */
+    @Operation(summary = "Recorrer mascotas por cursor", description = "Alternativa a la búsqueda paginada para listados largos: devuelve una página y un cursor opaco con el que pedir la siguiente, sin calcular el total. Se ordena por id (ascendente) o por createdAt (más recientes primero). Los filtros deben repetirse en cada petición. Tamaño de página por defecto 20, máximo 100.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de mascotas obtenida con éxito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Cursor u ordenación no válidos", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Acceso denegado. Se necesita un token válido", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Token no válido o expirado", content = @Content)
+    })
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<PetOutDTO>> scrollPets(
+            @RequestParam(required = false) Long id,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) Long breed_id,
+            @RequestParam(required = false) Long specie_id,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(petService.scrollPets(id, name, breed_id, specie_id, sort, cursor, size));
+    }
+
     // POST calls
 
     /**
@@ -109,6 +148,7 @@ public class PetController {
     @Operation(summary = "Registrar una mascota", description = "Permite registrar una mascota asociada al usuario autenticado a través de su token JWT.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Mascota registrada con éxito", content = @Content(mediaType = "application/json", schema = @Schema(type = "array", implementation = PetOutDTO.class))),
+            @ApiResponse(responseCode = "400", description = "La raza no pertenece a la especie indicada", content = @Content),
             @ApiResponse(responseCode = "403", description = "Acceso denegado. Se necesita un token válido", content = @Content),
             @ApiResponse(responseCode = "401", description = "Token no válido o expirado", content = @Content)
     })
@@ -118,6 +158,43 @@ public class PetController {
         return ResponseEntity.status(HttpStatus.OK).body(petService.save(petInDTO));
     }
 
+    /**
+     * Endpoint para importar mascotas en bloque desde una lista JSON.
+     *
+     * @param pets Lista de mascotas a importar.
+     * @return ResponseEntity con el resultado de la importación.
+     */
+    @Operation(summary = "Importar mascotas (JSON)", description = "Importa una lista de mascotas de cualquier dueño. Las filas no válidas no se importan y se devuelven con su motivo; el resto se guarda en lotes.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importación realizada. Puede incluir errores por fila", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PetImportOutDTO.class))),
+            @ApiResponse(responseCode = "403", description = "Acceso denegado. Se necesita el rol VET", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Token no válido o expirado", content = @Content)
+    })
+    @PreAuthorize("hasRole('VET')")
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PetImportOutDTO> importPets(@RequestBody List<PetInDTO> pets) {
+        return ResponseEntity.ok(petImportService.importPets(pets));
+    }
+
+    /**
+     * Endpoint para importar mascotas en bloque desde un fichero CSV.
+     *
+     * @param file Fichero CSV con cabecera.
+     * @return ResponseEntity con el resultado de la importación.
+     */
+    @Operation(summary = "Importar mascotas (CSV)", description = "Importa las mascotas de un fichero CSV en UTF-8 con cabecera name,birthDate,specieId,breedId,weight,dietInfo,email (dietInfo opcional, columnas en cualquier orden). Las filas no válidas no se importan y se devuelven con su motivo.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importación realizada. Puede incluir errores por fila", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PetImportOutDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Fichero CSV no válido o sin las columnas obligatorias", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Acceso denegado. Se necesita el rol VET", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Token no válido o expirado", content = @Content)
+    })
+    @PreAuthorize("hasRole('VET')")
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<PetImportOutDTO> importPetsCsv(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(petImportService.importCsv(file));
+    }
+
     // DELETE calls
 
     /**
@@ -154,7 +231,9 @@ public class PetController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Mascota actualizada con éxito", content = @Content(mediaType = "application/json", schema = @Schema(type = "array", implementation = PetOutDTO.class))),
             @ApiResponse(responseCode = "403", description = "Acceso denegado. Se necesita un token válido", content = @Content),
-            @ApiResponse(responseCode = "401", description = "Token no válido o expirado", content = @Content)
+            @ApiResponse(responseCode = "401", description = "Token no válido o expirado", content = @Content),
+            @ApiResponse(responseCode = "409", description = "La mascota ha sido modificada por otra petición", content = @Content),
+            @ApiResponse(responseCode = "428", description = "No se ha indicado la versión de la mascota", content = @Content)
     })
     @PatchMapping("/{id}")
     public ResponseEntity<PetOutDTO> updatePet(@PathVariable Long id, @Valid @RequestBody PetUpdateDTO petUpdateDTO,
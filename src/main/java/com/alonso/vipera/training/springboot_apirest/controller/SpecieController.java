@@ -2,14 +2,19 @@ package com.alonso.vipera.training.springboot_apirest.controller;
 
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.SpecieOutDTO;
+import com.alonso.vipera.training.springboot_apirest.service.CatalogResponseCache;
 import com.alonso.vipera.training.springboot_apirest.service.SpecieService;
+import com.alonso.vipera.training.springboot_apirest.service.SuggestIndex;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -30,6 +35,7 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class SpecieController {
 
+    private final CatalogResponseCache catalogResponseCache;
     private final SpecieService specieService;
 
     // GET calls - Obtener todas las especies
@@ -37,16 +43,43 @@ public class SpecieController {
     /**
      * Endpoint para obtener todas las especies de mascotas.
      *
-     * @return ResponseEntity con la lista de todas las especies.
+     * El JSON se sirve ya serializado (y comprimido con gzip si el cliente lo
+     * acepta) desde {@link CatalogResponseCache}, con un ETag fuerte.
+     *
+     * @param acceptEncoding Cabecera Accept-Encoding de la petición.
+     * @return ResponseEntity con la lista de todas las especies serializada.
      */
     @Operation(summary = "Obtener todas las especies", description = "Devuelve una lista completa de todas las especies registradas en el sistema.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de especies obtenida con éxito", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = SpecieOutDTO.class)))),
+            @ApiResponse(responseCode = "304", description = "La lista no ha cambiado desde el ETag indicado", content = @Content),
             @ApiResponse(responseCode = "403", description = "Acceso denegado. Se necesita un token válido", content = @Content),
             @ApiResponse(responseCode = "401", description = "Token no válido o expirado", content = @Content)
     })
     @GetMapping
-    public ResponseEntity<List<SpecieOutDTO>> getAllSpecies() {
-        return ResponseEntity.ok(specieService.getAll());
+    public ResponseEntity<byte[]> getAllSpecies(
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return catalogResponseCache.getSpecies().toResponse(acceptEncoding);
+    }
+
+    /**
+     * Endpoint para autocompletar especies mientras el usuario escribe.
+     *
+     * @param query Texto escrito por el usuario.
+     * @param limit Número máximo de sugerencias (opcional).
+     * @return ResponseEntity con las especies sugeridas.
+     */
+    @Operation(summary = "Sugerir especies", description = "Devuelve las especies cuyo nombre, o alguna de sus palabras, empieza por el texto indicado, sin distinguir mayúsculas ni tildes. Las especies con más mascotas aparecen primero. Máximo "
+            + SuggestIndex.MAX_LIMIT + " resultados.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sugerencias obtenidas con éxito", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = SpecieOutDTO.class)))),
+            @ApiResponse(responseCode = "403", description = "Acceso denegado. Se necesita un token válido", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Token no válido o expirado", content = @Content)
+    })
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SpecieOutDTO>> suggestSpecies(
+            @RequestParam(name = "q") String query,
+            @RequestParam(name = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(specieService.suggest(query, limit));
     }
 }
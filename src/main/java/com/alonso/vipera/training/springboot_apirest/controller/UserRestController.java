@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.alonso.vipera.training.springboot_apirest.model.CursorPage;
 import com.alonso.vipera.training.springboot_apirest.model.user.Role;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.UserUpdateDTO;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.UserOutDTO;
@@ -57,9 +58,10 @@ public class UserRestController {
           * @return ResponseEntity con la lista de usuarios que coinciden con los
           *         filtros.
           */
-         @Operation(summary = "Búsqueda con filtros de los usuarios", description = "Devuelve una lista filtrada por los atributos usados, si no hay atributos devuelve una lista de todos los usuarios registrados en el sistema.")
+         @Operation(summary = "Búsqueda con filtros de los usuarios", description = "Devuelve una lista filtrada por los atributos usados, si no hay atributos devuelve una lista de todos los usuarios registrados en el sistema. El nombre y los apellidos se buscan por prefijo; para buscarlos en cualquier posición, anteponer '*'. Solo se puede ordenar por id, name, surnames, email y createdAt.")
          @ApiResponses(value = {
                          @ApiResponse(responseCode = "200", description = "Lista de usuarios obtenida con éxito", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = UserOutDTO.class)))),
+                         @ApiResponse(responseCode = "400", description = "Campo de ordenación no permitido", content = @Content),
                          @ApiResponse(responseCode = "403", description = "Acceso denegado. Se necesita un token válido", content = @Content),
                          @ApiResponse(responseCode = "401", description = "Token no válido o expirado", content = @Content)
          })
@@ -77,6 +79,40 @@ public class UserRestController {
                          return ResponseEntity.ok(userService.getAll(pageable));
          }
 
+         /**
+          * Endpoint para recorrer los usuarios por cursor.
+          *
+          * @param id       ID del usuario (opcional).
+          * @param name     Nombre (opcional).
+          * @param surnames Apellidos (opcional).
+          * @param email    Dirección de email (opcional).
+          * @param role     Rol del usuario (opcional).
+          * @param sort     Ordenación: id o createdAt (opcional).
+          * @param cursor   Cursor devuelto en la página anterior (opcional).
+          * @param size     Tamaño de página (opcional).
+          * @return ResponseEntity con la página de usuarios y el cursor de la
+          *         siguiente.
+          */
+         @Operation(summary = "Recorrer usuarios por cursor", description = "Alternativa a la búsqueda paginada para listados largos: devuelve una página y un cursor opaco con el que pedir la siguiente, sin calcular el total. Se ordena por id (ascendente) o por createdAt (más recientes primero). Los filtros deben repetirse en cada petición. Tamaño de página por defecto 20, máximo 100.")
+         @ApiResponses(value = {
+                         @ApiResponse(responseCode = "200", description = "Página de usuarios obtenida con éxito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPage.class))),
+                         @ApiResponse(responseCode = "400", description = "Cursor u ordenación no válidos", content = @Content),
+                         @ApiResponse(responseCode = "403", description = "Acceso denegado. Se necesita un token válido", content = @Content),
+                         @ApiResponse(responseCode = "401", description = "Token no válido o expirado", content = @Content)
+         })
+         @GetMapping("/scroll")
+         public ResponseEntity<CursorPage<UserOutDTO>> scrollUsers(
+                         @Parameter(description = "ID único del usuario", example = "1") @RequestParam(required = false) Long id,
+                         @Parameter(description = "Nombre", example = "alonso") @RequestParam(required = false) String name,
+                         @Parameter(description = "Apellidos", example = "moros") @RequestParam(required = false) String surnames,
+                         @Parameter(description = "Dirección de email única", example = "alonso@gmail.com") @RequestParam(required = false) String email,
+                         @Parameter(description = "Rol de usuario", example = "USER/VET") @RequestParam(required = false) Role role,
+                         @Parameter(description = "Ordenación: id o createdAt", example = "createdAt") @RequestParam(required = false) String sort,
+                         @Parameter(description = "Cursor devuelto en la página anterior") @RequestParam(required = false) String cursor,
+                         @Parameter(description = "Tamaño de página (máximo 100)", example = "20") @RequestParam(required = false) Integer size) {
+                 return ResponseEntity.ok(userService.scrollUsers(id, name, surnames, email, role, sort, cursor, size));
+         }
+
          /**
           * Endpoint para obtener un usuario por su ID.
           *
@@ -0,0 +1,18 @@
+package com.alonso.vipera.training.springboot_apirest.exception;
+
+/**
+ * Excepción lanzada cuando un usuario intenta iniciar sesión con una cuenta
+ * que todavía no ha sido activada.
+ * 
+ * Extiende RuntimeException para ser una excepción no verificada.
+ */
+public class AccountDisabledException extends RuntimeException {
+
+    /**
+     * Constructor por defecto que inicializa la excepción con un mensaje
+     */
+    public AccountDisabledException() {
+        super("La cuenta no está activada");
+    }
+
+}
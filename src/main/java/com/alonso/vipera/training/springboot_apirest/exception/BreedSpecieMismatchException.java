@@ -0,0 +1,20 @@
+package com.alonso.vipera.training.springboot_apirest.exception;
+
+/**
+ * Excepción lanzada cuando la raza indicada no pertenece a la especie indicada.
+ * 
+ * Esta excepción se utiliza al registrar mascotas cuando:
+ * - La raza existe pero está asociada a otra especie
+ * 
+ * Extiende RuntimeException para ser una excepción no verificada.
+ */
+public class BreedSpecieMismatchException extends RuntimeException {
+
+    /**
+     * Constructor por defecto que inicializa la excepción con un mensaje
+     */
+    public BreedSpecieMismatchException() {
+        super("La raza no pertenece a la especie indicada");
+    }
+
+}
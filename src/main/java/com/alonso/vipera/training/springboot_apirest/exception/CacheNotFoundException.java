@@ -0,0 +1,21 @@
+package com.alonso.vipera.training.springboot_apirest.exception;
+
+/**
+ * Excepción lanzada cuando no existe una caché con el nombre indicado.
+ * 
+ * Esta excepción se utiliza en las operaciones de administración de cachés
+ * cuando:
+ * - Se consulta o se vacía una caché que no está registrada
+ * 
+ * Extiende RuntimeException para ser una excepción no verificada.
+ */
+public class CacheNotFoundException extends RuntimeException {
+
+    /**
+     * Constructor por defecto que inicializa la excepción con un mensaje
+     */
+    public CacheNotFoundException() {
+        super("Caché no encontrada");
+    }
+
+}
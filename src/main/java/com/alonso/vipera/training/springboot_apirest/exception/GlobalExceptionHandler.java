@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -159,6 +160,58 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Maneja excepciones cuando la raza no pertenece a la especie indicada.
+     * 
+     * @param exception La excepción de raza y especie incompatibles
+     * @return ResponseEntity con error HTTP 400 (Bad Request) y detalles del error
+     */
+    @ExceptionHandler({ BreedSpecieMismatchException.class })
+    public ResponseEntity<ErrorResponse> handleBreedSpecieMismatchException(BreedSpecieMismatchException exception) {
+        log.warn("Raza y especie incompatibles: {}", exception.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                exception.getMessage(),
+                System.currentTimeMillis());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Maneja excepciones cuando un recurso ha sido modificado por otra petición,
+     * ya sea en una actualización condicional o al guardar una entidad con una
+     * versión anterior.
+     * 
+     * @param exception La excepción de conflicto de versión
+     * @return ResponseEntity con error HTTP 409 (Conflict) y detalles del error
+     */
+    @ExceptionHandler({ VersionConflictException.class, OptimisticLockingFailureException.class })
+    public ResponseEntity<ErrorResponse> handleVersionConflictException(RuntimeException exception) {
+        log.warn("Conflicto de versión: {}", exception.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                new VersionConflictException().getMessage(),
+                System.currentTimeMillis());
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Maneja excepciones cuando se intenta modificar un recurso sin indicar su
+     * versión.
+     * 
+     * @param exception La excepción de versión obligatoria
+     * @return ResponseEntity con error HTTP 428 (Precondition Required) y detalles
+     *         del error
+     */
+    @ExceptionHandler({ VersionRequiredException.class })
+    public ResponseEntity<ErrorResponse> handleVersionRequiredException(VersionRequiredException exception) {
+        log.warn("Versión no indicada: {}", exception.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.PRECONDITION_REQUIRED.value(),
+                exception.getMessage(),
+                System.currentTimeMillis());
+        return new ResponseEntity<>(error, HttpStatus.PRECONDITION_REQUIRED);
+    }
+
     /**
      * Maneja excepciones cuando no se encuentra una especie específica.
      * 
@@ -175,6 +228,22 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Maneja excepciones cuando no existe la caché indicada.
+     * 
+     * @param exception La excepción de caché no encontrada
+     * @return ResponseEntity con error HTTP 404 (Not Found) y detalles del error
+     */
+    @ExceptionHandler({ CacheNotFoundException.class })
+    public ResponseEntity<ErrorResponse> handleCacheNotFoundException(CacheNotFoundException exception) {
+        log.warn("Caché no encontrada: {}", exception.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.NOT_FOUND.value(),
+                exception.getMessage(),
+                System.currentTimeMillis());
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
     /**
      * Maneja excepciones durante el proceso de creación de usuarios.
      * 
@@ -246,6 +315,149 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Maneja excepciones cuando se intenta iniciar sesión con una cuenta no activada.
+     */
+    @ExceptionHandler({ AccountDisabledException.class })
+    public ResponseEntity<ErrorResponse> handleAccountDisabledException(AccountDisabledException exception) {
+        log.warn("Cuenta no activada: {}", exception.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.FORBIDDEN.value(),
+                exception.getMessage(),
+                System.currentTimeMillis());
+        return new ResponseEntity<>(error, HttpStatus.FORBIDDEN);
+    }
+
+    /**
+     * Maneja excepciones cuando el ejecutor de hashing de contraseñas está saturado.
+     * 
+     * @param exception La excepción de capacidad de hashing agotada
+     * @return ResponseEntity con error HTTP 503 (Service Unavailable) y detalles del error
+     */
+    @ExceptionHandler({ HashingCapacityExceededException.class })
+    public ResponseEntity<ErrorResponse> handleHashingCapacityExceededException(
+            HashingCapacityExceededException exception) {
+        log.warn("Hashing de contraseñas saturado: {}", exception.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                exception.getMessage(),
+                System.currentTimeMillis());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
+    /**
+     * Maneja excepciones cuando se supera el límite de intentos de inicio de sesión.
+     * 
+     * @param exception La excepción de intentos excedidos
+     * @return ResponseEntity con error HTTP 429 (Too Many Requests) y detalles del error
+     */
+    @ExceptionHandler({ TooManyLoginAttemptsException.class })
+    public ResponseEntity<ErrorResponse> handleTooManyLoginAttemptsException(TooManyLoginAttemptsException exception) {
+        log.warn("Intentos de inicio de sesión limitados: {}", exception.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                exception.getMessage(),
+                System.currentTimeMillis());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    /**
+     * Maneja excepciones cuando un refresh token no es válido, ha expirado o ya fue usado.
+     */
+    @ExceptionHandler({ InvalidRefreshTokenException.class })
+    public ResponseEntity<ErrorResponse> handleInvalidRefreshTokenException(InvalidRefreshTokenException exception) {
+        log.warn("Refresh token inválido: {}", exception.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.UNAUTHORIZED.value(),
+                exception.getMessage(),
+                System.currentTimeMillis());
+        return new ResponseEntity<>(error, HttpStatus.UNAUTHORIZED);
+    }
+
+    /**
+     * Maneja excepciones cuando se intenta activar una clave de firma inexistente.
+     * 
+     * @param exception La excepción de clave de firma no encontrada
+     * @return ResponseEntity con error HTTP 404 (Not Found) y detalles del error
+     */
+    @ExceptionHandler({ SigningKeyNotFoundException.class })
+    public ResponseEntity<ErrorResponse> handleSigningKeyNotFoundException(SigningKeyNotFoundException exception) {
+        log.warn("Clave de firma no encontrada: {}", exception.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.NOT_FOUND.value(),
+                exception.getMessage(),
+                System.currentTimeMillis());
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Maneja excepciones cuando se pide ordenar por un campo no permitido.
+     * 
+     * @param exception La excepción de ordenación no válida
+     * @return ResponseEntity con error HTTP 400 (Bad Request) y detalles del error
+     */
+    @ExceptionHandler({ InvalidSortException.class })
+    public ResponseEntity<ErrorResponse> handleInvalidSortException(InvalidSortException exception) {
+        log.warn("Ordenación no válida: {}", exception.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                exception.getMessage(),
+                System.currentTimeMillis());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Maneja excepciones cuando el cursor de paginación no es válido.
+     * 
+     * @param exception La excepción de cursor no válido
+     * @return ResponseEntity con error HTTP 400 (Bad Request) y detalles del error
+     */
+    @ExceptionHandler({ InvalidCursorException.class })
+    public ResponseEntity<ErrorResponse> handleInvalidCursorException(InvalidCursorException exception) {
+        log.warn("Cursor de paginación no válido: {}", exception.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                exception.getMessage(),
+                System.currentTimeMillis());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Maneja excepciones cuando el identificador de un token no es válido.
+     * 
+     * @param exception La excepción de identificador de token no válido
+     * @return ResponseEntity con error HTTP 400 (Bad Request) y detalles del error
+     */
+    @ExceptionHandler({ InvalidTokenIdException.class })
+    public ResponseEntity<ErrorResponse> handleInvalidTokenIdException(InvalidTokenIdException exception) {
+        log.warn("Identificador de token no válido: {}", exception.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                exception.getMessage(),
+                System.currentTimeMillis());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Maneja las excepciones cuando un fichero CSV no se puede procesar.
+     * 
+     * @param exception La excepción de CSV no válido
+     * @return ResponseEntity con error HTTP 400 (Bad Request) y detalles del error
+     */
+    @ExceptionHandler({ InvalidCsvException.class })
+    public ResponseEntity<ErrorResponse> handleInvalidCsvException(InvalidCsvException exception) {
+        log.warn("Fichero CSV no válido: {}", exception.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                exception.getMessage(),
+                System.currentTimeMillis());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Maneja excepciones de runtime no capturadas por otros handlers específicos.
      * 
@@ -0,0 +1,22 @@
+package com.alonso.vipera.training.springboot_apirest.exception;
+
+/**
+ * Excepción lanzada cuando el ejecutor de hashing de contraseñas está saturado
+ * y no puede aceptar más trabajo.
+ * 
+ * Esta excepción se utiliza en procesos de autenticación cuando:
+ * - La cola del ejecutor de hashing ha alcanzado su capacidad máxima
+ * - La verificación de la contraseña no termina dentro del tiempo máximo
+ * 
+ * Extiende RuntimeException para ser una excepción no verificada.
+ */
+public class HashingCapacityExceededException extends RuntimeException {
+
+    /**
+     * Constructor por defecto que inicializa la excepción con un mensaje
+     */
+    public HashingCapacityExceededException() {
+        super("Servicio de autenticación saturado, inténtelo de nuevo más tarde");
+    }
+
+}
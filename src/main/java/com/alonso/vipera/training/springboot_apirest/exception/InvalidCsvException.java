@@ -0,0 +1,34 @@
+package com.alonso.vipera.training.springboot_apirest.exception;
+
+/**
+ * Excepción lanzada cuando un fichero CSV no se puede procesar.
+ * 
+ * Esta excepción se utiliza cuando:
+ * - El fichero está vacío o no se puede leer
+ * - Falta alguna columna obligatoria en la cabecera
+ * - Hay comillas sin cerrar
+ * 
+ * Los errores de valores concretos de una fila no lanzan esta excepción: se
+ * informan como errores de esa fila.
+ * 
+ * Extiende RuntimeException para ser una excepción no verificada.
+ */
+public class InvalidCsvException extends RuntimeException {
+
+    /**
+     * Constructor por defecto que inicializa la excepción con un mensaje
+     */
+    public InvalidCsvException() {
+        super("Fichero CSV no válido");
+    }
+
+    /**
+     * Constructor que inicializa la excepción con el motivo concreto
+     * 
+     * @param message Motivo por el que el fichero no es válido
+     */
+    public InvalidCsvException(String message) {
+        super("Fichero CSV no válido: " + message);
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.alonso.vipera.training.springboot_apirest.exception;
+
+/**
+ * Excepción lanzada cuando el cursor de un listado paginado por cursor no es
+ * válido.
+ * 
+ * Esta excepción se utiliza cuando:
+ * - El cursor no tiene el formato esperado o ha sido manipulado
+ * - El cursor se generó con una ordenación distinta de la solicitada
+ * 
+ * Extiende RuntimeException para ser una excepción no verificada.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    /**
+     * Constructor por defecto que inicializa la excepción con un mensaje
+     */
+    public InvalidCursorException() {
+        super("Cursor de paginación no válido");
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.alonso.vipera.training.springboot_apirest.exception;
+
+/**
+ * Excepción lanzada cuando un refresh token no es válido.
+ * 
+ * Esta excepción se utiliza al renovar la sesión cuando:
+ * - El token no existe o ha expirado
+ * - El token ya fue usado o revocado (posible reutilización)
+ * - El usuario asociado ya no está activo
+ * 
+ * Extiende RuntimeException para ser una excepción no verificada.
+ */
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    /**
+     * Constructor por defecto que inicializa la excepción con un mensaje
+     */
+    public InvalidRefreshTokenException() {
+        super("Refresh token inválido o expirado");
+    }
+
+}
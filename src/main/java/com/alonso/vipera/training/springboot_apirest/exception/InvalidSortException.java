@@ -0,0 +1,27 @@
+package com.alonso.vipera.training.springboot_apirest.exception;
+
+import java.util.Set;
+
+/**
+ * Excepción lanzada cuando se solicita ordenar un listado por un campo no
+ * permitido.
+ * 
+ * Solo se admite ordenar por campos respaldados por un índice, para que la
+ * ordenación no obligue a recorrer y ordenar la tabla completa.
+ * 
+ * Extiende RuntimeException para ser una excepción no verificada.
+ */
+public class InvalidSortException extends RuntimeException {
+
+    /**
+     * Constructor que inicializa la excepción con el campo rechazado y los
+     * campos permitidos
+     * 
+     * @param property Campo de ordenación solicitado
+     * @param allowed  Campos por los que se puede ordenar
+     */
+    public InvalidSortException(String property, Set<String> allowed) {
+        super("No se puede ordenar por '" + property + "'. Campos permitidos: " + String.join(", ", allowed));
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.alonso.vipera.training.springboot_apirest.exception;
+
+/**
+ * Excepción lanzada cuando el identificador (jti) de un token no tiene el
+ * formato esperado.
+ * 
+ * Esta excepción se utiliza cuando:
+ * - El jti indicado no es un UUID, que es el formato con el que se emiten los
+ * tokens
+ * 
+ * Extiende RuntimeException para ser una excepción no verificada.
+ */
+public class InvalidTokenIdException extends RuntimeException {
+
+    /**
+     * Constructor por defecto que inicializa la excepción con un mensaje
+     */
+    public InvalidTokenIdException() {
+        super("Identificador de token no válido");
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.alonso.vipera.training.springboot_apirest.exception;
+
+/**
+ * Excepción lanzada cuando se solicita una clave de firma de JWT que no existe.
+ * 
+ * Esta excepción se utiliza al rotar claves cuando:
+ * - El kid indicado no está en el conjunto de claves configurado
+ * - La clave existe pero solo permite verificar (no tiene parte privada)
+ * 
+ * Extiende RuntimeException para ser una excepción no verificada.
+ */
+public class SigningKeyNotFoundException extends RuntimeException {
+
+    /**
+     * Constructor por defecto que inicializa la excepción con un mensaje
+     */
+    public SigningKeyNotFoundException() {
+        super("Clave de firma no encontrada o no apta para firmar");
+    }
+}
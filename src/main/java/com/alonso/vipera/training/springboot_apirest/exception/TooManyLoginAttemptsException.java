@@ -0,0 +1,29 @@
+package com.alonso.vipera.training.springboot_apirest.exception;
+
+import lombok.Getter;
+
+/**
+ * Excepción lanzada cuando se supera el límite de intentos de inicio de sesión
+ * para una cuenta o para una dirección IP.
+ * 
+ * Extiende RuntimeException para ser una excepción no verificada.
+ */
+@Getter
+public class TooManyLoginAttemptsException extends RuntimeException {
+
+    /**
+     * Segundos que el cliente debe esperar antes de reintentar.
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructor que inicializa la excepción con un mensaje y el tiempo de espera
+     * 
+     * @param retryAfterSeconds Segundos hasta el siguiente intento permitido
+     */
+    public TooManyLoginAttemptsException(long retryAfterSeconds) {
+        super("Demasiados intentos de inicio de sesión, inténtelo de nuevo más tarde");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.alonso.vipera.training.springboot_apirest.exception;
+
+/**
+ * Excepción lanzada cuando se intenta modificar un recurso que ha cambiado
+ * desde que el cliente lo leyó.
+ * 
+ * Esta excepción se utiliza al actualizar mascotas y usuarios cuando:
+ * - La versión indicada por el cliente no coincide con la actual
+ * 
+ * Extiende RuntimeException para ser una excepción no verificada.
+ */
+public class VersionConflictException extends RuntimeException {
+
+    /**
+     * Constructor por defecto que inicializa la excepción con un mensaje
+     */
+    public VersionConflictException() {
+        super("El recurso ha sido modificado por otra petición. Vuelve a cargarlo e inténtalo de nuevo");
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.alonso.vipera.training.springboot_apirest.exception;
+
+/**
+ * Excepción lanzada cuando se intenta modificar un recurso sin indicar la
+ * versión leída por el cliente.
+ * 
+ * Esta excepción se utiliza al actualizar mascotas y usuarios cuando:
+ * - La petición no incluye la versión, necesaria para detectar modificaciones
+ * concurrentes
+ * 
+ * Extiende RuntimeException para ser una excepción no verificada.
+ */
+public class VersionRequiredException extends RuntimeException {
+
+    /**
+     * Constructor por defecto que inicializa la excepción con un mensaje
+     */
+    public VersionRequiredException() {
+        super("Es obligatorio indicar la versión del recurso que se quiere modificar");
+    }
+
+}
@@ -9,6 +9,7 @@ import com.alonso.vipera.training.springboot_apirest.model.dog_breed_api.dto.in.
 import com.alonso.vipera.training.springboot_apirest.model.pet.Breed;
 import com.alonso.vipera.training.springboot_apirest.model.pet.Specie;
 import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.BreedOutDTO;
+import com.alonso.vipera.training.springboot_apirest.service.ReferenceCatalog.BreedRef;
 
 import lombok.AllArgsConstructor;
 
@@ -76,4 +77,14 @@ public class BreedMapper {
         return new BreedOutDTO(breedEntity.getId(), breedEntity.getName(),
                 breedEntity.getExternalApiId(), specieMapper.toDTO(breedEntity.getSpecie()));
     }
+
+    /**
+     * Convierte una raza del catálogo de referencia a su DTO de salida.
+     *
+     * @param breed Raza del catálogo a convertir.
+     * @return DTO de salida BreedOutDTO.
+     */
+    public BreedOutDTO toDTO(BreedRef breed) {
+        return new BreedOutDTO(breed.id(), breed.name(), breed.externalApiId(), specieMapper.toDTO(breed.specie()));
+    }
 }
@@ -4,7 +4,10 @@ import org.springframework.stereotype.Component;
 
 import com.alonso.vipera.training.springboot_apirest.model.pet.Pet;
 import com.alonso.vipera.training.springboot_apirest.model.pet.dto.in.PetInDTO;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.BreedOutDTO;
 import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.PetOutDTO;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.PetProjection;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.SpecieOutDTO;
 
 import lombok.AllArgsConstructor;
 
@@ -52,6 +55,29 @@ public class PetMapper {
                 entity.getDietInfo(),
                 specieMapper.toDTO(entity.getSpecie()),
                 breedMapper.toDTO(entity.getBreed()),
-                entity.getCreatedAt());
+                entity.getCreatedAt(),
+                entity.getVersion());
+    }
+
+    /**
+     * Convierte una fila proyectada de mascota a su DTO de salida PetOutDTO.
+     *
+     * @param projection Fila con los datos de la mascota, su especie y su raza.
+     * @return DTO de salida PetOutDTO.
+     */
+    public PetOutDTO toOutDTO(PetProjection projection) {
+        if (projection == null)
+            return null;
+        return new PetOutDTO(
+                projection.id(),
+                projection.name(),
+                projection.birthDate(),
+                projection.weight(),
+                projection.dietInfo(),
+                new SpecieOutDTO(projection.specieId(), projection.specieName()),
+                new BreedOutDTO(projection.breedId(), projection.breedName(), projection.breedExternalId(),
+                        new SpecieOutDTO(projection.breedSpecieId(), projection.breedSpecieName())),
+                projection.createdAt(),
+                projection.version());
     }
 }
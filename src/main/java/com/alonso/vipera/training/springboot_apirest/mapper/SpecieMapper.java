@@ -4,6 +4,7 @@ import org.springframework.stereotype.Component;
 
 import com.alonso.vipera.training.springboot_apirest.model.pet.Specie;
 import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.SpecieOutDTO;
+import com.alonso.vipera.training.springboot_apirest.service.ReferenceCatalog.SpecieRef;
 
 /**
  * Mapper para convertir entre entidades Specie y sus DTOs correspondientes.
@@ -21,4 +22,14 @@ public class SpecieMapper {
         return new SpecieOutDTO(specie.getId(), specie.getName());
     }
 
+    /**
+     * Convierte una especie del catálogo de referencia a su DTO de salida.
+     *
+     * @param specie Especie del catálogo a convertir.
+     * @return DTO de salida SpecieOutDTO.
+     */
+    public SpecieOutDTO toDTO(SpecieRef specie) {
+        return new SpecieOutDTO(specie.id(), specie.name());
+    }
+
 }
@@ -65,7 +65,7 @@ public class UserMapper {
         if (entity == null)
             return null;
         return new UserOutDTO(entity.getId(), entity.getName(), entity.getSurnames(), entity.getEmail(),
-                entity.getUserRole().getRole(), entity.getCreatedAt());
+                entity.getUserRole().getRole(), entity.getCreatedAt(), entity.getVersion());
     }
 
 }
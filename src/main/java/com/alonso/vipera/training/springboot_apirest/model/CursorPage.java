@@ -0,0 +1,58 @@
+package com.alonso.vipera.training.springboot_apirest.model;
+
+import java.util.List;
+import java.util.function.Function;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Página de un listado recorrido por cursor (keyset).
+ *
+ * A diferencia de {@link org.springframework.data.domain.Page} no incluye el
+ * total de elementos: obtener cada página cuesta una única consulta que
+ * continúa desde la última fila devuelta, independientemente de lo lejos que
+ * esté en el listado.
+ *
+ * @param content    Elementos de la página
+ * @param size       Tamaño de página aplicado
+ * @param hasNext    true si hay más elementos después de esta página
+ * @param nextCursor Cursor opaco para pedir la página siguiente (null si no hay más)
+ * @param <T>        Tipo de los elementos
+ */
+@Schema(description = "Página de un listado paginado por cursor.")
+public record CursorPage<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor) {
+
+    /** Tamaño de página por defecto. */
+    public static final int DEFAULT_SIZE = 20;
+
+    /** Tamaño de página máximo admitido. */
+    public static final int MAX_SIZE = 100;
+
+    /**
+     * Ajusta el tamaño de página solicitado al rango admitido.
+     *
+     * @param size Tamaño solicitado (null para el tamaño por defecto)
+     * @return Tamaño entre 1 y {@value #MAX_SIZE}
+     */
+    public static int limitSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_SIZE;
+        }
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * Transforma los elementos de la página conservando el cursor.
+     *
+     * @param mapper Función de transformación
+     * @param <R>    Tipo de los elementos transformados
+     * @return Página con los elementos transformados
+     */
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(content.stream().<R>map(mapper).toList(), size, hasNext, nextCursor);
+    }
+}
@@ -0,0 +1,64 @@
+package com.alonso.vipera.training.springboot_apirest.model.cache.dto.out;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para la salida del estado y las estadísticas de una caché en este nodo.
+ */
+@Schema(description = "Estado y estadísticas de una caché en este nodo.")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheOutDTO {
+
+    /**
+     * Nombre de la caché.
+     */
+    @Schema(description = "Nombre de la caché.", example = "breeds")
+    private String name;
+
+    /**
+     * Número aproximado de entradas.
+     */
+    @Schema(description = "Número aproximado de entradas.", example = "12")
+    private long size;
+
+    /**
+     * Número de aciertos.
+     */
+    @Schema(description = "Número de aciertos.", example = "950")
+    private long hitCount;
+
+    /**
+     * Número de fallos.
+     */
+    @Schema(description = "Número de fallos.", example = "50")
+    private long missCount;
+
+    /**
+     * Proporción de aciertos sobre el total de lecturas (1.0 si no hay lecturas).
+     */
+    @Schema(description = "Proporción de aciertos sobre el total de lecturas.", example = "0.95")
+    private double hitRate;
+
+    /**
+     * Número de entradas expulsadas por tamaño o expiración.
+     */
+    @Schema(description = "Número de entradas expulsadas por tamaño o expiración.", example = "3")
+    private long evictionCount;
+
+    /**
+     * Número de cargas realizadas en los fallos.
+     */
+    @Schema(description = "Número de cargas realizadas en los fallos.", example = "50")
+    private long loadCount;
+
+    /**
+     * Tiempo medio de carga, en milisegundos.
+     */
+    @Schema(description = "Tiempo medio de carga, en milisegundos.", example = "4.2")
+    private double averageLoadMillis;
+}
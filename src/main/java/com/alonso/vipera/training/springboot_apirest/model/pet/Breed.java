@@ -1,5 +1,9 @@
 package com.alonso.vipera.training.springboot_apirest.model.pet;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -17,11 +21,16 @@ import lombok.NoArgsConstructor;
 /**
  * Entidad que representa una raza de mascota.
  * Cada raza está asociada a una especie específica.
+ * Se guarda en la caché de segundo nivel de Hibernate. La sincronización solo
+ * inserta razas nuevas, pero se usa NONSTRICT_READ_WRITE (en lugar de solo
+ * lectura) para que una modificación o un borrado invaliden la entrada.
  */
 @Entity
 @Data
 @Builder
 @Table(name = "breeds", uniqueConstraints = @UniqueConstraint(columnNames = { "external_api_id", "specie_id" }))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "breeds")
 @AllArgsConstructor
 @NoArgsConstructor
 public class Breed {
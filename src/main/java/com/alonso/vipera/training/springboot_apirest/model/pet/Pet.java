@@ -2,6 +2,7 @@ package com.alonso.vipera.training.springboot_apirest.model.pet;
 
 import java.sql.Date;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 
@@ -15,6 +16,7 @@ import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -29,10 +31,12 @@ import lombok.NoArgsConstructor;
 @Entity
 @Table(name = "pets", indexes = {
         @Index(name = "idx_pet_user_id", columnList = "user_id"),
-        @Index(name = "idx_pet_breed_id", columnList = "breed_id"),
-        @Index(name = "idx_pet_specie_id", columnList = "specie_id")
+        @Index(name = "idx_pet_breed_id_name", columnList = "breed_id, name"),
+        @Index(name = "idx_pet_specie_id_name", columnList = "specie_id, name"),
+        @Index(name = "idx_pet_name", columnList = "name"),
+        @Index(name = "idx_pet_created_at", columnList = "created_at")
 })
-@SQLDelete(sql = "UPDATE pets SET deleted_at = NOW(), modified_at = NOW() WHERE id = ?") // Borrado lógico
+@SQLDelete(sql = "UPDATE pets SET deleted_at = NOW(), modified_at = NOW(), version = version + 1 WHERE id = ? AND version = ?") // Borrado lógico
 @SQLRestriction("deleted_at IS NULL") // Para entidades que no han sido borradas
 @EqualsAndHashCode(callSuper = false)
 @NoArgsConstructor
@@ -54,6 +58,15 @@ public class Pet extends BaseEntity {
     @Column(nullable = true, unique = false)
     private String photo_url;
 
+    /**
+     * Versión para el control de concurrencia optimista. Se incrementa en cada
+     * modificación; una actualización con una versión anterior se rechaza.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     // ManyToOne (N Pets -> 1 User)
 
     @ManyToOne(fetch = FetchType.LAZY)
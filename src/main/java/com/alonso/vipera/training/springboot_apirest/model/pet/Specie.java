@@ -2,6 +2,11 @@ package com.alonso.vipera.training.springboot_apirest.model.pet;
 
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -15,10 +20,16 @@ import lombok.NoArgsConstructor;
 
 /**
  * Entidad que representa una especie de mascota.
+ * Se guarda en la caché de segundo nivel de Hibernate como solo lectura: las
+ * especies se crean con data.sql y no se modifican. Es inmutable: Hibernate no
+ * comprueba cambios en ellas ni emite UPDATE.
  */
 @Entity
 @Data
 @Table(name = "species")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "species")
+@Immutable
 @AllArgsConstructor
 @NoArgsConstructor
 public class Specie {
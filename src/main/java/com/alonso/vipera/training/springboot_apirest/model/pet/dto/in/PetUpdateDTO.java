@@ -30,4 +30,7 @@ public class PetUpdateDTO {
     @Size(max = 500)
     private String dietInfo;
 
+    @Schema(description = "Versión de la mascota leída por el cliente. Si no se indica se responde 428 y si no coincide con la actual, 409", example = "0", requiredMode = Schema.RequiredMode.REQUIRED)
+    private Long version;
+
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.alonso.vipera.training.springboot_apirest.model.pet.dto.out;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para la salida de un error de una fila de una importación de mascotas.
+ */
+@Schema(description = "Error de una fila de la importación de mascotas.")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PetImportErrorDTO {
+
+    /**
+     * Número de fila, empezando en 1 (sin contar la cabecera en CSV).
+     */
+    @Schema(description = "Número de fila, empezando en 1 (sin contar la cabecera en CSV).", example = "12")
+    private int row;
+
+    /**
+     * Motivo por el que la fila no se ha importado.
+     */
+    @Schema(description = "Motivo por el que la fila no se ha importado.", example = "Usuario no encontrado")
+    private String message;
+}
@@ -0,0 +1,36 @@
+package com.alonso.vipera.training.springboot_apirest.model.pet.dto.out;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para la salida del resultado de una importación masiva de mascotas.
+ */
+@Schema(description = "Resultado de una importación masiva de mascotas.")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PetImportOutDTO {
+
+    /**
+     * Número de filas recibidas.
+     */
+    @Schema(description = "Número de filas recibidas.", example = "1000")
+    private int received;
+
+    /**
+     * Número de mascotas importadas.
+     */
+    @Schema(description = "Número de mascotas importadas.", example = "998")
+    private int imported;
+
+    /**
+     * Errores de las filas que no se han importado.
+     */
+    @Schema(description = "Errores de las filas que no se han importado.")
+    private List<PetImportErrorDTO> errors;
+}
@@ -40,4 +40,7 @@ public class PetOutDTO {
 
     @Schema(description = "Fecha y hora de registro de la mascota.", example = "2024-10-29T10:30:00")
     private LocalDateTime createdAt;
+
+    @Schema(description = "Versión de la mascota. Se envía al modificarla para detectar cambios concurrentes.", example = "0")
+    private Long version;
 }
\ No newline at end of file
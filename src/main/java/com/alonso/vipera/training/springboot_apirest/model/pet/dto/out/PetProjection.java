@@ -0,0 +1,41 @@
+package com.alonso.vipera.training.springboot_apirest.model.pet.dto.out;
+
+import java.sql.Date;
+import java.time.LocalDateTime;
+
+/**
+ * Fila plana con los datos de una mascota, su especie y su raza, seleccionada
+ * directamente en las consultas de listado sin cargar entidades gestionadas.
+ * Se transforma en {@link PetOutDTO} con PetMapper.
+ *
+ * @param id                ID de la mascota
+ * @param name              Nombre de la mascota
+ * @param birthDate         Fecha de nacimiento
+ * @param weight            Peso en kilogramos
+ * @param dietInfo          Información de la dieta
+ * @param specieId          ID de la especie
+ * @param specieName        Nombre de la especie
+ * @param breedId           ID de la raza
+ * @param breedName         Nombre de la raza
+ * @param breedExternalId   ID externo de la raza
+ * @param breedSpecieId     ID de la especie de la raza
+ * @param breedSpecieName   Nombre de la especie de la raza
+ * @param createdAt         Fecha de registro de la mascota
+ * @param version           Versión de la mascota
+ */
+public record PetProjection(
+        Long id,
+        String name,
+        Date birthDate,
+        Double weight,
+        String dietInfo,
+        Long specieId,
+        String specieName,
+        Long breedId,
+        String breedName,
+        String breedExternalId,
+        Long breedSpecieId,
+        String breedSpecieName,
+        LocalDateTime createdAt,
+        Long version) {
+}
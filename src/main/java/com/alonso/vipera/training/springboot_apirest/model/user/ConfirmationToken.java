@@ -2,6 +2,9 @@ package com.alonso.vipera.training.springboot_apirest.model.user;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLRestriction;
+
 import com.alonso.vipera.training.springboot_apirest.model.BaseEntity;
 
 import jakarta.persistence.Column;
@@ -25,6 +28,8 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Entity
 @Table(name = "confirmation_tokens")
+@SQLDelete(sql = "UPDATE confirmation_tokens SET deleted_at = NOW(), modified_at = NOW() WHERE id = ?") // Borrado lógico
+@SQLRestriction("deleted_at IS NULL") // Para entidades que no han sido borradas
 @EqualsAndHashCode(callSuper = false)
 public class ConfirmationToken extends BaseEntity {
 
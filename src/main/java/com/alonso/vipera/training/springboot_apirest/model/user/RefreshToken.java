@@ -0,0 +1,62 @@
+package com.alonso.vipera.training.springboot_apirest.model.user;
+
+import java.time.LocalDateTime;
+
+import com.alonso.vipera.training.springboot_apirest.model.BaseEntity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Entidad que representa un refresh token opaco.
+ * 
+ * Solo se almacena el hash SHA-256 del token, nunca el valor en claro. Cada
+ * token pertenece a una familia (cadena de rotaciones que parte de un mismo
+ * inicio de sesión): al canjearlo se marca como usado y se emite otro de la
+ * misma familia. Si un token ya usado vuelve a presentarse, se revoca la
+ * familia completa.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_token_family", columnList = "family_id"),
+        @Index(name = "idx_refresh_token_user_id", columnList = "user_id"),
+        @Index(name = "idx_refresh_token_expires_at", columnList = "expires_at")
+})
+@EqualsAndHashCode(callSuper = false)
+public class RefreshToken extends BaseEntity {
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "used_at")
+    private LocalDateTime usedAt;
+
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(nullable = false, name = "user_id")
+    private User user;
+}
@@ -0,0 +1,43 @@
+package com.alonso.vipera.training.springboot_apirest.model.user;
+
+import java.time.LocalDateTime;
+
+import com.alonso.vipera.training.springboot_apirest.model.BaseEntity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidad que representa un token de acceso revocado antes de su expiración.
+ * 
+ * Se identifica por el jti del token y se conserva solo hasta la expiración
+ * del propio token; a partir de ese momento el token ya no es válido y la fila
+ * puede eliminarse.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_token_expires_at", columnList = "expires_at")
+})
+@EqualsAndHashCode(callSuper = false)
+public class RevokedToken extends BaseEntity {
+
+    @Column(nullable = false, unique = true, length = 36)
+    private String jti;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
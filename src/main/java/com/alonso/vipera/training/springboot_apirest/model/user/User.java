@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 import org.springframework.security.core.GrantedAuthority;
@@ -17,10 +18,12 @@ import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -33,8 +36,13 @@ import lombok.NoArgsConstructor;
 @Data
 @Builder
 @Entity
-@Table(name = "users")
-@SQLDelete(sql = "UPDATE users SET deleted_at = NOW(), modified_at = NOW() WHERE id = ?") // Borrado lógico
+@Table(name = "users", indexes = {
+        @Index(name = "idx_user_role_id_name", columnList = "role_id, name"),
+        @Index(name = "idx_user_name", columnList = "name"),
+        @Index(name = "idx_user_surnames", columnList = "surnames"),
+        @Index(name = "idx_user_created_at", columnList = "created_at")
+})
+@SQLDelete(sql = "UPDATE users SET deleted_at = NOW(), modified_at = NOW(), version = version + 1 WHERE id = ? AND version = ?") // Borrado lógico
 @SQLRestriction("deleted_at IS NULL") // Para entidades que no han sido borradas
 @EqualsAndHashCode(callSuper = false)
 @NoArgsConstructor
@@ -97,6 +105,25 @@ public class User extends BaseEntity implements UserDetails {
     @Column(nullable = false)
     private boolean enabled = false;
 
+    /**
+     * Versión de los tokens del usuario.
+     * Se incrementa al borrar el usuario o cambiar su email, invalidando los
+     * tokens emitidos con una versión anterior.
+     */
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion = 0;
+
+    /**
+     * Versión para el control de concurrencia optimista. Se incrementa en cada
+     * modificación; una actualización con una versión anterior se rechaza.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     // OneToMany (User 1 -> N Pets)
     /**
      * Lista de mascotas asociadas al usuario.
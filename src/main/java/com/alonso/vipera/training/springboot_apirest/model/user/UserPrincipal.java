@@ -0,0 +1,83 @@
+package com.alonso.vipera.training.springboot_apirest.model.user;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Representación inmutable y compacta de un usuario autenticado.
+ * Contiene únicamente los datos necesarios para la autorización, sin
+ * referencias a la entidad JPA ni a sus relaciones perezosas.
+ *
+ * @param id           ID del usuario
+ * @param email        Email del usuario (username)
+ * @param password     Hash de la contraseña (null si se construye desde un token)
+ * @param role         Rol del usuario
+ * @param enabled      Indica si la cuenta está activada
+ * @param tokenVersion Versión de tokens vigente del usuario
+ */
+public record UserPrincipal(
+        Long id,
+        String email,
+        String password,
+        Role role,
+        boolean enabled,
+        int tokenVersion) implements UserDetails {
+
+    /**
+     * Construye un principal a partir de la entidad User.
+     * La entidad debe tener el rol cargado.
+     *
+     * @param user Entidad User
+     * @return Principal equivalente
+     */
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(
+                user.getId(),
+                user.getEmail(),
+                user.getPassword(),
+                user.getUserRole().getRole(),
+                user.isEnabled(),
+                user.getTokenVersion());
+    }
+
+    /**
+     * Construye un principal únicamente a partir de los claims de un token
+     * verificado, sin acceder a la base de datos.
+     *
+     * @param verifiedJwt Claims verificados del token
+     * @return Principal equivalente
+     */
+    public static UserPrincipal from(VerifiedJwt verifiedJwt) {
+        return new UserPrincipal(
+                verifiedJwt.userId(),
+                verifiedJwt.subject(),
+                null,
+                verifiedJwt.role(),
+                true,
+                verifiedJwt.tokenVersion());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
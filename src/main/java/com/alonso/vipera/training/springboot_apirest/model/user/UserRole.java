@@ -1,5 +1,10 @@
 package com.alonso.vipera.training.springboot_apirest.model.user;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -12,8 +17,17 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * Entidad que representa un rol de usuario. Se guarda en la caché de segundo
+ * nivel de Hibernate como solo lectura: los roles se crean con data.sql y no
+ * se modifican. Es inmutable: Hibernate no comprueba cambios en ellos ni
+ * emite UPDATE.
+ */
 @Entity
 @Table(name = "roles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "roles")
+@Immutable
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
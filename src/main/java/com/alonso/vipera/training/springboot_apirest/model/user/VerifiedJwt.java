@@ -0,0 +1,49 @@
+package com.alonso.vipera.training.springboot_apirest.model.user;
+
+import java.time.Instant;
+
+/**
+ * Resultado inmutable de verificar un token JWT.
+ * Se obtiene tras un único parseo y validación de la firma, de modo que el
+ * resto de la cadena de seguridad puede consultar los claims sin volver a
+ * parsear ni verificar el token.
+ *
+ * @param tokenId      Identificador único del token (jti), null en tokens
+ *                     antiguos
+ * @param subject      Subject del token (email del usuario)
+ * @param issuedAt     Instante de emisión del token
+ * @param expiresAt    Instante de expiración del token
+ * @param userId       ID del usuario (null en tokens sin claims de identidad)
+ * @param role         Rol del usuario (null en tokens sin claims de identidad)
+ * @param tokenVersion Versión de tokens del usuario al emitir el token (null en
+ *                     tokens sin claims de identidad)
+ */
+public record VerifiedJwt(
+        String tokenId,
+        String subject,
+        Instant issuedAt,
+        Instant expiresAt,
+        Long userId,
+        Role role,
+        Integer tokenVersion) {
+
+    /**
+     * Indica si el token ha expirado respecto al instante indicado.
+     *
+     * @param now Instante de referencia
+     * @return true si el token ha expirado, false en caso contrario
+     */
+    public boolean isExpiredAt(Instant now) {
+        return expiresAt != null && expiresAt.isBefore(now);
+    }
+
+    /**
+     * Indica si el token incluye los claims necesarios para autenticar al
+     * usuario sin consultar la base de datos (ID, rol y versión).
+     *
+     * @return true si el token contiene los claims de identidad
+     */
+    public boolean hasIdentityClaims() {
+        return userId != null && role != null && tokenVersion != null;
+    }
+}
@@ -0,0 +1,10 @@
+package com.alonso.vipera.training.springboot_apirest.model.user.dto.in;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequestDTO(
+    @Schema(description = "Refresh token recibido en el último login o renovación.", example = "q9V0u2xR3Zb8mK1sW4nP7tY6cJ5hL0dF2gA8eB3iQ1o", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotBlank(message = "El refresh token es obligatorio")
+    String refreshToken
+) {}
@@ -38,4 +38,7 @@ public class UserUpdateDTO {
     @Schema(description = "Dirección del usuario", example = "Calle Falsa 123, Ciudad, País")
     @Size(min = 3, max = 100, message = "La dirección debe tener entre 3 y 100 caracteres")
     private String address;
+
+    @Schema(description = "Versión del usuario leída por el cliente. Si no se indica se responde 428 y si no coincide con la actual, 409", example = "0", requiredMode = Schema.RequiredMode.REQUIRED)
+    private Long version;
 }
@@ -18,6 +18,9 @@ public class AuthResponseDTO {
     @Schema(description = "Token JWT para autenticación de requests posteriores.", example = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...")
     private String token;
 
+    @Schema(description = "Refresh token opaco para obtener un nuevo token JWT sin volver a introducir la contraseña. Cada uso lo invalida y devuelve uno nuevo.", example = "q9V0u2xR3Zb8mK1sW4nP7tY6cJ5hL0dF2gA8eB3iQ1o")
+    private String refreshToken;
+
     @Schema(description = "Información del usuario autenticado.")
     private UserOutDTO user;
 }
\ No newline at end of file
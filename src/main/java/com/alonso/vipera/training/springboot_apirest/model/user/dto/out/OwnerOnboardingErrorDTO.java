@@ -0,0 +1,34 @@
+package com.alonso.vipera.training.springboot_apirest.model.user.dto.out;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para la salida de un error de una fila de un alta masiva de propietarios.
+ */
+@Schema(description = "Error de una fila del alta masiva de propietarios.")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OwnerOnboardingErrorDTO {
+
+    /**
+     * Número de fila, empezando en 1.
+     */
+    @Schema(description = "Número de fila, empezando en 1.", example = "3")
+    private int row;
+
+    /**
+     * Email de la fila, si lo tiene.
+     */
+    @Schema(description = "Email de la fila, si lo tiene.", example = "iñigo@vet.com")
+    private String email;
+
+    /**
+     * Motivo por el que no se ha dado de alta.
+     */
+    @Schema(description = "Motivo por el que no se ha dado de alta.", example = "Email ya está en uso")
+    private String message;
+}
@@ -0,0 +1,36 @@
+package com.alonso.vipera.training.springboot_apirest.model.user.dto.out;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para la salida del resultado de un alta masiva de propietarios.
+ */
+@Schema(description = "Resultado de un alta masiva de propietarios.")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OwnerOnboardingOutDTO {
+
+    /**
+     * Número de propietarios recibidos.
+     */
+    @Schema(description = "Número de propietarios recibidos.", example = "500")
+    private int received;
+
+    /**
+     * Número de propietarios dados de alta.
+     */
+    @Schema(description = "Número de propietarios dados de alta.", example = "497")
+    private int created;
+
+    /**
+     * Errores de las filas que no se han dado de alta.
+     */
+    @Schema(description = "Errores de las filas que no se han dado de alta.")
+    private List<OwnerOnboardingErrorDTO> errors;
+}
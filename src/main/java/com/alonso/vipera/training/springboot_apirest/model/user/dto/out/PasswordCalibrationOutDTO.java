@@ -0,0 +1,41 @@
+package com.alonso.vipera.training.springboot_apirest.model.user.dto.out;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para la salida del resultado de calibrar el coste del hash de
+ * contraseñas.
+ */
+@Schema(description = "Resultado de la calibración del coste de hash de contraseñas.")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PasswordCalibrationOutDTO {
+
+    /**
+     * Coste BCrypt vigente antes de la calibración.
+     */
+    @Schema(description = "Coste BCrypt vigente antes de la calibración.", example = "10")
+    private int previousCost;
+
+    /**
+     * Coste BCrypt seleccionado.
+     */
+    @Schema(description = "Coste BCrypt seleccionado.", example = "12")
+    private int cost;
+
+    /**
+     * Tiempo medido de un hash con el coste seleccionado, en milisegundos.
+     */
+    @Schema(description = "Tiempo medido de un hash con el coste seleccionado, en milisegundos.", example = "210")
+    private long hashMillis;
+
+    /**
+     * Presupuesto de latencia configurado, en milisegundos.
+     */
+    @Schema(description = "Presupuesto de latencia configurado, en milisegundos.", example = "250")
+    private long budgetMillis;
+}
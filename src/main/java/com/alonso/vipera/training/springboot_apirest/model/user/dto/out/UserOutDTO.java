@@ -55,4 +55,10 @@ public class UserOutDTO {
      */
     @Schema(description = "Fecha y hora de creación de la cuenta.", example = "2024-10-29T10:30:00")
     private LocalDateTime createdAt;
+
+    /**
+     * Versión del usuario, para detectar modificaciones concurrentes.
+     */
+    @Schema(description = "Versión del usuario. Se envía al modificarlo para detectar cambios concurrentes.", example = "0")
+    private Long version;
 }
\ No newline at end of file
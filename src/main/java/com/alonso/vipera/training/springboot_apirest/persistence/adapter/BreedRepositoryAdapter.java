@@ -31,6 +31,11 @@ public class BreedRepositoryAdapter implements BreedRepository {
         return breedRepository.findById(id);
     }
 
+    @Override
+    public Breed getReference(Long id) {
+        return breedRepository.getReferenceById(id);
+    }
+
     @Override
     public Optional<Breed> findByName(String name) {
         return breedRepository.findByName(name);
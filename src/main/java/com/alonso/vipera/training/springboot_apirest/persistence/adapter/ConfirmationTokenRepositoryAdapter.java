@@ -1,7 +1,11 @@
 package com.alonso.vipera.training.springboot_apirest.persistence.adapter;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
 import com.alonso.vipera.training.springboot_apirest.model.user.ConfirmationToken;
@@ -14,13 +18,30 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor
 public class ConfirmationTokenRepositoryAdapter implements ConfirmationTokenRepository {
 
+    private static final String INSERT_TOKEN_SQL = "INSERT INTO confirmation_tokens "
+            + "(token, user_id, expires_at, created_at, modified_at) VALUES (?, ?, ?, ?, ?)";
+
     private final ConfirmationTokenJpaRepository jpaRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
     public ConfirmationToken save(ConfirmationToken confirmationToken) {
         return jpaRepository.save(confirmationToken);
     }
 
+    @Override
+    public void insertAll(List<ConfirmationToken> confirmationTokens) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_TOKEN_SQL, confirmationTokens, confirmationTokens.size(),
+                (statement, confirmationToken) -> {
+                    statement.setString(1, confirmationToken.getToken());
+                    statement.setLong(2, confirmationToken.getUser().getId());
+                    statement.setTimestamp(3, Timestamp.valueOf(confirmationToken.getExpiresAt()));
+                    statement.setTimestamp(4, now);
+                    statement.setTimestamp(5, now);
+                });
+    }
+
     @Override
     public Optional<ConfirmationToken> findByToken(String token) {
         return jpaRepository.findByToken(token);
@@ -30,4 +51,9 @@ public class ConfirmationTokenRepositoryAdapter implements ConfirmationTokenRepo
     public void delete(ConfirmationToken confirmationToken) {
         jpaRepository.delete(confirmationToken);
     }
+
+    @Override
+    public int softDeleteByUserId(Long userId) {
+        return jpaRepository.softDeleteByUserId(userId, LocalDateTime.now());
+    }
 }
@@ -1,14 +1,22 @@
 package com.alonso.vipera.training.springboot_apirest.persistence.adapter;
 
 import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import com.alonso.vipera.training.springboot_apirest.model.CursorPage;
 import com.alonso.vipera.training.springboot_apirest.model.pet.Pet;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.PetProjection;
 import com.alonso.vipera.training.springboot_apirest.persistence.jpa.PetJpaRepository;
 import com.alonso.vipera.training.springboot_apirest.persistence.repository.PetRepository;
 
@@ -22,7 +30,16 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor
 public class PetRepositoryAdapter implements PetRepository {
 
+    /**
+     * INSERT de una mascota nueva. Con rewriteBatchedStatements=true en la URL de
+     * MySQL, cada lote se envía como un único INSERT multi-fila.
+     */
+    private static final String INSERT_PET_SQL = "INSERT INTO pets "
+            + "(name, birth_date, weight, diet_info, user_id, specie_id, breed_id, version, created_at, modified_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
     private PetJpaRepository petRepository;
+    private JdbcTemplate jdbcTemplate;
 
     @Override
     public Optional<Pet> findById(Long id) {
@@ -30,68 +47,100 @@ public class PetRepositoryAdapter implements PetRepository {
     }
 
     @Override
-    public List<Pet> findPetsByUserEmail(String email) {
-        return petRepository.findByUserEmail(email)
-                .stream()
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .toList();
+    public Optional<PetProjection> findProjectionById(Long id) {
+        return petRepository.findProjectionById(id);
+    }
+
+    @Override
+    public Optional<String> findOwnerEmailById(Long id) {
+        return petRepository.findOwnerEmailById(id);
     }
 
     @Override
-    public List<Pet> findByName(String name) {
-        return petRepository.findByName(name)
-                .stream()
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .toList();
+    public List<PetProjection> findPetsByUserEmail(String email) {
+        return petRepository.findByUserEmail(email);
     }
 
     @Override
-    public List<Pet> findByBirthDate(Date birthDate) {
-        return petRepository.findByBirthDate(birthDate)
-                .stream()
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .toList();
+    public List<PetProjection> findByName(String name) {
+        return petRepository.findByName(name);
     }
 
     @Override
-    public List<Pet> findByBreedName(String breed) {
-        return petRepository.findByBreedName(breed)
-                .stream()
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .toList();
+    public List<PetProjection> findByBirthDate(Date birthDate) {
+        return petRepository.findByBirthDate(birthDate);
     }
 
     @Override
-    public List<Pet> findBySpecieName(String specie) {
-        return petRepository.findBySpecieName(specie)
-                .stream()
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .toList();
+    public List<PetProjection> findByBreedName(String breed) {
+        return petRepository.findByBreedName(breed);
     }
 
     @Override
-    public Page<Pet> findAll(Pageable pageable) {
-        return petRepository.findAll(pageable);
+    public List<PetProjection> findBySpecieName(String specie) {
+        return petRepository.findBySpecieName(specie);
     }
 
     @Override
-    public Page<Pet> findByFilters(Long pet_id, String name, Long breed_id, Long specie_id, Pageable pageable) {
+    public Page<PetProjection> findAll(Pageable pageable) {
+        return petRepository.findByFilters(null, null, null, null, pageable);
+    }
+
+    @Override
+    public Page<PetProjection> findByFilters(Long pet_id, String name, Long breed_id, Long specie_id, Pageable pageable) {
         return petRepository.findByFilters(pet_id, name, breed_id, specie_id, pageable);
     }
 
+    @Override
+    public CursorPage<PetProjection> scrollByFilters(Long pet_id, String name, Long breed_id, Long specie_id,
+            String sort, String cursor, int size) {
+        return petRepository.scrollByFilters(pet_id, name, breed_id, specie_id, sort, cursor, size);
+    }
+
     @Override
     public Pet save(Pet pet) {
         return petRepository.save(pet);
     }
 
+    @Override
+    public boolean updateIfOwner(Long id, String ownerEmail, Long version, String name, Double weight,
+            String dietInfo) {
+        return petRepository.updateIfOwner(id, ownerEmail, version, name, weight, dietInfo, LocalDateTime.now()) > 0;
+    }
+
+    @Override
+    public void insertAll(List<Pet> pets) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_PET_SQL, pets, pets.size(), (statement, pet) -> {
+            statement.setString(1, pet.getName());
+            statement.setDate(2, pet.getBirthDate());
+            statement.setObject(3, pet.getWeight(), Types.DOUBLE);
+            statement.setString(4, pet.getDietInfo());
+            statement.setLong(5, pet.getUser().getId());
+            statement.setLong(6, pet.getSpecie().getId());
+            statement.setLong(7, pet.getBreed().getId());
+            statement.setTimestamp(8, now);
+            statement.setTimestamp(9, now);
+        });
+    }
+
     @Override
     public void delete(Pet pet) {
         petRepository.delete(pet);
     }
 
+    @Override
+    public int softDeleteByUserId(Long userId) {
+        return petRepository.softDeleteByUserId(userId, LocalDateTime.now());
+    }
+
+    @Override
+    public Map<Long, Long> countPetsByBreed() {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : petRepository.countByBreed()) {
+            counts.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
 }
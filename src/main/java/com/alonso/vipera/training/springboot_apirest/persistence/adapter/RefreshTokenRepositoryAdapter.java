@@ -0,0 +1,49 @@
+package com.alonso.vipera.training.springboot_apirest.persistence.adapter;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+
+import com.alonso.vipera.training.springboot_apirest.model.user.RefreshToken;
+import com.alonso.vipera.training.springboot_apirest.persistence.jpa.RefreshTokenJpaRepository;
+import com.alonso.vipera.training.springboot_apirest.persistence.repository.RefreshTokenRepository;
+
+import lombok.AllArgsConstructor;
+
+@Component
+@AllArgsConstructor
+public class RefreshTokenRepositoryAdapter implements RefreshTokenRepository {
+
+    private final RefreshTokenJpaRepository jpaRepository;
+
+    @Override
+    public RefreshToken save(RefreshToken refreshToken) {
+        return jpaRepository.save(refreshToken);
+    }
+
+    @Override
+    public Optional<RefreshToken> findByTokenHash(String tokenHash) {
+        return jpaRepository.findByTokenHash(tokenHash);
+    }
+
+    @Override
+    public boolean markUsed(Long id, LocalDateTime now) {
+        return jpaRepository.markUsed(id, now) == 1;
+    }
+
+    @Override
+    public int revokeFamily(String familyId, LocalDateTime now) {
+        return jpaRepository.revokeFamily(familyId, now);
+    }
+
+    @Override
+    public int revokeAllByUserId(Long userId, LocalDateTime now) {
+        return jpaRepository.revokeAllByUserId(userId, now);
+    }
+
+    @Override
+    public int deleteExpired(LocalDateTime now) {
+        return jpaRepository.deleteExpired(now);
+    }
+}
@@ -0,0 +1,46 @@
+package com.alonso.vipera.training.springboot_apirest.persistence.adapter;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.alonso.vipera.training.springboot_apirest.model.user.RevokedToken;
+import com.alonso.vipera.training.springboot_apirest.persistence.jpa.RevokedTokenJpaRepository;
+import com.alonso.vipera.training.springboot_apirest.persistence.repository.RevokedTokenRepository;
+
+import lombok.AllArgsConstructor;
+
+@Component
+@AllArgsConstructor
+public class RevokedTokenRepositoryAdapter implements RevokedTokenRepository {
+
+    private final RevokedTokenJpaRepository jpaRepository;
+
+    @Override
+    public RevokedToken save(RevokedToken revokedToken) {
+        return jpaRepository.save(revokedToken);
+    }
+
+    @Override
+    public boolean existsByJti(String jti) {
+        return jpaRepository.existsByJti(jti);
+    }
+
+    @Override
+    public Map<String, LocalDateTime> findActive(LocalDateTime now) {
+        List<Object[]> rows = jpaRepository.findActive(now);
+        Map<String, LocalDateTime> active = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            active.put((String) row[0], (LocalDateTime) row[1]);
+        }
+        return active;
+    }
+
+    @Override
+    public int deleteExpired(LocalDateTime now) {
+        return jpaRepository.deleteExpired(now);
+    }
+}
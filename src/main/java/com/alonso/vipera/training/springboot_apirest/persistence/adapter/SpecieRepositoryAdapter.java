@@ -32,6 +32,11 @@ public class SpecieRepositoryAdapter implements SpecieRepository {
         return specieRepository.findById(id);
     }
 
+    @Override
+    public Specie getReference(Long id) {
+        return specieRepository.getReferenceById(id);
+    }
+
     @Override
     public Optional<Specie> findByName(String name) {
         return specieRepository.findByName(name);
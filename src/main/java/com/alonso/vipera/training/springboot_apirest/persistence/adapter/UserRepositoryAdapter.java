@@ -1,13 +1,27 @@
 package com.alonso.vipera.training.springboot_apirest.persistence.adapter;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import com.alonso.vipera.training.springboot_apirest.model.CursorPage;
 import com.alonso.vipera.training.springboot_apirest.model.user.User;
 import com.alonso.vipera.training.springboot_apirest.model.user.Role;
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.UserOutDTO;
 import com.alonso.vipera.training.springboot_apirest.persistence.jpa.UserJpaRepository;
 import com.alonso.vipera.training.springboot_apirest.persistence.repository.UserRepository;
 
@@ -22,11 +36,26 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor
 public class UserRepositoryAdapter implements UserRepository {
 
+    /**
+     * Máximo de valores por consulta IN, para no superar los límites de
+     * parámetros del driver.
+     */
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    /**
+     * INSERT de un usuario nuevo. Con rewriteBatchedStatements=true en la URL de
+     * MySQL, cada lote se envía como un único INSERT multi-fila.
+     */
+    private static final String INSERT_USER_SQL = "INSERT INTO users "
+            + "(name, surnames, email, phone, dni, address, password, role_id, enabled, token_version, "
+            + "version, created_at, modified_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0, ?, ?)";
+
     private UserJpaRepository userRepository;
+    private JdbcTemplate jdbcTemplate;
 
     @Override
-    public Page<User> findAll(Pageable pageable) {
-        return userRepository.findAll(pageable);
+    public Page<UserOutDTO> findAll(Pageable pageable) {
+        return userRepository.findByFilters(null, null, null, null, null, pageable);
     }
 
     @Override
@@ -35,16 +64,50 @@ public class UserRepositoryAdapter implements UserRepository {
     }
 
 
+    @Override
+    public Optional<UserOutDTO> findOutDTOById(Long id) {
+        return userRepository.findOutDTOById(id);
+    }
+
+    @Override
+    public Optional<String> findEmailById(Long id) {
+        return userRepository.findEmailById(id);
+    }
+
     @Override
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
 
     @Override
-    public Page<User> findByFilters(Long id, String name, String surnames, String email, Role role, Pageable pageable) {
+    public Optional<Long> findIdByEmail(String email) {
+        return userRepository.findIdByEmail(email);
+    }
+
+    @Override
+    public User getReference(Long id) {
+        return userRepository.getReferenceById(id);
+    }
+
+    @Override
+    public Map<String, Long> findIdsByEmails(Collection<String> emails) {
+        Map<String, Long> ids = new HashMap<>(emails.size() * 2);
+        inChunks(emails, userRepository::findIdsByEmailIn,
+                row -> ids.put((String) row[0], ((Number) row[1]).longValue()));
+        return ids;
+    }
+
+    @Override
+    public Page<UserOutDTO> findByFilters(Long id, String name, String surnames, String email, Role role, Pageable pageable) {
         return userRepository.findByFilters(id, name, surnames, email, role, pageable);
     }
 
+    @Override
+    public CursorPage<UserOutDTO> scrollByFilters(Long id, String name, String surnames, String email, Role role,
+            String sort, String cursor, int size) {
+        return userRepository.scrollByFilters(id, name, surnames, email, role, sort, cursor, size);
+    }
+
     @Override
     public boolean existsById(Long id) {
         return userRepository.existsById(id);
@@ -61,15 +124,89 @@ public class UserRepositoryAdapter implements UserRepository {
         return userRepository.checkIfPhoneExistsNative(phone).isPresent();
     }
 
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        Set<String> existing = new HashSet<>();
+        inChunks(emails, userRepository::findExistingEmailsNative, existing::add);
+        return existing;
+    }
+
+    @Override
+    public Set<String> findExistingPhones(Collection<String> phones) {
+        Set<String> existing = new HashSet<>();
+        inChunks(phones, userRepository::findExistingPhonesNative, existing::add);
+        return existing;
+    }
+
+    @Override
+    public Set<String> findExistingDnis(Collection<String> dnis) {
+        Set<String> existing = new HashSet<>();
+        inChunks(dnis, userRepository::findExistingDnisNative, existing::add);
+        return existing;
+    }
+
+    @Override
+    public void insertAll(List<User> users) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_USER_SQL, users, users.size(), (statement, user) -> {
+            statement.setString(1, user.getName());
+            statement.setString(2, user.getSurnames());
+            statement.setString(3, user.getEmail());
+            statement.setString(4, user.getPhone());
+            statement.setString(5, user.getDni());
+            statement.setString(6, user.getAddress());
+            statement.setString(7, user.getPassword());
+            statement.setLong(8, user.getUserRole().getId());
+            statement.setBoolean(9, user.isEnabled());
+            statement.setTimestamp(10, now);
+            statement.setTimestamp(11, now);
+        });
+    }
+
     @Override
     public User save(User user) {
         return userRepository.save(user);
     }
 
     @Override
-    public void delete(Long id) {
-        User fetched = userRepository.findById(id).orElse(null);
-        userRepository.delete(fetched);
+    public boolean updateIfRequester(Long id, String requesterEmail, Long version, String name, String surnames,
+            String phone, String email, String address) {
+        return userRepository.updateIfRequester(id, requesterEmail, version, name, surnames, phone, email, address,
+                LocalDateTime.now()) > 0;
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        return userRepository.softDeleteById(id, LocalDateTime.now()) > 0;
+    }
+
+    @Override
+    public int incrementTokenVersion(Long id) {
+        userRepository.incrementTokenVersion(id);
+        return userRepository.findTokenVersionById(id).orElse(0);
     }
 
+    @Override
+    public Map<Long, Integer> findRevokedTokenVersions() {
+        return userRepository.findRevokedTokenVersions()
+                .stream()
+                .collect(Collectors.toMap(
+                        row -> ((Number) row[0]).longValue(),
+                        row -> ((Number) row[1]).intValue()));
+    }
+
+    @Override
+    public void updatePassword(Long id, String password) {
+        userRepository.updatePassword(id, password);
+    }
+
+    /**
+     * Ejecuta una consulta IN por cada bloque de valores distintos.
+     */
+    private <T> void inChunks(Collection<String> values, Function<List<String>, List<T>> query, Consumer<T> sink) {
+        List<String> distinct = List.copyOf(Set.copyOf(values));
+        for (int from = 0; from < distinct.size(); from += LOOKUP_CHUNK_SIZE) {
+            query.apply(distinct.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, distinct.size()))).forEach(sink);
+        }
+    }
 }
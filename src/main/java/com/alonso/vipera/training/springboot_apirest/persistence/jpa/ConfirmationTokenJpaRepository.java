@@ -1,11 +1,38 @@
 package com.alonso.vipera.training.springboot_apirest.persistence.jpa;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.alonso.vipera.training.springboot_apirest.model.user.ConfirmationToken;
 
 public interface ConfirmationTokenJpaRepository extends JpaRepository<ConfirmationToken, Long> {
+
+    /**
+     * Busca un token de confirmación junto con su usuario y el rol de este,
+     * que se usan fuera de transacción al activar la cuenta.
+     *
+     * @param token Valor del token
+     * @return Optional con el token encontrado o vacío si no existe
+     */
+    @EntityGraph(attributePaths = { "user", "user.userRole" })
     Optional<ConfirmationToken> findByToken(String token);
+
+    /**
+     * Borra lógicamente, en un único UPDATE, los tokens de confirmación de un
+     * usuario.
+     *
+     * @param userId    ID del usuario
+     * @param deletedAt Fecha de borrado
+     * @return Número de tokens borrados
+     */
+    @Modifying
+    @Query("UPDATE ConfirmationToken t SET t.deletedAt = :deletedAt, t.modifiedAt = :deletedAt " +
+            "WHERE t.user.id = :userId AND t.deletedAt IS NULL")
+    int softDeleteByUserId(@Param("userId") Long userId, @Param("deletedAt") LocalDateTime deletedAt);
 }
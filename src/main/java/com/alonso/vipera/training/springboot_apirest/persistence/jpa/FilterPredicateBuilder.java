@@ -0,0 +1,136 @@
+package com.alonso.vipera.training.springboot_apirest.persistence.jpa;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Sort;
+
+import com.alonso.vipera.training.springboot_apirest.exception.InvalidSortException;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Constructor de predicados para búsquedas con filtros opcionales.
+ *
+ * Solo genera los predicados de los filtros informados, de modo que la
+ * consulta resultante no contiene condiciones del tipo
+ * {@code (:x IS NULL OR col = :x)} que impiden al optimizador usar índices.
+ * Los filtros de texto buscan por prefijo ({@code col LIKE 'valor%'}), que
+ * puede resolverse con un índice; si el valor empieza por {@value #CONTAINS_MARKER}
+ * se busca el texto en cualquier posición.
+ */
+public final class FilterPredicateBuilder {
+
+    /** Prefijo con el que el cliente pide búsqueda por contenido en lugar de por prefijo. */
+    public static final String CONTAINS_MARKER = "*";
+
+    private static final char ESCAPE = '\\';
+
+    private final CriteriaBuilder criteriaBuilder;
+    private final List<Predicate> predicates = new ArrayList<>();
+
+    public FilterPredicateBuilder(CriteriaBuilder criteriaBuilder) {
+        this.criteriaBuilder = criteriaBuilder;
+    }
+
+    /**
+     * Añade una condición de igualdad si el valor está informado.
+     *
+     * @param expression Columna a comparar
+     * @param value      Valor del filtro (puede ser null)
+     * @return Este constructor
+     */
+    public FilterPredicateBuilder equal(Expression<?> expression, Object value) {
+        if (value != null) {
+            predicates.add(criteriaBuilder.equal(expression, value));
+        }
+        return this;
+    }
+
+    /**
+     * Añade una búsqueda de texto si el valor está informado: por prefijo por
+     * defecto, o por contenido si el valor empieza por {@value #CONTAINS_MARKER}.
+     * Los comodines de SQL del valor se escapan.
+     *
+     * @param expression Columna de texto
+     * @param value      Texto buscado (puede ser null)
+     * @return Este constructor
+     */
+    public FilterPredicateBuilder matches(Expression<String> expression, String value) {
+        if (value == null || value.isBlank()) {
+            return this;
+        }
+        String term = value.trim();
+        boolean contains = term.startsWith(CONTAINS_MARKER);
+        if (contains) {
+            term = term.substring(CONTAINS_MARKER.length());
+        }
+        if (!term.isEmpty()) {
+            predicates.add(criteriaBuilder.like(expression, (contains ? "%" : "") + escape(term) + "%", ESCAPE));
+        }
+        return this;
+    }
+
+    /**
+     * Añade la condición de continuación de un listado por cursor si la
+     * posición está informada.
+     *
+     * @param cursor    Posición desde la que continuar (null en la primera página)
+     * @param createdAt Columna de fecha de creación
+     * @param id        Columna id
+     * @return Este constructor
+     */
+    public FilterPredicateBuilder after(KeysetCursor cursor, Expression<LocalDateTime> createdAt,
+            Expression<Long> id) {
+        if (cursor != null) {
+            predicates.add(cursor.after(criteriaBuilder, createdAt, id));
+        }
+        return this;
+    }
+
+    /**
+     * @return Predicados de los filtros informados
+     */
+    public Predicate[] build() {
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    /**
+     * Traduce la ordenación solicitada a criterios de ordenación, admitiendo
+     * solo los campos indicados.
+     *
+     * @param criteriaBuilder Constructor de criterios
+     * @param sort            Ordenación solicitada
+     * @param sortable        Campos permitidos y su expresión
+     * @return Criterios de ordenación
+     * @throws InvalidSortException si se pide un campo no permitido
+     */
+    public static List<Order> orders(CriteriaBuilder criteriaBuilder, Sort sort, Map<String, Expression<?>> sortable) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Expression<?> expression = sortable.get(order.getProperty());
+            if (expression == null) {
+                throw new InvalidSortException(order.getProperty(), sortable.keySet());
+            }
+            orders.add(order.isAscending() ? criteriaBuilder.asc(expression) : criteriaBuilder.desc(expression));
+        }
+        return orders;
+    }
+
+    private static String escape(String term) {
+        StringBuilder escaped = new StringBuilder(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                escaped.append(ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,174 @@
+package com.alonso.vipera.training.springboot_apirest.persistence.jpa;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.alonso.vipera.training.springboot_apirest.exception.InvalidCursorException;
+import com.alonso.vipera.training.springboot_apirest.exception.InvalidSortException;
+import com.alonso.vipera.training.springboot_apirest.model.CursorPage;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Posición dentro de un listado recorrido por cursor (keyset).
+ *
+ * En lugar de saltar filas con OFFSET, cada página continúa desde la clave de
+ * la última fila devuelta con una condición que resuelve el índice de la
+ * clave de ordenación, de modo que todas las páginas cuestan lo mismo. Se
+ * admiten dos ordenaciones, ambas estables y respaldadas por índice:
+ * <ul>
+ * <li>{@value #SORT_ID}: por id ascendente</li>
+ * <li>{@value #SORT_CREATED_AT}: por fecha de creación descendente (las más
+ * recientes primero), desempatando por id</li>
+ * </ul>
+ *
+ * El cursor se entrega al cliente como una cadena Base64 URL opaca que incluye
+ * la ordenación con la que se generó.
+ */
+public final class KeysetCursor {
+
+    /** Ordenación por id ascendente. */
+    public static final String SORT_ID = "id";
+
+    /** Ordenación por fecha de creación descendente y id. */
+    public static final String SORT_CREATED_AT = "createdAt";
+
+    /** Ordenaciones admitidas en el modo cursor. */
+    public static final Set<String> SORTABLE = Collections
+            .unmodifiableSet(new LinkedHashSet<>(List.of(SORT_ID, SORT_CREATED_AT)));
+
+    private static final String SEPARATOR = "|";
+
+    private final String sort;
+    private final LocalDateTime createdAt;
+    private final long id;
+
+    private KeysetCursor(String sort, LocalDateTime createdAt, long id) {
+        this.sort = sort;
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    /**
+     * Valida la ordenación solicitada.
+     *
+     * @param sort Ordenación solicitada (null para {@value #SORT_ID})
+     * @return Ordenación a aplicar
+     * @throws InvalidSortException si la ordenación no está admitida
+     */
+    public static String sort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return SORT_ID;
+        }
+        if (!SORTABLE.contains(sort)) {
+            throw new InvalidSortException(sort, SORTABLE);
+        }
+        return sort;
+    }
+
+    /**
+     * Decodifica el cursor recibido del cliente.
+     *
+     * @param cursor Cursor opaco (null para la primera página)
+     * @param sort   Ordenación solicitada, ya validada
+     * @return Posición desde la que continuar, o null para la primera página
+     * @throws InvalidCursorException si el cursor no es válido o se generó con
+     *                                otra ordenación
+     */
+    public static KeysetCursor decode(String cursor, String sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR, -1);
+            if (parts.length != 3 || !parts[0].equals(sort)) {
+                throw new InvalidCursorException();
+            }
+            LocalDateTime createdAt = parts[1].isEmpty() ? null : LocalDateTime.parse(parts[1]);
+            if (SORT_CREATED_AT.equals(sort) && createdAt == null) {
+                throw new InvalidCursorException();
+            }
+            return new KeysetCursor(sort, createdAt, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    /**
+     * Criterios de ordenación de la ordenación indicada.
+     *
+     * @param cb        Constructor de criterios
+     * @param sort      Ordenación, ya validada
+     * @param createdAt Columna de fecha de creación
+     * @param id        Columna id
+     * @return Criterios de ordenación
+     */
+    public static List<Order> orders(CriteriaBuilder cb, String sort, Expression<LocalDateTime> createdAt,
+            Expression<Long> id) {
+        List<Order> orders = new ArrayList<>(2);
+        if (SORT_CREATED_AT.equals(sort)) {
+            orders.add(cb.desc(createdAt));
+            orders.add(cb.desc(id));
+        } else {
+            orders.add(cb.asc(id));
+        }
+        return orders;
+    }
+
+    /**
+     * Condición que selecciona las filas posteriores a esta posición.
+     *
+     * @param cb        Constructor de criterios
+     * @param createdAt Columna de fecha de creación
+     * @param id        Columna id
+     * @return Predicado
+     */
+    public Predicate after(CriteriaBuilder cb, Expression<LocalDateTime> createdAt, Expression<Long> id) {
+        if (SORT_CREATED_AT.equals(sort)) {
+            return cb.or(
+                    cb.lessThan(createdAt, this.createdAt),
+                    cb.and(cb.equal(createdAt, this.createdAt), cb.lessThan(id, this.id)));
+        }
+        return cb.greaterThan(id, this.id);
+    }
+
+    /**
+     * Construye la página a partir de las filas leídas. Las consultas deben
+     * pedir una fila más que el tamaño de página para saber si hay más.
+     *
+     * @param rows      Filas leídas (como máximo size + 1)
+     * @param size      Tamaño de página
+     * @param sort      Ordenación aplicada
+     * @param createdAt Fecha de creación de una fila
+     * @param id        id de una fila
+     * @param <T>       Tipo de las filas
+     * @return Página con el cursor de la siguiente
+     */
+    public static <T> CursorPage<T> page(List<T> rows, int size, String sort, Function<T, LocalDateTime> createdAt,
+            Function<T, Long> id) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, size, false, null);
+        }
+        List<T> content = rows.subList(0, size);
+        T last = content.get(size - 1);
+        return new CursorPage<>(List.copyOf(content), size, true,
+                encode(sort, SORT_CREATED_AT.equals(sort) ? createdAt.apply(last) : null, id.apply(last)));
+    }
+
+    private static String encode(String sort, LocalDateTime createdAt, Long id) {
+        String value = sort + SEPARATOR + (createdAt != null ? createdAt : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
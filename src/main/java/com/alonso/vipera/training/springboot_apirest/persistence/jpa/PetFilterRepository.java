@@ -0,0 +1,45 @@
+package com.alonso.vipera.training.springboot_apirest.persistence.jpa;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.alonso.vipera.training.springboot_apirest.model.CursorPage;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.PetProjection;
+
+/**
+ * Búsqueda dinámica de mascotas, implementada con la API de Criteria en
+ * {@link PetFilterRepositoryImpl}.
+ */
+public interface PetFilterRepository {
+
+        /**
+         * Busca mascotas aplicando solo los filtros informados.
+         * El nombre se busca por prefijo (o por contenido si empieza por '*').
+         * Solo se puede ordenar por id, name y createdAt.
+         *
+         * @param petId    ID de la mascota (opcional)
+         * @param name     Nombre de la mascota (opcional)
+         * @param breedId  ID de la raza (opcional)
+         * @param specieId ID de la especie (opcional)
+         * @param pageable Información de paginación y ordenación
+         * @return Página de mascotas que cumplen con los filtros especificados
+         */
+        Page<PetProjection> findByFilters(Long petId, String name, Long breedId, Long specieId, Pageable pageable);
+
+        /**
+         * Recorre por cursor las mascotas que cumplen los filtros informados,
+         * sin contar el total. Cada página continúa desde la última fila de la
+         * anterior.
+         *
+         * @param petId    ID de la mascota (opcional)
+         * @param name     Nombre de la mascota (opcional)
+         * @param breedId  ID de la raza (opcional)
+         * @param specieId ID de la especie (opcional)
+         * @param sort     Ordenación: id o createdAt (opcional, id por defecto)
+         * @param cursor   Cursor de la página anterior (null para la primera)
+         * @param size     Tamaño de página
+         * @return Página de mascotas con el cursor de la siguiente
+         */
+        CursorPage<PetProjection> scrollByFilters(Long petId, String name, Long breedId, Long specieId, String sort,
+                        String cursor, int size);
+}
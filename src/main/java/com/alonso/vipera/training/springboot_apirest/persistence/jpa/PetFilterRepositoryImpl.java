@@ -0,0 +1,115 @@
+package com.alonso.vipera.training.springboot_apirest.persistence.jpa;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.alonso.vipera.training.springboot_apirest.model.CursorPage;
+import com.alonso.vipera.training.springboot_apirest.model.pet.Breed;
+import com.alonso.vipera.training.springboot_apirest.model.pet.Pet;
+import com.alonso.vipera.training.springboot_apirest.model.pet.Specie;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.PetProjection;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Implementación de {@link PetFilterRepository}.
+ *
+ * Selecciona directamente filas {@link PetProjection} y cuenta los resultados
+ * con una consulta sin joins, usando en ambas solo los predicados de los
+ * filtros informados. Los campos ordenables están respaldados por índices de
+ * la tabla pets. El recorrido por cursor no cuenta el total y continúa desde
+ * la clave de la última fila (ver {@link KeysetCursor}).
+ */
+public class PetFilterRepositoryImpl implements PetFilterRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<PetProjection> findByFilters(Long petId, String name, Long breedId, Long specieId, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<PetProjection> query = cb.createQuery(PetProjection.class);
+        Root<Pet> pet = selectProjection(cb, query);
+        query.where(filters(cb, pet, petId, name, breedId, specieId).build())
+                .orderBy(FilterPredicateBuilder.orders(cb, pageable.getSort(), sortable(pet)));
+
+        TypedQuery<PetProjection> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<PetProjection> content = typedQuery.getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+            Root<Pet> countRoot = countQuery.from(Pet.class);
+            countQuery.select(cb.count(countRoot))
+                    .where(filters(cb, countRoot, petId, name, breedId, specieId).build());
+            return entityManager.createQuery(countQuery).getSingleResult();
+        });
+    }
+
+    @Override
+    public CursorPage<PetProjection> scrollByFilters(Long petId, String name, Long breedId, Long specieId,
+            String sort, String cursor, int size) {
+        String keysetSort = KeysetCursor.sort(sort);
+        KeysetCursor after = KeysetCursor.decode(cursor, keysetSort);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<PetProjection> query = cb.createQuery(PetProjection.class);
+        Root<Pet> pet = selectProjection(cb, query);
+        query.where(filters(cb, pet, petId, name, breedId, specieId)
+                .after(after, pet.get("createdAt"), pet.get("id"))
+                .build())
+                .orderBy(KeysetCursor.orders(cb, keysetSort, pet.get("createdAt"), pet.get("id")));
+
+        List<PetProjection> rows = entityManager.createQuery(query)
+                .setMaxResults(size + 1)
+                .getResultList();
+        return KeysetCursor.page(rows, size, keysetSort, PetProjection::createdAt, PetProjection::id);
+    }
+
+    private static Root<Pet> selectProjection(CriteriaBuilder cb, CriteriaQuery<PetProjection> query) {
+        Root<Pet> pet = query.from(Pet.class);
+        Join<Pet, Specie> specie = pet.join("specie");
+        Join<Pet, Breed> breed = pet.join("breed");
+        Join<Breed, Specie> breedSpecie = breed.join("specie");
+        query.select(cb.construct(PetProjection.class,
+                pet.get("id"), pet.get("name"), pet.get("birthDate"), pet.get("weight"), pet.get("dietInfo"),
+                specie.get("id"), specie.get("name"),
+                breed.get("id"), breed.get("name"), breed.get("externalApiId"),
+                breedSpecie.get("id"), breedSpecie.get("name"),
+                pet.get("createdAt"), pet.get("version")));
+        return pet;
+    }
+
+    private static FilterPredicateBuilder filters(CriteriaBuilder cb, Root<Pet> pet, Long petId, String name,
+            Long breedId, Long specieId) {
+        return new FilterPredicateBuilder(cb)
+                .equal(pet.get("id"), petId)
+                .matches(pet.get("name"), name)
+                .equal(pet.get("breed").get("id"), breedId)
+                .equal(pet.get("specie").get("id"), specieId);
+    }
+
+    private static Map<String, Expression<?>> sortable(Root<Pet> pet) {
+        Map<String, Expression<?>> sortable = new LinkedHashMap<>();
+        sortable.put("id", pet.get("id"));
+        sortable.put("name", pet.get("name"));
+        sortable.put("createdAt", pet.get("createdAt"));
+        return sortable;
+    }
+}
@@ -1,49 +1,44 @@
 package com.alonso.vipera.training.springboot_apirest.persistence.jpa;
 
 import java.sql.Date;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.alonso.vipera.training.springboot_apirest.model.pet.Pet;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.PetProjection;
 
 /**
  * Repositorio JPA para la entidad Pet.
  * Proporciona métodos para realizar operaciones CRUD y consultas personalizadas
  * relacionadas con las mascotas en la base de datos.
+ *
+ * Las consultas de listado y búsqueda seleccionan directamente filas
+ * {@link PetProjection} con la especie y la raza en una única consulta, sin
+ * cargar entidades en el contexto de persistencia. La búsqueda paginada por
+ * filtros está en {@link PetFilterRepository}. La lectura por ID, usada al
+ * eliminar, carga solo la mascota: su especie y su raza se resuelven desde la
+ * caché de segundo nivel de Hibernate sin consultar la base de datos.
+ *
+ * La modificación es un único UPDATE condicional que comprueba el dueño y la
+ * versión en el WHERE, sin cargar la entidad.
  */
 @Repository
-public interface PetJpaRepository extends JpaRepository<Pet, Long> {
+public interface PetJpaRepository extends JpaRepository<Pet, Long>, PetFilterRepository {
 
         /**
-         * Busca mascotas aplicando múltiples filtros opcionales.
-         * Permite filtrar por ID de mascota, nombre, ID de raza e ID de especie.
-         * Si un filtro es nulo, no se aplica en la consulta.
-         *
-         * @param petId    ID de la mascota (opcional)
-         * @param name     Nombre de la mascota (opcional)
-         * @param breedId  ID de la raza (opcional)
-         * @param specieId ID de la especie (opcional)
-         * @param pageable Información de paginación
-         * @return Página de mascotas que cumplen con los filtros especificados
+         * Selección común de las consultas de listado.
          */
-        @Query("SELECT p FROM Pet p WHERE " +
-                        "(:pet_id IS NULL OR p.id = :pet_id) AND " +
-                        "(:name IS NULL OR p.name LIKE %:name%) AND " +
-                        "(:breedId IS NULL OR p.breed.id = :breedId) AND " +
-                        "(:specieId IS NULL OR p.specie.id = :specieId)")
-        Page<Pet> findByFilters(
-                        @Param("pet_id") Long petId,
-                        @Param("name") String name,
-                        @Param("breedId") Long breedId,
-                        @Param("specieId") Long specieId,
-                        Pageable pageable);
+        String PROJECTION = "SELECT new com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.PetProjection(" +
+                        "p.id, p.name, p.birthDate, p.weight, p.dietInfo, s.id, s.name, " +
+                        "b.id, b.name, b.externalApiId, bs.id, bs.name, p.createdAt, p.version) " +
+                        "FROM Pet p JOIN p.specie s JOIN p.breed b JOIN b.specie bs";
 
         /**
          * Busca mascotas por su nombre.
@@ -51,7 +46,8 @@ public interface PetJpaRepository extends JpaRepository<Pet, Long> {
          * @param name Nombre de la mascota a buscar
          * @return Lista de mascotas que coinciden con el nombre proporcionado
          */
-        List<Optional<Pet>> findByName(String name);
+        @Query(PROJECTION + " WHERE p.name = :name")
+        List<PetProjection> findByName(@Param("name") String name);
 
         /**
          * Busca mascotas por su fecha de nacimiento.
@@ -60,7 +56,8 @@ public interface PetJpaRepository extends JpaRepository<Pet, Long> {
          * @return Lista de mascotas que coinciden con la fecha de nacimiento
          *         proporcionada
          */
-        List<Optional<Pet>> findByBirthDate(Date birthDate);
+        @Query(PROJECTION + " WHERE p.birthDate = :birthDate")
+        List<PetProjection> findByBirthDate(@Param("birthDate") Date birthDate);
 
         /**
          * Busca mascotas por el nombre de su raza.
@@ -68,7 +65,8 @@ public interface PetJpaRepository extends JpaRepository<Pet, Long> {
          * @param breed Nombre de la raza de la mascota a buscar
          * @return Lista de mascotas que coinciden con el nombre de raza proporcionado
          */
-        List<Optional<Pet>> findByBreedName(String breed);
+        @Query(PROJECTION + " WHERE b.name = :breed")
+        List<PetProjection> findByBreedName(@Param("breed") String breed);
 
         /**
          * Busca mascotas por el nombre de su especie.
@@ -77,7 +75,8 @@ public interface PetJpaRepository extends JpaRepository<Pet, Long> {
          * @return Lista de mascotas que coinciden con el nombre de especie
          *         proporcionado
          */
-        List<Optional<Pet>> findBySpecieName(String specie);
+        @Query(PROJECTION + " WHERE s.name = :specie")
+        List<PetProjection> findBySpecieName(@Param("specie") String specie);
 
         /**
          * Busca mascotas por el email del propietario.
@@ -85,7 +84,74 @@ public interface PetJpaRepository extends JpaRepository<Pet, Long> {
          * @param email Email del propietario de la mascota
          * @return Lista de mascotas que pertenecen al usuario especificado
          */
-        List<Optional<Pet>> findByUserEmail(String email);
+        @Query(PROJECTION + " JOIN p.user u WHERE u.email = :email")
+        List<PetProjection> findByUserEmail(@Param("email") String email);
+
+        /**
+         * Busca una mascota por su ID junto con su especie y raza, como fila
+         * proyectada.
+         *
+         * @param id ID de la mascota
+         * @return Fila de la mascota, si existe
+         */
+        @Query(PROJECTION + " WHERE p.id = :id")
+        Optional<PetProjection> findProjectionById(@Param("id") Long id);
+
+        /**
+         * Obtiene el email del dueño de una mascota.
+         *
+         * @param id ID de la mascota
+         * @return Optional con el email del dueño o vacío si la mascota no existe
+         */
+        @Query("SELECT u.email FROM Pet p JOIN p.user u WHERE p.id = :id")
+        Optional<String> findOwnerEmailById(@Param("id") Long id);
+
+        /**
+         * Modifica los campos no nulos de una mascota en un único UPDATE, solo si
+         * pertenece al usuario indicado y la versión coincide con la actual.
+         * Incrementa la versión.
+         *
+         * @param id         ID de la mascota
+         * @param ownerEmail Email del dueño
+         * @param version    Versión esperada
+         * @param name       Nuevo nombre (opcional)
+         * @param weight     Nuevo peso (opcional)
+         * @param dietInfo   Nueva información de dieta (opcional)
+         * @param modifiedAt Fecha de modificación
+         * @return Número de filas actualizadas: 0 si no existe, no pertenece al
+         *         usuario o la versión no coincide
+         */
+        @Modifying
+        @Query("UPDATE Pet p SET p.name = COALESCE(:name, p.name), p.weight = COALESCE(:weight, p.weight), " +
+                        "p.dietInfo = COALESCE(:dietInfo, p.dietInfo), p.version = p.version + 1, " +
+                        "p.modifiedAt = :modifiedAt " +
+                        "WHERE p.id = :id AND p.deletedAt IS NULL " +
+                        "AND p.user.id = (SELECT u.id FROM User u WHERE u.email = :ownerEmail) " +
+                        "AND p.version = :version")
+        int updateIfOwner(@Param("id") Long id, @Param("ownerEmail") String ownerEmail,
+                        @Param("version") Long version, @Param("name") String name, @Param("weight") Double weight,
+                        @Param("dietInfo") String dietInfo, @Param("modifiedAt") LocalDateTime modifiedAt);
+
+        /**
+         * Borra lógicamente, en un único UPDATE, todas las mascotas de un
+         * usuario. Incrementa su versión.
+         *
+         * @param userId    ID del dueño
+         * @param deletedAt Fecha de borrado
+         * @return Número de mascotas borradas
+         */
+        @Modifying
+        @Query("UPDATE Pet p SET p.deletedAt = :deletedAt, p.modifiedAt = :deletedAt, p.version = p.version + 1 " +
+                        "WHERE p.user.id = :userId AND p.deletedAt IS NULL")
+        int softDeleteByUserId(@Param("userId") Long userId, @Param("deletedAt") LocalDateTime deletedAt);
+
+        /**
+         * Cuenta las mascotas de cada raza.
+         *
+         * @return Lista de pares [ID de raza, número de mascotas]
+         */
+        @Query("SELECT p.breed.id, COUNT(p) FROM Pet p GROUP BY p.breed.id")
+        List<Object[]> countByBreed();
 
         /**
          * Verifica si existe una mascota con el nombre especificado.
@@ -0,0 +1,78 @@
+package com.alonso.vipera.training.springboot_apirest.persistence.jpa;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.alonso.vipera.training.springboot_apirest.model.user.RefreshToken;
+
+/**
+ * Repositorio JPA para la entidad RefreshToken.
+ */
+public interface RefreshTokenJpaRepository extends JpaRepository<RefreshToken, Long> {
+
+        /**
+         * Busca un refresh token por su hash, cargando el usuario y su rol en la
+         * misma consulta.
+         *
+         * @param tokenHash Hash SHA-256 del token
+         * @return Optional con el token encontrado
+         */
+        @EntityGraph(attributePaths = { "user", "user.userRole" })
+        Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+        /**
+         * Marca un token como usado solo si sigue vigente. La condición en el
+         * UPDATE garantiza que dos canjes concurrentes del mismo token no puedan
+         * tener éxito ambos.
+         *
+         * @param id  ID del token
+         * @param now Instante de uso
+         * @return Número de filas actualizadas (0 si ya estaba usado o revocado)
+         */
+        @Transactional
+        @Modifying
+        @Query("UPDATE RefreshToken t SET t.usedAt = :now WHERE t.id = :id AND t.usedAt IS NULL AND t.revokedAt IS NULL")
+        int markUsed(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+        /**
+         * Revoca todos los tokens de una familia.
+         *
+         * @param familyId ID de la familia
+         * @param now      Instante de revocación
+         * @return Número de filas actualizadas
+         */
+        @Transactional
+        @Modifying
+        @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.familyId = :familyId AND t.revokedAt IS NULL")
+        int revokeFamily(@Param("familyId") String familyId, @Param("now") LocalDateTime now);
+
+        /**
+         * Revoca todos los tokens de un usuario.
+         *
+         * @param userId ID del usuario
+         * @param now    Instante de revocación
+         * @return Número de filas actualizadas
+         */
+        @Transactional
+        @Modifying
+        @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.user.id = :userId AND t.revokedAt IS NULL")
+        int revokeAllByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+        /**
+         * Elimina los tokens expirados.
+         *
+         * @param now Instante de referencia
+         * @return Número de filas eliminadas
+         */
+        @Transactional
+        @Modifying
+        @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :now")
+        int deleteExpired(@Param("now") LocalDateTime now);
+}
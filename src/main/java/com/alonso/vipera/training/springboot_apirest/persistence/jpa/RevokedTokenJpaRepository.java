@@ -0,0 +1,41 @@
+package com.alonso.vipera.training.springboot_apirest.persistence.jpa;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.alonso.vipera.training.springboot_apirest.model.user.RevokedToken;
+
+/**
+ * Repositorio JPA para la entidad RevokedToken.
+ */
+public interface RevokedTokenJpaRepository extends JpaRepository<RevokedToken, Long> {
+
+        boolean existsByJti(String jti);
+
+        /**
+         * Obtiene los jti y la expiración de los tokens revocados que todavía no
+         * han expirado.
+         *
+         * @param now Instante de referencia
+         * @return Lista de pares [jti, expiresAt]
+         */
+        @Query("SELECT t.jti, t.expiresAt FROM RevokedToken t WHERE t.expiresAt > :now")
+        List<Object[]> findActive(@Param("now") LocalDateTime now);
+
+        /**
+         * Elimina las revocaciones de tokens ya expirados.
+         *
+         * @param now Instante de referencia
+         * @return Número de filas eliminadas
+         */
+        @Transactional
+        @Modifying
+        @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+        int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -2,15 +2,23 @@ package com.alonso.vipera.training.springboot_apirest.persistence.jpa;
 
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.alonso.vipera.training.springboot_apirest.model.pet.Specie;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repositorio JPA para la entidad Specie.
  * Proporciona métodos para realizar operaciones CRUD y consultas personalizadas
  * relacionadas con las especies de mascotas en la base de datos.
+ *
+ * La búsqueda por nombre, que usan las sincronizaciones de razas, usa la caché
+ * de consultas de Hibernate. Las consultas de razas no se cachean: otras
+ * instancias insertan razas sin invalidar la caché local.
  */
 @Repository
 public interface SpecieJpaRepository extends JpaRepository<Specie, Long> {
@@ -21,6 +29,7 @@ public interface SpecieJpaRepository extends JpaRepository<Specie, Long> {
      * @param name Nombre de la especie a buscar
      * @return Optional que contiene la especie encontrada o vacío si no existe
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Specie> findByName(String name);
 
     /**
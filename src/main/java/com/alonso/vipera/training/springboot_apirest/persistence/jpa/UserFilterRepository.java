@@ -0,0 +1,50 @@
+package com.alonso.vipera.training.springboot_apirest.persistence.jpa;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.alonso.vipera.training.springboot_apirest.model.CursorPage;
+import com.alonso.vipera.training.springboot_apirest.model.user.Role;
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.UserOutDTO;
+
+/**
+ * Búsqueda dinámica de usuarios, implementada con la API de Criteria en
+ * {@link UserFilterRepositoryImpl}.
+ */
+public interface UserFilterRepository {
+
+        /**
+         * Busca usuarios aplicando solo los filtros informados.
+         * El nombre y los apellidos se buscan por prefijo (o por contenido si
+         * empiezan por '*'); el email por igualdad.
+         * Solo se puede ordenar por id, name, surnames, email y createdAt.
+         *
+         * @param id       ID del usuario (opcional)
+         * @param name     Nombre (opcional)
+         * @param surnames Apellidos (opcional)
+         * @param email    Correo electrónico (opcional)
+         * @param role     Rol del usuario (opcional)
+         * @param pageable Información de paginación y ordenación
+         * @return Página de usuarios que cumplen con los filtros especificados
+         */
+        Page<UserOutDTO> findByFilters(Long id, String name, String surnames, String email, Role role,
+                        Pageable pageable);
+
+        /**
+         * Recorre por cursor los usuarios que cumplen los filtros informados,
+         * sin contar el total. Cada página continúa desde la última fila de la
+         * anterior.
+         *
+         * @param id       ID del usuario (opcional)
+         * @param name     Nombre (opcional)
+         * @param surnames Apellidos (opcional)
+         * @param email    Correo electrónico (opcional)
+         * @param role     Rol del usuario (opcional)
+         * @param sort     Ordenación: id o createdAt (opcional, id por defecto)
+         * @param cursor   Cursor de la página anterior (null para la primera)
+         * @param size     Tamaño de página
+         * @return Página de usuarios con el cursor de la siguiente
+         */
+        CursorPage<UserOutDTO> scrollByFilters(Long id, String name, String surnames, String email, Role role,
+                        String sort, String cursor, int size);
+}
@@ -0,0 +1,121 @@
+package com.alonso.vipera.training.springboot_apirest.persistence.jpa;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.alonso.vipera.training.springboot_apirest.model.CursorPage;
+import com.alonso.vipera.training.springboot_apirest.model.user.Role;
+import com.alonso.vipera.training.springboot_apirest.model.user.User;
+import com.alonso.vipera.training.springboot_apirest.model.user.UserRole;
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.UserOutDTO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Implementación de {@link UserFilterRepository}.
+ *
+ * Selecciona directamente {@link UserOutDTO} y cuenta los resultados usando en
+ * ambas consultas solo los predicados de los filtros informados. El rol solo
+ * se une en el conteo cuando se filtra por él. Los campos ordenables están
+ * respaldados por índices de la tabla users. El recorrido por cursor no cuenta
+ * el total y continúa desde la clave de la última fila (ver {@link KeysetCursor}).
+ */
+public class UserFilterRepositoryImpl implements UserFilterRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<UserOutDTO> findByFilters(Long id, String name, String surnames, String email, Role role,
+            Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<UserOutDTO> query = cb.createQuery(UserOutDTO.class);
+        Root<User> user = query.from(User.class);
+        Join<User, UserRole> userRole = user.join("userRole");
+        query.select(selection(cb, user, userRole))
+                .where(filters(cb, user, userRole, id, name, surnames, email, role).build())
+                .orderBy(FilterPredicateBuilder.orders(cb, pageable.getSort(), sortable(user)));
+
+        TypedQuery<UserOutDTO> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<UserOutDTO> content = typedQuery.getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+            Root<User> countRoot = countQuery.from(User.class);
+            Join<User, UserRole> countRole = role != null ? countRoot.join("userRole") : null;
+            countQuery.select(cb.count(countRoot))
+                    .where(filters(cb, countRoot, countRole, id, name, surnames, email, role).build());
+            return entityManager.createQuery(countQuery).getSingleResult();
+        });
+    }
+
+    @Override
+    public CursorPage<UserOutDTO> scrollByFilters(Long id, String name, String surnames, String email, Role role,
+            String sort, String cursor, int size) {
+        String keysetSort = KeysetCursor.sort(sort);
+        KeysetCursor after = KeysetCursor.decode(cursor, keysetSort);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<UserOutDTO> query = cb.createQuery(UserOutDTO.class);
+        Root<User> user = query.from(User.class);
+        Join<User, UserRole> userRole = user.join("userRole");
+        query.select(selection(cb, user, userRole))
+                .where(filters(cb, user, userRole, id, name, surnames, email, role)
+                        .after(after, user.get("createdAt"), user.get("id"))
+                        .build())
+                .orderBy(KeysetCursor.orders(cb, keysetSort, user.get("createdAt"), user.get("id")));
+
+        List<UserOutDTO> rows = entityManager.createQuery(query)
+                .setMaxResults(size + 1)
+                .getResultList();
+        return KeysetCursor.page(rows, size, keysetSort, UserOutDTO::getCreatedAt, UserOutDTO::getId);
+    }
+
+    private static CompoundSelection<UserOutDTO> selection(CriteriaBuilder cb, Root<User> user,
+            Join<User, UserRole> userRole) {
+        return cb.construct(UserOutDTO.class,
+                user.get("id"), user.get("name"), user.get("surnames"), user.get("email"),
+                userRole.get("role"), user.get("createdAt"), user.get("version"));
+    }
+
+    private static FilterPredicateBuilder filters(CriteriaBuilder cb, Root<User> user, Join<User, UserRole> userRole,
+            Long id, String name, String surnames, String email, Role role) {
+        FilterPredicateBuilder builder = new FilterPredicateBuilder(cb)
+                .equal(user.get("id"), id)
+                .matches(user.get("name"), name)
+                .matches(user.get("surnames"), surnames)
+                .equal(user.get("email"), email);
+        if (role != null) {
+            builder.equal(userRole.get("role"), role);
+        }
+        return builder;
+    }
+
+    private static Map<String, Expression<?>> sortable(Root<User> user) {
+        Map<String, Expression<?>> sortable = new LinkedHashMap<>();
+        sortable.put("id", user.get("id"));
+        sortable.put("name", user.get("name"));
+        sortable.put("surnames", user.get("surnames"));
+        sortable.put("email", user.get("email"));
+        sortable.put("createdAt", user.get("createdAt"));
+        return sortable;
+    }
+}
@@ -1,25 +1,32 @@
 package com.alonso.vipera.training.springboot_apirest.persistence.jpa;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.alonso.vipera.training.springboot_apirest.model.user.User;
-import com.alonso.vipera.training.springboot_apirest.model.user.Role;
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.UserOutDTO;
 
 /**
  * Repositorio JPA para la entidad User.
  * Proporciona métodos para realizar operaciones CRUD y consultas personalizadas
  * relacionadas con los usuarios en la base de datos.
+ *
+ * Los listados seleccionan directamente {@link UserOutDTO} con el rol en una
+ * única consulta, sin cargar entidades en el contexto de persistencia, mediante
+ * la búsqueda por filtros de {@link UserFilterRepository}.
  */
 @Repository
-public interface UserJpaRepository extends JpaRepository<User, Long> {
+public interface UserJpaRepository extends JpaRepository<User, Long>, UserFilterRepository {
 
         /**
          * Busca un usuario por su correo electrónico.
@@ -30,33 +37,25 @@ public interface UserJpaRepository extends JpaRepository<User, Long> {
         @EntityGraph(attributePaths = "userRole")
         Optional<User> findByEmail(String email);
 
+        /**
+         * Obtiene únicamente el ID de un usuario por su correo electrónico.
+         *
+         * @param email Correo electrónico a buscar
+         * @return Optional con el ID del usuario o vacío si no existe
+         */
+        @Query("SELECT u.id FROM User u WHERE u.email = :email")
+        Optional<Long> findIdByEmail(@Param("email") String email);
 
         /**
-         * Busca usuarios aplicando múltiples filtros opcionales.
-         * Permite filtrar por ID, nombre, apellidos, correo electrónico y rol.
-         * Si un filtro es nulo, no se aplica en la consulta.
+         * Obtiene los pares (email, ID) de los usuarios con alguno de los
+         * correos electrónicos indicados.
          *
-         * @param id       ID del usuario (opcional)
-         * @param name     Nombre (opcional)
-         * @param surnames Apellidos (opcional)
-         * @param email    Correo electrónico (opcional)
-         * @param role     Rol del usuario (opcional)
-         * @param pageable Información de paginación
-         * @return Página de usuarios que cumplen con los filtros especificados
+         * @param emails Correos electrónicos a buscar
+         * @return Lista de pares [email, id]
          */
-        @Query("SELECT u FROM User u WHERE " +
-                        "(:id IS NULL OR u.id = :id) AND " +
-                        "(:name IS NULL OR u.name LIKE %:name%) AND " +
-                        "(:surnames IS NULL OR u.surnames LIKE %:surnames%) AND " +
-                        "(:email IS NULL OR u.email = :email) AND " +
-                        "(:role IS NULL OR u.userRole.role = :role)")
-        Page<User> findByFilters(
-                        @Param("id") Long id,
-                        @Param("name") String name,
-                        @Param("surnames") String surnames,
-                        @Param("email") String email,
-                        @Param("role") Role role,
-                        Pageable pageable);
+        @Query("SELECT u.email, u.id FROM User u WHERE u.email IN :emails")
+        List<Object[]> findIdsByEmailIn(@Param("emails") Collection<String> emails);
+
 
         /**
          * Comprueba si un email existe físicamente en la BBDD,
@@ -88,4 +87,141 @@ public interface UserJpaRepository extends JpaRepository<User, Long> {
          */
         @Query(value = "SELECT 1 FROM users WHERE phone = :phone LIMIT 1", nativeQuery = true)
         Optional<Object> checkIfPhoneExistsNative(@Param("phone") String phone);
+
+        /**
+         * Obtiene los emails indicados que existen FÍSICAMENTE en la BBDD,
+         * ignorando el filtro de soft-delete.
+         *
+         * @param emails Emails a comprobar.
+         * @return Emails que ya existen (borrados o no).
+         */
+        @Query(value = "SELECT email FROM users WHERE email IN (:emails)", nativeQuery = true)
+        List<String> findExistingEmailsNative(@Param("emails") Collection<String> emails);
+
+        /**
+         * Obtiene los teléfonos indicados que existen FÍSICAMENTE en la BBDD,
+         * ignorando el filtro de soft-delete.
+         *
+         * @param phones Teléfonos a comprobar.
+         * @return Teléfonos que ya existen (borrados o no).
+         */
+        @Query(value = "SELECT phone FROM users WHERE phone IN (:phones)", nativeQuery = true)
+        List<String> findExistingPhonesNative(@Param("phones") Collection<String> phones);
+
+        /**
+         * Obtiene los DNI indicados que existen FÍSICAMENTE en la BBDD,
+         * ignorando el filtro de soft-delete.
+         *
+         * @param dnis DNI a comprobar.
+         * @return DNI que ya existen (borrados o no).
+         */
+        @Query(value = "SELECT dni FROM users WHERE dni IN (:dnis)", nativeQuery = true)
+        List<String> findExistingDnisNative(@Param("dnis") Collection<String> dnis);
+
+        /**
+         * Incrementa la versión de tokens de un usuario, ignorando el filtro de
+         * soft-delete.
+         *
+         * @param id ID del usuario
+         * @return Número de filas actualizadas
+         */
+        @Transactional
+        @Modifying
+        @Query(value = "UPDATE users SET token_version = token_version + 1 WHERE id = :id", nativeQuery = true)
+        int incrementTokenVersion(@Param("id") Long id);
+
+        /**
+         * Obtiene la versión de tokens de un usuario, ignorando el filtro de
+         * soft-delete.
+         *
+         * @param id ID del usuario
+         * @return Optional con la versión de tokens del usuario
+         */
+        @Query(value = "SELECT token_version FROM users WHERE id = :id", nativeQuery = true)
+        Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+        /**
+         * Obtiene los pares (ID, versión de tokens) de los usuarios cuya versión
+         * se ha incrementado alguna vez, incluidos los borrados.
+         *
+         * @return Lista de pares [id, token_version]
+         */
+        @Query(value = "SELECT id, token_version FROM users WHERE token_version > 0", nativeQuery = true)
+        List<Object[]> findRevokedTokenVersions();
+
+        /**
+         * Busca los datos públicos de un usuario por su ID, con su rol, en una
+         * única consulta.
+         *
+         * @param id ID del usuario
+         * @return Optional con el DTO del usuario o vacío si no existe
+         */
+        @Query("SELECT new com.alonso.vipera.training.springboot_apirest.model.user.dto.out.UserOutDTO(" +
+                        "u.id, u.name, u.surnames, u.email, r.role, u.createdAt, u.version) " +
+                        "FROM User u JOIN u.userRole r WHERE u.id = :id")
+        Optional<UserOutDTO> findOutDTOById(@Param("id") Long id);
+
+        /**
+         * Obtiene el email de un usuario por su ID.
+         *
+         * @param id ID del usuario
+         * @return Optional con el email o vacío si no existe
+         */
+        @Query("SELECT u.email FROM User u WHERE u.id = :id")
+        Optional<String> findEmailById(@Param("id") Long id);
+
+        /**
+         * Modifica los campos no nulos de un usuario en un único UPDATE, solo si
+         * su email es el del solicitante y la versión coincide con la actual.
+         * Incrementa la versión.
+         *
+         * @param id             ID del usuario
+         * @param requesterEmail Email del usuario que realiza la petición
+         * @param version        Versión esperada
+         * @param name           Nuevo nombre (opcional)
+         * @param surnames       Nuevos apellidos (opcional)
+         * @param phone          Nuevo teléfono (opcional)
+         * @param email          Nuevo email (opcional)
+         * @param address        Nueva dirección (opcional)
+         * @param modifiedAt     Fecha de modificación
+         * @return Número de filas actualizadas: 0 si no existe, no es el
+         *         solicitante o la versión no coincide
+         */
+        @Modifying
+        @Query("UPDATE User u SET u.name = COALESCE(:name, u.name), u.surnames = COALESCE(:surnames, u.surnames), " +
+                        "u.phone = COALESCE(:phone, u.phone), u.email = COALESCE(:email, u.email), " +
+                        "u.address = COALESCE(:address, u.address), u.version = u.version + 1, " +
+                        "u.modifiedAt = :modifiedAt " +
+                        "WHERE u.id = :id AND u.email = :requesterEmail AND u.deletedAt IS NULL " +
+                        "AND u.version = :version")
+        int updateIfRequester(@Param("id") Long id, @Param("requesterEmail") String requesterEmail,
+                        @Param("version") Long version, @Param("name") String name,
+                        @Param("surnames") String surnames, @Param("phone") String phone,
+                        @Param("email") String email, @Param("address") String address,
+                        @Param("modifiedAt") LocalDateTime modifiedAt);
+
+        /**
+         * Borra lógicamente un usuario con un UPDATE, sin cargarlo ni propagar el
+         * borrado a sus mascotas. Incrementa su versión.
+         *
+         * @param id        ID del usuario
+         * @param deletedAt Fecha de borrado
+         * @return Número de filas actualizadas: 0 si no existe o ya estaba borrado
+         */
+        @Modifying
+        @Query("UPDATE User u SET u.deletedAt = :deletedAt, u.modifiedAt = :deletedAt, u.version = u.version + 1 " +
+                        "WHERE u.id = :id AND u.deletedAt IS NULL")
+        int softDeleteById(@Param("id") Long id, @Param("deletedAt") LocalDateTime deletedAt);
+
+        /**
+         * Actualiza únicamente el hash de la contraseña de un usuario.
+         *
+         * @param id       ID del usuario
+         * @param password Nuevo hash de la contraseña
+         * @return Número de filas actualizadas
+         */
+        @Transactional
+        @Modifying
+        @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+        int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
@@ -1,14 +1,42 @@
 package com.alonso.vipera.training.springboot_apirest.persistence.jpa;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.alonso.vipera.training.springboot_apirest.model.user.Role;
 import com.alonso.vipera.training.springboot_apirest.model.user.UserRole;
 
+import jakarta.persistence.QueryHint;
+
+/**
+ * Repositorio JPA para la entidad UserRole.
+ *
+ * Las consultas usan la caché de consultas de Hibernate: cada registro de
+ * usuario busca su rol, y los roles no cambian.
+ */
 @Repository
 public interface UserRoleJpaRepository extends JpaRepository<UserRole, Long> {
+
+    /**
+     * Busca un rol por su nombre.
+     *
+     * @param role Rol a buscar
+     * @return Optional con el rol encontrado o vacío si no existe
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<UserRole> findByRole(Role role);
+
+    /**
+     * Obtiene todos los roles.
+     *
+     * @return Lista de roles
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<UserRole> findAll();
 }
@@ -27,6 +27,14 @@ public interface BreedRepository {
      */
     Optional<Breed> findById(Long id);
 
+    /**
+     * Obtiene una referencia a una raza sin consultar la base de datos.
+     *
+     * @param id ID de la raza
+     * @return Referencia a la raza
+     */
+    Breed getReference(Long id);
+
     /**
      * 
      * Busca una raza por su nombre exacto.
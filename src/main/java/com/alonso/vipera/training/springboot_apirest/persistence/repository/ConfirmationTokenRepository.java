@@ -1,5 +1,6 @@
 package com.alonso.vipera.training.springboot_apirest.persistence.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import com.alonso.vipera.training.springboot_apirest.model.user.ConfirmationToken;
@@ -7,7 +8,24 @@ import com.alonso.vipera.training.springboot_apirest.model.user.ConfirmationToke
 public interface ConfirmationTokenRepository {
     ConfirmationToken save(ConfirmationToken confirmationToken);
 
+    /**
+     * Inserta tokens de confirmación nuevos en lotes JDBC. El usuario solo
+     * necesita el ID.
+     *
+     * @param confirmationTokens Tokens a insertar
+     */
+    void insertAll(List<ConfirmationToken> confirmationTokens);
+
     Optional<ConfirmationToken> findByToken(String token);
 
     void delete(ConfirmationToken confirmationToken);
+
+    /**
+     * Borra lógicamente todos los tokens de confirmación de un usuario con un
+     * único UPDATE.
+     *
+     * @param userId ID del usuario
+     * @return Número de tokens borrados
+     */
+    int softDeleteByUserId(Long userId);
 }
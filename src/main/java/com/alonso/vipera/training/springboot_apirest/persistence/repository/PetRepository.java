@@ -2,12 +2,15 @@ package com.alonso.vipera.training.springboot_apirest.persistence.repository;
 
 import java.sql.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.alonso.vipera.training.springboot_apirest.model.CursorPage;
 import com.alonso.vipera.training.springboot_apirest.model.pet.Pet;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.PetProjection;
 
 /**
  * Repositorio para la gestión de mascotas.
@@ -22,13 +25,29 @@ public interface PetRepository {
      */
     Optional<Pet> findById(Long id);
 
+    /**
+     * Busca una mascota por su ID, como fila proyectada con su especie y raza.
+     * 
+     * @param id ID de la mascota.
+     * @return Optional con la fila de la mascota, o vacío si no existe.
+     */
+    Optional<PetProjection> findProjectionById(Long id);
+
+    /**
+     * Obtiene el email del dueño de una mascota.
+     * 
+     * @param id ID de la mascota.
+     * @return Optional con el email del dueño, o vacío si la mascota no existe.
+     */
+    Optional<String> findOwnerEmailById(Long id);
+
     /**
      * Busca mascotas por el email de su dueño.
      * 
      * @param email Email del dueño.
      * @return Lista de mascotas pertenecientes al dueño especificado.
      */
-    List<Pet> findPetsByUserEmail(String email);
+    List<PetProjection> findPetsByUserEmail(String email);
 
     /**
      * Busca mascotas por su nombre.
@@ -36,7 +55,7 @@ public interface PetRepository {
      * @param name Nombre de la mascota.
      * @return Lista de mascotas con el nombre especificado.
      */
-    List<Pet> findByName(String name);
+    List<PetProjection> findByName(String name);
 
     /**
      * Busca mascotas por su fecha de nacimiento.
@@ -44,7 +63,7 @@ public interface PetRepository {
      * @param birthDate Fecha de nacimiento de la mascota.
      * @return Lista de mascotas nacidas en la fecha especificada.
      */
-    List<Pet> findByBirthDate(Date birthDate);
+    List<PetProjection> findByBirthDate(Date birthDate);
 
     /**
      * Busca mascotas por el nombre de su raza.
@@ -52,7 +71,7 @@ public interface PetRepository {
      * @param breed Nombre de la raza.
      * @return Lista de mascotas de la raza especificada.
      */
-    List<Pet> findByBreedName(String breed);
+    List<PetProjection> findByBreedName(String breed);
 
     /**
      * Busca mascotas por el nombre de su especie.
@@ -60,7 +79,7 @@ public interface PetRepository {
      * @param specie Nombre de la especie.
      * @return Lista de mascotas de la especie especificada.
      */
-    List<Pet> findBySpecieName(String specie);
+    List<PetProjection> findBySpecieName(String specie);
 
     /**
      * Recupera todas las mascotas con paginación.
@@ -68,7 +87,7 @@ public interface PetRepository {
      * @param pageable Parámetros de paginación.
      * @return Página de mascotas.
      */
-    Page<Pet> findAll(Pageable pageable);
+    Page<PetProjection> findAll(Pageable pageable);
 
     /**
      * Busca mascotas según varios filtros.
@@ -80,7 +99,23 @@ public interface PetRepository {
      * @param pageable  Parámetros de paginación.
      * @return Página de mascotas que coinciden con los filtros.
      */
-    Page<Pet> findByFilters(Long pet_id, String name, Long breed_id, Long specie_id, Pageable pageable);
+    Page<PetProjection> findByFilters(Long pet_id, String name, Long breed_id, Long specie_id, Pageable pageable);
+
+    /**
+     * Recorre por cursor las mascotas que coinciden con los filtros, sin contar
+     * el total.
+     * 
+     * @param pet_id    ID de la mascota (opcional).
+     * @param name      Nombre de la mascota (opcional).
+     * @param breed_id  ID de la raza (opcional).
+     * @param specie_id ID de la especie (opcional).
+     * @param sort      Ordenación: id o createdAt (opcional).
+     * @param cursor    Cursor de la página anterior (opcional).
+     * @param size      Tamaño de página.
+     * @return Página de mascotas con el cursor de la siguiente.
+     */
+    CursorPage<PetProjection> scrollByFilters(Long pet_id, String name, Long breed_id, Long specie_id, String sort,
+            String cursor, int size);
 
     /**
      * Guarda una mascota en el repositorio.
@@ -90,6 +125,29 @@ public interface PetRepository {
      */
     Pet save(Pet pet);
 
+    /**
+     * Modifica los campos no nulos de una mascota en un único UPDATE
+     * condicional, solo si pertenece al dueño indicado y la versión coincide
+     * con la actual.
+     * 
+     * @param id         ID de la mascota.
+     * @param ownerEmail Email del dueño.
+     * @param version    Versión esperada.
+     * @param name       Nuevo nombre (opcional).
+     * @param weight     Nuevo peso (opcional).
+     * @param dietInfo   Nueva información de dieta (opcional).
+     * @return true si se ha modificado la mascota.
+     */
+    boolean updateIfOwner(Long id, String ownerEmail, Long version, String name, Double weight, String dietInfo);
+
+    /**
+     * Inserta mascotas nuevas en lotes JDBC, sin pasar por el contexto de
+     * persistencia. El dueño, la especie y la raza solo necesitan el ID.
+     * 
+     * @param pets Mascotas a insertar.
+     */
+    void insertAll(List<Pet> pets);
+
     /**
      * Elimina una mascota del repositorio.
      * 
@@ -97,4 +155,21 @@ public interface PetRepository {
      */
     void delete(Pet pet);
 
+    /**
+     * Borra lógicamente todas las mascotas de un usuario con un único UPDATE,
+     * sin cargarlas.
+     * 
+     * @param userId ID del dueño.
+     * @return Número de mascotas borradas.
+     */
+    int softDeleteByUserId(Long userId);
+
+    /**
+     * Cuenta las mascotas de cada raza con una única consulta agrupada.
+     * 
+     * @return Mapa de ID de raza a número de mascotas (sin las razas sin
+     *         mascotas).
+     */
+    Map<Long, Long> countPetsByBreed();
+
 }
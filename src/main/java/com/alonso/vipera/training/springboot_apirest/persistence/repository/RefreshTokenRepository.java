@@ -0,0 +1,24 @@
+package com.alonso.vipera.training.springboot_apirest.persistence.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import com.alonso.vipera.training.springboot_apirest.model.user.RefreshToken;
+
+/**
+ * Interfaz del repositorio para la gestión de refresh tokens.
+ */
+public interface RefreshTokenRepository {
+
+    RefreshToken save(RefreshToken refreshToken);
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    boolean markUsed(Long id, LocalDateTime now);
+
+    int revokeFamily(String familyId, LocalDateTime now);
+
+    int revokeAllByUserId(Long userId, LocalDateTime now);
+
+    int deleteExpired(LocalDateTime now);
+}
@@ -0,0 +1,26 @@
+package com.alonso.vipera.training.springboot_apirest.persistence.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import com.alonso.vipera.training.springboot_apirest.model.user.RevokedToken;
+
+/**
+ * Interfaz del repositorio para la gestión de tokens de acceso revocados.
+ */
+public interface RevokedTokenRepository {
+
+    RevokedToken save(RevokedToken revokedToken);
+
+    boolean existsByJti(String jti);
+
+    /**
+     * Obtiene los tokens revocados que todavía no han expirado.
+     *
+     * @param now Instante de referencia
+     * @return Mapa de jti a instante de expiración
+     */
+    Map<String, LocalDateTime> findActive(LocalDateTime now);
+
+    int deleteExpired(LocalDateTime now);
+}
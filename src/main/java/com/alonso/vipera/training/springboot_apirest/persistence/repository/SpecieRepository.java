@@ -26,6 +26,14 @@ public interface SpecieRepository {
      */
     Optional<Specie> findById(Long id);
 
+    /**
+     * Obtiene una referencia a una especie sin consultar la base de datos.
+     *
+     * @param id ID de la especie
+     * @return Referencia a la especie
+     */
+    Specie getReference(Long id);
+
     /**
      * Busca una especie por su nombre.
      *
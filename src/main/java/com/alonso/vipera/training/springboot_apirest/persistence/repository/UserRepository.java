@@ -1,12 +1,18 @@
 package com.alonso.vipera.training.springboot_apirest.persistence.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.alonso.vipera.training.springboot_apirest.model.CursorPage;
 import com.alonso.vipera.training.springboot_apirest.model.user.Role;
 import com.alonso.vipera.training.springboot_apirest.model.user.User;
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.UserOutDTO;
 
 /**
  * Repositorio para la gestión de usuarios.
@@ -19,7 +25,7 @@ public interface UserRepository {
      * @param pageable Información de paginación
      * @return Página de usuarios
      */
-    Page<User> findAll(Pageable pageable);
+    Page<UserOutDTO> findAll(Pageable pageable);
 
     /**
      * Busca un usuario por su ID.
@@ -29,6 +35,22 @@ public interface UserRepository {
      */
     Optional<User> findById(Long id);
 
+    /**
+     * Busca los datos públicos de un usuario por su ID.
+     * 
+     * @param id ID del usuario
+     * @return Optional con el DTO del usuario o vacío si no existe
+     */
+    Optional<UserOutDTO> findOutDTOById(Long id);
+
+    /**
+     * Obtiene el email de un usuario por su ID.
+     * 
+     * @param id ID del usuario
+     * @return Optional con el email o vacío si no existe
+     */
+    Optional<String> findEmailById(Long id);
+
 
     /**
      * Busca un usuario por su correo electrónico.
@@ -38,6 +60,31 @@ public interface UserRepository {
      */
     Optional<User> findByEmail(String email);
 
+    /**
+     * Obtiene únicamente el ID de un usuario por su correo electrónico.
+     * 
+     * @param email Correo electrónico a buscar
+     * @return Optional con el ID del usuario o vacío si no existe
+     */
+    Optional<Long> findIdByEmail(String email);
+
+    /**
+     * Obtiene una referencia a un usuario sin consultar la base de datos.
+     * 
+     * @param id ID del usuario
+     * @return Referencia al usuario
+     */
+    User getReference(Long id);
+
+    /**
+     * Obtiene los IDs de los usuarios con los correos electrónicos indicados.
+     * Los correos sin usuario no aparecen en el resultado.
+     * 
+     * @param emails Correos electrónicos a buscar
+     * @return Mapa de correo electrónico a ID de usuario
+     */
+    Map<String, Long> findIdsByEmails(Collection<String> emails);
+
     /**
      * Busca usuarios que coincidan con los filtros proporcionados.
      * 
@@ -49,7 +96,24 @@ public interface UserRepository {
      * @param pageable Información de paginación
      * @return Página de usuarios que coinciden con los filtros
      */
-    Page<User> findByFilters(Long id, String name, String surnames, String email, Role role, Pageable pageable);
+    Page<UserOutDTO> findByFilters(Long id, String name, String surnames, String email, Role role, Pageable pageable);
+
+    /**
+     * Recorre por cursor los usuarios que coinciden con los filtros, sin contar
+     * el total.
+     * 
+     * @param id       ID del usuario a buscar (opcional)
+     * @param name     Nombre a buscar (opcional)
+     * @param surnames Apellidos a buscar (opcional)
+     * @param email    Correo electrónico a buscar (opcional)
+     * @param role     Rol del usuario a buscar (opcional)
+     * @param sort     Ordenación: id o createdAt (opcional)
+     * @param cursor   Cursor de la página anterior (opcional)
+     * @param size     Tamaño de página
+     * @return Página de usuarios con el cursor de la siguiente
+     */
+    CursorPage<UserOutDTO> scrollByFilters(Long id, String name, String surnames, String email, Role role, String sort,
+            String cursor, int size);
 
     /**
      * Verifica si existe un usuario con el ID especificado.
@@ -76,6 +140,33 @@ public interface UserRepository {
      */
     boolean existsByPhone(String phone);
 
+    /**
+     * Obtiene cuáles de los correos electrónicos indicados ya están registrados,
+     * incluidos los de usuarios borrados.
+     * 
+     * @param emails Correos electrónicos a comprobar
+     * @return Correos electrónicos ya registrados
+     */
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    /**
+     * Obtiene cuáles de los teléfonos indicados ya están registrados, incluidos
+     * los de usuarios borrados.
+     * 
+     * @param phones Teléfonos a comprobar
+     * @return Teléfonos ya registrados
+     */
+    Set<String> findExistingPhones(Collection<String> phones);
+
+    /**
+     * Obtiene cuáles de los DNI indicados ya están registrados, incluidos los
+     * de usuarios borrados.
+     * 
+     * @param dnis DNI a comprobar
+     * @return DNI ya registrados
+     */
+    Set<String> findExistingDnis(Collection<String> dnis);
+
     /**
      * Guarda un usuario en el repositorio.
      * 
@@ -85,10 +176,64 @@ public interface UserRepository {
     User save(User user);
 
     /**
-     * Elimina un usuario por su ID.
+     * Modifica los campos no nulos de un usuario en un único UPDATE condicional,
+     * solo si su email es el del solicitante y la versión coincide con la
+     * actual.
+     * 
+     * @param id             ID del usuario
+     * @param requesterEmail Email del usuario que realiza la petición
+     * @param version        Versión esperada
+     * @param name           Nuevo nombre (opcional)
+     * @param surnames       Nuevos apellidos (opcional)
+     * @param phone          Nuevo teléfono (opcional)
+     * @param email          Nuevo email (opcional)
+     * @param address        Nueva dirección (opcional)
+     * @return true si se ha modificado el usuario
+     */
+    boolean updateIfRequester(Long id, String requesterEmail, Long version, String name, String surnames,
+            String phone, String email, String address);
+
+    /**
+     * Inserta usuarios nuevos en lotes JDBC, sin pasar por el contexto de
+     * persistencia. El rol solo necesita el ID.
+     * 
+     * @param users Usuarios a insertar
+     */
+    void insertAll(List<User> users);
+
+    /**
+     * Borra lógicamente un usuario por su ID con un único UPDATE, sin cargarlo.
+     * Sus mascotas y tokens se borran aparte, también por conjuntos.
      * 
      * @param id ID del usuario a eliminar
+     * @return true si se ha borrado el usuario, false si no existe
+     */
+    boolean delete(Long id);
+
+
+    /**
+     * Incrementa la versión de tokens de un usuario, invalidando los tokens
+     * emitidos previamente.
+     * 
+     * @param id ID del usuario
+     * @return Nueva versión de tokens del usuario
+     */
+    int incrementTokenVersion(Long id);
+
+    /**
+     * Obtiene las versiones de tokens de los usuarios que han tenido alguna
+     * invalidación (versión mayor que 0).
+     * 
+     * @return Mapa de ID de usuario a versión de tokens
+     */
+    Map<Long, Integer> findRevokedTokenVersions();
+
+    /**
+     * Actualiza únicamente el hash de la contraseña de un usuario.
+     * 
+     * @param id       ID del usuario
+     * @param password Nuevo hash de la contraseña
      */
-    void delete(Long id);
+    void updatePassword(Long id, String password);
 
-}
\ No newline at end of file
+}
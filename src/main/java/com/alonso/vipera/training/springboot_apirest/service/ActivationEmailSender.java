@@ -0,0 +1,88 @@
+package com.alonso.vipera.training.springboot_apirest.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Servicio que envía los correos de activación en segundo plano, en un
+ * ejecutor dedicado y acotado, para que las altas no esperen al servidor SMTP.
+ *
+ * Cuando la cola está llena el correo se envía en el hilo que lo solicita: la
+ * petición se ralentiza, pero ningún correo se descarta. Un fallo de envío solo
+ * se registra; el token de activación sigue siendo válido.
+ *
+ * Al parar la aplicación se espera a que se vacíe la cola durante
+ * {@value #SHUTDOWN_TIMEOUT_SECONDS} segundos.
+ *
+ * Métricas publicadas: executor.* con name=activation-email.
+ */
+@Slf4j
+@Service
+public class ActivationEmailSender {
+
+    private static final String EXECUTOR_NAME = "activation-email";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final EmailService emailService;
+    private final ThreadPoolExecutor executor;
+
+    public ActivationEmailSender(
+            EmailService emailService,
+            MeterRegistry meterRegistry,
+            @Value("${email.activation.pool-size:2}") int poolSize,
+            @Value("${email.activation.queue-capacity:10000}") int queueCapacity) {
+        this.emailService = emailService;
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, EXECUTOR_NAME + "-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, EXECUTOR_NAME);
+
+        log.info("Ejecutor de correos de activación creado con {} hilos y cola de {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * Encola el envío de un correo de activación.
+     *
+     * @param to    Destinatario
+     * @param token Token de activación
+     */
+    public void send(String to, String token) {
+        executor.execute(() -> {
+            try {
+                emailService.sendActivationEmail(to, token);
+            } catch (RuntimeException e) {
+                log.error("No se pudo enviar el correo de activación a {}: {}", to, e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("Quedan {} correos de activación sin enviar al parar la aplicación", executor.getQueue().size());
+            executor.shutdownNow();
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.alonso.vipera.training.springboot_apirest.service;
 
 import com.alonso.vipera.training.springboot_apirest.exception.BadCredentialsInputException;
+import com.alonso.vipera.training.springboot_apirest.exception.InvalidRefreshTokenException;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.ActivateAccountRequestDTO;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.LoginRequestDTO;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.OwnerCreationRequestDTO;
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.RefreshTokenRequestDTO;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.VetRegisterRequestDTO;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.AuthResponseDTO;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.UserOutDTO;
@@ -60,6 +62,26 @@ public interface AuthService {
      */
     AuthResponseDTO loginWithVet(LoginRequestDTO loginRequestDTO);
 
+    /**
+     * Renueva la sesión a partir de un refresh token, sin verificar la contraseña.
+     * El refresh token presentado queda invalidado y se devuelve uno nuevo.
+     *
+     * @param refreshTokenRequestDTO DTO con el refresh token
+     * @return Respuesta de autenticación con nuevo token JWT, nuevo refresh token y datos del usuario
+     * @throws InvalidRefreshTokenException Si el refresh token no es válido, ha expirado o ya fue usado
+     */
+    AuthResponseDTO refresh(RefreshTokenRequestDTO refreshTokenRequestDTO);
+
+    /**
+     * Cierra la sesión revocando el token de acceso y, si se indica, la familia
+     * del refresh token. Es idempotente: los tokens inválidos o ya expirados se
+     * ignoran.
+     *
+     * @param accessToken  Token JWT de acceso (puede ser null)
+     * @param refreshToken Refresh token de la sesión (puede ser null)
+     */
+    void logout(String accessToken, String refreshToken);
+
 
     /**
      * Verifica si existe un veterinario o propietario de mascotas con el email especificado.
@@ -1,14 +1,13 @@
 package com.alonso.vipera.training.springboot_apirest.service;
 
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.alonso.vipera.training.springboot_apirest.exception.AccountDisabledException;
 import com.alonso.vipera.training.springboot_apirest.exception.BadCredentialsInputException;
 import com.alonso.vipera.training.springboot_apirest.exception.EmailNotFoundException;
 import com.alonso.vipera.training.springboot_apirest.exception.EmailTakenException;
+import com.alonso.vipera.training.springboot_apirest.exception.HashingCapacityExceededException;
 import com.alonso.vipera.training.springboot_apirest.exception.PhoneTakenException;
 import com.alonso.vipera.training.springboot_apirest.exception.RoleNotFoundException;
 import com.alonso.vipera.training.springboot_apirest.exception.UserCreationException;
@@ -17,9 +16,11 @@ import com.alonso.vipera.training.springboot_apirest.mapper.UserMapper;
 import com.alonso.vipera.training.springboot_apirest.model.user.Role;
 import com.alonso.vipera.training.springboot_apirest.model.user.User;
 import com.alonso.vipera.training.springboot_apirest.model.user.UserRole;
+import com.alonso.vipera.training.springboot_apirest.model.user.VerifiedJwt;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.ActivateAccountRequestDTO;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.LoginRequestDTO;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.OwnerCreationRequestDTO;
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.RefreshTokenRequestDTO;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.VetRegisterRequestDTO;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.AuthResponseDTO;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.UserOutDTO;
@@ -32,8 +33,10 @@ import com.alonso.vipera.training.springboot_apirest.exception.TokenExpiredExcep
 import com.alonso.vipera.training.springboot_apirest.exception.PasswordsDoNotMatchException;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.UUID;
 
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -41,6 +44,12 @@ import lombok.extern.slf4j.Slf4j;
  * Implementación del servicio de autenticación y autorización.
  * Maneja el registro de nuevos usuarios, inicio de sesión y validaciones de
  * credenciales.
+ *
+ * Las contraseñas se codifican y verifican siempre fuera de transacción: un
+ * hash cuesta del orden de cientos de milisegundos y no debe retener una
+ * conexión del pool. Por eso las escrituras de cada caso de uso se agrupan en
+ * una única transacción con {@link TransactionTemplate} en lugar de anotar los
+ * métodos completos.
  */
 @Slf4j
 @Service
@@ -49,12 +58,15 @@ public class AuthServiceImpl implements AuthService {
 
     private final UserRepositoryAdapter userRepositoryAdapter;
     private final UserMapper userMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtService jwtService;
-    private final AuthenticationManager authenticationManager;
     private final UserRoleJpaRepository userRoleJpaRepository;
     private final ConfirmationTokenRepository confirmationTokenRepository;
     private final EmailService emailService;
+    private final PrincipalCache principalCache;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public AuthResponseDTO registerVet(VetRegisterRequestDTO registerRequestDTO) {
@@ -65,19 +77,23 @@ public class AuthServiceImpl implements AuthService {
         log.debug("Inputs verificados con éxito.");
 
         log.debug("Codificando la contraseña del veterinario...");
-        registerRequestDTO.setPassword(passwordEncoder.encode(registerRequestDTO.getPassword()));
+        registerRequestDTO.setPassword(passwordHashingService.encode(registerRequestDTO.getPassword()));
 
         log.debug("Guardando el veterinario en la base de datos...");
-        User user = userMapper.toEntity(registerRequestDTO);
-        
-        // Fetch persistent role
-        UserRole userRole = userRoleJpaRepository.findByRole(registerRequestDTO.getRole())
-            .orElseThrow(() -> new RoleNotFoundException());
-        user.setUserRole(userRole);
-        user.setEnabled(true);
-
-        user = userRepositoryAdapter.save(user);
-        verifyRegisterOutputs(user);
+        User newUser = userMapper.toEntity(registerRequestDTO);
+        RegisteredUser registered = transactionTemplate.execute(status -> {
+            // Fetch persistent role
+            UserRole userRole = userRoleJpaRepository.findByRole(registerRequestDTO.getRole())
+                .orElseThrow(() -> new RoleNotFoundException());
+            newUser.setUserRole(userRole);
+            newUser.setEnabled(true);
+
+            User savedUser = userRepositoryAdapter.save(newUser);
+            verifyRegisterOutputs(savedUser);
+            return new RegisteredUser(savedUser, refreshTokenService.issue(savedUser));
+        });
+        User user = registered.user();
+        principalCache.invalidate(user.getEmail());
 
         log.info("Veterinario {} registrado con éxito. ID: {}", user.getEmail(), user.getId());
 
@@ -85,7 +101,7 @@ public class AuthServiceImpl implements AuthService {
         String token = jwtService.generateToken(user);
         log.debug("Token JWT generado.");
 
-        return new AuthResponseDTO(token, userMapper.toOutDTO(user));
+        return new AuthResponseDTO(token, registered.refreshToken(), userMapper.toOutDTO(user));
     }
     
     @Override
@@ -94,33 +110,34 @@ public class AuthServiceImpl implements AuthService {
 
         verifyRegisterInputs(ownerCreationRequest);
 
-        User user = userMapper.toEntity(ownerCreationRequest);
-        
-        // Fetch persistent role
-        UserRole userRole = userRoleJpaRepository.findByRole(ownerCreationRequest.getRole())
-            .orElseThrow(() -> new RoleNotFoundException());
-        user.setUserRole(userRole);
-        
+        User newUser = userMapper.toEntity(ownerCreationRequest);
         // Shadow User logic: starting as disabled
-        user.setEnabled(false);
-        // Password will be set during activation, setting a random UUID as initial password placeholder
-        user.setPassword(passwordEncoder.encode(UUID.randomUUID().toString()));
-
-        user = userRepositoryAdapter.save(user);
-        verifyRegisterOutputs(user);
+        newUser.setEnabled(false);
+        // Password will be set during activation; a null password never matches on login
+        newUser.setPassword(null);
 
         // Generate activation token
         String token = UUID.randomUUID().toString();
-        ConfirmationToken confirmationToken = ConfirmationToken.builder()
-                .token(token)
-                .createdAt(LocalDateTime.now())
-                .expiresAt(LocalDateTime.now().plusHours(24))
-                .user(user)
-                .build();
-        
-        confirmationTokenRepository.save(confirmationToken);
-
-        // Send activation email
+        User user = transactionTemplate.execute(status -> {
+            // Fetch persistent role
+            UserRole userRole = userRoleJpaRepository.findByRole(ownerCreationRequest.getRole())
+                .orElseThrow(() -> new RoleNotFoundException());
+            newUser.setUserRole(userRole);
+
+            User savedUser = userRepositoryAdapter.save(newUser);
+            verifyRegisterOutputs(savedUser);
+
+            confirmationTokenRepository.save(ConfirmationToken.builder()
+                    .token(token)
+                    .createdAt(LocalDateTime.now())
+                    .expiresAt(LocalDateTime.now().plusHours(24))
+                    .user(savedUser)
+                    .build());
+            return savedUser;
+        });
+        principalCache.invalidate(user.getEmail());
+
+        // Send activation email once the user is committed
         emailService.sendActivationEmail(user.getEmail(), token);
 
         log.info("Propietario {} creado con éxito en modo inactivo. ID: {}", user.getEmail(), user.getId());
@@ -148,19 +165,30 @@ public class AuthServiceImpl implements AuthService {
         }
 
         User user = confirmationToken.getUser();
-        user.setPassword(passwordEncoder.encode(request.newPassword()));
+        user.setPassword(passwordHashingService.encode(request.newPassword()));
         user.setEnabled(true);
-
-        userRepositoryAdapter.save(user);
-
         confirmationToken.setConfirmedAt(LocalDateTime.now());
-        confirmationTokenRepository.save(confirmationToken);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepositoryAdapter.save(user);
+            confirmationTokenRepository.save(confirmationToken);
+        });
+        principalCache.invalidate(user.getEmail());
 
         log.info("Cuenta del usuario {} activada con éxito.", user.getEmail());
 
         return userMapper.toOutDTO(user);
     }
 
+    /**
+     * Usuario registrado junto con su primer refresh token.
+     *
+     * @param user         Usuario guardado
+     * @param refreshToken Refresh token en claro
+     */
+    private record RegisteredUser(User user, String refreshToken) {
+    }
+
     private void verifyRegisterInputs(VetRegisterRequestDTO registerRequestDTO) {
 
         if (existsByEmail(registerRequestDTO.getEmail())) {
@@ -198,76 +226,135 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public AuthResponseDTO loginWithUser(LoginRequestDTO loginRequestDTO) {
-        try {
-            log.info("Autenticando al usuario con email: {}...", loginRequestDTO.getEmail());
-
-            log.info("Recuperando los detalles del usuario con email: {}...", loginRequestDTO.getEmail());
-            User user = userRepositoryAdapter.findByEmail(loginRequestDTO.getEmail())
-                    .orElseThrow(() -> new EmailNotFoundException());
-
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            user.getUsername(),
-                            loginRequestDTO.getPassword()));
-            log.info("Usuario {} con email: {} autenticado con éxito.", user.getUsername(), user.getEmail());
-
-            if (user.getUserRole().getRole() != Role.USER) {
-                log.warn("El usuario {} con email: {} intentó loguearse como USER pero es {}.", user.getUsername(),
-                        user.getEmail(), user.getUserRole());
-                throw new WrongRoleActionException();
-            }
-            log.info("Detalles del usuario {} con email: {} recuperados con éxito.", user.getUsername(),
-                    user.getEmail());
-
-            log.info("Generando token de autenticación para el usuario {} con email: {}...", user.getUsername(),
-                    user.getEmail());
-            String token = jwtService.generateToken(user);
-            log.info("Token de autenticación generado con éxito para el usuario {} con email: {}.", user.getUsername(),
-                    user.getEmail());
-
-            return new AuthResponseDTO(token, userMapper.toOutDTO(user));
-        } catch (BadCredentialsException e) {
-            log.warn("Credenciales inválidas para el usuario con email: {}.", loginRequestDTO.getEmail());
-            throw new BadCredentialsInputException();
+        log.info("Autenticando al usuario con email: {}...", loginRequestDTO.getEmail());
+
+        log.info("Recuperando los detalles del usuario con email: {}...", loginRequestDTO.getEmail());
+        User user = userRepositoryAdapter.findByEmail(loginRequestDTO.getEmail())
+                .orElseThrow(() -> new EmailNotFoundException());
+
+        verifyCredentials(user, loginRequestDTO);
+        log.info("Usuario {} con email: {} autenticado con éxito.", user.getUsername(), user.getEmail());
+
+        if (user.getUserRole().getRole() != Role.USER) {
+            log.warn("El usuario {} con email: {} intentó loguearse como USER pero es {}.", user.getUsername(),
+                    user.getEmail(), user.getUserRole());
+            throw new WrongRoleActionException();
         }
+        log.info("Detalles del usuario {} con email: {} recuperados con éxito.", user.getUsername(),
+                user.getEmail());
+
+        log.info("Generando token de autenticación para el usuario {} con email: {}...", user.getUsername(),
+                user.getEmail());
+        String token = jwtService.generateToken(user);
+        log.info("Token de autenticación generado con éxito para el usuario {} con email: {}.", user.getUsername(),
+                user.getEmail());
+
+        return new AuthResponseDTO(token, refreshTokenService.issue(user), userMapper.toOutDTO(user));
     }
 
     @Override
     public AuthResponseDTO loginWithVet(LoginRequestDTO loginRequestDTO) {
-        try {
-            log.info("Autenticando al veterinario con email: {}...", loginRequestDTO.getEmail());
-
-            log.info("Recuperando los detalles del veterinario con email: {}...", loginRequestDTO.getEmail());
-            User user = userRepositoryAdapter.findByEmail(loginRequestDTO.getEmail())
-                    .orElseThrow(() -> new EmailNotFoundException());
-
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            user.getUsername(),
-                            loginRequestDTO.getPassword()));
-            log.info("Veterinario {} con email: {} autenticado con éxito.", user.getUsername(), user.getEmail());
-
-            if (user.getUserRole().getRole() != Role.VET) {
-                log.warn("El usuario {} con email: {} intentó loguearse como VET pero es {}.", user.getUsername(),
-                        user.getEmail(), user.getUserRole());
-                throw new WrongRoleActionException();
+        log.info("Autenticando al veterinario con email: {}...", loginRequestDTO.getEmail());
+
+        log.info("Recuperando los detalles del veterinario con email: {}...", loginRequestDTO.getEmail());
+        User user = userRepositoryAdapter.findByEmail(loginRequestDTO.getEmail())
+                .orElseThrow(() -> new EmailNotFoundException());
+
+        verifyCredentials(user, loginRequestDTO);
+        log.info("Veterinario {} con email: {} autenticado con éxito.", user.getUsername(), user.getEmail());
+
+        if (user.getUserRole().getRole() != Role.VET) {
+            log.warn("El usuario {} con email: {} intentó loguearse como VET pero es {}.", user.getUsername(),
+                    user.getEmail(), user.getUserRole());
+            throw new WrongRoleActionException();
+        }
+        log.info("Detalles del veterinario {} con email: {} recuperados con éxito.", user.getUsername(),
+                user.getEmail());
+
+        log.info("Generando token de autenticación para el veterinario {} con email: {}...", user.getUsername(),
+                user.getEmail());
+        String token = jwtService.generateToken(user);
+        log.info("Token de autenticación generado con éxito para el veterinario {} con email: {}.",
+                user.getUsername(), user.getEmail());
+
+        return new AuthResponseDTO(token, refreshTokenService.issue(user), userMapper.toOutDTO(user));
+    }
+
+    @Override
+    public AuthResponseDTO refresh(RefreshTokenRequestDTO refreshTokenRequestDTO) {
+        log.debug("Renovando sesión con refresh token...");
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshTokenRequestDTO.refreshToken());
+        User user = rotation.user();
+
+        String token = jwtService.generateToken(user);
+        log.info("Sesión renovada para el usuario con ID: {}", user.getId());
+
+        return new AuthResponseDTO(token, rotation.refreshToken(), userMapper.toOutDTO(user));
+    }
+
+    @Override
+    public void logout(String accessToken, String refreshToken) {
+        if (accessToken != null) {
+            try {
+                VerifiedJwt verifiedJwt = jwtService.verify(accessToken);
+                if (verifiedJwt.tokenId() != null) {
+                    tokenRevocationService.revoke(verifiedJwt.tokenId(), verifiedJwt.userId(),
+                            LocalDateTime.ofInstant(verifiedJwt.expiresAt(), ZoneId.systemDefault()));
+                }
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("Token de acceso inválido o expirado en logout, no es necesario revocarlo.");
             }
-            log.info("Detalles del veterinario {} con email: {} recuperados con éxito.", user.getUsername(),
-                    user.getEmail());
-
-            log.info("Generando token de autenticación para el veterinario {} con email: {}...", user.getUsername(),
-                    user.getEmail());
-            String token = jwtService.generateToken(user);
-            log.info("Token de autenticación generado con éxito para el veterinario {} con email: {}.",
-                    user.getUsername(), user.getEmail());
-
-            return new AuthResponseDTO(token, userMapper.toOutDTO(user));
-        } catch (BadCredentialsException e) {
-            log.warn("Credenciales inválidas para el veterinario con email: {}.", loginRequestDTO.getEmail());
+        }
+
+        if (refreshToken != null) {
+            refreshTokenService.revokeFamilyOf(refreshToken);
+        }
+        log.info("Sesión cerrada.");
+    }
+
+    /**
+     * Verifica la contraseña del usuario en el ejecutor de hashing y comprueba
+     * que la cuenta esté activada.
+     *
+     * @param user            Usuario recuperado de la base de datos
+     * @param loginRequestDTO Credenciales proporcionadas
+     */
+    private void verifyCredentials(User user, LoginRequestDTO loginRequestDTO) {
+        if (user.getPassword() == null
+                || !passwordHashingService.matches(loginRequestDTO.getPassword(), user.getPassword())) {
+            log.warn("Credenciales inválidas para el email: {}.", loginRequestDTO.getEmail());
             throw new BadCredentialsInputException();
         }
+
+        if (!user.isEnabled()) {
+            log.warn("El usuario con email: {} intentó iniciar sesión con la cuenta sin activar.", user.getEmail());
+            throw new AccountDisabledException();
+        }
+
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            rehashPassword(user, loginRequestDTO.getPassword());
+        }
     }
 
+    /**
+     * Regenera el hash de la contraseña del usuario con el algoritmo y el coste
+     * vigentes. Un fallo al regenerar no impide el inicio de sesión.
+     *
+     * @param user        Usuario autenticado
+     * @param rawPassword Contraseña en claro ya verificada
+     */
+    private void rehashPassword(User user, String rawPassword) {
+        try {
+            log.debug("Regenerando el hash de la contraseña del usuario con ID: {}", user.getId());
+            String newHash = passwordHashingService.encode(rawPassword);
+            userRepositoryAdapter.updatePassword(user.getId(), newHash);
+            user.setPassword(newHash);
+            principalCache.invalidate(user.getEmail());
+        } catch (HashingCapacityExceededException e) {
+            log.warn("No se pudo regenerar el hash del usuario con ID: {}. Se reintentará en el próximo inicio de sesión.",
+                    user.getId());
+        }
+    }
 
     @Override
     public void verifyToken(String token) {
@@ -44,4 +44,15 @@ public interface BreedService {
      */
     List<BreedOutDTO> findBySpecieId(Long id);
 
-}
\ No newline at end of file
+    /**
+     * Sugiere razas para autocompletar a partir del texto escrito, sin
+     * distinguir mayúsculas ni tildes. Las razas con más mascotas van primero.
+     *
+     * @param query    Texto escrito por el usuario
+     * @param specieId ID de la especie por la que filtrar (opcional)
+     * @param limit    Número máximo de sugerencias (opcional)
+     * @return Lista de razas sugeridas
+     */
+    List<BreedOutDTO> suggest(String query, Long specieId, Integer limit);
+
+}
@@ -1,36 +1,33 @@
 package com.alonso.vipera.training.springboot_apirest.service;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import com.alonso.vipera.training.springboot_apirest.exception.BreedNotFoundException;
 import com.alonso.vipera.training.springboot_apirest.mapper.BreedMapper;
 import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.BreedOutDTO;
-import com.alonso.vipera.training.springboot_apirest.persistence.adapter.BreedRepositoryAdapter;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Implementación del servicio para la gestión de razas de mascotas.
- * Proporciona operaciones de consulta para entidades Breed.
+ * Proporciona operaciones de consulta para entidades Breed, servidas desde el
+ * {@link ReferenceCatalog} en memoria sin acceder a la base de datos.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class BreedServiceImpl implements BreedService {
 
-    private final BreedRepositoryAdapter breedRepositoryAdapter;
+    private final ReferenceCatalog referenceCatalog;
     private final BreedMapper breedMapper;
 
     @Override
-    @Cacheable("breeds")
     public List<BreedOutDTO> getAllBreeds() {
-        log.debug("Recuperando todos las razas de la base de datos...");
-        List<BreedOutDTO> breeds = breedRepositoryAdapter.findAll()
+        log.debug("Recuperando todas las razas del catálogo...");
+        List<BreedOutDTO> breeds = referenceCatalog.getBreeds()
                 .stream()
                 .map(breedMapper::toDTO)
                 .toList();
@@ -41,31 +38,39 @@ public class BreedServiceImpl implements BreedService {
     @Override
     public BreedOutDTO findByName(String name) {
         log.debug("Buscando raza por nombre: {}", name);
-        BreedOutDTO breed = breedRepositoryAdapter.findByName(name)
+        BreedOutDTO breed = referenceCatalog.findBreedByName(name)
                 .map(breedMapper::toDTO)
                 .orElseThrow(() -> new BreedNotFoundException());
-        log.debug("Raza encontrada: {}", breed != null ? breed.getName() : "Ninguna");
+        log.debug("Raza encontrada: {}", breed.getName());
         return breed;
     }
 
     @Override
     public boolean existsByName(String name) {
         log.debug("Verificando existencia de raza por nombre: {}", name);
-        boolean exists = breedRepositoryAdapter.existsByName(name);
+        boolean exists = referenceCatalog.findBreedByName(name).isPresent();
         log.debug("¿Existe la raza '{}'? {}", name, exists);
         return exists;
     }
 
     @Override
-    @Cacheable(value = "breeds-by-specie", key = "#id")
     public List<BreedOutDTO> findBySpecieId(Long id) {
         log.debug("Buscando razas por ID de especie: {}", id);
-        List<BreedOutDTO> breeds = breedRepositoryAdapter.findBreedsBySpecieId(id)
+        List<BreedOutDTO> breeds = referenceCatalog.getBreedsBySpecie(id)
                 .stream()
                 .map(breedMapper::toDTO)
-                .collect(Collectors.toList());
+                .toList();
         log.debug("Número de razas encontradas para la especie ID {}: {}", id, breeds.size());
         return breeds;
     }
 
+    @Override
+    public List<BreedOutDTO> suggest(String query, Long specieId, Integer limit) {
+        log.debug("Sugiriendo razas para: '{}' (especie ID: {})", query, specieId);
+        return referenceCatalog.suggestBreeds(query, specieId, SuggestIndex.limit(limit))
+                .stream()
+                .map(breedMapper::toDTO)
+                .toList();
+    }
+
 }
@@ -0,0 +1,121 @@
+package com.alonso.vipera.training.springboot_apirest.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Service;
+
+import com.alonso.vipera.training.springboot_apirest.exception.CacheNotFoundException;
+import com.alonso.vipera.training.springboot_apirest.model.cache.dto.out.CacheOutDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Servicio de administración de las cachés de este nodo: consulta de sus
+ * estadísticas y vaciado.
+ *
+ * Las cachés gestionadas son la de principales ({@link PrincipalCache}, con
+ * el nombre "principals") y las regiones de la caché de segundo nivel de
+ * Hibernate (species, breeds, roles y las de la caché de consultas), todas
+ * ellas Caffeine. Las regiones se vacían a través de Hibernate; vaciar la de
+ * marcas de tiempo vacía también los resultados de consultas, que sin ella
+ * podrían darse por vigentes.
+ */
+@Slf4j
+@Service
+public class CacheAdminService {
+
+    private static final String PRINCIPALS = "principals";
+
+    private final PrincipalCache principalCache;
+    private final CacheImplementor secondLevelCache;
+    private final javax.cache.CacheManager regionCacheManager;
+
+    public CacheAdminService(PrincipalCache principalCache, EntityManagerFactory entityManagerFactory) {
+        this.principalCache = principalCache;
+        this.secondLevelCache = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache();
+        RegionFactory regionFactory = secondLevelCache.getRegionFactory();
+        this.regionCacheManager = regionFactory instanceof JCacheRegionFactory jcache ? jcache.getCacheManager()
+                : null;
+    }
+
+    /**
+     * Obtiene el estado de todas las cachés.
+     *
+     * @return Estado de cada caché, ordenado por nombre
+     */
+    public List<CacheOutDTO> getCaches() {
+        return Stream.concat(Stream.of(PRINCIPALS), regionNames())
+                .sorted()
+                .map(this::getCache)
+                .toList();
+    }
+
+    /**
+     * Obtiene el estado de una caché.
+     *
+     * @param name Nombre de la caché
+     * @return Estado y estadísticas de la caché
+     * @throws CacheNotFoundException si la caché no existe
+     */
+    public CacheOutDTO getCache(String name) {
+        Cache<?, ?> cache = nativeCache(name);
+        cache.cleanUp();
+        CacheStats stats = cache.stats();
+        return new CacheOutDTO(
+                name,
+                cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                stats.loadCount(),
+                stats.averageLoadPenalty() / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    /**
+     * Vacía una caché. Las estadísticas acumuladas se conservan.
+     *
+     * @param name Nombre de la caché
+     * @throws CacheNotFoundException si la caché no existe
+     */
+    public void clear(String name) {
+        if (PRINCIPALS.equals(name)) {
+            principalCache.invalidateAll();
+        } else if (name.equals(secondLevelCache.getTimestampsCache().getRegion().getName())) {
+            secondLevelCache.getTimestampsCache().clear();
+            secondLevelCache.evictQueryRegions();
+        } else if (regionNames().anyMatch(name::equals)) {
+            secondLevelCache.evictRegion(name);
+        } else {
+            throw new CacheNotFoundException();
+        }
+        log.info("Caché '{}' vaciada", name);
+    }
+
+    private Stream<String> regionNames() {
+        if (regionCacheManager == null) {
+            return Stream.empty();
+        }
+        return StreamSupport.stream(regionCacheManager.getCacheNames().spliterator(), false);
+    }
+
+    private Cache<?, ?> nativeCache(String name) {
+        if (PRINCIPALS.equals(name)) {
+            return principalCache.getNativeCache();
+        }
+        if (regionNames().noneMatch(name::equals)) {
+            throw new CacheNotFoundException();
+        }
+        return regionCacheManager.getCache(name).unwrap(Cache.class);
+    }
+}
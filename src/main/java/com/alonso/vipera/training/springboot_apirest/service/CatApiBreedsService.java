@@ -4,7 +4,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.alonso.vipera.training.springboot_apirest.clients.CatApiClient;
@@ -28,8 +28,9 @@ import lombok.extern.slf4j.Slf4j;
  * compararlas con los datos existentes en la base de datos local, y sincronizar
  * únicamente las razas nuevas para evitar duplicados.
  * 
- * Implementa patrones de Circuit Breaker para tolerancia a fallos y manejo de caché
- * para optimizar el rendimiento de las consultas posteriores.
+ * Implementa patrones de Circuit Breaker para tolerancia a fallos y avisa al
+ * catálogo de referencia en memoria cuando guarda razas nuevas, que recarga su
+ * instantánea al confirmarse la transacción.
  */
 @Slf4j
 @Service
@@ -40,6 +41,7 @@ public class CatApiBreedsService {
     private final BreedRepositoryAdapter breedRepositoryAdapter;
     private final SpecieRepositoryAdapter specieRepository;
     private final BreedMapper breedMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Obtiene todas las razas de gato desde la Cat API externa.
@@ -63,7 +65,7 @@ public class CatApiBreedsService {
      * 2. Obtiene las razas desde la API externa
      * 3. Compara con las razas existentes usando externalApiId
      * 4. Guarda únicamente las razas nuevas para evitar duplicados
-     * 5. Invalida el caché para reflejar los cambios
+     * 5. Avisa al catálogo de referencia para que se recargue tras el commit
      * 
      * Nota: La Cat API utiliza String como ID (a diferencia de Dog API que usa Integer),
      * por lo que no requiere conversión toString() en la comparación.
@@ -72,7 +74,6 @@ public class CatApiBreedsService {
      * @throws IllegalStateException Si la especie 'Gato' no existe en la BD
      */
     @Transactional
-    @CacheEvict(value = { "breeds", "breeds-by-specie" }, allEntries = true)
     public List<BreedOutDTO> saveAllCatsBreeds() {
         log.info("Iniciando sincronización de razas de gato desde Cat API");
 
@@ -122,6 +123,8 @@ public class CatApiBreedsService {
                 .map(breedMapper::toDTO)
                 .toList();
 
+        eventPublisher.publishEvent(new CatalogChangedEvent("sync razas de gato"));
+
         log.info("Sincronización completada: {} razas de gato guardadas/actualizadas", savedBreeds.size());
         return savedBreeds;
     }
@@ -0,0 +1,12 @@
+package com.alonso.vipera.training.springboot_apirest.service;
+
+/**
+ * Evento que indica que se han modificado especies o razas en la base de
+ * datos y que el {@link ReferenceCatalog} debe recargarse cuando se confirme
+ * la transacción.
+ *
+ * @param source Origen del cambio (por ejemplo, la sincronización que lo ha
+ *               provocado)
+ */
+public record CatalogChangedEvent(String source) {
+}
@@ -0,0 +1,179 @@
+package com.alonso.vipera.training.springboot_apirest.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caché de las respuestas de /species y /breeds ya serializadas.
+ *
+ * Estas respuestas solo cambian cuando cambia el {@link ReferenceCatalog}, así
+ * que cada una se serializa a JSON y se comprime con gzip una única vez por
+ * versión del catálogo. Las peticiones posteriores escriben directamente los
+ * bytes guardados, sin volver a mapear ni serializar los DTOs.
+ *
+ * Cada cuerpo lleva un ETag fuerte calculado a partir de su contenido, que es
+ * el mismo en todas las instancias y no cambia si una recarga del catálogo no
+ * modifica la respuesta. La variante gzip tiene su propio ETag.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogResponseCache {
+
+    private static final String SPECIES_KEY = "species";
+    private static final String BREEDS_KEY = "breeds";
+    private static final String NO_BREEDS_KEY = "breeds:none";
+
+    private final ReferenceCatalog referenceCatalog;
+    private final SpecieService specieService;
+    private final BreedService breedService;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, CachedBody> bodies = new ConcurrentHashMap<>();
+
+    /**
+     * Cuerpo de respuesta serializado.
+     *
+     * @param catalogVersion Versión del catálogo con la que se generó
+     * @param json           JSON sin comprimir
+     * @param gzip           JSON comprimido con gzip
+     * @param etag           ETag fuerte del JSON sin comprimir (entre comillas)
+     * @param gzipEtag       ETag fuerte de la variante gzip (entre comillas)
+     */
+    public record CachedBody(long catalogVersion, byte[] json, byte[] gzip, String etag, String gzipEtag) {
+
+        /**
+         * Construye la respuesta HTTP con la variante que acepte el cliente.
+         * Si el ETag coincide con If-None-Match, Spring responde 304 sin cuerpo.
+         *
+         * @param acceptEncoding Cabecera Accept-Encoding de la petición
+         * @return Respuesta con el JSON (comprimido o no), su ETag y Vary
+         */
+        public ResponseEntity<byte[]> toResponse(String acceptEncoding) {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING);
+            if (acceptsGzip(acceptEncoding)) {
+                return response.eTag(gzipEtag).header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzip);
+            }
+            return response.eTag(etag).body(json);
+        }
+    }
+
+    /**
+     * Obtiene el cuerpo de la respuesta de todas las especies.
+     *
+     * @return Cuerpo serializado
+     */
+    public CachedBody getSpecies() {
+        return get(SPECIES_KEY, specieService::getAll);
+    }
+
+    /**
+     * Obtiene el cuerpo de la respuesta de razas, opcionalmente filtradas por
+     * especie. Las especies sin razas (o inexistentes) comparten una única
+     * entrada, para que ids arbitrarios no hagan crecer la caché.
+     *
+     * @param specieId ID de la especie, o null para todas las razas
+     * @return Cuerpo serializado
+     */
+    public CachedBody getBreeds(Long specieId) {
+        if (specieId == null) {
+            return get(BREEDS_KEY, breedService::getAllBreeds);
+        }
+        if (referenceCatalog.getBreedsBySpecie(specieId).isEmpty()) {
+            return get(NO_BREEDS_KEY, List::of);
+        }
+        return get(BREEDS_KEY + ":" + specieId, () -> breedService.findBySpecieId(specieId));
+    }
+
+    private CachedBody get(String key, Supplier<Object> body) {
+        long version = referenceCatalog.getVersion();
+        CachedBody cached = bodies.get(key);
+        if (cached != null && cached.catalogVersion() == version) {
+            return cached;
+        }
+        return bodies.compute(key, (k, current) -> current != null && current.catalogVersion() == version
+                ? current
+                : build(k, version, body.get()));
+    }
+
+    private CachedBody build(String key, long version, Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            byte[] gzip = gzip(json);
+            String hash = hash(json);
+            log.debug("Respuesta '{}' serializada para la versión {} del catálogo: {} bytes ({} con gzip)", key,
+                    version, json.length, gzip.length);
+            return new CachedBody(version, json, gzip, "\"" + hash + "\"", "\"" + hash + "-gzip\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se ha podido serializar la respuesta " + key, e);
+        }
+    }
+
+    /**
+     * Indica si la cabecera Accept-Encoding admite gzip (sin q=0).
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().toLowerCase(Locale.ROOT).split(";");
+            String name = parts[0].trim();
+            if (!name.equals("gzip") && !name.equals("x-gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].replace(" ", "");
+                if (param.startsWith("q=") && param.substring(2).matches("0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String hash(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.alonso.vipera.training.springboot_apirest.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.alonso.vipera.training.springboot_apirest.exception.InvalidCsvException;
+
+/**
+ * Lector mínimo de CSV (RFC 4180) separado por comas.
+ *
+ * Admite campos entre comillas dobles con comas, saltos de línea y comillas
+ * escapadas ({@code ""}), finales de línea LF o CRLF y una marca BOM inicial.
+ * Las líneas vacías se ignoran.
+ */
+public final class CsvReader {
+
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private static final char BOM = '\uFEFF';
+
+    private CsvReader() {
+    }
+
+    /**
+     * Lee todos los registros del CSV.
+     *
+     * @param reader Origen del CSV. No se cierra
+     * @return Registros en orden, cada uno con sus campos
+     * @throws InvalidCsvException si hay comillas sin cerrar o no se puede leer
+     */
+    public static List<String[]> read(Reader reader) {
+        List<String[]> records = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean first = true;
+        try {
+            int read;
+            while ((read = reader.read()) != -1) {
+                char c = (char) read;
+                if (first) {
+                    first = false;
+                    if (c == BOM) {
+                        continue;
+                    }
+                }
+                if (quoted) {
+                    if (c != QUOTE) {
+                        field.append(c);
+                        continue;
+                    }
+                    int next = reader.read();
+                    if (next == QUOTE) {
+                        field.append(QUOTE);
+                        continue;
+                    }
+                    quoted = false;
+                    if (next == -1) {
+                        break;
+                    }
+                    c = (char) next;
+                }
+                switch (c) {
+                    case QUOTE -> quoted = true;
+                    case SEPARATOR -> {
+                        fields.add(field.toString());
+                        field.setLength(0);
+                    }
+                    case '\r' -> {
+                        // Se ignora: el registro termina en el '\n' siguiente
+                    }
+                    case '\n' -> {
+                        endRecord(records, fields, field);
+                        fields = new ArrayList<>();
+                    }
+                    default -> field.append(c);
+                }
+            }
+        } catch (IOException e) {
+            throw new InvalidCsvException("no se ha podido leer el fichero");
+        }
+        if (quoted) {
+            throw new InvalidCsvException("comillas sin cerrar");
+        }
+        endRecord(records, fields, field);
+        return records;
+    }
+
+    private static void endRecord(List<String[]> records, List<String> fields, StringBuilder field) {
+        if (fields.isEmpty() && field.isEmpty()) {
+            return;
+        }
+        fields.add(field.toString());
+        field.setLength(0);
+        records.add(fields.toArray(String[]::new));
+    }
+}
@@ -5,7 +5,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.alonso.vipera.training.springboot_apirest.clients.DogApiClient;
@@ -29,8 +29,9 @@ import lombok.extern.slf4j.Slf4j;
  * compararlas con los datos existentes en la base de datos local, y sincronizar
  * únicamente las razas nuevas para evitar duplicados.
  * 
- * Implementa patrones de Circuit Breaker para tolerancia a fallos y manejo de caché
- * para optimizar el rendimiento de las consultas posteriores.
+ * Implementa patrones de Circuit Breaker para tolerancia a fallos y avisa al
+ * catálogo de referencia en memoria cuando guarda razas nuevas, que recarga su
+ * instantánea al confirmarse la transacción.
  */
 @Slf4j
 @Service
@@ -41,6 +42,7 @@ public class DogApiBreedsService {
     private final BreedRepositoryAdapter breedRepositoryAdapter;
     private final SpecieRepositoryAdapter specieRepository;
     private final BreedMapper breedMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${thedogapi.apikey}")
     private String apikey;
@@ -67,13 +69,12 @@ public class DogApiBreedsService {
      * 2. Obtiene las razas desde la API externa
      * 3. Compara con las razas existentes usando externalApiId
      * 4. Guarda únicamente las razas nuevas para evitar duplicados
-     * 5. Invalida el caché para reflejar los cambios
+     * 5. Avisa al catálogo de referencia para que se recargue tras el commit
      *
      * @return Lista de DTOs de las razas que fueron guardadas/actualizadas
      * @throws IllegalStateException Si la especie 'Perro' no existe en la BD
      */
     @Transactional
-    @CacheEvict(value = { "breeds", "breeds-by-specie" }, allEntries = true)
     public List<BreedOutDTO> saveAllDogsBreeds() {
         log.info("Iniciando sincronización de razas de perro desde Dog API");
 
@@ -123,6 +124,8 @@ public class DogApiBreedsService {
                 .map(breedMapper::toDTO)
                 .toList();
 
+        eventPublisher.publishEvent(new CatalogChangedEvent("sync razas de perro"));
+
         log.info("Sincronización completada: {} razas de perro guardadas/actualizadas", savedBreeds.size());
         return savedBreeds;
     }
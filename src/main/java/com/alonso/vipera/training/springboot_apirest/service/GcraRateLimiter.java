@@ -0,0 +1,96 @@
+package com.alonso.vipera.training.springboot_apirest.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * Limitador de tasa por clave basado en GCRA (Generic Cell Rate Algorithm),
+ * equivalente a un token bucket.
+ *
+ * El estado de cada clave es un único {@link AtomicLong} con el instante
+ * teórico de llegada (TAT), que se actualiza con CAS sin bloqueos. Una clave
+ * cuyo TAT ya ha pasado tiene el cubo lleno y es indistinguible de una clave
+ * ausente, por lo que puede olvidarse sin perder información.
+ *
+ * Las claves se guardan en una caché Caffeine acotada a {@code maxEntries}
+ * entradas que expulsa, en O(1), las claves sin accesos durante
+ * {@code burst * period} (tiempo tras el cual el cubo está lleno) y, si se
+ * alcanza el tamaño máximo, las menos usadas. Una clave nueva siempre se
+ * admite: si la caché está llena se expulsa otra en su lugar (fail open), de
+ * modo que una avalancha de claves no bloquea a los clientes legítimos.
+ *
+ * Los instantes se expresan en nanosegundos del {@link Ticker} indicado.
+ */
+public class GcraRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final Ticker ticker;
+    private final Cache<String, AtomicLong> buckets;
+
+    /**
+     * @param burst      Número de intentos permitidos de golpe con el cubo lleno
+     * @param period     Periodo en el que se recupera un intento
+     * @param maxEntries Número máximo de claves en memoria
+     */
+    public GcraRateLimiter(int burst, Duration period, int maxEntries) {
+        this(burst, period, maxEntries, Ticker.systemTicker());
+    }
+
+    /**
+     * @param burst      Número de intentos permitidos de golpe con el cubo lleno
+     * @param period     Periodo en el que se recupera un intento
+     * @param maxEntries Número máximo de claves en memoria
+     * @param ticker     Fuente de tiempo en nanosegundos
+     */
+    public GcraRateLimiter(int burst, Duration period, int maxEntries, Ticker ticker) {
+        if (burst < 1 || period.isZero() || period.isNegative() || maxEntries < 1) {
+            throw new IllegalArgumentException("Configuración de limitador inválida");
+        }
+        this.emissionIntervalNanos = period.toNanos();
+        this.toleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(period.multipliedBy(burst))
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .build();
+    }
+
+    /**
+     * Intenta consumir un intento para la clave indicada.
+     *
+     * @param key Clave (email, IP...)
+     * @return 0 si el intento se permite; en otro caso, nanosegundos hasta que
+     *         se permita el siguiente intento
+     */
+    public long tryAcquire(String key) {
+        long now = ticker.read();
+        AtomicLong tat = buckets.get(key, k -> new AtomicLong(now));
+
+        while (true) {
+            long current = tat.get();
+            long base = current - now > 0 ? current : now;
+            long wait = base - toleranceNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (tat.compareAndSet(current, base + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @return Número de claves actualmente en memoria
+     */
+    public long size() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,251 @@
+package com.alonso.vipera.training.springboot_apirest.service;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Conjunto inmutable de claves de firma de JWT identificadas por kid.
+ *
+ * Una de las claves es la activa y se usa para firmar; todas las demás solo
+ * verifican tokens emitidos previamente. Las claves se decodifican una única
+ * vez al construir el conjunto, de modo que verificar un token cuesta una
+ * búsqueda en un mapa por el kid de la cabecera.
+ *
+ * Para rotar claves sin cortes se construye un conjunto nuevo y se sustituye
+ * el anterior: primero se añade la clave nueva en todas las instancias, después
+ * se activa y, pasado el tiempo de vida de los tokens, se retira la antigua.
+ *
+ * Las claves ES256 se comprueban al cargar: deben ser de la curva P-256
+ * (secp256r1), la única que admite ES256.
+ */
+public final class JwtKeyRing {
+
+    /** kid de la clave derivada de jwt.secret, usada para tokens sin cabecera kid. */
+    public static final String DEFAULT_KID = "default";
+
+    private static final ECParameterSpec P256 = p256();
+
+    private final Map<String, SigningKey> keys;
+    private final SigningKey active;
+
+    /**
+     * Clave del conjunto.
+     *
+     * @param kid          Identificador de la clave
+     * @param algorithm    Algoritmo de firma
+     * @param signingKey   Clave para firmar (null si la clave solo verifica)
+     * @param verifyingKey Clave para verificar
+     */
+    public record SigningKey(String kid, SignatureAlgorithm algorithm, Key signingKey, Key verifyingKey) {
+
+        /**
+         * @return true si la clave es pública y puede publicarse en el JWKS
+         */
+        public boolean isAsymmetric() {
+            return algorithm.isEllipticCurve();
+        }
+    }
+
+    private JwtKeyRing(Map<String, SigningKey> keys, SigningKey active) {
+        this.keys = keys;
+        this.active = active;
+    }
+
+    /**
+     * Construye el conjunto de claves a partir de la configuración.
+     *
+     * @param secret    Secreto HS256 heredado (jwt.secret), registrado con kid
+     *                  {@value #DEFAULT_KID}. Puede estar vacío si hay otras claves
+     * @param hmacKeys  Claves HS256 con formato {@code kid=secreto}, separadas por comas
+     * @param ecKeys    Claves ES256 con formato
+     *                  {@code kid=privadaPkcs8Base64:publicaX509Base64}, separadas por
+     *                  comas. La parte privada puede omitirse para claves que solo
+     *                  verifican
+     * @param activeKid kid de la clave con la que se firma
+     * @return Conjunto de claves
+     * @throws IllegalStateException si la configuración no es válida
+     */
+    public static JwtKeyRing fromConfig(String secret, String hmacKeys, String ecKeys, String activeKid) {
+        Map<String, SigningKey> keys = new LinkedHashMap<>();
+        if (secret != null && !secret.isBlank()) {
+            keys.put(DEFAULT_KID, hmac(DEFAULT_KID, secret));
+        }
+        for (String[] entry : entries(hmacKeys)) {
+            put(keys, hmac(entry[0], entry[1]));
+        }
+        for (String[] entry : entries(ecKeys)) {
+            put(keys, ec(entry[0], entry[1]));
+        }
+        return new JwtKeyRing(Collections.unmodifiableMap(keys),
+                activeKey(keys, activeKid == null || activeKid.isBlank() ? DEFAULT_KID : activeKid));
+    }
+
+    /**
+     * Devuelve un conjunto con las mismas claves y otra clave activa.
+     *
+     * @param kid kid de la nueva clave activa
+     * @return Nuevo conjunto de claves
+     * @throws IllegalStateException si la clave no existe o no puede firmar
+     */
+    public JwtKeyRing withActive(String kid) {
+        return new JwtKeyRing(keys, activeKey(keys, kid));
+    }
+
+    /**
+     * @return Clave con la que se firman los tokens nuevos
+     */
+    public SigningKey active() {
+        return active;
+    }
+
+    /**
+     * Busca la clave de verificación de un token.
+     *
+     * @param kid kid de la cabecera del token (null para tokens sin kid)
+     * @return Clave, o null si no existe
+     */
+    public SigningKey find(String kid) {
+        return keys.get(kid != null ? kid : DEFAULT_KID);
+    }
+
+    /**
+     * @return Claves del conjunto indexadas por kid
+     */
+    public Map<String, SigningKey> keys() {
+        return keys;
+    }
+
+    /**
+     * Genera el JWKS (RFC 7517) con las claves públicas del conjunto. Las claves
+     * HMAC son secretas y nunca se incluyen.
+     *
+     * @return Lista de JWK
+     */
+    public List<Map<String, Object>> publicJwks() {
+        return keys.values().stream()
+                .filter(SigningKey::isAsymmetric)
+                .map(JwtKeyRing::toJwk)
+                .toList();
+    }
+
+    private static SigningKey activeKey(Map<String, SigningKey> keys, String kid) {
+        SigningKey key = keys.get(kid);
+        if (key == null || key.signingKey() == null) {
+            throw new IllegalStateException("La clave JWT '" + kid + "' no existe o no puede firmar");
+        }
+        return key;
+    }
+
+    private static void put(Map<String, SigningKey> keys, SigningKey key) {
+        if (keys.putIfAbsent(key.kid(), key) != null) {
+            throw new IllegalStateException("kid de clave JWT duplicado: " + key.kid());
+        }
+    }
+
+    private static List<String[]> entries(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(entry -> !entry.isEmpty())
+                .map(entry -> {
+                    int separator = entry.indexOf('=');
+                    if (separator <= 0) {
+                        throw new IllegalStateException("Entrada de clave JWT sin kid: " + entry);
+                    }
+                    return new String[] { entry.substring(0, separator).trim(), entry.substring(separator + 1).trim() };
+                })
+                .toList();
+    }
+
+    private static SigningKey hmac(String kid, String secret) {
+        Key key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return new SigningKey(kid, SignatureAlgorithm.HS256, key, key);
+    }
+
+    private static SigningKey ec(String kid, String value) {
+        int separator = value.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalStateException("La clave ES256 '" + kid + "' debe tener el formato privada:publica");
+        }
+        String privatePart = value.substring(0, separator).trim();
+        String publicPart = value.substring(separator + 1).trim();
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+            PublicKey publicKey = keyFactory.generatePublic(
+                    new X509EncodedKeySpec(Base64.getDecoder().decode(publicPart)));
+            PrivateKey privateKey = privatePart.isEmpty() ? null
+                    : keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(privatePart)));
+            if (!isP256(publicKey) || (privateKey != null && !isP256(privateKey))) {
+                throw new IllegalStateException("La clave ES256 '" + kid + "' no es de la curva P-256");
+            }
+            return new SigningKey(kid, SignatureAlgorithm.ES256, privateKey, publicKey);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("La clave ES256 '" + kid + "' no es válida", e);
+        }
+    }
+
+    private static boolean isP256(Key key) {
+        if (!(key instanceof ECKey ecKey)) {
+            return false;
+        }
+        ECParameterSpec params = ecKey.getParams();
+        return params.getCurve().equals(P256.getCurve())
+                && params.getGenerator().equals(P256.getGenerator())
+                && params.getOrder().equals(P256.getOrder())
+                && params.getCofactor() == P256.getCofactor();
+    }
+
+    private static ECParameterSpec p256() {
+        try {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec("secp256r1"));
+            return parameters.getParameterSpec(ECParameterSpec.class);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("La curva P-256 no está disponible", e);
+        }
+    }
+
+    private static Map<String, Object> toJwk(SigningKey key) {
+        ECPublicKey publicKey = (ECPublicKey) key.verifyingKey();
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("kid", key.kid());
+        jwk.put("use", "sig");
+        jwk.put("alg", key.algorithm().getValue());
+        jwk.put("x", coordinate(publicKey.getW().getAffineX()));
+        jwk.put("y", coordinate(publicKey.getW().getAffineY()));
+        return jwk;
+    }
+
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(bytes.length, fixed.length);
+        System.arraycopy(bytes, bytes.length - length, fixed, fixed.length - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+}
@@ -1,50 +1,119 @@
 package com.alonso.vipera.training.springboot_apirest.service;
 
-import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.Map;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.alonso.vipera.training.springboot_apirest.exception.SigningKeyNotFoundException;
+import com.alonso.vipera.training.springboot_apirest.model.user.Role;
+import com.alonso.vipera.training.springboot_apirest.model.user.User;
+import com.alonso.vipera.training.springboot_apirest.model.user.UserPrincipal;
+import com.alonso.vipera.training.springboot_apirest.model.user.VerifiedJwt;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * Servicio para la gestión de tokens JWT (JSON Web Tokens).
  * Proporciona funcionalidades para generar, validar y extraer información de
  * tokens JWT
  * utilizados en la autenticación y autorización del sistema.
+ *
+ * Los tokens se firman con la clave activa de un {@link JwtKeyRing} e incluyen
+ * su kid en la cabecera; al verificar se elige la clave por ese kid, de modo que
+ * los tokens firmados con claves anteriores siguen siendo válidos mientras la
+ * clave permanezca en el conjunto. El conjunto de claves y el parser se
+ * construyen una única vez (de forma perezosa, en el primer uso) y se
+ * reutilizan en todas las peticiones.
  */
+@Slf4j
 @Service
 public class JwtService {
 
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_TOKEN_VERSION = "ver";
+
     @Value("${jwt.secret}")
     private String SECRET_KEY;
 
     @Value("${jwt.expiration}")
     private Long EXPIRATION_TIME;
 
+    @Value("${jwt.keys.hs256:}")
+    private String HMAC_KEYS;
+
+    @Value("${jwt.keys.es256:}")
+    private String EC_KEYS;
+
+    @Value("${jwt.keys.active-kid:" + JwtKeyRing.DEFAULT_KID + "}")
+    private String ACTIVE_KID;
+
+    private volatile JwtKeyRing keyRing;
+    private volatile JwtParser jwtParser;
+
     /**
      * Genera un token JWT para un usuario autenticado.
      *
      * @param userDetails Detalles del usuario para el cual generar el token
-     * @return Token JWT firmado con el username como subject y tiempo de expiración
-     *         configurado
+     * @return Token JWT firmado con un identificador único (jti), el username como
+     *         subject y tiempo de expiración configurado. Si el usuario tiene ID y rol, incluye además los
+     *         claims de identidad (ID, rol y versión de tokens)
      */
     public String generateToken(UserDetails userDetails) {
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME));
+
+        UserPrincipal principal = toPrincipal(userDetails);
+        if (principal != null) {
+            builder.claim(CLAIM_USER_ID, principal.id())
+                    .claim(CLAIM_ROLE, principal.role().name())
+                    .claim(CLAIM_TOKEN_VERSION, principal.tokenVersion());
+        }
+
+        JwtKeyRing.SigningKey activeKey = getKeyRing().active();
+        return builder.setHeaderParam(JwsHeader.KEY_ID, activeKey.kid())
+                .signWith(activeKey.signingKey(), activeKey.algorithm())
                 .compact();
     }
 
+    /**
+     * Parsea y verifica un token JWT una única vez.
+     * Comprueba la firma y la expiración y devuelve los claims relevantes en un
+     * objeto inmutable.
+     *
+     * @param token Token JWT a verificar
+     * @return Claims verificados del token
+     * @throws JwtException Si el token es inválido, está mal formado o ha expirado
+     */
+    public VerifiedJwt verify(String token) {
+        Claims claims = getParser().parseClaimsJws(token).getBody();
+        return new VerifiedJwt(
+                claims.getId(),
+                claims.getSubject(),
+                toInstant(claims.getIssuedAt()),
+                toInstant(claims.getExpiration()),
+                claims.get(CLAIM_USER_ID, Long.class),
+                toRole(claims.get(CLAIM_ROLE, String.class)),
+                claims.get(CLAIM_TOKEN_VERSION, Integer.class));
+    }
+
     /**
      * Extrae el nombre de usuario (subject) de un token JWT.
      *
@@ -52,7 +121,7 @@ public class JwtService {
      * @return Nombre de usuario contenido en el token
      */
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
     /**
@@ -65,57 +134,162 @@ public class JwtService {
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-        } catch (Exception e) {
+            return isTokenValid(verify(token), userDetails);
+        } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
 
     /**
-     * Verifica si un token JWT ha expirado.
+     * Valida un token ya verificado contra los detalles de un usuario sin volver
+     * a parsearlo.
      *
-     * @param token Token JWT a verificar
-     * @return true si el token ha expirado, false en caso contrario
+     * @param verifiedJwt Claims verificados del token
+     * @param userDetails Detalles del usuario para comparar con el token
+     * @return true si el subject coincide y el token no ha expirado
      */
-    private boolean isTokenExpired(String token) {
-        return extractClaim(token, Claims::getExpiration).before(new Date());
+    public boolean isTokenValid(VerifiedJwt verifiedJwt, UserDetails userDetails) {
+        return verifiedJwt.subject() != null
+                && verifiedJwt.subject().equals(userDetails.getUsername())
+                && !verifiedJwt.isExpiredAt(Instant.now());
     }
 
     /**
-     * Extrae un claim específico de un token JWT.
+     * Devuelve la duración de los tokens de acceso emitidos, que es también el
+     * tiempo máximo de vida de cualquier token válido.
      *
-     * @param <T>            Tipo del claim a extraer
-     * @param token          Token JWT del cual extraer el claim
-     * @param claimsResolver Función para resolver el claim específico
-     * @return Valor del claim extraído
+     * @return Duración de los tokens en milisegundos
      */
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public long getExpirationMillis() {
+        return EXPIRATION_TIME;
     }
 
     /**
-     * Extrae todos los claims de un token JWT.
+     * Cambia la clave con la que se firman los tokens nuevos en esta instancia.
+     * Los tokens firmados con la clave anterior siguen verificándose.
      *
-     * @param token Token JWT a parsear
-     * @return Claims contenidos en el token
-     * @throws JwtException Si el token es inválido o no se puede parsear
+     * El cambio es local y no se persiste: las demás instancias siguen firmando
+     * con su clave y esta vuelve a jwt.keys.active-kid al reiniciarse. La
+     * configuración es la fuente de verdad de la clave activa en todo el
+     * clúster; este método sirve para adelantar el cambio en un nodo mientras
+     * se despliega la nueva configuración.
+     *
+     * @param kid kid de una clave del conjunto con parte privada
+     * @throws SigningKeyNotFoundException si la clave no existe o solo verifica
      */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public void activateKey(String kid) {
+        synchronized (this) {
+            try {
+                keyRing = getKeyRing().withActive(kid);
+            } catch (IllegalStateException e) {
+                throw new SigningKeyNotFoundException();
+            }
+        }
+        log.info("Clave de firma JWT activa: {}", kid);
     }
 
     /**
-     * Obtiene la clave de firma utilizada para firmar y validar tokens JWT.
+     * Devuelve las claves públicas de verificación en formato JWKS, para que
+     * otros servicios puedan verificar los tokens localmente.
      *
-     * @return Clave criptográfica basada en la clave secreta configurada
+     * @return Documento JWKS con las claves asimétricas del conjunto
      */
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+    public Map<String, Object> getPublicJwks() {
+        return Map.of("keys", getKeyRing().publicJwks());
+    }
+
+    /**
+     * Obtiene el parser de tokens, construyéndolo en el primer uso.
+     *
+     * @return Parser que resuelve la clave de verificación por el kid del token
+     */
+    private JwtParser getParser() {
+        JwtParser parser = jwtParser;
+        if (parser == null) {
+            synchronized (this) {
+                parser = jwtParser;
+                if (parser == null) {
+                    parser = Jwts.parserBuilder()
+                            .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                                @Override
+                                public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                                    return resolveVerifyingKey(header);
+                                }
+                            })
+                            .build();
+                    jwtParser = parser;
+                }
+            }
+        }
+        return parser;
+    }
+
+    /**
+     * Obtiene el conjunto de claves de firma, construyéndolo a partir de la
+     * configuración en el primer uso.
+     *
+     * @return Conjunto de claves
+     */
+    private JwtKeyRing getKeyRing() {
+        JwtKeyRing ring = keyRing;
+        if (ring == null) {
+            synchronized (this) {
+                ring = keyRing;
+                if (ring == null) {
+                    ring = JwtKeyRing.fromConfig(SECRET_KEY, HMAC_KEYS, EC_KEYS, ACTIVE_KID);
+                    keyRing = ring;
+                }
+            }
+        }
+        return ring;
+    }
+
+    /**
+     * Elige la clave de verificación de un token por el kid de su cabecera.
+     * Rechaza los kid desconocidos y los tokens cuyo algoritmo no coincide con
+     * el de la clave.
+     *
+     * @param header Cabecera del token
+     * @return Clave de verificación
+     */
+    private Key resolveVerifyingKey(JwsHeader<?> header) {
+        JwtKeyRing.SigningKey key = getKeyRing().find(header.getKeyId());
+        if (key == null || !key.algorithm().getValue().equals(header.getAlgorithm())) {
+            throw new SignatureException("Clave de firma desconocida para el kid: " + header.getKeyId());
+        }
+        return key.verifyingKey();
+    }
+
+    /**
+     * Obtiene los datos de identidad a incluir en el token, si el usuario los
+     * tiene disponibles.
+     *
+     * @param userDetails Detalles del usuario
+     * @return Principal con ID, rol y versión, o null si no están disponibles
+     */
+    private static UserPrincipal toPrincipal(UserDetails userDetails) {
+        if (userDetails instanceof UserPrincipal principal) {
+            return principal.id() != null && principal.role() != null ? principal : null;
+        }
+        if (userDetails instanceof User user && user.getId() != null && user.getUserRole() != null
+                && user.getUserRole().getRole() != null) {
+            return UserPrincipal.from(user);
+        }
+        return null;
+    }
+
+    private static Role toRole(String role) {
+        if (role == null) {
+            return null;
+        }
+        try {
+            return Role.valueOf(role);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
     }
-}
\ No newline at end of file
+}
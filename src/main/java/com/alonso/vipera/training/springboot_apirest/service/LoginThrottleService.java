@@ -0,0 +1,105 @@
+package com.alonso.vipera.training.springboot_apirest.service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.alonso.vipera.training.springboot_apirest.exception.TooManyLoginAttemptsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Servicio de limitación de intentos de inicio de sesión en memoria.
+ *
+ * Mantiene dos limitadores {@link GcraRateLimiter} independientes, uno por
+ * dirección IP y otro por cuenta (email normalizado), y se consulta antes de
+ * cualquier acceso a base de datos o cálculo de BCrypt. Primero se comprueba la
+ * IP, de modo que un atacante que rota emails desde una misma dirección queda
+ * limitado sin llenar el limitador de cuentas. Las entradas inactivas se
+ * expulsan solas (ver {@link GcraRateLimiter}).
+ *
+ * La IP es la de {@code request.getRemoteAddr()}. Detrás de un proxy o balanceador
+ * debe configurarse server.forward-headers-strategy y la lista de proxies de
+ * confianza para que sea la del cliente y no la del proxy (ver
+ * application.properties).
+ *
+ * Métricas publicadas:
+ * - auth.login.throttled (contador, etiquetado por scope=ip|account)
+ * - auth.login.throttle.entries (gauge, etiquetado por scope)
+ */
+@Slf4j
+@Service
+public class LoginThrottleService {
+
+    private static final String SCOPE_IP = "ip";
+    private static final String SCOPE_ACCOUNT = "account";
+
+    private final GcraRateLimiter ipLimiter;
+    private final GcraRateLimiter accountLimiter;
+    private final Counter ipThrottledCounter;
+    private final Counter accountThrottledCounter;
+
+    public LoginThrottleService(
+            MeterRegistry meterRegistry,
+            @Value("${security.login-throttle.per-ip.burst:20}") int ipBurst,
+            @Value("${security.login-throttle.per-ip.period:PT1S}") Duration ipPeriod,
+            @Value("${security.login-throttle.per-account.burst:5}") int accountBurst,
+            @Value("${security.login-throttle.per-account.period:PT12S}") Duration accountPeriod,
+            @Value("${security.login-throttle.max-entries:100000}") int maxEntries) {
+        this.ipLimiter = new GcraRateLimiter(ipBurst, ipPeriod, maxEntries);
+        this.accountLimiter = new GcraRateLimiter(accountBurst, accountPeriod, maxEntries);
+        this.ipThrottledCounter = throttledCounter(meterRegistry, SCOPE_IP);
+        this.accountThrottledCounter = throttledCounter(meterRegistry, SCOPE_ACCOUNT);
+        Gauge.builder("auth.login.throttle.entries", ipLimiter, GcraRateLimiter::size)
+                .tag("scope", SCOPE_IP)
+                .register(meterRegistry);
+        Gauge.builder("auth.login.throttle.entries", accountLimiter, GcraRateLimiter::size)
+                .tag("scope", SCOPE_ACCOUNT)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Consume un intento de inicio de sesión para la IP y la cuenta indicadas.
+     *
+     * @param email    Email con el que se intenta iniciar sesión
+     * @param clientIp Dirección IP del cliente
+     * @throws TooManyLoginAttemptsException si se ha superado alguno de los
+     *                                       límites
+     */
+    public void checkLoginAllowed(String email, String clientIp) {
+        long ipWait = ipLimiter.tryAcquire(clientIp);
+        if (ipWait > 0) {
+            ipThrottledCounter.increment();
+            log.warn("Intentos de inicio de sesión limitados para la IP: {}", clientIp);
+            throw new TooManyLoginAttemptsException(toRetryAfterSeconds(ipWait));
+        }
+
+        long accountWait = accountLimiter.tryAcquire(normalize(email));
+        if (accountWait > 0) {
+            accountThrottledCounter.increment();
+            log.warn("Intentos de inicio de sesión limitados para el email: {}", email);
+            throw new TooManyLoginAttemptsException(toRetryAfterSeconds(accountWait));
+        }
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    private static Counter throttledCounter(MeterRegistry meterRegistry, String scope) {
+        return Counter.builder("auth.login.throttled")
+                .description("Intentos de inicio de sesión rechazados por limitación")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,22 @@
+package com.alonso.vipera.training.springboot_apirest.service;
+
+import java.util.List;
+
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.OwnerCreationRequestDTO;
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.OwnerOnboardingOutDTO;
+
+/**
+ * Servicio para el alta masiva de propietarios (Shadow Users).
+ * Las filas no válidas no detienen el alta: se informan en el resultado.
+ */
+public interface OwnerOnboardingService {
+
+    /**
+     * Da de alta una lista de propietarios en modo inactivo y les envía el
+     * correo de activación en segundo plano.
+     *
+     * @param owners Propietarios a dar de alta
+     * @return Resultado del alta con los errores por fila
+     */
+    OwnerOnboardingOutDTO onboard(List<OwnerCreationRequestDTO> owners);
+}
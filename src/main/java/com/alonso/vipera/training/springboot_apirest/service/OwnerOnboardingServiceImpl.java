@@ -0,0 +1,213 @@
+package com.alonso.vipera.training.springboot_apirest.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.alonso.vipera.training.springboot_apirest.exception.EmailTakenException;
+import com.alonso.vipera.training.springboot_apirest.exception.PhoneTakenException;
+import com.alonso.vipera.training.springboot_apirest.exception.RoleNotFoundException;
+import com.alonso.vipera.training.springboot_apirest.mapper.UserMapper;
+import com.alonso.vipera.training.springboot_apirest.model.user.ConfirmationToken;
+import com.alonso.vipera.training.springboot_apirest.model.user.Role;
+import com.alonso.vipera.training.springboot_apirest.model.user.User;
+import com.alonso.vipera.training.springboot_apirest.model.user.UserRole;
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.OwnerCreationRequestDTO;
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.OwnerOnboardingErrorDTO;
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.OwnerOnboardingOutDTO;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.UserRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.persistence.jpa.UserRoleJpaRepository;
+import com.alonso.vipera.training.springboot_apirest.persistence.repository.ConfirmationTokenRepository;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementación del servicio de alta masiva de propietarios.
+ *
+ * Las comprobaciones se hacen por conjuntos antes de escribir nada: una
+ * consulta IN por bloque de emails, de teléfonos y de DNI, y una única lectura
+ * de los roles. Los propietarios se crean sin contraseña (se fija al activar
+ * la cuenta), así que no se calcula ningún hash.
+ *
+ * Los usuarios y sus tokens de confirmación se insertan con JDBC en lotes,
+ * cada lote en su propia transacción: un lote fallido no deshace los
+ * anteriores y sus filas se informan como errores. Los correos de activación
+ * de cada lote se encolan en {@link ActivationEmailSender} tras el commit.
+ */
+@Slf4j
+@Service
+public class OwnerOnboardingServiceImpl implements OwnerOnboardingService {
+
+    private static final int TOKEN_VALIDITY_HOURS = 24;
+
+    private final UserRepositoryAdapter userRepositoryAdapter;
+    private final UserRoleJpaRepository userRoleJpaRepository;
+    private final ConfirmationTokenRepository confirmationTokenRepository;
+    private final UserMapper userMapper;
+    private final ActivationEmailSender activationEmailSender;
+    private final PrincipalCache principalCache;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public OwnerOnboardingServiceImpl(
+            UserRepositoryAdapter userRepositoryAdapter,
+            UserRoleJpaRepository userRoleJpaRepository,
+            ConfirmationTokenRepository confirmationTokenRepository,
+            UserMapper userMapper,
+            ActivationEmailSender activationEmailSender,
+            PrincipalCache principalCache,
+            Validator validator,
+            TransactionTemplate transactionTemplate,
+            @Value("${users.onboarding.chunk-size:500}") int chunkSize) {
+        this.userRepositoryAdapter = userRepositoryAdapter;
+        this.userRoleJpaRepository = userRoleJpaRepository;
+        this.confirmationTokenRepository = confirmationTokenRepository;
+        this.userMapper = userMapper;
+        this.activationEmailSender = activationEmailSender;
+        this.principalCache = principalCache;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public OwnerOnboardingOutDTO onboard(List<OwnerCreationRequestDTO> owners) {
+        log.info("Iniciando alta masiva de {} propietarios...", owners.size());
+        List<OwnerOnboardingErrorDTO> errors = new ArrayList<>();
+
+        List<Integer> candidates = new ArrayList<>(owners.size());
+        Set<String> emails = new HashSet<>();
+        Set<String> phones = new HashSet<>();
+        Set<String> dnis = new HashSet<>();
+        for (int i = 0; i < owners.size(); i++) {
+            OwnerCreationRequestDTO owner = owners.get(i);
+            String error = owner == null ? "Fila vacía" : validate(owner);
+            if (error == null && !emails.add(owner.getEmail())) {
+                error = "Email repetido en la petición";
+            } else if (error == null && !phones.add(owner.getPhone())) {
+                error = "Teléfono repetido en la petición";
+            } else if (error == null && !dnis.add(owner.getDni())) {
+                error = "DNI repetido en la petición";
+            }
+            if (error != null) {
+                errors.add(new OwnerOnboardingErrorDTO(i + 1, owner != null ? owner.getEmail() : null, error));
+                continue;
+            }
+            candidates.add(i);
+        }
+
+        Set<String> existingEmails = userRepositoryAdapter.findExistingEmails(emails);
+        Set<String> existingPhones = userRepositoryAdapter.findExistingPhones(phones);
+        Set<String> existingDnis = userRepositoryAdapter.findExistingDnis(dnis);
+        Map<Role, UserRole> roles = new EnumMap<>(Role.class);
+        userRoleJpaRepository.findAll().forEach(userRole -> roles.put(userRole.getRole(), userRole));
+
+        List<User> users = new ArrayList<>(candidates.size());
+        List<Integer> userRows = new ArrayList<>(candidates.size());
+        for (int i : candidates) {
+            OwnerCreationRequestDTO owner = owners.get(i);
+            String error = null;
+            if (existingEmails.contains(owner.getEmail())) {
+                error = new EmailTakenException().getMessage();
+            } else if (existingPhones.contains(owner.getPhone())) {
+                error = new PhoneTakenException().getMessage();
+            } else if (existingDnis.contains(owner.getDni())) {
+                error = "DNI ya está en uso";
+            } else if (!roles.containsKey(owner.getRole())) {
+                error = new RoleNotFoundException().getMessage();
+            }
+            if (error != null) {
+                errors.add(new OwnerOnboardingErrorDTO(i + 1, owner.getEmail(), error));
+                continue;
+            }
+            // Shadow User: inactivo y sin contraseña hasta la activación
+            User user = userMapper.toEntity(owner);
+            user.setUserRole(roles.get(owner.getRole()));
+            user.setEnabled(false);
+            user.setPassword(null);
+            users.add(user);
+            userRows.add(i + 1);
+        }
+
+        int created = 0;
+        for (int from = 0; from < users.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, users.size());
+            List<User> chunk = users.subList(from, to);
+            try {
+                List<ConfirmationToken> tokens = transactionTemplate.execute(status -> insertChunk(chunk));
+                tokens.forEach(token -> {
+                    principalCache.invalidate(token.getUser().getEmail());
+                    activationEmailSender.send(token.getUser().getEmail(), token.getToken());
+                });
+                created += chunk.size();
+            } catch (DataAccessException e) {
+                log.error("Error al guardar el lote de propietarios de las filas {} a {}", userRows.get(from),
+                        userRows.get(to - 1), e);
+                for (int j = from; j < to; j++) {
+                    errors.add(new OwnerOnboardingErrorDTO(userRows.get(j), users.get(j).getEmail(),
+                            "Error al guardar el lote de filas"));
+                }
+            }
+        }
+
+        errors.sort(Comparator.comparingInt(OwnerOnboardingErrorDTO::getRow));
+        log.info("Alta masiva finalizada: {} de {} propietarios creados, {} filas con errores", created,
+                owners.size(), errors.size());
+        return new OwnerOnboardingOutDTO(owners.size(), created, errors);
+    }
+
+    /**
+     * Inserta un lote de usuarios y sus tokens de activación.
+     *
+     * @return Tokens insertados, con el usuario al que pertenecen
+     */
+    private List<ConfirmationToken> insertChunk(List<User> chunk) {
+        userRepositoryAdapter.insertAll(chunk);
+        Map<String, Long> ids = userRepositoryAdapter.findIdsByEmails(
+                chunk.stream().map(User::getEmail).toList());
+
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(TOKEN_VALIDITY_HOURS);
+        List<ConfirmationToken> tokens = new ArrayList<>(chunk.size());
+        for (User user : chunk) {
+            user.setId(ids.get(user.getEmail()));
+            tokens.add(ConfirmationToken.builder()
+                    .token(UUID.randomUUID().toString())
+                    .expiresAt(expiresAt)
+                    .user(user)
+                    .build());
+        }
+        confirmationTokenRepository.insertAll(tokens);
+        return tokens;
+    }
+
+    /**
+     * Valida una fila en memoria.
+     *
+     * @return Mensaje de error, o null si la fila es válida
+     */
+    private String validate(OwnerCreationRequestDTO owner) {
+        Set<ConstraintViolation<OwnerCreationRequestDTO>> violations = validator.validate(owner);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
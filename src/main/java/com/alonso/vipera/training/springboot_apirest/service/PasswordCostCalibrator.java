@@ -0,0 +1,134 @@
+package com.alonso.vipera.training.springboot_apirest.service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Service;
+
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.PasswordCalibrationOutDTO;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Servicio que mantiene el coste BCrypt objetivo para el hash de contraseñas.
+ *
+ * El coste se calibra midiendo el tiempo real de un hash en este nodo y
+ * seleccionando el mayor coste cuyo tiempo no supera el presupuesto de latencia
+ * configurado (security.password.latency-budget), dentro del rango
+ * [security.password.min-cost, security.password.max-cost]. La calibración se
+ * ejecuta al arrancar (si security.password.calibrate-on-startup está activo) o
+ * bajo demanda desde el endpoint de administración.
+ */
+@Slf4j
+@Service
+public class PasswordCostCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+    private static final int SAMPLES_PER_COST = 2;
+
+    private final Duration latencyBudget;
+    private final int minCost;
+    private final int maxCost;
+    private final boolean calibrateOnStartup;
+
+    private volatile int targetCost;
+
+    public PasswordCostCalibrator(
+            @Value("${security.password.latency-budget:PT0.25S}") Duration latencyBudget,
+            @Value("${security.password.min-cost:10}") int minCost,
+            @Value("${security.password.max-cost:14}") int maxCost,
+            @Value("${security.password.cost:10}") int initialCost,
+            @Value("${security.password.calibrate-on-startup:true}") boolean calibrateOnStartup) {
+        if (minCost < 4 || maxCost > 31 || minCost > maxCost) {
+            throw new IllegalArgumentException("Rango de coste BCrypt inválido: [" + minCost + ", " + maxCost + "]");
+        }
+        this.latencyBudget = latencyBudget;
+        this.minCost = minCost;
+        this.maxCost = maxCost;
+        this.calibrateOnStartup = calibrateOnStartup;
+        this.targetCost = Math.max(minCost, Math.min(maxCost, initialCost));
+    }
+
+    /**
+     * Devuelve el coste BCrypt con el que deben generarse los nuevos hashes.
+     *
+     * @return Coste BCrypt objetivo
+     */
+    public int getTargetCost() {
+        return targetCost;
+    }
+
+    /**
+     * Devuelve el coste BCrypt mínimo configurado.
+     *
+     * @return Coste BCrypt mínimo
+     */
+    public int getMinCost() {
+        return minCost;
+    }
+
+    /**
+     * Calibra el coste al arrancar la aplicación si está habilitado.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void calibrateOnStartup() {
+        if (calibrateOnStartup) {
+            calibrate();
+        }
+    }
+
+    /**
+     * Mide el tiempo de hash para costes crecientes y selecciona el mayor cuyo
+     * tiempo no supera el presupuesto de latencia. Si ni siquiera el coste
+     * mínimo cabe en el presupuesto, se usa el coste mínimo.
+     *
+     * @return Resultado de la calibración
+     */
+    public synchronized PasswordCalibrationOutDTO calibrate() {
+        int previousCost = targetCost;
+        long budgetNanos = latencyBudget.toNanos();
+
+        log.info("Calibrando coste BCrypt con presupuesto de {} ms en el rango [{}, {}]...",
+                latencyBudget.toMillis(), minCost, maxCost);
+
+        // Calentamiento para no medir la carga de clases ni la compilación JIT
+        measure(minCost);
+
+        int selectedCost = minCost;
+        long selectedNanos = measure(minCost);
+        for (int cost = minCost + 1; cost <= maxCost && selectedNanos <= budgetNanos; cost++) {
+            long nanos = measure(cost);
+            if (nanos > budgetNanos) {
+                break;
+            }
+            selectedCost = cost;
+            selectedNanos = nanos;
+        }
+
+        targetCost = selectedCost;
+        long hashMillis = TimeUnit.NANOSECONDS.toMillis(selectedNanos);
+        log.info("Coste BCrypt calibrado: {} (anterior: {}, {} ms por hash)", selectedCost, previousCost, hashMillis);
+
+        return new PasswordCalibrationOutDTO(previousCost, selectedCost, hashMillis, latencyBudget.toMillis());
+    }
+
+    /**
+     * Mide el menor tiempo de varios hashes con el coste indicado.
+     *
+     * @param cost Coste BCrypt
+     * @return Tiempo en nanosegundos
+     */
+    private static long measure(int cost) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES_PER_COST; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(cost));
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
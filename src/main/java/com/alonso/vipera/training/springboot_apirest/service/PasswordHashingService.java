@@ -0,0 +1,182 @@
+package com.alonso.vipera.training.springboot_apirest.service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.alonso.vipera.training.springboot_apirest.exception.HashingCapacityExceededException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Servicio que ejecuta el hashing y la verificación de contraseñas en un
+ * ejecutor dedicado y acotado, fuera de los hilos de petición de Tomcat.
+ *
+ * El ejecutor tiene un número fijo de hilos y una cola de capacidad limitada.
+ * Cuando la cola está llena la tarea se rechaza inmediatamente con
+ * {@link HashingCapacityExceededException} (HTTP 503), de modo que un pico de
+ * inicios de sesión no consume los hilos del resto del tráfico.
+ *
+ * Limitación: las llamadas son síncronas. El hilo de petición que llama a
+ * {@link #matches} o {@link #encode} queda bloqueado esperando el resultado
+ * (como mucho {@code security.hashing.timeout}), así que un hilo de Tomcat
+ * por login en curso sigue ocupado. Lo que se acota es la CPU dedicada a
+ * hashing y el número de peticiones que pueden estar esperando: con
+ * pool-size + queue-capacity operaciones en vuelo, el resto se rechaza al
+ * momento con 503 en lugar de acumular hilos bloqueados. Para liberar el hilo
+ * de petición habría que hacer asíncronos los endpoints de login y registro.
+ *
+ * Métricas publicadas:
+ * - auth.password.hashing (timer con histograma, etiquetado por operación):
+ * tiempo total incluyendo la espera en cola
+ * - auth.password.hashing.rejected (contador): tareas rechazadas
+ * - executor.* con name=password-hashing: estado del ejecutor
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    private static final String EXECUTOR_NAME = "password-hashing";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Timer matchesTimer;
+    private final Timer encodeTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingService(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${security.hashing.pool-size:0}") int poolSize,
+            @Value("${security.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.hashing.timeout:PT5S}") Duration timeout) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = timeout;
+
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, EXECUTOR_NAME + "-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, EXECUTOR_NAME);
+
+        this.matchesTimer = hashingTimer(meterRegistry, "matches");
+        this.encodeTimer = hashingTimer(meterRegistry, "encode");
+        this.rejectedCounter = Counter.builder("auth.password.hashing.rejected")
+                .description("Operaciones de hashing rechazadas por saturación del ejecutor")
+                .register(meterRegistry);
+
+        log.info("Ejecutor de hashing de contraseñas creado con {} hilos y cola de {}", threads, queueCapacity);
+    }
+
+    /**
+     * Comprueba si una contraseña en claro coincide con su hash.
+     *
+     * @param rawPassword     Contraseña en claro
+     * @param encodedPassword Hash almacenado
+     * @return true si la contraseña coincide
+     * @throws HashingCapacityExceededException si el ejecutor está saturado o la
+     *                                          operación excede el tiempo máximo
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return submit(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Calcula el hash de una contraseña en claro.
+     *
+     * @param rawPassword Contraseña en claro
+     * @return Hash de la contraseña
+     * @throws HashingCapacityExceededException si el ejecutor está saturado o la
+     *                                          operación excede el tiempo máximo
+     */
+    public String encode(String rawPassword) {
+        return submit(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Indica si un hash almacenado debe regenerarse porque usa un algoritmo o un
+     * coste menor que el objetivo vigente. No calcula ningún hash.
+     *
+     * @param encodedPassword Hash almacenado
+     * @return true si el hash debe regenerarse
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T submit(Timer timer, Callable<T> task) {
+        long start = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Ejecutor de hashing saturado ({} tareas en cola). Rechazando operación.",
+                    executor.getQueue().size());
+            throw new HashingCapacityExceededException();
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            log.warn("La operación de hashing excedió el tiempo máximo de {}", timeout);
+            throw new HashingCapacityExceededException();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new HashingCapacityExceededException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer hashingTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.password.hashing")
+                .description("Tiempo de hashing de contraseñas, incluida la espera en cola")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Detiene el ejecutor al cerrar el contexto de la aplicación.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
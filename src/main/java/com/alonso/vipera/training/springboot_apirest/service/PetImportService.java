@@ -0,0 +1,35 @@
+package com.alonso.vipera.training.springboot_apirest.service;
+
+import java.util.List;
+
+import org.springframework.core.io.InputStreamSource;
+
+import com.alonso.vipera.training.springboot_apirest.exception.InvalidCsvException;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.in.PetInDTO;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.PetImportOutDTO;
+
+/**
+ * Servicio para la importación masiva de mascotas.
+ * Las filas no válidas no detienen la importación: se informan en el resultado.
+ */
+public interface PetImportService {
+
+    /**
+     * Importa una lista de mascotas.
+     *
+     * @param pets Mascotas a importar
+     * @return Resultado de la importación con los errores por fila
+     */
+    PetImportOutDTO importPets(List<PetInDTO> pets);
+
+    /**
+     * Importa las mascotas de un fichero CSV con cabecera. Las columnas son los
+     * campos de {@link PetInDTO}: name, birthDate (yyyy-MM-dd), specieId,
+     * breedId, weight, dietInfo (opcional) y email, en cualquier orden.
+     *
+     * @param csv Fichero CSV en UTF-8
+     * @return Resultado de la importación con los errores por fila
+     * @throws InvalidCsvException si el fichero no se puede leer o falta alguna columna
+     */
+    PetImportOutDTO importCsv(InputStreamSource csv);
+}
@@ -0,0 +1,268 @@
+package com.alonso.vipera.training.springboot_apirest.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.alonso.vipera.training.springboot_apirest.exception.BreedSpecieMismatchException;
+import com.alonso.vipera.training.springboot_apirest.exception.IdNotFoundException;
+import com.alonso.vipera.training.springboot_apirest.exception.InvalidCsvException;
+import com.alonso.vipera.training.springboot_apirest.model.pet.Breed;
+import com.alonso.vipera.training.springboot_apirest.model.pet.Pet;
+import com.alonso.vipera.training.springboot_apirest.model.pet.Specie;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.in.PetInDTO;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.PetImportErrorDTO;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.PetImportOutDTO;
+import com.alonso.vipera.training.springboot_apirest.model.user.User;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.PetRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.UserRepositoryAdapter;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementación del servicio de importación masiva de mascotas.
+ *
+ * Todas las filas se validan en memoria antes de escribir nada: las
+ * restricciones de {@link PetInDTO}, la especie y la raza contra
+ * {@link ReferenceCatalog} y los dueños con una consulta por cada bloque de
+ * correos distintos. Las filas válidas se insertan con JDBC en lotes, cada
+ * lote en su propia transacción: un lote fallido no deshace los anteriores y
+ * sus filas se informan como errores.
+ */
+@Slf4j
+@Service
+public class PetImportServiceImpl implements PetImportService {
+
+    private static final List<String> CSV_REQUIRED_COLUMNS = List.of("name", "birthDate", "specieId", "breedId",
+            "weight", "email");
+
+    private final PetRepositoryAdapter petRepositoryAdapter;
+    private final UserRepositoryAdapter userRepositoryAdapter;
+    private final ReferenceCatalog referenceCatalog;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public PetImportServiceImpl(
+            PetRepositoryAdapter petRepositoryAdapter,
+            UserRepositoryAdapter userRepositoryAdapter,
+            ReferenceCatalog referenceCatalog,
+            Validator validator,
+            TransactionTemplate transactionTemplate,
+            @Value("${pets.import.chunk-size:1000}") int chunkSize) {
+        this.petRepositoryAdapter = petRepositoryAdapter;
+        this.userRepositoryAdapter = userRepositoryAdapter;
+        this.referenceCatalog = referenceCatalog;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public PetImportOutDTO importPets(List<PetInDTO> pets) {
+        log.info("Importando {} mascotas...", pets.size());
+        List<PetImportErrorDTO> errors = new ArrayList<>();
+        for (int i = 0; i < pets.size(); i++) {
+            if (pets.get(i) == null) {
+                errors.add(new PetImportErrorDTO(i + 1, "Fila vacía"));
+            }
+        }
+        return importRows(pets, errors);
+    }
+
+    @Override
+    public PetImportOutDTO importCsv(InputStreamSource csv) {
+        List<String[]> records;
+        try (Reader reader = new BufferedReader(new InputStreamReader(csv.getInputStream(), StandardCharsets.UTF_8))) {
+            records = CsvReader.read(reader);
+        } catch (IOException e) {
+            throw new InvalidCsvException("no se ha podido leer el fichero");
+        }
+        if (records.isEmpty()) {
+            throw new InvalidCsvException("el fichero está vacío");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        String[] header = records.get(0);
+        for (int i = 0; i < header.length; i++) {
+            columns.put(header[i].trim(), i);
+        }
+        List<String> missing = CSV_REQUIRED_COLUMNS.stream().filter(column -> !columns.containsKey(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new InvalidCsvException("faltan las columnas " + String.join(", ", missing));
+        }
+
+        log.info("Importando {} mascotas desde CSV...", records.size() - 1);
+        List<PetInDTO> pets = new ArrayList<>(records.size() - 1);
+        List<PetImportErrorDTO> errors = new ArrayList<>();
+        for (int i = 1; i < records.size(); i++) {
+            try {
+                pets.add(toPetInDTO(records.get(i), columns));
+            } catch (IllegalArgumentException e) {
+                pets.add(null);
+                errors.add(new PetImportErrorDTO(i, "Valor no válido en la columna " + e.getMessage()));
+            }
+        }
+        return importRows(pets, errors);
+    }
+
+    /**
+     * Valida e inserta las filas. Las filas null ya tienen su error en la lista.
+     */
+    private PetImportOutDTO importRows(List<PetInDTO> rows, List<PetImportErrorDTO> errors) {
+        List<Integer> candidates = new ArrayList<>(rows.size());
+        Set<String> emails = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            PetInDTO row = rows.get(i);
+            if (row == null) {
+                continue;
+            }
+            String error = validate(row);
+            if (error != null) {
+                errors.add(new PetImportErrorDTO(i + 1, error));
+                continue;
+            }
+            candidates.add(i);
+            emails.add(row.getEmail());
+        }
+
+        Map<String, Long> ownerIds = userRepositoryAdapter.findIdsByEmails(emails);
+        Map<Long, User> owners = new HashMap<>();
+        Map<Long, Specie> species = new HashMap<>();
+        Map<Long, Breed> breeds = new HashMap<>();
+        List<Pet> pets = new ArrayList<>(candidates.size());
+        List<Integer> petRows = new ArrayList<>(candidates.size());
+        for (int i : candidates) {
+            PetInDTO row = rows.get(i);
+            Long ownerId = ownerIds.get(row.getEmail());
+            if (ownerId == null) {
+                errors.add(new PetImportErrorDTO(i + 1, "Usuario no encontrado: " + row.getEmail()));
+                continue;
+            }
+            pets.add(Pet.builder()
+                    .name(row.getName())
+                    .birthDate(row.getBirthDate())
+                    .weight(row.getWeight())
+                    .dietInfo(row.getDietInfo())
+                    .user(owners.computeIfAbsent(ownerId, PetImportServiceImpl::userWithId))
+                    .specie(species.computeIfAbsent(row.getSpecieId(), id -> new Specie(id, null, null)))
+                    .breed(breeds.computeIfAbsent(row.getBreedId(), id -> new Breed(id, null, null, null)))
+                    .build());
+            petRows.add(i + 1);
+        }
+
+        int imported = 0;
+        for (int from = 0; from < pets.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, pets.size());
+            List<Pet> chunk = pets.subList(from, to);
+            try {
+                transactionTemplate.executeWithoutResult(status -> petRepositoryAdapter.insertAll(chunk));
+                imported += chunk.size();
+            } catch (DataAccessException e) {
+                log.error("Error al guardar el lote de mascotas de las filas {} a {}", petRows.get(from),
+                        petRows.get(to - 1), e);
+                for (int row : petRows.subList(from, to)) {
+                    errors.add(new PetImportErrorDTO(row, "Error al guardar el lote de filas"));
+                }
+            }
+        }
+
+        errors.sort(Comparator.comparingInt(PetImportErrorDTO::getRow));
+        log.info("Importación finalizada: {} de {} mascotas importadas, {} filas con errores", imported, rows.size(),
+                errors.size());
+        return new PetImportOutDTO(rows.size(), imported, errors);
+    }
+
+    /**
+     * Valida una fila en memoria.
+     *
+     * @return Mensaje de error, o null si la fila es válida
+     */
+    private String validate(PetInDTO row) {
+        Set<ConstraintViolation<PetInDTO>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (row.getWeight() == null) {
+            return "weight: no debe ser nulo";
+        }
+        try {
+            referenceCatalog.getSpecie(row.getSpecieId());
+        } catch (IdNotFoundException e) {
+            return "Especie no encontrada: " + row.getSpecieId();
+        }
+        try {
+            referenceCatalog.getBreed(row.getBreedId(), row.getSpecieId());
+        } catch (IdNotFoundException e) {
+            return "Raza no encontrada: " + row.getBreedId();
+        } catch (BreedSpecieMismatchException e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+
+    private static PetInDTO toPetInDTO(String[] record, Map<String, Integer> columns) {
+        return new PetInDTO(
+                value(record, columns, "name"),
+                parse(record, columns, "birthDate", Date::valueOf),
+                parse(record, columns, "specieId", Long::valueOf),
+                parse(record, columns, "breedId", Long::valueOf),
+                parse(record, columns, "weight", Double::valueOf),
+                value(record, columns, "dietInfo"),
+                value(record, columns, "email"));
+    }
+
+    /**
+     * Convierte el valor de una columna.
+     *
+     * @throws IllegalArgumentException con el nombre de la columna si el valor
+     *                                  no tiene el formato esperado
+     */
+    private static <T> T parse(String[] record, Map<String, Integer> columns, String column,
+            Function<String, T> parser) {
+        String value = value(record, columns, column);
+        try {
+            return value != null ? parser.apply(value) : null;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(column);
+        }
+    }
+
+    private static String value(String[] record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.length) {
+            return null;
+        }
+        String value = record[index].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static User userWithId(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+}
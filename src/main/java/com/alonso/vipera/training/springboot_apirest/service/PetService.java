@@ -7,6 +7,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import com.alonso.vipera.training.springboot_apirest.exception.IdNotFoundException;
+import com.alonso.vipera.training.springboot_apirest.model.CursorPage;
 import com.alonso.vipera.training.springboot_apirest.model.pet.dto.in.PetInDTO;
 import com.alonso.vipera.training.springboot_apirest.model.pet.dto.in.PetUpdateDTO;
 import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.PetOutDTO;
@@ -39,6 +40,22 @@ public interface PetService {
      */
     Page<PetOutDTO> getPetByFilters(Long pet_id, String name, Long breed_id, Long specie_id, Pageable pageable);
 
+    /**
+     * Recorre por cursor las mascotas que cumplen los filtros opcionales, sin
+     * calcular el total. El coste de cada página no depende de su posición.
+     *
+     * @param pet_id    ID de la mascota (opcional)
+     * @param name      Nombre de la mascota (opcional)
+     * @param breed_id  ID de la raza (opcional)
+     * @param specie_id ID de la especie (opcional)
+     * @param sort      Ordenación: id o createdAt (opcional, id por defecto)
+     * @param cursor    Cursor devuelto en la página anterior (null para la primera)
+     * @param size      Tamaño de página solicitado (se limita al máximo admitido)
+     * @return Página de mascotas con el cursor de la siguiente
+     */
+    CursorPage<PetOutDTO> scrollPets(Long pet_id, String name, Long breed_id, Long specie_id, String sort,
+            String cursor, Integer size);
+
     List<PetOutDTO> getPetsByUserEmail(String email);
 
     /**
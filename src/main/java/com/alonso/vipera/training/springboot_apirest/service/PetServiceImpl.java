@@ -6,17 +6,19 @@ import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.alonso.vipera.training.springboot_apirest.exception.EmailNotFoundException;
 import com.alonso.vipera.training.springboot_apirest.exception.IdNotFoundException;
+import com.alonso.vipera.training.springboot_apirest.exception.VersionConflictException;
+import com.alonso.vipera.training.springboot_apirest.exception.VersionRequiredException;
 import com.alonso.vipera.training.springboot_apirest.mapper.PetMapper;
-import com.alonso.vipera.training.springboot_apirest.model.pet.Breed;
+import com.alonso.vipera.training.springboot_apirest.model.CursorPage;
 import com.alonso.vipera.training.springboot_apirest.model.pet.Pet;
-import com.alonso.vipera.training.springboot_apirest.model.pet.Specie;
 import com.alonso.vipera.training.springboot_apirest.model.pet.dto.in.PetInDTO;
 import com.alonso.vipera.training.springboot_apirest.model.pet.dto.in.PetUpdateDTO;
 import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.PetOutDTO;
-import com.alonso.vipera.training.springboot_apirest.model.user.User;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.PetProjection;
 import com.alonso.vipera.training.springboot_apirest.persistence.adapter.BreedRepositoryAdapter;
 import com.alonso.vipera.training.springboot_apirest.persistence.adapter.PetRepositoryAdapter;
 import com.alonso.vipera.training.springboot_apirest.persistence.adapter.SpecieRepositoryAdapter;
@@ -27,16 +29,31 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * Implementación del servicio para la gestión de mascotas.
+ *
+ * Cada caso de uso se ejecuta en una única transacción. Las consultas usan
+ * transacciones de solo lectura, en las que Hibernate no guarda instantáneas
+ * de las entidades ni comprueba cambios al terminar.
+ *
+ * El registro de mascotas resuelve la especie y la raza desde
+ * {@link ReferenceCatalog} y asigna el dueño, la especie y la raza como
+ * referencias por ID: guardar una mascota cuesta la búsqueda del ID del dueño
+ * y el INSERT.
+ *
+ * La modificación es un UPDATE condicional que comprueba el dueño y la versión
+ * en el WHERE, sin cargar la entidad; si no modifica ninguna fila se consulta
+ * el motivo (no existe, no es del usuario o conflicto de versión).
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class PetServiceImpl implements PetService {
 
     private final PetRepositoryAdapter petRepositoryAdapter;
     private final UserRepositoryAdapter userRepositoryAdapter;
     private final SpecieRepositoryAdapter specieRepositoryAdapter;
     private final BreedRepositoryAdapter breedRepositoryAdapter;
+    private final ReferenceCatalog referenceCatalog;
     private final PetMapper petMapper;
 
     @Override
@@ -97,7 +114,7 @@ public class PetServiceImpl implements PetService {
     @Override
     public Page<PetOutDTO> getAll(Pageable pageable) {
         log.debug("Recuperando todas las mascotas de la base de datos...");
-        Page<Pet> pets = petRepositoryAdapter.findAll(pageable);
+        Page<PetProjection> pets = petRepositoryAdapter.findAll(pageable);
         log.debug("Se han recuperado {} mascotas en total.", pets.getSize());
         return pets.map(petMapper::toOutDTO);
     }
@@ -106,43 +123,54 @@ public class PetServiceImpl implements PetService {
     public Page<PetOutDTO> getPetByFilters(Long pet_id, String name, Long breed_id, Long specie_id, Pageable pageable) {
         log.debug("Buscando mascotas con filtros -Id_mascota {}, Nombre: {}, Id_raza: {}, Id_especie: {}", pet_id, name,
                 breed_id, specie_id);
-        Page<Pet> pets = petRepositoryAdapter.findByFilters(pet_id, name, breed_id, specie_id, pageable);
+        Page<PetProjection> pets = petRepositoryAdapter.findByFilters(pet_id, name, breed_id, specie_id, pageable);
         log.debug("Se han encontrado {} mascotas con los filtros proporcionados.", pets.getSize());
         return pets.map(petMapper::toOutDTO);
     }
 
     @Override
+    public CursorPage<PetOutDTO> scrollPets(Long pet_id, String name, Long breed_id, Long specie_id, String sort,
+            String cursor, Integer size) {
+        log.debug("Recorriendo mascotas por cursor -Id_mascota {}, Nombre: {}, Id_raza: {}, Id_especie: {}, Orden: {}",
+                pet_id, name, breed_id, specie_id, sort);
+        CursorPage<PetProjection> pets = petRepositoryAdapter.scrollByFilters(pet_id, name, breed_id, specie_id, sort,
+                cursor, CursorPage.limitSize(size));
+        log.debug("Se han recuperado {} mascotas. ¿Hay más?: {}", pets.content().size(), pets.hasNext());
+        return pets.map(petMapper::toOutDTO);
+    }
+
+    @Override
+    @Transactional
     public PetOutDTO save(PetInDTO petInDTO) {
         log.info("Guardando nueva mascota para el usuario: {}", petInDTO.getEmail());
 
-        log.debug("Buscando usuario dueño: {}", petInDTO.getEmail());
-        User user = userRepositoryAdapter.findByEmail(petInDTO.getEmail()).orElseThrow(() -> new EmailNotFoundException());
-        log.debug("Usuario con email {} encontrado. ID: {}", petInDTO.getEmail(), user.getId());
-
-        log.debug("Buscando especie: {}", petInDTO.getSpecieId());
-        Specie specie = specieRepositoryAdapter.findById(petInDTO.getSpecieId())
-                .orElseThrow(() -> new IdNotFoundException());
-        log.debug("Especie {} encontrada. ID: {}", petInDTO.getSpecieId(), specie.getId());
+        ReferenceCatalog.SpecieRef specie = referenceCatalog.getSpecie(petInDTO.getSpecieId());
+        ReferenceCatalog.BreedRef breed = referenceCatalog.getBreed(petInDTO.getBreedId(), specie.id());
+        log.debug("Especie ID: {} y raza ID: {} resueltas desde el catálogo", specie.id(), breed.id());
 
-        log.debug("Buscando raza: {}", petInDTO.getBreedId());
-        Breed breed = breedRepositoryAdapter.findById(petInDTO.getBreedId())
-                .orElseThrow(() -> new IdNotFoundException());
-        log.debug("Raza {} encontrada. ID: {}", petInDTO.getBreedId(), breed.getId());
+        log.debug("Buscando usuario dueño: {}", petInDTO.getEmail());
+        Long userId = userRepositoryAdapter.findIdByEmail(petInDTO.getEmail())
+                .orElseThrow(() -> new EmailNotFoundException());
+        log.debug("Usuario con email {} encontrado. ID: {}", petInDTO.getEmail(), userId);
 
         Pet pet = petMapper.toEntity(petInDTO);
 
-        pet.setUser(user);
-        pet.setSpecie(specie);
-        pet.setBreed(breed);
+        pet.setUser(userRepositoryAdapter.getReference(userId));
+        pet.setSpecie(specieRepositoryAdapter.getReference(specie.id()));
+        pet.setBreed(breedRepositoryAdapter.getReference(breed.id()));
 
         log.debug("Guardando mascota en la base de datos...");
         Pet petSaved = petRepositoryAdapter.save(pet);
         log.info("Mascota {} guardada con éxito. ID: {}", petSaved.getName(), petSaved.getId());
 
-        return petMapper.toOutDTO(petSaved);
+        return petMapper.toOutDTO(new PetProjection(petSaved.getId(), petSaved.getName(), petSaved.getBirthDate(),
+                petSaved.getWeight(), petSaved.getDietInfo(), specie.id(), specie.name(), breed.id(), breed.name(),
+                breed.externalApiId(), breed.specie().id(), breed.specie().name(), petSaved.getCreatedAt(),
+                petSaved.getVersion()));
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
         log.debug("Buscando mascota con ID: {} para eliminar...", id);
         Pet pet = petRepositoryAdapter.findById(id).orElseThrow(() -> new IdNotFoundException());
@@ -152,37 +180,30 @@ public class PetServiceImpl implements PetService {
     }
 
     @Override
+    @Transactional
     public PetOutDTO updatePet(Long petId, PetUpdateDTO petUpdateDTO, String email) {
-
-        log.debug("Buscando mascota con ID: {} para actualizar...", petId);
-        Pet pet = petRepositoryAdapter.findById(petId).orElseThrow(() -> new IdNotFoundException());
-        log.debug("Mascota con ID: {} encontrada. Verificando permisos del usuario con email: {}", petId, email);
-
-        if (!email.equals(pet.getUser().getEmail())) {
-            throw new SecurityException("No tienes permiso para actualizar esta mascota.");
-        }
-        log.debug("Permisos verificados. Actualizando información de la mascota...");
-
-        if (petUpdateDTO.getName() != null) {
-            pet.setName(petUpdateDTO.getName());
-            log.debug("Nombre actualizado a: {}", petUpdateDTO.getName());
+        log.debug("Actualizando mascota con ID: {} del usuario con email: {}", petId, email);
+        if (petUpdateDTO.getVersion() == null) {
+            throw new VersionRequiredException();
         }
-
-        if (petUpdateDTO.getWeight() != null) {
-            pet.setWeight(petUpdateDTO.getWeight());
-            log.debug("Peso actualizado a: {}", petUpdateDTO.getWeight());
+        boolean updated = petRepositoryAdapter.updateIfOwner(petId, email, petUpdateDTO.getVersion(),
+                petUpdateDTO.getName(), petUpdateDTO.getWeight(), petUpdateDTO.getDietInfo());
+
+        if (!updated) {
+            // Solo se distingue el motivo cuando el UPDATE no ha modificado nada
+            String ownerEmail = petRepositoryAdapter.findOwnerEmailById(petId)
+                    .orElseThrow(() -> new IdNotFoundException());
+            if (!email.equals(ownerEmail)) {
+                throw new SecurityException("No tienes permiso para actualizar esta mascota.");
+            }
+            log.warn("Conflicto de versión al actualizar la mascota con ID: {} (versión esperada: {})", petId,
+                    petUpdateDTO.getVersion());
+            throw new VersionConflictException();
         }
 
-        if (petUpdateDTO.getDietInfo() != null) {
-            pet.setDietInfo(petUpdateDTO.getDietInfo());
-            log.debug("Información de dieta actualizada a: {}", petUpdateDTO.getDietInfo());
-        }
-
-        log.debug("Guardando cambios en la base de datos...");
-        Pet updatedPet = petRepositoryAdapter.save(pet);
         log.info("Mascota con ID: {} actualizada con éxito.", petId);
-
-        return petMapper.toOutDTO(updatedPet);
+        return petMapper.toOutDTO(petRepositoryAdapter.findProjectionById(petId)
+                .orElseThrow(() -> new IdNotFoundException()));
     }
 
 }
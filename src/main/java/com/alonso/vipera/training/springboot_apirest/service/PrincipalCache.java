@@ -0,0 +1,97 @@
+package com.alonso.vipera.training.springboot_apirest.service;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.alonso.vipera.training.springboot_apirest.model.user.UserPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caché acotada de principales de usuario indexada por email.
+ *
+ * Guarda instantáneas inmutables ({@link UserPrincipal}) en lugar de entidades
+ * JPA, con un tamaño máximo y un tiempo de vida configurables, de modo que la
+ * memoria no crece con el número de usuarios que inician sesión. Las
+ * estadísticas de aciertos, fallos y expulsiones se publican en Micrometer con
+ * el nombre de caché "principals".
+ *
+ * Los servicios que modifican usuarios deben invalidar la entrada afectada.
+ */
+@Slf4j
+@Component
+public class PrincipalCache {
+
+    private static final String CACHE_NAME = "principals";
+
+    private final Cache<String, UserPrincipal> cache;
+
+    public PrincipalCache(
+            @Value("${security.principal-cache.maximum-size:10000}") long maximumSize,
+            @Value("${security.principal-cache.ttl:PT5M}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        log.debug("Caché de principales creada (tamaño máximo: {}, TTL: {})", maximumSize, ttl);
+    }
+
+    /**
+     * Obtiene el principal asociado a un email, cargándolo con la función
+     * indicada si no está en caché. Las excepciones de la función de carga se
+     * propagan y no se cachea ningún valor.
+     *
+     * @param email  Email del usuario
+     * @param loader Función de carga del principal
+     * @return Principal del usuario
+     */
+    public UserPrincipal get(String email, Function<String, UserPrincipal> loader) {
+        return cache.get(email, loader);
+    }
+
+    /**
+     * Invalida la entrada asociada a un email.
+     *
+     * @param email Email del usuario
+     */
+    public void invalidate(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
+
+    /**
+     * Invalida cualquier entrada que pertenezca al usuario con el ID indicado.
+     *
+     * @param userId ID del usuario
+     */
+    public void invalidateUserId(Long userId) {
+        cache.asMap().values().removeIf(principal -> userId.equals(principal.id()));
+    }
+
+    /**
+     * Invalida todas las entradas.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Caché Caffeine subyacente, para consultar su tamaño y sus estadísticas.
+     *
+     * @return Caché de principales
+     */
+    public Cache<String, UserPrincipal> getNativeCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,398 @@
+package com.alonso.vipera.training.springboot_apirest.service;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.alonso.vipera.training.springboot_apirest.exception.BreedSpecieMismatchException;
+import com.alonso.vipera.training.springboot_apirest.exception.IdNotFoundException;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.BreedRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.PetRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.SpecieRepositoryAdapter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Catálogo en memoria de especies y razas.
+ *
+ * Las especies y las razas cambian muy pocas veces (solo con la sincronización
+ * diaria de las APIs externas), así que se mantienen en una instantánea
+ * inmutable indexada por id, por especie, por nombre normalizado (sin tildes
+ * ni mayúsculas) y por prefijo ({@link SuggestIndex}, uno para especies y otro
+ * para razas, que se sustituyen juntos con la instantánea). Listar, autocompletar,
+ * buscar por nombre, resolver una especie o una raza y comprobar que la raza
+ * pertenece a la especie no requiere ninguna consulta ni ningún bloqueo: los
+ * lectores leen la referencia volátil a la instantánea.
+ *
+ * La instantánea se carga al arrancar la aplicación (o en el primer uso, si
+ * llega antes) y se sustituye de forma atómica cuando se confirma una
+ * sincronización que ha guardado razas ({@link CatalogChangedEvent}). Si se
+ * pide un id que no está en la instantánea (por ejemplo, una raza creada en
+ * otra instancia) se recarga, como mucho una vez por intervalo para que ids
+ * inexistentes no provoquen consultas continuas.
+ *
+ * El número de mascotas de cada raza y de cada especie, con el que se ordenan
+ * las sugerencias, no forma parte de la instantánea: se cuenta con un GROUP BY
+ * sobre pets en una tarea periódica (catalog.pet-counts.refresh-interval), de
+ * modo que ni las recargas del catálogo ni las recargas por id desconocido lo
+ * recalculan.
+ */
+@Slf4j
+@Service
+public class ReferenceCatalog {
+
+    private final SpecieRepositoryAdapter specieRepositoryAdapter;
+    private final BreedRepositoryAdapter breedRepositoryAdapter;
+    private final PetRepositoryAdapter petRepositoryAdapter;
+    private final long reloadOnMissIntervalNanos;
+
+    private volatile Snapshot snapshot;
+    private volatile PetCounts petCounts = new PetCounts(Map.of(), Map.of());
+    private volatile long lastReloadNanos;
+    private long version;
+
+    public ReferenceCatalog(
+            SpecieRepositoryAdapter specieRepositoryAdapter,
+            BreedRepositoryAdapter breedRepositoryAdapter,
+            PetRepositoryAdapter petRepositoryAdapter,
+            @Value("${catalog.reload-on-miss-interval:PT30S}") Duration reloadOnMissInterval) {
+        this.specieRepositoryAdapter = specieRepositoryAdapter;
+        this.breedRepositoryAdapter = breedRepositoryAdapter;
+        this.petRepositoryAdapter = petRepositoryAdapter;
+        this.reloadOnMissIntervalNanos = reloadOnMissInterval.toNanos();
+    }
+
+    /**
+     * Especie del catálogo.
+     *
+     * @param id   ID de la especie
+     * @param name Nombre de la especie
+     */
+    public record SpecieRef(Long id, String name) {
+    }
+
+    /**
+     * Raza del catálogo.
+     *
+     * @param id            ID de la raza
+     * @param name          Nombre de la raza
+     * @param externalApiId ID de la raza en la API externa
+     * @param specie        Especie a la que pertenece
+     */
+    public record BreedRef(Long id, String name, String externalApiId, SpecieRef specie) {
+    }
+
+    private record Snapshot(
+            long version,
+            List<SpecieRef> speciesList,
+            List<BreedRef> breedsList,
+            Map<Long, SpecieRef> species,
+            Map<Long, BreedRef> breeds,
+            Map<Long, List<BreedRef>> breedsBySpecie,
+            Map<String, SpecieRef> speciesByName,
+            Map<String, BreedRef> breedsByName,
+            SuggestIndex<SpecieRef> specieSuggestIndex,
+            SuggestIndex<BreedRef> breedSuggestIndex) {
+    }
+
+    /**
+     * Número de mascotas por ID de raza y por ID de especie. Las que no estén
+     * cuentan como 0.
+     */
+    private record PetCounts(Map<Long, Long> byBreed, Map<Long, Long> bySpecie) {
+    }
+
+    /**
+     * Carga el catálogo al terminar el arranque, si no se ha cargado ya.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reloadIfUnchanged(null);
+    }
+
+    /**
+     * Recarga el catálogo cuando se confirma una transacción que ha modificado
+     * especies o razas. Si el evento se publica fuera de una transacción se
+     * recarga inmediatamente.
+     *
+     * @param event Evento de cambio del catálogo
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        log.debug("Catálogo de referencia modificado ({}). Recargando...", event.source());
+        reload();
+    }
+
+    /**
+     * Versión de la instantánea actual. Aumenta con cada recarga, así que
+     * permite saber si algo derivado del catálogo sigue vigente.
+     *
+     * @return Versión del catálogo
+     */
+    public long getVersion() {
+        return current().version();
+    }
+
+    /**
+     * Obtiene todas las especies del catálogo, ordenadas por id.
+     *
+     * @return Lista inmutable de especies
+     */
+    public List<SpecieRef> getSpecies() {
+        return current().speciesList();
+    }
+
+    /**
+     * Obtiene todas las razas del catálogo, ordenadas por id.
+     *
+     * @return Lista inmutable de razas
+     */
+    public List<BreedRef> getBreeds() {
+        return current().breedsList();
+    }
+
+    /**
+     * Obtiene las razas de una especie, ordenadas por id.
+     *
+     * @param specieId ID de la especie
+     * @return Lista inmutable de razas; vacía si la especie no existe o no
+     *         tiene razas
+     */
+    public List<BreedRef> getBreedsBySpecie(Long specieId) {
+        if (specieId == null) {
+            return List.of();
+        }
+        return current().breedsBySpecie().getOrDefault(specieId, List.of());
+    }
+
+    /**
+     * Busca una especie por nombre, sin distinguir mayúsculas ni tildes.
+     *
+     * @param name Nombre de la especie
+     * @return Especie, o vacío si no existe
+     */
+    public Optional<SpecieRef> findSpecieByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(current().speciesByName().get(normalize(name)));
+    }
+
+    /**
+     * Busca una raza por nombre, sin distinguir mayúsculas ni tildes.
+     *
+     * @param name Nombre de la raza
+     * @return Raza, o vacío si no existe
+     */
+    public Optional<BreedRef> findBreedByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(current().breedsByName().get(normalize(name)));
+    }
+
+    /**
+     * Sugiere especies cuyo nombre, o alguna de sus palabras, empieza por el
+     * texto indicado, sin distinguir mayúsculas ni tildes. Las más usadas
+     * primero.
+     *
+     * @param prefix Texto escrito por el usuario
+     * @param limit  Número máximo de resultados
+     * @return Especies sugeridas
+     * @see SuggestIndex
+     */
+    public List<SpecieRef> suggestSpecies(String prefix, int limit) {
+        Map<Long, Long> counts = petCounts.bySpecie();
+        return current().specieSuggestIndex().suggest(prefix, specie -> true, limit,
+                specie -> counts.getOrDefault(specie.id(), 0L));
+    }
+
+    /**
+     * Sugiere razas cuyo nombre, o alguna de sus palabras, empieza por el texto
+     * indicado, sin distinguir mayúsculas ni tildes. Las más usadas primero.
+     *
+     * @param prefix   Texto escrito por el usuario
+     * @param specieId ID de la especie por la que filtrar (opcional)
+     * @param limit    Número máximo de resultados
+     * @return Razas sugeridas
+     * @see SuggestIndex
+     */
+    public List<BreedRef> suggestBreeds(String prefix, Long specieId, int limit) {
+        Map<Long, Long> counts = petCounts.byBreed();
+        return current().breedSuggestIndex().suggest(prefix,
+                breed -> specieId == null || specieId.equals(breed.specie().id()), limit,
+                breed -> counts.getOrDefault(breed.id(), 0L));
+    }
+
+    /**
+     * Recalcula el número de mascotas de cada raza y de cada especie con el que
+     * se ordenan las sugerencias. Se ejecuta al arrancar y después
+     * periódicamente; si falla se conservan los valores anteriores.
+     */
+    @Scheduled(fixedDelayString = "${catalog.pet-counts.refresh-interval:PT10M}")
+    public void refreshPetCounts() {
+        Map<Long, Long> byBreed;
+        try {
+            byBreed = Map.copyOf(petRepositoryAdapter.countPetsByBreed());
+        } catch (DataAccessException e) {
+            log.warn("No se pudo recalcular el número de mascotas por raza: {}", e.getMessage());
+            return;
+        }
+        // La especie de una mascota es siempre la de su raza
+        Map<Long, BreedRef> breeds = current().breeds();
+        Map<Long, Long> bySpecie = new HashMap<>();
+        byBreed.forEach((breedId, count) -> {
+            BreedRef breed = breeds.get(breedId);
+            if (breed != null) {
+                bySpecie.merge(breed.specie().id(), count, Long::sum);
+            }
+        });
+        petCounts = new PetCounts(byBreed, Map.copyOf(bySpecie));
+        log.debug("Número de mascotas recalculado: {} razas y {} especies con mascotas", byBreed.size(),
+                bySpecie.size());
+    }
+
+    /**
+     * Normaliza un nombre para las búsquedas: sin espacios en los extremos,
+     * sin tildes ni diéresis y en minúsculas.
+     *
+     * @param name Nombre a normalizar
+     * @return Nombre normalizado
+     */
+    public static String normalize(String name) {
+        return Normalizer.normalize(name.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Obtiene una especie del catálogo.
+     *
+     * @param id ID de la especie
+     * @return Especie
+     * @throws IdNotFoundException si la especie no existe
+     */
+    public SpecieRef getSpecie(Long id) {
+        SpecieRef specie = find(snapshot -> snapshot.species().get(id), id);
+        if (specie == null) {
+            throw new IdNotFoundException();
+        }
+        return specie;
+    }
+
+    /**
+     * Obtiene una raza del catálogo y comprueba que pertenece a la especie
+     * indicada.
+     *
+     * @param breedId  ID de la raza
+     * @param specieId ID de la especie que debe tener la raza
+     * @return Raza
+     * @throws IdNotFoundException          si la raza no existe
+     * @throws BreedSpecieMismatchException si la raza es de otra especie
+     */
+    public BreedRef getBreed(Long breedId, Long specieId) {
+        BreedRef breed = find(snapshot -> snapshot.breeds().get(breedId), breedId);
+        if (breed == null) {
+            throw new IdNotFoundException();
+        }
+        if (!breed.specie().id().equals(specieId)) {
+            log.warn("La raza ID: {} pertenece a la especie ID: {}, no a la especie ID: {}", breedId,
+                    breed.specie().id(), specieId);
+            throw new BreedSpecieMismatchException();
+        }
+        return breed;
+    }
+
+    /**
+     * Recarga el catálogo desde la base de datos y sustituye la instantánea.
+     */
+    public synchronized void reload() {
+        List<SpecieRef> speciesList = specieRepositoryAdapter.findAll().stream()
+                .map(specie -> new SpecieRef(specie.getId(), specie.getName()))
+                .sorted(Comparator.comparing(SpecieRef::id))
+                .toList();
+        Map<Long, SpecieRef> species = speciesList.stream()
+                .collect(Collectors.toUnmodifiableMap(SpecieRef::id, Function.identity()));
+        List<BreedRef> breedsList = breedRepositoryAdapter.findAll().stream()
+                .map(breed -> new BreedRef(breed.getId(), breed.getName(), breed.getExternalApiId(),
+                        species.get(breed.getSpecie().getId())))
+                .sorted(Comparator.comparing(BreedRef::id))
+                .toList();
+        Map<Long, BreedRef> breeds = breedsList.stream()
+                .collect(Collectors.toUnmodifiableMap(BreedRef::id, Function.identity()));
+        Map<Long, List<BreedRef>> breedsBySpecie = breedsList.stream()
+                .collect(Collectors.groupingBy(breed -> breed.specie().id(), Collectors.toUnmodifiableList()));
+
+        snapshot = new Snapshot(++version, speciesList, breedsList, species, breeds, Map.copyOf(breedsBySpecie),
+                indexByName(speciesList, SpecieRef::name), indexByName(breedsList, BreedRef::name),
+                SuggestIndex.build(speciesList, SpecieRef::id, SpecieRef::name),
+                SuggestIndex.build(breedsList, BreedRef::id, BreedRef::name));
+        lastReloadNanos = System.nanoTime();
+        log.debug("Catálogo de referencia recargado (versión {}): {} especies y {} razas", version, species.size(),
+                breeds.size());
+    }
+
+    /**
+     * Indexa por nombre normalizado. Si dos elementos coinciden tras normalizar
+     * se conserva el de menor id.
+     */
+    private static <T> Map<String, T> indexByName(List<T> items, Function<T, String> name) {
+        return items.stream()
+                .filter(item -> name.apply(item) != null)
+                .collect(Collectors.toUnmodifiableMap(item -> normalize(name.apply(item)), Function.identity(),
+                        (first, second) -> first));
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            reloadIfUnchanged(null);
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private <T> T find(Function<Snapshot, T> lookup, Long id) {
+        if (id == null) {
+            return null;
+        }
+        Snapshot current = snapshot;
+        if (current == null) {
+            reloadIfUnchanged(null);
+            return lookup.apply(snapshot);
+        }
+        T value = lookup.apply(current);
+        if (value == null && System.nanoTime() - lastReloadNanos >= reloadOnMissIntervalNanos) {
+            log.debug("ID: {} no encontrado en el catálogo de referencia. Recargando...", id);
+            reloadIfUnchanged(current);
+            value = lookup.apply(snapshot);
+        }
+        return value;
+    }
+
+    /**
+     * Recarga el catálogo salvo que otro hilo lo haya hecho mientras se
+     * esperaba el bloqueo.
+     */
+    private synchronized void reloadIfUnchanged(Snapshot expected) {
+        if (snapshot == expected) {
+            reload();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.alonso.vipera.training.springboot_apirest.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.alonso.vipera.training.springboot_apirest.exception.InvalidRefreshTokenException;
+import com.alonso.vipera.training.springboot_apirest.model.user.RefreshToken;
+import com.alonso.vipera.training.springboot_apirest.model.user.User;
+import com.alonso.vipera.training.springboot_apirest.persistence.repository.RefreshTokenRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Servicio para la emisión y rotación de refresh tokens.
+ *
+ * Los refresh tokens son valores opacos aleatorios (256 bits, Base64 URL) de los
+ * que solo se persiste el hash SHA-256, indexado. Canjear un token cuesta una
+ * consulta indexada y un UPDATE, sin verificación de contraseña.
+ *
+ * Cada canje rota el token: el anterior se marca como usado y se emite uno
+ * nuevo de la misma familia. Si se presenta un token ya usado o revocado se
+ * asume que ha sido robado y se revoca la familia completa.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration expiration;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            @Value("${jwt.refresh.expiration:P30D}") Duration expiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.expiration = expiration;
+    }
+
+    /**
+     * Resultado de canjear un refresh token.
+     *
+     * @param user         Usuario propietario del token, con el rol cargado
+     * @param refreshToken Nuevo refresh token en claro
+     */
+    public record Rotation(User user, String refreshToken) {
+    }
+
+    /**
+     * Emite un refresh token que inicia una nueva familia.
+     *
+     * @param user Usuario autenticado
+     * @return Refresh token en claro
+     */
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Canjea un refresh token y emite el siguiente de la familia.
+     *
+     * @param rawToken Refresh token en claro
+     * @return Usuario y nuevo refresh token
+     * @throws InvalidRefreshTokenException si el token no existe, ha expirado,
+     *                                      ya fue usado o el usuario no está activo
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String rawToken) {
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException());
+
+        if (stored.getUsedAt() != null || stored.getRevokedAt() != null
+                || !refreshTokenRepository.markUsed(stored.getId(), now)) {
+            log.warn("Reutilización de refresh token detectada. Revocando la familia {} del usuario ID: {}",
+                    stored.getFamilyId(), stored.getUser().getId());
+            refreshTokenRepository.revokeFamily(stored.getFamilyId(), now);
+            throw new InvalidRefreshTokenException();
+        }
+
+        if (stored.getExpiresAt().isBefore(now)) {
+            log.debug("Refresh token expirado para el usuario ID: {}", stored.getUser().getId());
+            throw new InvalidRefreshTokenException();
+        }
+
+        User user = stored.getUser();
+        if (user.getDeletedAt() != null || !user.isEnabled()) {
+            log.warn("Refresh token presentado para el usuario inactivo ID: {}", user.getId());
+            refreshTokenRepository.revokeFamily(stored.getFamilyId(), now);
+            throw new InvalidRefreshTokenException();
+        }
+
+        return new Rotation(user, issue(user, stored.getFamilyId()));
+    }
+
+    /**
+     * Revoca la familia completa a la que pertenece un refresh token. Si el
+     * token no existe no hace nada.
+     *
+     * @param rawToken Refresh token en claro
+     */
+    public void revokeFamilyOf(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(stored -> refreshTokenRepository.revokeFamily(stored.getFamilyId(), LocalDateTime.now()));
+    }
+
+    /**
+     * Revoca todos los refresh tokens de un usuario.
+     *
+     * @param userId ID del usuario
+     */
+    public void revokeAll(Long userId) {
+        int revoked = refreshTokenRepository.revokeAllByUserId(userId, LocalDateTime.now());
+        log.debug("Revocados {} refresh tokens del usuario ID: {}", revoked, userId);
+    }
+
+    /**
+     * Elimina los refresh tokens expirados.
+     *
+     * @return Número de tokens eliminados
+     */
+    public int deleteExpired() {
+        return refreshTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private String issue(User user, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(rawToken))
+                .familyId(familyId)
+                .expiresAt(LocalDateTime.now().plus(expiration))
+                .user(user)
+                .build());
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -35,4 +35,15 @@ public interface SpecieService {
      */
     boolean existsByName(String name);
 
+    /**
+     * Sugiere especies para autocompletar a partir del texto escrito, sin
+     * distinguir mayúsculas ni tildes. Las especies con más mascotas van
+     * primero.
+     *
+     * @param query Texto escrito por el usuario
+     * @param limit Número máximo de sugerencias (opcional)
+     * @return Lista de especies sugeridas
+     */
+    List<SpecieOutDTO> suggest(String query, Integer limit);
+
 }
\ No newline at end of file
@@ -2,46 +2,44 @@ package com.alonso.vipera.training.springboot_apirest.service;
 
 import java.util.List;
 
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import com.alonso.vipera.training.springboot_apirest.exception.SpecieNotFoundException;
 import com.alonso.vipera.training.springboot_apirest.mapper.SpecieMapper;
-import com.alonso.vipera.training.springboot_apirest.model.pet.Specie;
 import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.SpecieOutDTO;
-import com.alonso.vipera.training.springboot_apirest.persistence.adapter.SpecieRepositoryAdapter;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Implementación del servicio para la gestión de especies de mascotas.
- * Proporciona operaciones de consulta para entidades Specie.
+ * Proporciona operaciones de consulta para entidades Specie, servidas desde el
+ * {@link ReferenceCatalog} en memoria sin acceder a la base de datos.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class SpecieServiceImpl implements SpecieService {
 
-    private final SpecieRepositoryAdapter specieRepositoryAdapter;
+    private final ReferenceCatalog referenceCatalog;
     private final SpecieMapper specieMapper;
 
     @Override
-    @Cacheable("species")
     public List<SpecieOutDTO> getAll() {
-        log.debug("Recuperando todos las razas de la base de datos...");
-        List<SpecieOutDTO> species = specieRepositoryAdapter.findAll()
+        log.debug("Recuperando todas las especies del catálogo...");
+        List<SpecieOutDTO> species = referenceCatalog.getSpecies()
                 .stream()
                 .map(specieMapper::toDTO)
                 .toList();
-        log.debug("Se han recuperado {} razas en total.", species.size());
+        log.debug("Se han recuperado {} especies en total.", species.size());
         return species;
     }
 
     @Override
     public SpecieOutDTO findByName(String name) {
         log.debug("Buscando especie por nombre: {}", name);
-        Specie specie = specieRepositoryAdapter.findByName(name).orElseThrow(() -> new SpecieNotFoundException());
+        ReferenceCatalog.SpecieRef specie = referenceCatalog.findSpecieByName(name)
+                .orElseThrow(() -> new SpecieNotFoundException());
         log.debug("Especie encontrada: {}", specie);
         return specieMapper.toDTO(specie);
     }
@@ -49,9 +47,18 @@ public class SpecieServiceImpl implements SpecieService {
     @Override
     public boolean existsByName(String name) {
         log.debug("Comprobando existencia de especie por nombre: {}", name);
-        boolean exists = specieRepositoryAdapter.existsByName(name);
+        boolean exists = referenceCatalog.findSpecieByName(name).isPresent();
         log.debug("¿Existe la especie {}? {}", name, exists);
         return exists;
     }
 
+    @Override
+    public List<SpecieOutDTO> suggest(String query, Integer limit) {
+        log.debug("Sugiriendo especies para: '{}'", query);
+        return referenceCatalog.suggestSpecies(query, SuggestIndex.limit(limit))
+                .stream()
+                .map(specieMapper::toDTO)
+                .toList();
+    }
+
 }
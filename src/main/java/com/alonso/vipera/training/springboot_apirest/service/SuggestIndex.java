@@ -0,0 +1,155 @@
+package com.alonso.vipera.training.springboot_apirest.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Índice de prefijos inmutable para autocompletar elementos del catálogo
+ * (especies y razas).
+ *
+ * Guarda, ordenadas, las claves normalizadas (sin tildes ni mayúsculas, ver
+ * {@link ReferenceCatalog#normalize(String)}) de cada elemento: el nombre
+ * completo y el resto del nombre a partir de cada palabra, para que "retr"
+ * encuentre "Golden Retriever". Una búsqueda es una búsqueda binaria del
+ * prefijo más un recorrido de las claves que empiezan por él.
+ *
+ * Los resultados se ordenan por peso (de más a menos; para el catálogo, el
+ * número de mascotas), después los que empiezan por el prefijo y después por
+ * nombre. El peso no forma parte del índice: se indica en cada búsqueda, de
+ * modo que puede actualizarse sin reconstruirlo.
+ *
+ * @param <T> Tipo de los elementos indexados
+ */
+public final class SuggestIndex<T> {
+
+    /** Número de sugerencias por defecto. */
+    public static final int DEFAULT_LIMIT = 10;
+
+    /** Número máximo de sugerencias admitido. */
+    public static final int MAX_LIMIT = 50;
+
+    private final String[] keys;
+    private final List<T> items;
+    private final boolean[] fullName;
+    private final Function<T, Long> id;
+    private final Function<T, String> name;
+
+    private SuggestIndex(String[] keys, List<T> items, boolean[] fullName, Function<T, Long> id,
+            Function<T, String> name) {
+        this.keys = keys;
+        this.items = items;
+        this.fullName = fullName;
+        this.id = id;
+        this.name = name;
+    }
+
+    private record Entry<T>(String key, T item, boolean fullName) {
+    }
+
+    private record Match<T>(T item, boolean fullName) {
+    }
+
+    /**
+     * Construye el índice. Los elementos sin nombre no se indexan.
+     *
+     * @param items Elementos a indexar
+     * @param id    ID de cada elemento, para no repetirlo en los resultados
+     * @param name  Nombre de cada elemento
+     * @return Índice
+     */
+    public static <T> SuggestIndex<T> build(List<T> items, Function<T, Long> id, Function<T, String> name) {
+        List<Entry<T>> entries = new ArrayList<>(items.size() * 2);
+        for (T item : items) {
+            if (name.apply(item) == null) {
+                continue;
+            }
+            String normalized = ReferenceCatalog.normalize(name.apply(item));
+            entries.add(new Entry<>(normalized, item, true));
+            for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+                if (i + 1 < normalized.length() && normalized.charAt(i + 1) != ' ') {
+                    entries.add(new Entry<>(normalized.substring(i + 1), item, false));
+                }
+            }
+        }
+        entries.sort(Comparator.comparing(Entry::key));
+        boolean[] fullName = new boolean[entries.size()];
+        for (int i = 0; i < fullName.length; i++) {
+            fullName[i] = entries.get(i).fullName();
+        }
+        return new SuggestIndex<>(
+                entries.stream().map(Entry::key).toArray(String[]::new),
+                entries.stream().map(Entry::item).toList(),
+                fullName,
+                id,
+                name);
+    }
+
+    /**
+     * Ajusta el número de sugerencias solicitado al rango admitido.
+     *
+     * @param limit Número solicitado (null para el valor por defecto)
+     * @return Número entre 1 y {@value #MAX_LIMIT}
+     */
+    public static int limit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * Busca los elementos cuyo nombre, o alguna de sus palabras, empieza por el
+     * prefijo indicado.
+     *
+     * @param prefix Texto escrito por el usuario
+     * @param filter Condición que deben cumplir los elementos
+     * @param limit  Número máximo de resultados
+     * @param weight Peso de cada elemento; los de más peso aparecen primero
+     * @return Elementos sugeridos, como mucho {@code limit}; vacía si el prefijo
+     *         está en blanco
+     */
+    public List<T> suggest(String prefix, Predicate<T> filter, int limit, ToLongFunction<T> weight) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        String normalized = ReferenceCatalog.normalize(prefix);
+        int from = lowerBound(normalized);
+        Map<Long, Match<T>> matches = new HashMap<>();
+        for (int i = from; i < keys.length && keys[i].startsWith(normalized); i++) {
+            T item = items.get(i);
+            if (filter.test(item)) {
+                matches.merge(id.apply(item), new Match<>(item, fullName[i]), (a, b) -> a.fullName() ? a : b);
+            }
+        }
+        return matches.values().stream()
+                .sorted(Comparator.comparingLong((Match<T> match) -> -weight.applyAsLong(match.item()))
+                        .thenComparing(match -> !match.fullName())
+                        .thenComparing(match -> name.apply(match.item())))
+                .limit(limit)
+                .map(Match::item)
+                .toList();
+    }
+
+    /**
+     * Posición de la primera clave mayor o igual que la indicada.
+     */
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
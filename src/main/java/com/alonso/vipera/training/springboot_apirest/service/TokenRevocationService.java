@@ -0,0 +1,158 @@
+package com.alonso.vipera.training.springboot_apirest.service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.alonso.vipera.training.springboot_apirest.model.user.RevokedToken;
+import com.alonso.vipera.training.springboot_apirest.persistence.repository.RevokedTokenRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Servicio de revocación de tokens de acceso por jti.
+ *
+ * Las revocaciones se persisten en la tabla revoked_tokens y se mantienen en
+ * memoria en una instantánea formada por un {@link BloomFilter} y un conjunto
+ * exacto. La comprobación por petición consulta primero el filtro, que
+ * descarta casi todos los tokens no revocados con unos pocos hashes y sin E/S;
+ * solo los posibles positivos se confirman contra el conjunto exacto.
+ *
+ * La instantánea se reconstruye periódicamente desde la base de datos (para
+ * recoger las revocaciones de otras instancias) descartando las entradas de
+ * tokens ya expirados, y se sustituye de forma atómica.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int minimumCapacity;
+    private final AtomicReference<Snapshot> snapshot;
+
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${jwt.revocation.expected-entries:10000}") int minimumCapacity) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.minimumCapacity = minimumCapacity;
+        this.snapshot = new AtomicReference<>(new Snapshot(minimumCapacity));
+    }
+
+    /**
+     * Instantánea en memoria de los tokens revocados.
+     * Admite altas concurrentes hasta que se sustituye por una nueva.
+     */
+    private static final class Snapshot {
+
+        private final BloomFilter bloomFilter;
+        private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+
+        private Snapshot(int capacity) {
+            this.bloomFilter = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+        }
+
+        private void add(String jti, LocalDateTime expiresAt) {
+            revoked.put(jti, expiresAt);
+            bloomFilter.put(jti);
+        }
+
+        private boolean contains(String jti) {
+            return bloomFilter.mightContain(jti) && revoked.containsKey(jti);
+        }
+    }
+
+    /**
+     * Indica si el token con el jti indicado ha sido revocado.
+     * No realiza ninguna E/S.
+     *
+     * @param jti Identificador del token
+     * @return true si el token está revocado
+     */
+    public boolean isRevoked(String jti) {
+        return jti != null && snapshot.get().contains(jti);
+    }
+
+    /**
+     * Revoca un token de acceso hasta su expiración.
+     *
+     * @param jti       Identificador del token
+     * @param userId    ID del usuario propietario (puede ser null)
+     * @param expiresAt Instante de expiración del token
+     */
+    public void revoke(String jti, Long userId, LocalDateTime expiresAt) {
+        if (isRevoked(jti)) {
+            return;
+        }
+        try {
+            revokedTokenRepository.save(RevokedToken.builder()
+                    .jti(jti)
+                    .userId(userId)
+                    .expiresAt(expiresAt)
+                    .build());
+        } catch (DataAccessException e) {
+            if (!revokedTokenRepository.existsByJti(jti)) {
+                throw e;
+            }
+        }
+        addToSnapshot(jti, expiresAt);
+        log.info("Token con jti: {} revocado hasta {}", jti, expiresAt);
+    }
+
+    /**
+     * Añade la revocación a la instantánea vigente. Si una recarga sustituye la
+     * instantánea mientras tanto, la revocación se añade también a la nueva, de
+     * modo que no se pierde aunque la recarga ya hubiera copiado la anterior.
+     */
+    private void addToSnapshot(String jti, LocalDateTime expiresAt) {
+        Snapshot current;
+        do {
+            current = snapshot.get();
+            current.add(jti, expiresAt);
+        } while (current != snapshot.get());
+    }
+
+    /**
+     * Reconstruye la instantánea desde la base de datos, descartando las
+     * revocaciones de tokens ya expirados. Las revocaciones locales que
+     * todavía no estén en la base de datos se conservan.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval:PT30S}")
+    public void reload() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, LocalDateTime> active;
+        try {
+            active = revokedTokenRepository.findActive(now);
+        } catch (DataAccessException e) {
+            log.warn("No se pudo recargar la lista de tokens revocados: {}", e.getMessage());
+            return;
+        }
+
+        Snapshot next = new Snapshot(Math.max(minimumCapacity, active.size() * 2));
+        active.forEach(next::add);
+
+        Snapshot previous = snapshot.getAndSet(next);
+        previous.revoked.forEach((jti, expiresAt) -> {
+            if (expiresAt.isAfter(now)) {
+                next.add(jti, expiresAt);
+            }
+        });
+        log.debug("Lista de tokens revocados recargada: {} entradas", next.revoked.size());
+    }
+
+    /**
+     * Elimina de la base de datos las revocaciones de tokens ya expirados.
+     *
+     * @return Número de filas eliminadas
+     */
+    public int deleteExpired() {
+        return revokedTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+}
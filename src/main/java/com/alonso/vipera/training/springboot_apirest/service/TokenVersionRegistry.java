@@ -0,0 +1,72 @@
+package com.alonso.vipera.training.springboot_apirest.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.UserRepositoryAdapter;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tabla en memoria con la versión mínima de token aceptada por usuario.
+ *
+ * Solo contiene a los usuarios cuya versión se ha incrementado alguna vez
+ * (borrados o con cambio de email), por lo que se mantiene compacta. Un usuario
+ * ausente de la tabla acepta cualquier versión. Permite comprobar la revocación
+ * de un token sin consultar la base de datos en cada petición.
+ *
+ * La tabla se recarga periódicamente desde la base de datos para recoger las
+ * invalidaciones hechas por otras instancias.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenVersionRegistry {
+
+    private final UserRepositoryAdapter userRepositoryAdapter;
+
+    private final Map<Long, Integer> minimumVersions = new ConcurrentHashMap<>();
+
+    /**
+     * Indica si la versión de un token sigue vigente para el usuario.
+     *
+     * @param userId       ID del usuario
+     * @param tokenVersion Versión incluida en el token
+     * @return true si el token no ha sido invalidado
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return tokenVersion >= minimumVersions.getOrDefault(userId, 0);
+    }
+
+    /**
+     * Invalida los tokens de un usuario con versión anterior a la indicada.
+     *
+     * @param userId     ID del usuario
+     * @param newVersion Nueva versión de tokens del usuario
+     */
+    public void revoke(Long userId, int newVersion) {
+        minimumVersions.merge(userId, newVersion, Math::max);
+        log.debug("Tokens del usuario ID: {} invalidados hasta la versión {}", userId, newVersion);
+    }
+
+    /**
+     * Recarga la tabla de versiones desde la base de datos.
+     * Se ejecuta al arrancar y periódicamente según
+     * jwt.token-versions.refresh-interval.
+     */
+    @Scheduled(fixedDelayString = "${jwt.token-versions.refresh-interval:PT1M}")
+    public void reload() {
+        try {
+            Map<Long, Integer> versions = userRepositoryAdapter.findRevokedTokenVersions();
+            versions.forEach(this::revoke);
+            log.debug("Tabla de versiones de tokens recargada: {} usuarios con tokens invalidados", versions.size());
+        } catch (DataAccessException e) {
+            log.warn("No se pudo recargar la tabla de versiones de tokens: {}", e.getMessage());
+        }
+    }
+}
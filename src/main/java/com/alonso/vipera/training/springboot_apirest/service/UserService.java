@@ -4,6 +4,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import com.alonso.vipera.training.springboot_apirest.exception.IdNotFoundException;
+import com.alonso.vipera.training.springboot_apirest.model.CursorPage;
 import com.alonso.vipera.training.springboot_apirest.model.user.Role;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.UserUpdateDTO;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.UserOutDTO;
@@ -56,6 +57,23 @@ public interface UserService {
      */
     Page<UserOutDTO> getUserByFilters(Long id, String name, String surnames, String email, Role role, Pageable pageable);
 
+    /**
+     * Recorre por cursor los usuarios que cumplen los filtros opcionales, sin
+     * calcular el total. El coste de cada página no depende de su posición.
+     *
+     * @param id       ID del usuario (opcional)
+     * @param name     Nombre (opcional)
+     * @param surnames Apellidos (opcional)
+     * @param email    Dirección de correo electrónico (opcional)
+     * @param role     Rol del usuario (opcional)
+     * @param sort     Ordenación: id o createdAt (opcional, id por defecto)
+     * @param cursor   Cursor devuelto en la página anterior (null para la primera)
+     * @param size     Tamaño de página solicitado (se limita al máximo admitido)
+     * @return Página de usuarios con el cursor de la siguiente
+     */
+    CursorPage<UserOutDTO> scrollUsers(Long id, String name, String surnames, String email, Role role, String sort,
+            String cursor, Integer size);
+
     /**
      * Elimina un usuario por su ID.
      *
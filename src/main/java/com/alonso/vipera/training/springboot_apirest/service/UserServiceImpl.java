@@ -1,22 +1,30 @@
 package com.alonso.vipera.training.springboot_apirest.service;
 
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.alonso.vipera.training.springboot_apirest.exception.EmailNotFoundException;
 import com.alonso.vipera.training.springboot_apirest.exception.IdNotFoundException;
 import com.alonso.vipera.training.springboot_apirest.exception.UsernameNotFoundException;
+import com.alonso.vipera.training.springboot_apirest.exception.VersionConflictException;
+import com.alonso.vipera.training.springboot_apirest.exception.VersionRequiredException;
 import com.alonso.vipera.training.springboot_apirest.mapper.UserMapper;
+import com.alonso.vipera.training.springboot_apirest.model.CursorPage;
 import com.alonso.vipera.training.springboot_apirest.model.user.Role;
 import com.alonso.vipera.training.springboot_apirest.model.user.User;
+import com.alonso.vipera.training.springboot_apirest.model.user.UserPrincipal;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.UserUpdateDTO;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.UserOutDTO;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.PetRepositoryAdapter;
 import com.alonso.vipera.training.springboot_apirest.persistence.adapter.UserRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.persistence.repository.ConfirmationTokenRepository;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,21 +33,37 @@ import lombok.extern.slf4j.Slf4j;
  * Implementación del servicio de usuarios.
  * Proporciona métodos para gestionar usuarios, incluyendo operaciones CRUD y
  * consultas con filtros.
+ *
+ * Las consultas usan transacciones de solo lectura y las modificaciones una
+ * única transacción por caso de uso. Las entradas de la caché de principales
+ * se invalidan tras el commit, para que una lectura concurrente no vuelva a
+ * cachear los datos anteriores.
+ *
+ * La modificación es un UPDATE condicional que comprueba el solicitante y la
+ * versión en el WHERE, sin cargar la entidad. El borrado también es por
+ * conjuntos: un UPDATE para el usuario, otro para todas sus mascotas y otro
+ * para sus tokens de confirmación, sea cual sea el número de mascotas.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class UserServiceImpl implements UserService, UserDetailsService {
 
     private final UserRepositoryAdapter userRepositoryAdapter;
+    private final PetRepositoryAdapter petRepositoryAdapter;
+    private final ConfirmationTokenRepository confirmationTokenRepository;
     private final UserMapper userMapper;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final PrincipalCache principalCache;
+    private final RefreshTokenService refreshTokenService;
 
     @Override
     public Page<UserOutDTO> getAll(Pageable pageable) {
         log.debug("Recuperando todos los usuarios de la base de datos...");
-        Page<User> users = userRepositoryAdapter.findAll(pageable);
+        Page<UserOutDTO> users = userRepositoryAdapter.findAll(pageable);
         log.debug("Se han recuperado {} usuarios en total.", users.getSize());
-        return users.map(userMapper::toOutDTO);
+        return users;
     }
 
     @Override
@@ -63,71 +87,123 @@ public class UserServiceImpl implements UserService, UserDetailsService {
     public Page<UserOutDTO> getUserByFilters(Long id, String name, String surnames, String email, Role role, Pageable pageable) {
         log.debug("Buscando usuarios con filtros - ID: {}, Name: {}, Surnames: {}, Email: {}, Role: {}", id, name, surnames, email,
                 role);
-        Page<User> users = userRepositoryAdapter.findByFilters(id, name, surnames, email, role, pageable);
+        Page<UserOutDTO> users = userRepositoryAdapter.findByFilters(id, name, surnames, email, role, pageable);
 
         log.debug("Se han encontrado {} usuarios con los filtros proporcionados.", users.getContent().size());
-        return users.map(userMapper::toOutDTO);
+        return users;
     }
 
     @Override
-    public UserOutDTO updateUser(Long userId, UserUpdateDTO userUpdateDTO, String requesterEmail) {
-        log.debug("Actualizando usuario con ID: {}", userId);
-        User userSaved = userRepositoryAdapter.findById(userId).orElseThrow(() -> new IdNotFoundException());
-        log.debug("Usuario con ID: {} encontrado. Verificando permisos del usuario: {}", userId, requesterEmail);
-
-        if (!requesterEmail.equals(userSaved.getEmail())) {
-            throw new SecurityException("No tienes permiso para actualizar este usuario.");
-        }
-        log.debug("Permisos verificados. Actualizando información del usuario...");
-
-        if (userUpdateDTO.getName() != null) {
-            userSaved.setName(userUpdateDTO.getName());
-            log.debug("Actualizado nombre a: {}", userUpdateDTO.getName());
-        }
-
-        if (userUpdateDTO.getSurnames() != null) {
-            userSaved.setSurnames(userUpdateDTO.getSurnames());
-            log.debug("Actualizados apellidos a: {}", userUpdateDTO.getSurnames());
-        }
+    public CursorPage<UserOutDTO> scrollUsers(Long id, String name, String surnames, String email, Role role,
+            String sort, String cursor, Integer size) {
+        log.debug("Recorriendo usuarios por cursor - ID: {}, Name: {}, Surnames: {}, Email: {}, Role: {}, Orden: {}", id,
+                name, surnames, email, role, sort);
+        CursorPage<UserOutDTO> users = userRepositoryAdapter.scrollByFilters(id, name, surnames, email, role, sort,
+                cursor, CursorPage.limitSize(size));
+        log.debug("Se han recuperado {} usuarios. ¿Hay más?: {}", users.content().size(), users.hasNext());
+        return users;
+    }
 
-        if (userUpdateDTO.getPhone() != null) {
-            userSaved.setPhone(userUpdateDTO.getPhone());
-            log.debug("Actualizado teléfono a: {}", userUpdateDTO.getPhone());
+    @Override
+    @Transactional
+    public UserOutDTO updateUser(Long userId, UserUpdateDTO userUpdateDTO, String requesterEmail) {
+        log.debug("Actualizando usuario con ID: {} a petición de: {}", userId, requesterEmail);
+        if (userUpdateDTO.getVersion() == null) {
+            throw new VersionRequiredException();
         }
-
-        if (userUpdateDTO.getEmail() != null) {
-            userSaved.setEmail(userUpdateDTO.getEmail());
-            log.debug("Actualizado email a: {}", userUpdateDTO.getEmail());
+        boolean updated = userRepositoryAdapter.updateIfRequester(userId, requesterEmail, userUpdateDTO.getVersion(),
+                userUpdateDTO.getName(), userUpdateDTO.getSurnames(), userUpdateDTO.getPhone(),
+                userUpdateDTO.getEmail(), userUpdateDTO.getAddress());
+
+        if (!updated) {
+            // Solo se distingue el motivo cuando el UPDATE no ha modificado nada
+            String currentEmail = userRepositoryAdapter.findEmailById(userId)
+                    .orElseThrow(() -> new IdNotFoundException());
+            if (!requesterEmail.equals(currentEmail)) {
+                throw new SecurityException("No tienes permiso para actualizar este usuario.");
+            }
+            log.warn("Conflicto de versión al actualizar el usuario con ID: {} (versión esperada: {})", userId,
+                    userUpdateDTO.getVersion());
+            throw new VersionConflictException();
         }
 
-        if (userUpdateDTO.getAddress() != null) {
-            userSaved.setAddress(userUpdateDTO.getAddress());
-            log.debug("Actualizada dirección a: {}", userUpdateDTO.getAddress());
+        // El UPDATE exige que el email actual sea el del solicitante
+        String updatedEmail = userUpdateDTO.getEmail() != null ? userUpdateDTO.getEmail() : requesterEmail;
+        afterCommit(() -> {
+            principalCache.invalidate(requesterEmail);
+            principalCache.invalidate(updatedEmail);
+        });
+        if (!updatedEmail.equals(requesterEmail)) {
+            log.debug("El email del usuario con ID: {} ha cambiado. Invalidando sus tokens...", userId);
+            revokeTokens(userId);
         }
-
-        log.debug("Guardando cambios en la base de datos...");
-        User updatedUser = userRepositoryAdapter.save(userSaved);
         log.info("Usuario con ID: {} actualizado con éxito.", userId);
-        return userMapper.toOutDTO(updatedUser);
+        return userRepositoryAdapter.findOutDTOById(userId).orElseThrow(() -> new IdNotFoundException());
     }
 
     @Override
-    @CacheEvict(value = { "usersByEmail", "detailsByEmail" }, allEntries = true)
+    @Transactional
     public void delete(Long id) {
         log.debug("Eliminando usuario con ID: {}", id);
-        if (!userRepositoryAdapter.existsById(id)) {
+        if (!userRepositoryAdapter.delete(id)) {
             log.warn("Usuario con ID: {} no encontrado para eliminar.", id);
             throw new IdNotFoundException();
         }
-        userRepositoryAdapter.delete(id);
-        log.debug("Usuario con ID: {} eliminado con éxito.", id);
+        int pets = petRepositoryAdapter.softDeleteByUserId(id);
+        int confirmationTokens = confirmationTokenRepository.softDeleteByUserId(id);
+        revokeTokens(id);
+        afterCommit(() -> principalCache.invalidateUserId(id));
+        log.debug("Usuario con ID: {} eliminado con éxito junto con {} mascotas y {} tokens de confirmación.", id,
+                pets, confirmationTokens);
     }
 
+    /**
+     * Carga el principal del usuario a partir de su email.
+     * Devuelve una instantánea inmutable ({@link UserPrincipal}) servida desde
+     * {@link PrincipalCache}; solo se consulta la base de datos en caso de fallo
+     * de caché. No abre transacción, para que un acierto de caché no ocupe una
+     * conexión.
+     */
     @Override
-    @Cacheable(value = "detailsByEmail", key = "#email")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        return userRepositoryAdapter.findByEmail(email)
-                .orElseThrow(() -> new EmailNotFoundException());
+        return principalCache.get(email, key -> userRepositoryAdapter.findByEmail(key)
+                .map(UserPrincipal::from)
+                .orElseThrow(() -> new EmailNotFoundException()));
+    }
+
+    /**
+     * Incrementa la versión de tokens del usuario y, tras el commit, la publica
+     * en la tabla en memoria, invalidando los tokens emitidos anteriormente.
+     * Revoca también sus refresh tokens. Si la transacción se revierte, la
+     * tabla en memoria no cambia y los tokens emitidos con la versión de la
+     * base de datos siguen siendo válidos.
+     *
+     * @param userId ID del usuario
+     */
+    private void revokeTokens(Long userId) {
+        int newVersion = userRepositoryAdapter.incrementTokenVersion(userId);
+        afterCommit(() -> tokenVersionRegistry.revoke(userId, newVersion));
+        refreshTokenService.revokeAll(userId);
+    }
+
+    /**
+     * Ejecuta la acción tras el commit de la transacción en curso, o
+     * inmediatamente si no hay ninguna.
+     *
+     * @param action Acción a ejecutar
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
 }
@@ -0,0 +1,47 @@
+package com.alonso.vipera.training.springboot_apirest.tasks;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.alonso.vipera.training.springboot_apirest.service.RefreshTokenService;
+import com.alonso.vipera.training.springboot_apirest.service.TokenRevocationService;
+
+/**
+ * Programador de tareas para la limpieza de tokens de autenticación expirados.
+ * 
+ * La configuración de tiempo se obtiene desde las propiedades de la aplicación:
+ * - scheduler.token-cleanup.cron: Expresión cron para la frecuencia de ejecución
+ * - scheduler.zone: Zona horaria para la ejecución
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthTokenCleanupScheduler {
+
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+
+    /**
+     * Elimina los refresh tokens expirados, que ya no pueden canjearse, y las
+     * revocaciones de tokens de acceso que ya han expirado.
+     */
+    @Scheduled(cron = "${scheduler.token-cleanup.cron}", zone = "${scheduler.zone}")
+    @SchedulerLock(name = "AuthTokenCleanupScheduler_cleanup",
+                   lockAtLeastFor = "${scheduler.lock.min:PT1M}",
+                   lockAtMostFor = "${scheduler.lock.max:PT30M}")
+    public void cleanup() {
+        log.info("TAREA PROGRAMADA: limpiando tokens expirados...");
+        try {
+            int deletedRefresh = refreshTokenService.deleteExpired();
+            int deletedRevoked = tokenRevocationService.deleteExpired();
+            log.info("TAREA PROGRAMADA: eliminados {} refresh tokens y {} revocaciones expiradas.",
+                    deletedRefresh, deletedRevoked);
+        } catch (Exception e) {
+            log.error("Error en la limpieza programada de tokens: ", e);
+        }
+    }
+}
@@ -5,10 +5,13 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -16,24 +19,34 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.alonso.vipera.training.springboot_apirest.exception.AccountDisabledException;
+import com.alonso.vipera.training.springboot_apirest.exception.BadCredentialsInputException;
 import com.alonso.vipera.training.springboot_apirest.exception.EmailTakenException;
 import com.alonso.vipera.training.springboot_apirest.exception.UserCreationException;
 import com.alonso.vipera.training.springboot_apirest.mapper.UserMapper;
 import com.alonso.vipera.training.springboot_apirest.model.user.Role;
 import com.alonso.vipera.training.springboot_apirest.model.user.User;
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.LoginRequestDTO;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.VetRegisterRequestDTO;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.AuthResponseDTO;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.UserOutDTO;
 import com.alonso.vipera.training.springboot_apirest.persistence.jpa.UserRoleJpaRepository;
 import com.alonso.vipera.training.springboot_apirest.model.user.UserRole;
+import com.alonso.vipera.training.springboot_apirest.model.user.VerifiedJwt;
 import com.alonso.vipera.training.springboot_apirest.persistence.adapter.UserRepositoryAdapter;
 import com.alonso.vipera.training.springboot_apirest.service.AuthServiceImpl;
 import com.alonso.vipera.training.springboot_apirest.service.JwtService;
+import com.alonso.vipera.training.springboot_apirest.service.PasswordHashingService;
+import com.alonso.vipera.training.springboot_apirest.service.PrincipalCache;
+import com.alonso.vipera.training.springboot_apirest.service.RefreshTokenService;
+import com.alonso.vipera.training.springboot_apirest.service.TokenRevocationService;
 
 @ExtendWith(MockitoExtension.class)
 class AuthServiceTest {
@@ -54,16 +67,25 @@ class AuthServiceTest {
     private UserMapper userMapper;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Mock
     private JwtService jwtService;
 
     @Mock
-    private AuthenticationManager authenticationManager;
+    private UserRoleJpaRepository userRoleJpaRepository;
 
     @Mock
-    private UserRoleJpaRepository userRoleJpaRepository;
+    private PrincipalCache principalCache;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
 
     @InjectMocks
     private AuthServiceImpl authServiceImpl;
@@ -95,7 +117,7 @@ class AuthServiceTest {
 
         registerRequestDTO.setRole(Role.USER);
 
-        userOutDTO = new UserOutDTO(USER_ID, NAME, SURNAMES, EMAIL, Role.USER, LocalDateTime.now());
+        userOutDTO = new UserOutDTO(USER_ID, NAME, SURNAMES, EMAIL, Role.USER, LocalDateTime.now(), 0L);
 
         authResponseDTO = new AuthResponseDTO();
         authResponseDTO.setToken(JWT_TOKEN);
@@ -118,7 +140,7 @@ class AuthServiceTest {
     void testRegister_whenValidData_shouldCreateUserSuccessfully() {
         // Arrange
         when(userRepositoryAdapter.existsByEmail(EMAIL)).thenReturn(false);
-        when(passwordEncoder.encode(PASSWORD)).thenReturn(ENCODED_PASSWORD);
+        when(passwordHashingService.encode(PASSWORD)).thenReturn(ENCODED_PASSWORD);
         when(userMapper.toEntity(registerRequestDTO)).thenReturn(userEntity);
         when(userRoleJpaRepository.findByRole(Role.USER)).thenReturn(java.util.Optional.of(userRole));
         when(userMapper.toOutDTO(userEntity)).thenReturn(userOutDTO);
@@ -136,7 +158,7 @@ class AuthServiceTest {
 
         // Verify
         verify(userRepositoryAdapter, times(1)).existsByEmail(EMAIL);
-        verify(passwordEncoder, times(1)).encode(PASSWORD);
+        verify(passwordHashingService, times(1)).encode(PASSWORD);
         verify(userMapper, times(1)).toEntity(registerRequestDTO);
         verify(userRepositoryAdapter, times(1)).save(any(User.class));
         verify(jwtService, times(1)).generateToken(userEntity);
@@ -153,7 +175,7 @@ class AuthServiceTest {
 
         // Verify
         verify(userRepositoryAdapter, times(1)).existsByEmail(EMAIL);
-        verify(passwordEncoder, times(0)).encode(any());
+        verify(passwordHashingService, times(0)).encode(any());
         verify(userRepositoryAdapter, times(0)).save(any(User.class));
     }
 
@@ -161,7 +183,7 @@ class AuthServiceTest {
     void testRegister_whenUserNotSaved_shouldThrowUserCreationException() {
         // Arrange
         when(userRepositoryAdapter.existsByEmail(EMAIL)).thenReturn(false);
-        when(passwordEncoder.encode(PASSWORD)).thenReturn(ENCODED_PASSWORD);
+        when(passwordHashingService.encode(PASSWORD)).thenReturn(ENCODED_PASSWORD);
         when(userMapper.toEntity(registerRequestDTO)).thenReturn(userEntity);
         when(userRoleJpaRepository.findByRole(Role.USER)).thenReturn(java.util.Optional.of(userRole));
         when(userRepositoryAdapter.save(any(User.class))).thenReturn(null);
@@ -171,9 +193,95 @@ class AuthServiceTest {
 
         // Verify
         verify(userRepositoryAdapter, times(1)).existsByEmail(EMAIL);
-        verify(passwordEncoder, times(1)).encode(PASSWORD);
+        verify(passwordHashingService, times(1)).encode(PASSWORD);
         verify(userMapper, times(1)).toEntity(registerRequestDTO);
         verify(userRepositoryAdapter, times(1)).save(any(User.class));
         verify(jwtService, times(0)).generateToken(any());
     }
+
+    @Test
+    void testLoginWithUser_whenValidCredentials_shouldLoadUserOnceAndReturnToken() {
+        // Arrange
+        userEntity.setEnabled(true);
+        LoginRequestDTO loginRequestDTO = new LoginRequestDTO(EMAIL, PASSWORD);
+        when(userRepositoryAdapter.findByEmail(EMAIL)).thenReturn(java.util.Optional.of(userEntity));
+        when(passwordHashingService.matches(PASSWORD, ENCODED_PASSWORD)).thenReturn(true);
+        when(jwtService.generateToken(userEntity)).thenReturn(JWT_TOKEN);
+        when(userMapper.toOutDTO(userEntity)).thenReturn(userOutDTO);
+
+        // Act
+        AuthResponseDTO result = authServiceImpl.loginWithUser(loginRequestDTO);
+
+        // Assert
+        assertEquals(JWT_TOKEN, result.getToken());
+
+        // Verify
+        verify(userRepositoryAdapter, times(1)).findByEmail(EMAIL);
+        verify(passwordHashingService, times(1)).matches(PASSWORD, ENCODED_PASSWORD);
+    }
+
+    @Test
+    void testLoginWithUser_whenWrongPassword_shouldThrowBadCredentialsInputException() {
+        // Arrange
+        userEntity.setEnabled(true);
+        LoginRequestDTO loginRequestDTO = new LoginRequestDTO(EMAIL, PASSWORD);
+        when(userRepositoryAdapter.findByEmail(EMAIL)).thenReturn(java.util.Optional.of(userEntity));
+        when(passwordHashingService.matches(PASSWORD, ENCODED_PASSWORD)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(BadCredentialsInputException.class, () -> authServiceImpl.loginWithUser(loginRequestDTO));
+
+        // Verify
+        verify(jwtService, times(0)).generateToken(any());
+    }
+
+    @Test
+    void testLoginWithUser_whenAccountDisabled_shouldThrowAccountDisabledException() {
+        // Arrange
+        userEntity.setEnabled(false);
+        LoginRequestDTO loginRequestDTO = new LoginRequestDTO(EMAIL, PASSWORD);
+        when(userRepositoryAdapter.findByEmail(EMAIL)).thenReturn(java.util.Optional.of(userEntity));
+        when(passwordHashingService.matches(PASSWORD, ENCODED_PASSWORD)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(AccountDisabledException.class, () -> authServiceImpl.loginWithUser(loginRequestDTO));
+
+        // Verify
+        verify(jwtService, times(0)).generateToken(any());
+    }
+
+    @Test
+    void testLoginWithUser_whenHashNeedsUpgrade_shouldRehashPassword() {
+        // Arrange
+        userEntity.setEnabled(true);
+        LoginRequestDTO loginRequestDTO = new LoginRequestDTO(EMAIL, PASSWORD);
+        when(userRepositoryAdapter.findByEmail(EMAIL)).thenReturn(java.util.Optional.of(userEntity));
+        when(passwordHashingService.matches(PASSWORD, ENCODED_PASSWORD)).thenReturn(true);
+        when(passwordHashingService.needsRehash(ENCODED_PASSWORD)).thenReturn(true);
+        when(passwordHashingService.encode(PASSWORD)).thenReturn("{bcrypt}" + ENCODED_PASSWORD);
+        when(jwtService.generateToken(userEntity)).thenReturn(JWT_TOKEN);
+        when(userMapper.toOutDTO(userEntity)).thenReturn(userOutDTO);
+
+        // Act
+        authServiceImpl.loginWithUser(loginRequestDTO);
+
+        // Verify
+        verify(userRepositoryAdapter, times(1)).updatePassword(USER_ID, "{bcrypt}" + ENCODED_PASSWORD);
+        verify(principalCache, times(1)).invalidate(EMAIL);
+    }
+
+    @Test
+    void testLogout_shouldRevokeAccessTokenAndRefreshFamily() {
+        // Arrange
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        when(jwtService.verify(JWT_TOKEN))
+                .thenReturn(new VerifiedJwt("jti", EMAIL, Instant.now(), expiresAt, USER_ID, Role.USER, 0));
+
+        // Act
+        authServiceImpl.logout(JWT_TOKEN, "refresh");
+
+        // Verify
+        verify(tokenRevocationService, times(1)).revoke(eq("jti"), eq(USER_ID), any());
+        verify(refreshTokenService, times(1)).revokeFamilyOf("refresh");
+    }
 }
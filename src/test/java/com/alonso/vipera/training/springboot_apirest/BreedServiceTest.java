@@ -21,12 +21,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.alonso.vipera.training.springboot_apirest.exception.BreedNotFoundException;
 import com.alonso.vipera.training.springboot_apirest.mapper.BreedMapper;
-import com.alonso.vipera.training.springboot_apirest.model.pet.Breed;
-import com.alonso.vipera.training.springboot_apirest.model.pet.Specie;
 import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.BreedOutDTO;
 import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.SpecieOutDTO;
-import com.alonso.vipera.training.springboot_apirest.persistence.adapter.BreedRepositoryAdapter;
 import com.alonso.vipera.training.springboot_apirest.service.BreedServiceImpl;
+import com.alonso.vipera.training.springboot_apirest.service.ReferenceCatalog;
+import com.alonso.vipera.training.springboot_apirest.service.ReferenceCatalog.BreedRef;
+import com.alonso.vipera.training.springboot_apirest.service.ReferenceCatalog.SpecieRef;
+import com.alonso.vipera.training.springboot_apirest.service.SuggestIndex;
 
 @ExtendWith(MockitoExtension.class)
 public class BreedServiceTest {
@@ -40,7 +41,7 @@ public class BreedServiceTest {
     private static final SpecieOutDTO SPECIE_OUT_DTO = new SpecieOutDTO(SPECIE_ID, SPECIE_NAME);
 
     @Mock
-    private BreedRepositoryAdapter breedRepositoryAdapter;
+    private ReferenceCatalog referenceCatalog;
 
     @Mock
     private BreedMapper breedMapper;
@@ -48,24 +49,35 @@ public class BreedServiceTest {
     @InjectMocks
     private BreedServiceImpl breedServiceImpl;
 
-    private Breed breed;
+    private BreedRef breed;
     private BreedOutDTO breedOutDTO;
-    private Specie specie;
 
     @BeforeEach
     void setUp() {
-        specie = new Specie();
-        specie.setId(SPECIE_ID);
-        specie.setName(SPECIE_NAME);
-
-        breed = new Breed(BREED_ID, BREED_NAME, specie, EXTERNAL_API_ID);
+        breed = new BreedRef(BREED_ID, BREED_NAME, EXTERNAL_API_ID, new SpecieRef(SPECIE_ID, SPECIE_NAME));
         breedOutDTO = new BreedOutDTO(BREED_ID, BREED_NAME, EXTERNAL_API_ID, SPECIE_OUT_DTO);
     }
 
+    @Test
+    void testGetAllBreeds_shouldMapCatalogBreeds() {
+        // Arrange
+        when(referenceCatalog.getBreeds()).thenReturn(List.of(breed));
+        when(breedMapper.toDTO(breed)).thenReturn(breedOutDTO);
+
+        // Act
+        List<BreedOutDTO> breeds = breedServiceImpl.getAllBreeds();
+
+        // Assert
+        assertEquals(List.of(breedOutDTO), breeds);
+
+        // Verify
+        verify(referenceCatalog, times(1)).getBreeds();
+    }
+
     @Test
     void testFindByName_whenNameFound_shouldReturnBreed() {
         // Arrange
-        when(breedRepositoryAdapter.findByName(BREED_NAME)).thenReturn(Optional.of(breed));
+        when(referenceCatalog.findBreedByName(BREED_NAME)).thenReturn(Optional.of(breed));
         when(breedMapper.toDTO(breed)).thenReturn(breedOutDTO);
 
         // Act
@@ -77,27 +89,27 @@ public class BreedServiceTest {
         assertEquals(BREED_ID, result.getId());
 
         // Verify
-        verify(breedRepositoryAdapter, times(1)).findByName(BREED_NAME);
+        verify(referenceCatalog, times(1)).findBreedByName(BREED_NAME);
         verify(breedMapper, times(1)).toDTO(breed);
     }
 
     @Test
     void testFindByName_whenNameNotFound_shouldThrowBreedNotFoundException() {
         // Arrange
-        when(breedRepositoryAdapter.findByName(BREED_NAME)).thenReturn(Optional.empty());
+        when(referenceCatalog.findBreedByName(BREED_NAME)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(BreedNotFoundException.class, () -> breedServiceImpl.findByName(BREED_NAME));
 
         // Verify
-        verify(breedRepositoryAdapter, times(1)).findByName(BREED_NAME);
+        verify(referenceCatalog, times(1)).findBreedByName(BREED_NAME);
         verify(breedMapper, times(0)).toDTO(breed);
     }
 
     @Test
     void testExistsByName_whenNameExists_shouldReturnTrue() {
         // Arrange
-        when(breedRepositoryAdapter.existsByName(BREED_NAME)).thenReturn(true);
+        when(referenceCatalog.findBreedByName(BREED_NAME)).thenReturn(Optional.of(breed));
 
         // Act
         boolean exists = breedServiceImpl.existsByName(BREED_NAME);
@@ -106,13 +118,13 @@ public class BreedServiceTest {
         assertTrue(exists);
 
         // Verify
-        verify(breedRepositoryAdapter, times(1)).existsByName(BREED_NAME);
+        verify(referenceCatalog, times(1)).findBreedByName(BREED_NAME);
     }
 
     @Test
     void testExistsByName_whenNameDoesNotExist_shouldReturnFalse() {
         // Arrange
-        when(breedRepositoryAdapter.existsByName(BREED_NAME)).thenReturn(false);
+        when(referenceCatalog.findBreedByName(BREED_NAME)).thenReturn(Optional.empty());
 
         // Act
         boolean exists = breedServiceImpl.existsByName(BREED_NAME);
@@ -121,13 +133,13 @@ public class BreedServiceTest {
         assertFalse(exists);
 
         // Verify
-        verify(breedRepositoryAdapter, times(1)).existsByName(BREED_NAME);
+        verify(referenceCatalog, times(1)).findBreedByName(BREED_NAME);
     }
 
     @Test
     void testFindBySpecieId_whenBreedsFound_shouldReturnBreedList() {
         // Arrange
-        when(breedRepositoryAdapter.findBreedsBySpecieId(SPECIE_ID)).thenReturn(List.of(breed));
+        when(referenceCatalog.getBreedsBySpecie(SPECIE_ID)).thenReturn(List.of(breed));
         when(breedMapper.toDTO(breed)).thenReturn(breedOutDTO);
 
         // Act
@@ -139,14 +151,14 @@ public class BreedServiceTest {
         assertEquals(BREED_NAME, breeds.get(0).getName());
 
         // Verify
-        verify(breedRepositoryAdapter, times(1)).findBreedsBySpecieId(SPECIE_ID);
+        verify(referenceCatalog, times(1)).getBreedsBySpecie(SPECIE_ID);
         verify(breedMapper, times(1)).toDTO(breed);
     }
 
     @Test
     void testFindBySpecieId_whenNoBreedsFound_shouldReturnEmptyList() {
         // Arrange
-        when(breedRepositoryAdapter.findBreedsBySpecieId(SPECIE_ID)).thenReturn(List.of());
+        when(referenceCatalog.getBreedsBySpecie(SPECIE_ID)).thenReturn(List.of());
 
         // Act
         List<BreedOutDTO> breeds = breedServiceImpl.findBySpecieId(SPECIE_ID);
@@ -156,7 +168,23 @@ public class BreedServiceTest {
         assertEquals(0, breeds.size());
 
         // Verify
-        verify(breedRepositoryAdapter, times(1)).findBreedsBySpecieId(SPECIE_ID);
+        verify(referenceCatalog, times(1)).getBreedsBySpecie(SPECIE_ID);
         verify(breedMapper, times(0)).toDTO(breed);
     }
+
+    @Test
+    void testSuggest_whenLimitAboveMaximum_shouldClampLimitAndMapBreeds() {
+        // Arrange
+        when(referenceCatalog.suggestBreeds("bor", SPECIE_ID, SuggestIndex.MAX_LIMIT)).thenReturn(List.of(breed));
+        when(breedMapper.toDTO(breed)).thenReturn(breedOutDTO);
+
+        // Act
+        List<BreedOutDTO> breeds = breedServiceImpl.suggest("bor", SPECIE_ID, 1000);
+
+        // Assert
+        assertEquals(List.of(breedOutDTO), breeds);
+
+        // Verify
+        verify(referenceCatalog, times(1)).suggestBreeds("bor", SPECIE_ID, SuggestIndex.MAX_LIMIT);
+    }
 }
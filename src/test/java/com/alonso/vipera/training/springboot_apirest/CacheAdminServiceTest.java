@@ -0,0 +1,154 @@
+package com.alonso.vipera.training.springboot_apirest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.alonso.vipera.training.springboot_apirest.exception.CacheNotFoundException;
+import com.alonso.vipera.training.springboot_apirest.model.cache.dto.out.CacheOutDTO;
+import com.alonso.vipera.training.springboot_apirest.model.pet.Specie;
+import com.alonso.vipera.training.springboot_apirest.model.user.Role;
+import com.alonso.vipera.training.springboot_apirest.model.user.UserPrincipal;
+import com.alonso.vipera.training.springboot_apirest.service.CacheAdminService;
+import com.alonso.vipera.training.springboot_apirest.service.PrincipalCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Comprueba que la administración de cachés trabaja con las cachés reales de
+ * este nodo: la de principales y las regiones de la caché de segundo nivel de
+ * Hibernate.
+ */
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CacheAdminServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private PrincipalCache principalCache;
+    private CacheAdminService cacheAdminService;
+    private Long specieId;
+
+    /**
+     * Las estadísticas de las regiones se acumulan durante toda la ejecución,
+     * porque el contexto (y su caché de segundo nivel) se comparte entre tests.
+     */
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        principalCache = new PrincipalCache(100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        cacheAdminService = new CacheAdminService(principalCache, entityManagerFactory);
+        specieId = transactionTemplate.execute(
+                status -> entityManager.persist(new Specie(null, "Perro", null)).getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM species");
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void testGetCaches_shouldListPrincipalsAndSecondLevelRegionsByName() {
+        // Act
+        List<CacheOutDTO> caches = cacheAdminService.getCaches();
+
+        // Assert
+        assertEquals(List.of("breeds", "default-query-results-region", "default-update-timestamps-region",
+                "principals", "roles", "species"), caches.stream().map(CacheOutDTO::getName).toList());
+    }
+
+    @Test
+    void testGetCache_whenPrincipals_shouldReportHitsMissesAndLoads() {
+        // Arrange
+        UserPrincipal principal = new UserPrincipal(1L, "juan@gmail.com", "hash", Role.USER, true, 0);
+        for (int i = 0; i < 3; i++) {
+            principalCache.get("juan@gmail.com", email -> principal);
+        }
+
+        // Act
+        CacheOutDTO cache = cacheAdminService.getCache("principals");
+
+        // Assert
+        assertEquals(1, cache.getSize());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getLoadCount());
+    }
+
+    @Test
+    void testGetCache_whenSecondLevelRegion_shouldReportEntriesAndHits() {
+        // Arrange
+        long hits = cacheAdminService.getCache("species").getHitCount();
+        readSpecie();
+        readSpecie();
+
+        // Act
+        CacheOutDTO cache = cacheAdminService.getCache("species");
+
+        // Assert
+        assertEquals(1, cache.getSize());
+        assertEquals(hits + 1, cache.getHitCount());
+    }
+
+    @Test
+    void testClear_shouldEmptyPrincipalsAndSecondLevelRegion() {
+        // Arrange
+        readSpecie();
+        principalCache.get("juan@gmail.com",
+                email -> new UserPrincipal(1L, email, "hash", Role.USER, true, 0));
+
+        // Act
+        cacheAdminService.clear("species");
+        cacheAdminService.clear("principals");
+        cacheAdminService.clear("default-update-timestamps-region");
+        cacheAdminService.clear("default-query-results-region");
+
+        // Assert
+        assertEquals(0, cacheAdminService.getCache("species").getSize());
+        assertEquals(0, cacheAdminService.getCache("principals").getSize());
+    }
+
+    @Test
+    void testGetCache_whenCacheUnknown_throwsCacheNotFoundException() {
+        // Act & Assert
+        assertThrows(CacheNotFoundException.class, () -> cacheAdminService.getCache("desconocida"));
+        assertThrows(CacheNotFoundException.class, () -> cacheAdminService.clear("desconocida"));
+    }
+
+    /**
+     * Lee la especie en una sesión nueva, de modo que se resuelve desde la
+     * caché de segundo nivel si ya está en ella.
+     */
+    private void readSpecie() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.clear();
+            entityManager.find(Specie.class, specieId);
+        });
+    }
+}
@@ -0,0 +1,144 @@
+package com.alonso.vipera.training.springboot_apirest;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.alonso.vipera.training.springboot_apirest.controller.SpecieController;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.SpecieOutDTO;
+import com.alonso.vipera.training.springboot_apirest.service.BreedService;
+import com.alonso.vipera.training.springboot_apirest.service.CatalogResponseCache;
+import com.alonso.vipera.training.springboot_apirest.service.ReferenceCatalog;
+import com.alonso.vipera.training.springboot_apirest.service.SpecieService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogResponseCacheTest {
+
+    private static final String SPECIES_JSON = "[{\"id\":1,\"name\":\"Perro\"}]";
+
+    @Mock
+    private ReferenceCatalog referenceCatalog;
+
+    @Mock
+    private SpecieService specieService;
+
+    @Mock
+    private BreedService breedService;
+
+    private CatalogResponseCache catalogResponseCache;
+
+    @BeforeEach
+    void setUp() {
+        catalogResponseCache = new CatalogResponseCache(referenceCatalog, specieService, breedService,
+                new ObjectMapper());
+    }
+
+    @Test
+    void testGetSpecies_shouldSerializeOncePerCatalogVersion() {
+        // Arrange
+        when(referenceCatalog.getVersion()).thenReturn(1L, 1L, 2L);
+        when(specieService.getAll()).thenReturn(List.of(new SpecieOutDTO(1L, "Perro")));
+
+        // Act
+        CatalogResponseCache.CachedBody first = catalogResponseCache.getSpecies();
+        CatalogResponseCache.CachedBody second = catalogResponseCache.getSpecies();
+        CatalogResponseCache.CachedBody reloaded = catalogResponseCache.getSpecies();
+
+        // Assert
+        assertEquals(SPECIES_JSON, new String(first.json(), StandardCharsets.UTF_8));
+        assertSame(first, second);
+        assertNotSame(first, reloaded);
+        assertEquals(first.etag(), reloaded.etag());
+
+        // Verify
+        verify(specieService, times(2)).getAll();
+    }
+
+    @Test
+    void testToResponse_whenClientAcceptsGzip_shouldReturnCompressedVariant() throws IOException {
+        // Arrange
+        when(referenceCatalog.getVersion()).thenReturn(1L);
+        when(specieService.getAll()).thenReturn(List.of(new SpecieOutDTO(1L, "Perro")));
+        CatalogResponseCache.CachedBody body = catalogResponseCache.getSpecies();
+
+        // Act
+        ResponseEntity<byte[]> gzip = body.toResponse("br, gzip;q=0.8");
+        ResponseEntity<byte[]> refused = body.toResponse("gzip;q=0, identity");
+
+        // Assert
+        assertEquals("gzip", gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(body.gzipEtag(), gzip.getHeaders().getETag());
+        assertEquals(SPECIES_JSON, gunzip(gzip.getBody()));
+        assertNull(refused.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(body.etag(), refused.getHeaders().getETag());
+        assertArrayEquals(body.json(), refused.getBody());
+    }
+
+    @Test
+    void testGetBreeds_whenSpecieHasNoBreeds_shouldShareEmptyBodyWithoutCallingService() {
+        // Arrange
+        when(referenceCatalog.getVersion()).thenReturn(1L);
+        when(referenceCatalog.getBreedsBySpecie(99L)).thenReturn(List.of());
+        when(referenceCatalog.getBreedsBySpecie(100L)).thenReturn(List.of());
+
+        // Act
+        CatalogResponseCache.CachedBody first = catalogResponseCache.getBreeds(99L);
+        CatalogResponseCache.CachedBody second = catalogResponseCache.getBreeds(100L);
+
+        // Assert
+        assertEquals("[]", new String(first.json(), StandardCharsets.UTF_8));
+        assertSame(first, second);
+
+        // Verify
+        verify(breedService, never()).findBySpecieId(99L);
+    }
+
+    @Test
+    void testGetAllSpecies_whenIfNoneMatchesEtag_shouldRespondNotModified() throws Exception {
+        // Arrange
+        when(referenceCatalog.getVersion()).thenReturn(1L);
+        when(specieService.getAll()).thenReturn(List.of(new SpecieOutDTO(1L, "Perro")));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new SpecieController(catalogResponseCache, specieService)).build();
+        String etag = catalogResponseCache.getSpecies().etag();
+
+        // Act & Assert
+        mockMvc.perform(get("/species"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(SPECIES_JSON));
+        mockMvc.perform(get("/species").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    private static String gunzip(byte[] data) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.alonso.vipera.training.springboot_apirest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.alonso.vipera.training.springboot_apirest.exception.InvalidCursorException;
+import com.alonso.vipera.training.springboot_apirest.exception.InvalidSortException;
+import com.alonso.vipera.training.springboot_apirest.model.CursorPage;
+import com.alonso.vipera.training.springboot_apirest.model.pet.Breed;
+import com.alonso.vipera.training.springboot_apirest.model.pet.Pet;
+import com.alonso.vipera.training.springboot_apirest.model.pet.Specie;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.PetProjection;
+import com.alonso.vipera.training.springboot_apirest.model.user.Role;
+import com.alonso.vipera.training.springboot_apirest.model.user.User;
+import com.alonso.vipera.training.springboot_apirest.model.user.UserRole;
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.UserOutDTO;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.PetRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.UserRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.persistence.jpa.KeysetCursor;
+
+/**
+ * Comprueba con EXPLAIN, sobre un conjunto de datos sembrado, que las búsquedas
+ * por filtros solo incluyen los predicados informados y que la base de datos
+ * las resuelve con los índices previstos, y que el recorrido por cursor
+ * continúa por clave sin OFFSET ni conteo.
+ *
+ * Los valores de los filtros se incrustan en el SQL para poder pasar la
+ * sentencia capturada directamente a EXPLAIN.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.alonso.vipera.training.springboot_apirest.FilterQueryPlanTest$CapturingStatementInspector"
+})
+@Import({ PetRepositoryAdapter.class, UserRepositoryAdapter.class })
+class FilterQueryPlanTest {
+
+    private static final int OWNERS = 200;
+    private static final int PETS_PER_OWNER = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PetRepositoryAdapter petRepository;
+
+    @Autowired
+    private UserRepositoryAdapter userRepository;
+
+    private Long dogId;
+
+    /**
+     * Captura las sentencias SQL que ejecuta Hibernate.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        Specie dog = entityManager.persist(new Specie(null, "Perro", null));
+        Specie cat = entityManager.persist(new Specie(null, "Gato", null));
+        dogId = dog.getId();
+        List<Breed> breeds = List.of(
+                entityManager.persist(new Breed(null, "Labrador", dog, "1")),
+                entityManager.persist(new Breed(null, "Beagle", dog, "2")),
+                entityManager.persist(new Breed(null, "Siamés", cat, "3")));
+        UserRole userRole = entityManager.persist(new UserRole(null, Role.USER));
+        UserRole vetRole = entityManager.persist(new UserRole(null, Role.VET));
+
+        for (int i = 0; i < OWNERS; i++) {
+            User owner = entityManager.persist(User.builder()
+                    .name("Nombre" + i)
+                    .surnames("Apellido" + i)
+                    .email("owner" + i + "@gmail.com")
+                    .userRole(i % 10 == 0 ? vetRole : userRole)
+                    .build());
+            for (int j = 0; j < PETS_PER_OWNER; j++) {
+                Breed breed = breeds.get((i + j) % breeds.size());
+                entityManager.persist(Pet.builder()
+                        .name("Mascota" + i + "-" + j)
+                        .birthDate(Date.valueOf("2020-05-15"))
+                        .weight(10.0)
+                        .user(owner)
+                        .specie(breed.getSpecie())
+                        .breed(breed)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testPetFilters_whenOnlyNameIsGiven_shouldUsePrefixSearchOnNameIndex() {
+        // Act
+        String sql = lastSelect(() -> petRepository.findByFilters(null, "Mascota1", null, null, Pageable.unpaged()));
+
+        // Assert
+        assertFalse(sql.contains(" is null"), sql);
+        assertTrue(sql.contains("like 'Mascota1%'"), sql);
+        assertTrue(explain(sql).contains("IDX_PET_NAME"), explain(sql));
+    }
+
+    @Test
+    void testPetFilters_whenSpecieAndNameAreGiven_shouldUseCompositeIndex() {
+        // Act
+        String sql = lastSelect(() -> petRepository.findByFilters(null, "Mascota1", null, dogId, Pageable.unpaged()));
+
+        // Assert
+        assertFalse(sql.contains(" is null"), sql);
+        assertTrue(explain(sql).contains("IDX_PET_SPECIE_ID_NAME"), explain(sql));
+    }
+
+    @Test
+    void testPetFilters_whenNameStartsWithMarker_shouldSearchAnywhere() {
+        // Act
+        Page<PetProjection> pets = petRepository.findByFilters(null, "*a1-", null, null, Pageable.unpaged());
+
+        // Assert
+        assertTrue(CapturingStatementInspector.STATEMENTS.stream().anyMatch(sql -> sql.contains("like '%a1-%'")));
+        assertEquals(PETS_PER_OWNER, pets.getTotalElements());
+    }
+
+    @Test
+    void testPetFilters_whenSortIsNotIndexed_shouldThrowInvalidSortException() {
+        // Arrange
+        PageRequest pageable = PageRequest.of(0, 20, Sort.by("weight"));
+
+        // Act & Assert
+        assertThrows(InvalidSortException.class, () -> petRepository.findAll(pageable));
+    }
+
+    @Test
+    void testUserFilters_whenRoleAndNameAreGiven_shouldUseCompositeIndex() {
+        // Act
+        String sql = lastSelect(() -> userRepository.findByFilters(null, "Nombre1", null, null, Role.VET,
+                Pageable.unpaged()));
+
+        // Assert
+        assertFalse(sql.contains(" is null"), sql);
+        assertTrue(explain(sql).contains("IDX_USER_ROLE_ID_NAME"), explain(sql));
+    }
+
+    @Test
+    void testUserFilters_whenPaged_shouldCountWithoutJoiningRoles() {
+        // Act
+        Page<UserOutDTO> users = userRepository.findByFilters(null, "Nombre", null, null, null, PageRequest.of(0, 10,
+                Sort.by("name")));
+
+        // Assert
+        assertEquals(OWNERS, users.getTotalElements());
+        String count = CapturingStatementInspector.STATEMENTS.get(CapturingStatementInspector.STATEMENTS.size() - 1);
+        assertTrue(count.startsWith("select count("), count);
+        assertFalse(count.contains("roles"), count);
+    }
+
+    @Test
+    void testPetScroll_whenSortedByCreatedAt_shouldVisitEveryPetOnceWithoutCountOrOffset() {
+        // Arrange
+        Set<Long> seen = new HashSet<>();
+        CapturingStatementInspector.STATEMENTS.clear();
+
+        // Act
+        CursorPage<PetProjection> page = petRepository.scrollByFilters(null, null, null, null,
+                KeysetCursor.SORT_CREATED_AT, null, 50);
+        int pages = 1;
+        page.content().forEach(pet -> seen.add(pet.id()));
+        while (page.hasNext()) {
+            page = petRepository.scrollByFilters(null, null, null, null, KeysetCursor.SORT_CREATED_AT,
+                    page.nextCursor(), 50);
+            page.content().forEach(pet -> seen.add(pet.id()));
+            pages++;
+        }
+
+        // Assert
+        assertEquals(OWNERS * PETS_PER_OWNER, seen.size());
+        assertEquals(OWNERS * PETS_PER_OWNER / 50, pages);
+        assertNull(page.nextCursor());
+        assertEquals(pages, CapturingStatementInspector.STATEMENTS.size());
+        assertTrue(CapturingStatementInspector.STATEMENTS.stream()
+                .noneMatch(sql -> sql.startsWith("select count(") || sql.contains(" offset ")));
+    }
+
+    @Test
+    void testPetScroll_whenFilteredBySpecie_shouldContinueFromCursorKey() {
+        // Arrange
+        CursorPage<PetProjection> first = petRepository.scrollByFilters(null, null, null, dogId, null, null, 10);
+
+        // Act
+        String sql = lastSelect(() -> petRepository.scrollByFilters(null, null, null, dogId, null,
+                first.nextCursor(), 10));
+
+        // Assert
+        assertTrue(sql.contains(">" + first.content().get(9).id()), sql);
+        assertTrue(first.content().stream().allMatch(pet -> pet.specieId().equals(dogId)));
+    }
+
+    @Test
+    void testPetScroll_whenCursorWasIssuedForAnotherSort_shouldThrowInvalidCursorException() {
+        // Arrange
+        String cursor = petRepository.scrollByFilters(null, null, null, null, KeysetCursor.SORT_ID, null, 10)
+                .nextCursor();
+
+        // Act & Assert
+        assertThrows(InvalidCursorException.class, () -> petRepository.scrollByFilters(null, null, null, null,
+                KeysetCursor.SORT_CREATED_AT, cursor, 10));
+        assertThrows(InvalidCursorException.class, () -> petRepository.scrollByFilters(null, null, null, null,
+                KeysetCursor.SORT_ID, "no-es-un-cursor", 10));
+    }
+
+    @Test
+    void testUserScroll_whenFilteredByRole_shouldReturnAllMatchingUsers() {
+        // Act
+        CursorPage<UserOutDTO> first = userRepository.scrollByFilters(null, null, null, null, Role.VET,
+                KeysetCursor.SORT_CREATED_AT, null, OWNERS / 20);
+        CursorPage<UserOutDTO> second = userRepository.scrollByFilters(null, null, null, null, Role.VET,
+                KeysetCursor.SORT_CREATED_AT, first.nextCursor(), OWNERS / 20);
+
+        // Assert
+        assertTrue(first.hasNext());
+        assertFalse(second.hasNext());
+        assertEquals(OWNERS / 10, first.content().size() + second.content().size());
+        assertTrue(second.content().stream().allMatch(user -> user.getRole() == Role.VET));
+    }
+
+    private String lastSelect(Runnable query) {
+        CapturingStatementInspector.STATEMENTS.clear();
+        query.run();
+        return CapturingStatementInspector.STATEMENTS.stream()
+                .filter(sql -> sql.startsWith("select") && !sql.startsWith("select count("))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+    }
+
+    private String explain(String sql) {
+        return String.valueOf(entityManager.getEntityManager().createNativeQuery("EXPLAIN " + sql).getSingleResult());
+    }
+}
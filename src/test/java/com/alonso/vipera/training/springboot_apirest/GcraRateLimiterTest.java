@@ -0,0 +1,68 @@
+package com.alonso.vipera.training.springboot_apirest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.alonso.vipera.training.springboot_apirest.service.GcraRateLimiter;
+
+class GcraRateLimiterTest {
+
+    private static final String KEY = "juan@gmail.com";
+    private static final long PERIOD_NANOS = Duration.ofSeconds(10).toNanos();
+
+    private final AtomicLong time = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void testTryAcquire_whenBurstExhausted_shouldRejectUntilRefill() {
+        // Arrange
+        GcraRateLimiter limiter = new GcraRateLimiter(3, Duration.ofSeconds(10), 100, time::get);
+
+        // Act & Assert
+        assertEquals(0, limiter.tryAcquire(KEY));
+        assertEquals(0, limiter.tryAcquire(KEY));
+        assertEquals(0, limiter.tryAcquire(KEY));
+        assertEquals(PERIOD_NANOS, limiter.tryAcquire(KEY));
+        time.addAndGet(PERIOD_NANOS);
+        assertEquals(0, limiter.tryAcquire(KEY));
+    }
+
+    @Test
+    void testTryAcquire_whenDifferentKeys_shouldBeIndependent() {
+        // Arrange
+        GcraRateLimiter limiter = new GcraRateLimiter(1, Duration.ofSeconds(10), 100, time::get);
+
+        // Act & Assert
+        assertEquals(0, limiter.tryAcquire(KEY));
+        assertTrue(limiter.tryAcquire(KEY) > 0);
+        assertEquals(0, limiter.tryAcquire("otro@gmail.com"));
+    }
+
+    @Test
+    void testTryAcquire_whenFull_shouldAdmitNewKeyAndStayBounded() {
+        // Arrange
+        GcraRateLimiter limiter = new GcraRateLimiter(2, Duration.ofSeconds(10), 1, time::get);
+        limiter.tryAcquire(KEY);
+
+        // Act & Assert
+        assertEquals(0, limiter.tryAcquire("otro@gmail.com"));
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void testSize_whenBucketRefilled_shouldExpireEntry() {
+        // Arrange
+        GcraRateLimiter limiter = new GcraRateLimiter(2, Duration.ofSeconds(10), 100, time::get);
+        limiter.tryAcquire(KEY);
+
+        // Act & Assert
+        time.addAndGet(PERIOD_NANOS);
+        assertEquals(1, limiter.size());
+        time.addAndGet(PERIOD_NANOS);
+        assertEquals(0, limiter.size());
+    }
+}
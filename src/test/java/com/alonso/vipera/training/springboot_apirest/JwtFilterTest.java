@@ -0,0 +1,127 @@
+package com.alonso.vipera.training.springboot_apirest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.alonso.vipera.training.springboot_apirest.config.JwtFilter;
+import com.alonso.vipera.training.springboot_apirest.model.user.Role;
+import com.alonso.vipera.training.springboot_apirest.model.user.UserPrincipal;
+import com.alonso.vipera.training.springboot_apirest.model.user.VerifiedJwt;
+import com.alonso.vipera.training.springboot_apirest.service.JwtService;
+import com.alonso.vipera.training.springboot_apirest.service.TokenRevocationService;
+import com.alonso.vipera.training.springboot_apirest.service.TokenVersionRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class JwtFilterTest {
+
+    private static final String TOKEN = "token";
+    private static final String EMAIL = "juan@gmail.com";
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @InjectMocks
+    private JwtFilter jwtFilter;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testDoFilter_whenRouteIsPublicCatalog_shouldNotParseToken() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = request("/breeds/1");
+
+        // Act
+        jwtFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+
+        // Verify
+        verify(jwtService, never()).verify(anyString());
+    }
+
+    @Test
+    void testDoFilter_whenStatelessAuthDisabled_shouldLoadUserAndValidateToken() throws Exception {
+        // Arrange
+        VerifiedJwt verifiedJwt = verifiedJwt();
+        when(jwtService.verify(TOKEN)).thenReturn(verifiedJwt);
+        when(tokenVersionRegistry.isCurrent(USER_ID, 0)).thenReturn(true);
+        UserPrincipal principal = new UserPrincipal(USER_ID, EMAIL, "hash", Role.USER, true, 0);
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(principal);
+        when(jwtService.isTokenValid(verifiedJwt, principal)).thenReturn(true);
+
+        // Act
+        jwtFilter.doFilter(request("/pets/my-pets"), new MockHttpServletResponse(), new MockFilterChain());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        // Assert
+        assertEquals(principal, authentication.getPrincipal());
+        assertEquals("ROLE_USER", authentication.getAuthorities().iterator().next().getAuthority());
+
+        // Verify
+        verify(userDetailsService, times(1)).loadUserByUsername(EMAIL);
+    }
+
+    @Test
+    void testDoFilter_whenStatelessAuthEnabled_shouldNotLoadUser() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(jwtFilter, "statelessAuth", true);
+        when(jwtService.verify(TOKEN)).thenReturn(verifiedJwt());
+        when(tokenVersionRegistry.isCurrent(USER_ID, 0)).thenReturn(true);
+
+        // Act
+        jwtFilter.doFilter(request("/pets/my-pets"), new MockHttpServletResponse(), new MockFilterChain());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        // Assert
+        assertEquals(EMAIL, authentication.getName());
+        assertEquals("ROLE_USER", authentication.getAuthorities().iterator().next().getAuthority());
+
+        // Verify
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    private static VerifiedJwt verifiedJwt() {
+        return new VerifiedJwt("jti", EMAIL, Instant.now(), Instant.now().plusSeconds(600), USER_ID, Role.USER, 0);
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.addHeader("Authorization", "Bearer " + TOKEN);
+        return request;
+    }
+}
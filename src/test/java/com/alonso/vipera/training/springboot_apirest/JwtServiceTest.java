@@ -0,0 +1,157 @@
+package com.alonso.vipera.training.springboot_apirest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.alonso.vipera.training.springboot_apirest.exception.SigningKeyNotFoundException;
+import com.alonso.vipera.training.springboot_apirest.model.user.VerifiedJwt;
+import com.alonso.vipera.training.springboot_apirest.service.JwtService;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-test-secret";
+    private static final String EMAIL = "juan@gmail.com";
+
+    private JwtService jwtService;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "SECRET_KEY", SECRET);
+        ReflectionTestUtils.setField(jwtService, "EXPIRATION_TIME", 3_600_000L);
+        userDetails = new User(EMAIL, "", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    @Test
+    void testVerify_whenTokenIsValid_shouldReturnVerifiedClaims() {
+        // Arrange
+        String token = jwtService.generateToken(userDetails);
+
+        // Act
+        VerifiedJwt verifiedJwt = jwtService.verify(token);
+
+        // Assert
+        assertEquals(EMAIL, verifiedJwt.subject());
+        assertNotNull(verifiedJwt.issuedAt());
+        assertNotNull(verifiedJwt.expiresAt());
+        assertTrue(jwtService.isTokenValid(verifiedJwt, userDetails));
+        assertTrue(jwtService.isTokenValid(token, userDetails));
+    }
+
+    @Test
+    void testVerify_whenTokenIsTampered_shouldThrowJwtException() {
+        // Arrange
+        String token = jwtService.generateToken(userDetails);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // Act & Assert
+        assertThrows(JwtException.class, () -> jwtService.verify(tampered));
+        assertFalse(jwtService.isTokenValid(tampered, userDetails));
+    }
+
+    @Test
+    void testVerify_whenTokenIsExpired_shouldThrowExpiredJwtException() {
+        // Arrange
+        ReflectionTestUtils.setField(jwtService, "EXPIRATION_TIME", -1_000L);
+        String token = jwtService.generateToken(userDetails);
+
+        // Act & Assert
+        assertThrows(ExpiredJwtException.class, () -> jwtService.verify(token));
+    }
+
+    @Test
+    void testIsTokenValid_whenSubjectDoesNotMatch_shouldReturnFalse() {
+        // Arrange
+        String token = jwtService.generateToken(userDetails);
+        UserDetails otherUser = new User("otro@gmail.com", "", List.of());
+
+        // Act & Assert
+        assertFalse(jwtService.isTokenValid(jwtService.verify(token), otherUser));
+    }
+
+    @Test
+    void testActivateKey_shouldKeepVerifyingTokensSignedWithPreviousKey() {
+        // Arrange
+        ReflectionTestUtils.setField(jwtService, "HMAC_KEYS", "hs-2=" + SECRET + "-rotated");
+        String oldToken = jwtService.generateToken(userDetails);
+
+        // Act
+        jwtService.activateKey("hs-2");
+        String newToken = jwtService.generateToken(userDetails);
+
+        // Assert
+        assertEquals(EMAIL, jwtService.verify(oldToken).subject());
+        assertEquals(EMAIL, jwtService.verify(newToken).subject());
+        assertThrows(SigningKeyNotFoundException.class, () -> jwtService.activateKey("missing"));
+    }
+
+    @Test
+    void testGenerateToken_whenActiveKeyIsEs256_shouldVerifyAndPublishPublicKey() {
+        // Arrange
+        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        ReflectionTestUtils.setField(jwtService, "EC_KEYS", "ec-1="
+                + Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()) + ":"
+                + Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+        ReflectionTestUtils.setField(jwtService, "ACTIVE_KID", "ec-1");
+
+        // Act
+        String token = jwtService.generateToken(userDetails);
+        List<?> jwks = (List<?>) jwtService.getPublicJwks().get("keys");
+
+        // Assert
+        assertEquals(EMAIL, jwtService.verify(token).subject());
+        assertEquals(1, jwks.size());
+        assertEquals("ec-1", ((Map<?, ?>) jwks.get(0)).get("kid"));
+    }
+
+    @Test
+    void testGenerateToken_whenEs256KeyIsNotP256_shouldFailToLoadKeyRing() throws Exception {
+        // Arrange
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp384r1"));
+        KeyPair keyPair = generator.generateKeyPair();
+        ReflectionTestUtils.setField(jwtService, "EC_KEYS", "ec-384="
+                + Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()) + ":"
+                + Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> jwtService.generateToken(userDetails));
+    }
+
+    @Test
+    void testVerify_whenKidIsUnknown_shouldThrowJwtException() {
+        // Arrange
+        String token = Jwts.builder()
+                .setHeaderParam("kid", "unknown")
+                .setSubject(EMAIL)
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+
+        // Act & Assert
+        assertThrows(JwtException.class, () -> jwtService.verify(token));
+    }
+}
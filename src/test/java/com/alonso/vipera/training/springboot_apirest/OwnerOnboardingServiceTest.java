@@ -0,0 +1,174 @@
+package com.alonso.vipera.training.springboot_apirest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.alonso.vipera.training.springboot_apirest.mapper.UserMapper;
+import com.alonso.vipera.training.springboot_apirest.model.user.ConfirmationToken;
+import com.alonso.vipera.training.springboot_apirest.model.user.Role;
+import com.alonso.vipera.training.springboot_apirest.model.user.User;
+import com.alonso.vipera.training.springboot_apirest.model.user.UserRole;
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.OwnerCreationRequestDTO;
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.OwnerOnboardingErrorDTO;
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.OwnerOnboardingOutDTO;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.UserRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.persistence.jpa.UserRoleJpaRepository;
+import com.alonso.vipera.training.springboot_apirest.persistence.repository.ConfirmationTokenRepository;
+import com.alonso.vipera.training.springboot_apirest.service.ActivationEmailSender;
+import com.alonso.vipera.training.springboot_apirest.service.OwnerOnboardingServiceImpl;
+import com.alonso.vipera.training.springboot_apirest.service.PrincipalCache;
+
+import jakarta.validation.Validation;
+
+@ExtendWith(MockitoExtension.class)
+class OwnerOnboardingServiceTest {
+
+    private static final UserRole USER_ROLE = new UserRole(3L, Role.USER);
+
+    @Mock
+    private UserRepositoryAdapter userRepositoryAdapter;
+
+    @Mock
+    private UserRoleJpaRepository userRoleJpaRepository;
+
+    @Mock
+    private ConfirmationTokenRepository confirmationTokenRepository;
+
+    @Spy
+    private UserMapper userMapper;
+
+    @Mock
+    private ActivationEmailSender activationEmailSender;
+
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Captor
+    private ArgumentCaptor<List<User>> usersCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<ConfirmationToken>> tokensCaptor;
+
+    private OwnerOnboardingServiceImpl ownerOnboardingService;
+
+    @BeforeEach
+    void setUp() {
+        ownerOnboardingService = new OwnerOnboardingServiceImpl(userRepositoryAdapter, userRoleJpaRepository,
+                confirmationTokenRepository, userMapper, activationEmailSender, principalCache,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), 2);
+    }
+
+    @Test
+    void testOnboard_whenAllOwnersValid_insertUsersAndTokensAndQueueEmails() {
+        // Arrange
+        List<OwnerCreationRequestDTO> owners = List.of(owner(1), owner(2), owner(3));
+        when(userRoleJpaRepository.findAll()).thenReturn(List.of(USER_ROLE));
+        when(userRepositoryAdapter.findIdsByEmails(anyList()))
+                .thenReturn(Map.of(email(1), 11L, email(2), 12L))
+                .thenReturn(Map.of(email(3), 13L));
+
+        // Act
+        OwnerOnboardingOutDTO result = ownerOnboardingService.onboard(owners);
+
+        // Assert
+        assertEquals(3, result.getReceived());
+        assertEquals(3, result.getCreated());
+        assertEquals(List.of(), result.getErrors());
+
+        // Verify
+        verify(userRepositoryAdapter, times(1)).findExistingEmails(Set.of(email(1), email(2), email(3)));
+        verify(userRepositoryAdapter, times(1)).findExistingPhones(any());
+        verify(userRepositoryAdapter, times(1)).findExistingDnis(any());
+        verify(userRepositoryAdapter, times(2)).insertAll(usersCaptor.capture());
+        verify(confirmationTokenRepository, times(2)).insertAll(tokensCaptor.capture());
+        User first = usersCaptor.getAllValues().get(0).get(0);
+        assertNull(first.getPassword());
+        assertEquals(USER_ROLE, first.getUserRole());
+        assertEquals(11L, tokensCaptor.getAllValues().get(0).get(0).getUser().getId());
+        assertEquals(13L, tokensCaptor.getAllValues().get(1).get(0).getUser().getId());
+        verify(activationEmailSender, times(3)).send(anyString(), anyString());
+    }
+
+    @Test
+    void testOnboard_whenOwnersInvalidOrTaken_reportErrorsPerRow() {
+        // Arrange
+        OwnerCreationRequestDTO invalidEmail = owner(2);
+        invalidEmail.setEmail("no-es-un-email");
+        OwnerCreationRequestDTO repeatedPhone = owner(4);
+        repeatedPhone.setPhone(owner(1).getPhone());
+        List<OwnerCreationRequestDTO> owners = Arrays.asList(owner(1), invalidEmail, null, repeatedPhone, owner(5));
+        when(userRepositoryAdapter.findExistingEmails(any())).thenReturn(Set.of(email(5)));
+        when(userRoleJpaRepository.findAll()).thenReturn(List.of(USER_ROLE));
+        when(userRepositoryAdapter.findIdsByEmails(anyList())).thenReturn(Map.of(email(1), 11L));
+
+        // Act
+        OwnerOnboardingOutDTO result = ownerOnboardingService.onboard(owners);
+
+        // Assert
+        assertEquals(1, result.getCreated());
+        assertEquals(List.of(2, 3, 4, 5), result.getErrors().stream().map(OwnerOnboardingErrorDTO::getRow).toList());
+        assertEquals("Teléfono repetido en la petición", result.getErrors().get(2).getMessage());
+        assertEquals("Email ya está en uso", result.getErrors().get(3).getMessage());
+
+        // Verify
+        verify(activationEmailSender, times(1)).send(eq(email(1)), anyString());
+    }
+
+    @Test
+    void testOnboard_whenChunkFails_reportItsRowsAndSendNoEmailsForThem() {
+        // Arrange
+        List<OwnerCreationRequestDTO> owners = List.of(owner(1), owner(2), owner(3));
+        when(userRoleJpaRepository.findAll()).thenReturn(List.of(USER_ROLE));
+        doThrow(new DataIntegrityViolationException("duplicado")).doNothing()
+                .when(userRepositoryAdapter).insertAll(anyList());
+        when(userRepositoryAdapter.findIdsByEmails(anyList())).thenReturn(Map.of(email(3), 13L));
+
+        // Act
+        OwnerOnboardingOutDTO result = ownerOnboardingService.onboard(owners);
+
+        // Assert
+        assertEquals(1, result.getCreated());
+        assertEquals(List.of(1, 2), result.getErrors().stream().map(OwnerOnboardingErrorDTO::getRow).toList());
+
+        // Verify
+        verify(activationEmailSender, never()).send(eq(email(1)), anyString());
+        verify(activationEmailSender, times(1)).send(eq(email(3)), anyString());
+    }
+
+    private static OwnerCreationRequestDTO owner(int n) {
+        return new OwnerCreationRequestDTO("Nombre", "Apellidos", email(n), "60000000" + n, "1234567" + n + "A",
+                Role.USER);
+    }
+
+    private static String email(int n) {
+        return "owner" + n + "@gmail.com";
+    }
+}
@@ -0,0 +1,71 @@
+package com.alonso.vipera.training.springboot_apirest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.alonso.vipera.training.springboot_apirest.config.CalibratedBCryptPasswordEncoder;
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.PasswordCalibrationOutDTO;
+import com.alonso.vipera.training.springboot_apirest.service.PasswordCostCalibrator;
+
+class PasswordCostCalibratorTest {
+
+    private static final String PASSWORD = "password123";
+
+    @Test
+    void testCalibrate_whenBudgetTooSmall_shouldFallBackToMinCost() {
+        // Arrange
+        PasswordCostCalibrator calibrator = new PasswordCostCalibrator(Duration.ofNanos(1), 4, 6, 6, false);
+
+        // Act
+        PasswordCalibrationOutDTO result = calibrator.calibrate();
+
+        // Assert
+        assertEquals(6, result.getPreviousCost());
+        assertEquals(4, result.getCost());
+        assertEquals(4, calibrator.getTargetCost());
+    }
+
+    @Test
+    void testCalibrate_whenBudgetLarge_shouldSelectMaxCost() {
+        // Arrange
+        PasswordCostCalibrator calibrator = new PasswordCostCalibrator(Duration.ofSeconds(10), 4, 5, 4, false);
+
+        // Act
+        PasswordCalibrationOutDTO result = calibrator.calibrate();
+
+        // Assert
+        assertEquals(5, result.getCost());
+    }
+
+    @Test
+    void testUpgradeEncoding_shouldRequireRehashForLegacyOrLowerCostOnly() {
+        // Arrange
+        PasswordCostCalibrator calibrator = new PasswordCostCalibrator(Duration.ofSeconds(1), 4, 6, 5, false);
+        PasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt",
+                Map.of("bcrypt", new CalibratedBCryptPasswordEncoder(calibrator)));
+        ((DelegatingPasswordEncoder) encoder).setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+
+        String legacyHash = new BCryptPasswordEncoder(5).encode(PASSWORD);
+        String currentHash = encoder.encode(PASSWORD);
+        String lowerCostHash = "{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD);
+        String higherCostHash = "{bcrypt}" + new BCryptPasswordEncoder(6).encode(PASSWORD);
+
+        // Assert
+        assertTrue(currentHash.startsWith("{bcrypt}$2a$05$"));
+        assertTrue(encoder.matches(PASSWORD, legacyHash));
+        assertTrue(encoder.matches(PASSWORD, currentHash));
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+        assertTrue(encoder.upgradeEncoding(lowerCostHash));
+        assertFalse(encoder.upgradeEncoding(currentHash));
+        assertFalse(encoder.upgradeEncoding(higherCostHash));
+    }
+}
@@ -0,0 +1,195 @@
+package com.alonso.vipera.training.springboot_apirest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.alonso.vipera.training.springboot_apirest.exception.BreedSpecieMismatchException;
+import com.alonso.vipera.training.springboot_apirest.exception.IdNotFoundException;
+import com.alonso.vipera.training.springboot_apirest.exception.InvalidCsvException;
+import com.alonso.vipera.training.springboot_apirest.model.pet.Pet;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.in.PetInDTO;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.PetImportErrorDTO;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.PetImportOutDTO;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.PetRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.UserRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.service.PetImportServiceImpl;
+import com.alonso.vipera.training.springboot_apirest.service.ReferenceCatalog;
+
+import jakarta.validation.Validation;
+
+@ExtendWith(MockitoExtension.class)
+class PetImportServiceTest {
+
+    private static final String EMAIL = "alonso@gmail.com";
+    private static final Long OWNER_ID = 7L;
+    private static final Long SPECIE_ID = 1L;
+    private static final Long BREED_ID = 50L;
+    private static final Long CAT_BREED_ID = 60L;
+    private static final Date BIRTH_DATE = Date.valueOf("2020-01-01");
+
+    @Mock
+    private PetRepositoryAdapter petRepositoryAdapter;
+
+    @Mock
+    private UserRepositoryAdapter userRepositoryAdapter;
+
+    @Mock
+    private ReferenceCatalog referenceCatalog;
+
+    private PetImportServiceImpl petImportService;
+    private ReferenceCatalog.SpecieRef specieRef;
+    private ReferenceCatalog.BreedRef breedRef;
+
+    @BeforeEach
+    void setUp() {
+        petImportService = new PetImportServiceImpl(petRepositoryAdapter, userRepositoryAdapter, referenceCatalog,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), 2);
+
+        specieRef = new ReferenceCatalog.SpecieRef(SPECIE_ID, "Perro");
+        breedRef = new ReferenceCatalog.BreedRef(BREED_ID, "Border Collie", "50", specieRef);
+    }
+
+    @Test
+    void testImportPets_whenAllRowsValid_insertInChunksWithOneOwnerLookup() {
+        // Arrange
+        List<PetInDTO> pets = List.of(pet("Obi", EMAIL), pet("Luna", EMAIL), pet("Toby", EMAIL));
+        when(referenceCatalog.getSpecie(SPECIE_ID)).thenReturn(specieRef);
+        when(referenceCatalog.getBreed(BREED_ID, SPECIE_ID)).thenReturn(breedRef);
+        when(userRepositoryAdapter.findIdsByEmails(Set.of(EMAIL))).thenReturn(Map.of(EMAIL, OWNER_ID));
+        List<List<Pet>> chunks = new ArrayList<>();
+        ArgumentCaptor<List<Pet>> captor = ArgumentCaptor.captor();
+
+        // Act
+        PetImportOutDTO result = petImportService.importPets(pets);
+
+        // Assert
+        assertEquals(3, result.getReceived());
+        assertEquals(3, result.getImported());
+        assertTrue(result.getErrors().isEmpty());
+
+        // Verify
+        verify(userRepositoryAdapter, times(1)).findIdsByEmails(any());
+        verify(petRepositoryAdapter, times(2)).insertAll(captor.capture());
+        chunks.addAll(captor.getAllValues());
+        assertEquals(List.of(2, 1), chunks.stream().map(List::size).toList());
+        assertEquals(OWNER_ID, chunks.get(0).get(0).getUser().getId());
+        assertEquals(BREED_ID, chunks.get(0).get(0).getBreed().getId());
+    }
+
+    @Test
+    void testImportPets_whenRowsInvalid_reportErrorsPerRowAndImportTheRest() {
+        // Arrange
+        PetInDTO mismatch = pet("Mimi", EMAIL);
+        mismatch.setBreedId(CAT_BREED_ID);
+        PetInDTO unknownSpecie = pet("Rex", EMAIL);
+        unknownSpecie.setSpecieId(99L);
+        List<PetInDTO> pets = Arrays.asList(pet("Obi", EMAIL), pet("", EMAIL), null, mismatch, unknownSpecie,
+                pet("Luna", "nadie@gmail.com"));
+        when(referenceCatalog.getSpecie(SPECIE_ID)).thenReturn(specieRef);
+        when(referenceCatalog.getSpecie(99L)).thenThrow(new IdNotFoundException());
+        when(referenceCatalog.getBreed(BREED_ID, SPECIE_ID)).thenReturn(breedRef);
+        when(referenceCatalog.getBreed(CAT_BREED_ID, SPECIE_ID)).thenThrow(new BreedSpecieMismatchException());
+        when(userRepositoryAdapter.findIdsByEmails(Set.of(EMAIL, "nadie@gmail.com")))
+                .thenReturn(Map.of(EMAIL, OWNER_ID));
+
+        // Act
+        PetImportOutDTO result = petImportService.importPets(pets);
+
+        // Assert
+        assertEquals(6, result.getReceived());
+        assertEquals(1, result.getImported());
+        assertEquals(List.of(2, 3, 4, 5, 6), result.getErrors().stream().map(PetImportErrorDTO::getRow).toList());
+        assertEquals("La raza no pertenece a la especie indicada", result.getErrors().get(2).getMessage());
+        assertEquals("Usuario no encontrado: nadie@gmail.com", result.getErrors().get(4).getMessage());
+
+        // Verify
+        verify(petRepositoryAdapter, times(1)).insertAll(anyList());
+    }
+
+    @Test
+    void testImportPets_whenChunkFails_reportItsRowsAndKeepOtherChunks() {
+        // Arrange
+        List<PetInDTO> pets = List.of(pet("Obi", EMAIL), pet("Luna", EMAIL), pet("Toby", EMAIL));
+        when(referenceCatalog.getSpecie(SPECIE_ID)).thenReturn(specieRef);
+        when(referenceCatalog.getBreed(BREED_ID, SPECIE_ID)).thenReturn(breedRef);
+        when(userRepositoryAdapter.findIdsByEmails(any())).thenReturn(Map.of(EMAIL, OWNER_ID));
+        doThrow(new DataIntegrityViolationException("duplicado")).doNothing()
+                .when(petRepositoryAdapter).insertAll(anyList());
+
+        // Act
+        PetImportOutDTO result = petImportService.importPets(pets);
+
+        // Assert
+        assertEquals(1, result.getImported());
+        assertEquals(List.of(1, 2), result.getErrors().stream().map(PetImportErrorDTO::getRow).toList());
+    }
+
+    @Test
+    void testImportCsv_whenQuotedFieldsAndBadValues_parseRowsAndReportBadValues() {
+        // Arrange
+        String csv = "email,name,birthDate,specieId,breedId,weight,dietInfo\r\n"
+                + EMAIL + ",Obi,2020-01-01,1,50,23.5,\"Pienso, dos veces \"\"al día\"\"\"\r\n"
+                + EMAIL + ",Luna,01/02/2020,1,50,10,\r\n";
+        when(referenceCatalog.getSpecie(SPECIE_ID)).thenReturn(specieRef);
+        when(referenceCatalog.getBreed(BREED_ID, SPECIE_ID)).thenReturn(breedRef);
+        when(userRepositoryAdapter.findIdsByEmails(Set.of(EMAIL))).thenReturn(Map.of(EMAIL, OWNER_ID));
+        ArgumentCaptor<List<Pet>> captor = ArgumentCaptor.captor();
+
+        // Act
+        PetImportOutDTO result = petImportService.importCsv(new ByteArrayResource(csv.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(2, result.getReceived());
+        assertEquals(1, result.getImported());
+        assertEquals("Valor no válido en la columna birthDate", result.getErrors().get(0).getMessage());
+
+        // Verify
+        verify(petRepositoryAdapter).insertAll(captor.capture());
+        assertEquals("Pienso, dos veces \"al día\"", captor.getValue().get(0).getDietInfo());
+        assertEquals(23.5, captor.getValue().get(0).getWeight());
+    }
+
+    @Test
+    void testImportCsv_whenRequiredColumnMissing_throwsInvalidCsvException() {
+        // Arrange
+        ByteArrayResource csv = new ByteArrayResource("name,email\nObi,alonso@gmail.com\n"
+                .getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        InvalidCsvException exception = assertThrows(InvalidCsvException.class,
+                () -> petImportService.importCsv(csv));
+        assertTrue(exception.getMessage().contains("birthDate, specieId, breedId, weight"));
+    }
+
+    private static PetInDTO pet(String name, String email) {
+        return new PetInDTO(name, BIRTH_DATE, SPECIE_ID, BREED_ID, 10.0, null, email);
+    }
+}
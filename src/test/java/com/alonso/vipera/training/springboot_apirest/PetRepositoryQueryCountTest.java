@@ -0,0 +1,212 @@
+package com.alonso.vipera.training.springboot_apirest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Date;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import com.alonso.vipera.training.springboot_apirest.mapper.BreedMapper;
+import com.alonso.vipera.training.springboot_apirest.mapper.PetMapper;
+import com.alonso.vipera.training.springboot_apirest.mapper.SpecieMapper;
+import com.alonso.vipera.training.springboot_apirest.model.pet.Breed;
+import com.alonso.vipera.training.springboot_apirest.model.pet.Pet;
+import com.alonso.vipera.training.springboot_apirest.model.pet.Specie;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.in.PetInDTO;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.PetOutDTO;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.PetProjection;
+import com.alonso.vipera.training.springboot_apirest.model.user.Role;
+import com.alonso.vipera.training.springboot_apirest.model.user.User;
+import com.alonso.vipera.training.springboot_apirest.model.user.UserRole;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.BreedRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.PetRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.SpecieRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.UserRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.service.PetServiceImpl;
+import com.alonso.vipera.training.springboot_apirest.service.ReferenceCatalog;
+
+/**
+ * Comprueba el número exacto de sentencias SQL de cada lectura de mascotas,
+ * incluido el mapeo a DTO, y del registro de una mascota, para detectar
+ * regresiones N+1. La lectura por ID se mide con la caché de segundo nivel
+ * vacía, porque aquí nada se confirma; el caso con la caché caliente está en
+ * {@link SecondLevelCacheTest}. Arrancar el contexto
+ * valida además todas las consultas JPQL de los repositorios.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({ PetServiceImpl.class, ReferenceCatalog.class, PetRepositoryAdapter.class, UserRepositoryAdapter.class,
+        SpecieRepositoryAdapter.class, BreedRepositoryAdapter.class, PetMapper.class, BreedMapper.class,
+        SpecieMapper.class })
+class PetRepositoryQueryCountTest {
+
+    private static final String EMAIL = "juan@gmail.com";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PetRepositoryAdapter petRepository;
+
+    @Autowired
+    private PetMapper petMapper;
+
+    @Autowired
+    private PetServiceImpl petService;
+
+    @Autowired
+    private ReferenceCatalog referenceCatalog;
+
+    private Statistics statistics;
+    private Long petId;
+    private Long dogId;
+    private Long ownerId;
+    private Long labradorId;
+
+    @BeforeEach
+    void setUp() {
+        Specie dog = entityManager.persist(new Specie(null, "Perro", null));
+        Specie cat = entityManager.persist(new Specie(null, "Gato", null));
+        Breed labrador = entityManager.persist(new Breed(null, "Labrador", dog, "1"));
+        Breed beagle = entityManager.persist(new Breed(null, "Beagle", dog, "2"));
+        Breed siamese = entityManager.persist(new Breed(null, "Siamés", cat, "3"));
+        UserRole role = entityManager.persist(new UserRole(null, Role.USER));
+        User owner = entityManager.persist(User.builder()
+                .name("Juan")
+                .surnames("Pérez")
+                .email(EMAIL)
+                .userRole(role)
+                .build());
+
+        dogId = dog.getId();
+        ownerId = owner.getId();
+        labradorId = labrador.getId();
+        petId = entityManager.persist(pet("Max", owner, dog, labrador)).getId();
+        entityManager.persist(pet("Luna", owner, dog, beagle));
+        entityManager.persist(pet("Mimi", owner, cat, siamese));
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testFindAll_shouldUseOneSelectAndOneCount() {
+        assertStatements(2, () -> petRepository.findAll(PageRequest.of(0, 2)).getContent());
+    }
+
+    @Test
+    void testFindByFilters_shouldUseOneSelectAndOneCount() {
+        assertStatements(2, () -> petRepository.findByFilters(null, null, null, null, PageRequest.of(0, 2))
+                .getContent());
+    }
+
+    @Test
+    void testFindById_whenCatalogNotCached_shouldLoadSpecieAndBreedOnce() {
+        // Arrange
+        entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getCache().evictAllRegions();
+        statistics.clear();
+
+        // Act
+        petMapper.toOutDTO(petRepository.findById(petId).orElseThrow());
+
+        // Assert
+        assertEquals(3, statistics.getPrepareStatementCount()); // pets, species y breeds
+    }
+
+    @Test
+    void testFindPetsByUserEmail_shouldUseOneSelect() {
+        assertStatements(1, () -> petRepository.findPetsByUserEmail(EMAIL));
+    }
+
+    @Test
+    void testFindByName_shouldUseOneSelect() {
+        assertStatements(1, () -> petRepository.findByName("Max"));
+    }
+
+    @Test
+    void testFindByBreedName_shouldUseOneSelect() {
+        assertStatements(1, () -> petRepository.findByBreedName("Labrador"));
+    }
+
+    @Test
+    void testFindBySpecieName_shouldUseOneSelect() {
+        assertStatements(1, () -> petRepository.findBySpecieName("Perro"));
+    }
+
+    @Test
+    void testSave_whenCatalogLoaded_shouldUseOneSelectAndOneInsert() {
+        // Arrange
+        referenceCatalog.reload();
+        entityManager.clear();
+        statistics.clear();
+
+        // Act
+        PetOutDTO pet = petService.save(new PetInDTO("Toby", Date.valueOf("2021-01-10"), dogId, labradorId, 5.0,
+                null, EMAIL));
+        entityManager.flush();
+
+        // Assert
+        assertEquals("Labrador", pet.getBreed().getName());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testInsertAll_shouldInsertRowsReadableAsProjections() {
+        // Arrange
+        Pet first = pet("Kira", userWithId(ownerId), new Specie(dogId, null, null), new Breed(labradorId, null, null, null));
+        Pet second = pet("Nala", userWithId(ownerId), new Specie(dogId, null, null), new Breed(labradorId, null, null, null));
+
+        // Act
+        petRepository.insertAll(List.of(first, second));
+
+        // Assert
+        List<PetProjection> pets = petRepository.findByName("Nala");
+        assertEquals(1, pets.size());
+        assertEquals("Labrador", pets.get(0).breedName());
+        assertEquals(5, petRepository.findPetsByUserEmail(EMAIL).size());
+    }
+
+    private void assertStatements(long expected, Supplier<List<PetProjection>> query) {
+        // Arrange
+        entityManager.clear();
+        statistics.clear();
+
+        // Act
+        query.get().forEach(petMapper::toOutDTO);
+
+        // Assert
+        assertEquals(expected, statistics.getPrepareStatementCount());
+    }
+
+    private static User userWithId(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    private static Pet pet(String name, User owner, Specie specie, Breed breed) {
+        return Pet.builder()
+                .name(name)
+                .birthDate(Date.valueOf("2020-05-15"))
+                .weight(10.0)
+                .user(owner)
+                .specie(specie)
+                .breed(breed)
+                .build();
+    }
+}
@@ -23,20 +23,27 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import com.alonso.vipera.training.springboot_apirest.exception.BreedSpecieMismatchException;
 import com.alonso.vipera.training.springboot_apirest.exception.EmailNotFoundException;
 import com.alonso.vipera.training.springboot_apirest.exception.IdNotFoundException;
+import com.alonso.vipera.training.springboot_apirest.exception.VersionConflictException;
+import com.alonso.vipera.training.springboot_apirest.exception.VersionRequiredException;
 import com.alonso.vipera.training.springboot_apirest.mapper.PetMapper;
+import com.alonso.vipera.training.springboot_apirest.model.CursorPage;
 import com.alonso.vipera.training.springboot_apirest.model.pet.Breed;
 import com.alonso.vipera.training.springboot_apirest.model.pet.Pet;
 import com.alonso.vipera.training.springboot_apirest.model.pet.Specie;
 import com.alonso.vipera.training.springboot_apirest.model.pet.dto.in.PetInDTO;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.in.PetUpdateDTO;
 import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.PetOutDTO;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.PetProjection;
 import com.alonso.vipera.training.springboot_apirest.model.user.User;
 import com.alonso.vipera.training.springboot_apirest.persistence.adapter.BreedRepositoryAdapter;
 import com.alonso.vipera.training.springboot_apirest.persistence.adapter.PetRepositoryAdapter;
 import com.alonso.vipera.training.springboot_apirest.persistence.adapter.SpecieRepositoryAdapter;
 import com.alonso.vipera.training.springboot_apirest.persistence.adapter.UserRepositoryAdapter;
 import com.alonso.vipera.training.springboot_apirest.service.PetServiceImpl;
+import com.alonso.vipera.training.springboot_apirest.service.ReferenceCatalog;
 
 @ExtendWith(MockitoExtension.class)
 public class PetServiceTest {
@@ -67,6 +74,9 @@ public class PetServiceTest {
     @Mock
     private PetMapper petMapper;
 
+    @Mock
+    private ReferenceCatalog referenceCatalog;
+
     @InjectMocks
     private PetServiceImpl petServiceImpl;
 
@@ -75,9 +85,12 @@ public class PetServiceTest {
     private PetInDTO petInDTO;
     private Pet pet;
     private PetOutDTO petOutDTO;
+    private PetProjection petProjection;
     private User user;
     private Specie specie;
     private Breed breed;
+    private ReferenceCatalog.SpecieRef specieRef;
+    private ReferenceCatalog.BreedRef breedRef;
 
     @BeforeEach
     public void setUp() {
@@ -97,6 +110,9 @@ public class PetServiceTest {
         breed.setSpecie(specie);
         breed.setExternalApiId("50");
 
+        specieRef = new ReferenceCatalog.SpecieRef(SPECIE_ID, SPECIE_NAME);
+        breedRef = new ReferenceCatalog.BreedRef(BREED_ID, BREED_NAME, "50", specieRef);
+
         petInDTO = new PetInDTO(PET_NAME, BIRTH_DATE, SPECIE_ID, BREED_ID, WEIGHT, DIET_INFO, EMAIL);
 
         pet = new Pet();
@@ -109,14 +125,17 @@ public class PetServiceTest {
         pet.setDietInfo(DIET_INFO);
         pet.setUser(user);
 
-        petOutDTO = new PetOutDTO(PET_ID, PET_NAME, BIRTH_DATE, WEIGHT, DIET_INFO, null, null, null);
+        petOutDTO = new PetOutDTO(PET_ID, PET_NAME, BIRTH_DATE, WEIGHT, DIET_INFO, null, null, null, 0L);
+
+        petProjection = new PetProjection(PET_ID, PET_NAME, BIRTH_DATE, WEIGHT, DIET_INFO, 1L, "Perro", 108L,
+                "Border Collie", "50", 1L, "Perro", null, 0L);
     }
 
     @Test
     public void testGetPetsByUserEmail_whenPetsFound_returnPageOfPets() {
         // Arrange
-        when(petRepositoryAdapter.findPetsByUserEmail(EMAIL)).thenReturn(List.of(pet));
-        when(petMapper.toOutDTO(pet)).thenReturn(petOutDTO);
+        when(petRepositoryAdapter.findPetsByUserEmail(EMAIL)).thenReturn(List.of(petProjection));
+        when(petMapper.toOutDTO(petProjection)).thenReturn(petOutDTO);
 
         // Act
         List<PetOutDTO> pets = petServiceImpl.getPetsByUserEmail(EMAIL);
@@ -128,7 +147,7 @@ public class PetServiceTest {
 
         // Verify
         verify(petRepositoryAdapter, times(1)).findPetsByUserEmail(EMAIL);
-        verify(petMapper, times(1)).toOutDTO(pet);
+        verify(petMapper, times(1)).toOutDTO(petProjection);
     }
 
     @Test
@@ -150,8 +169,8 @@ public class PetServiceTest {
     @Test
     public void testGetPetsByName_whenPetsFound_returnListOfPets() {
         // Arrange
-        when(petRepositoryAdapter.findByName(PET_NAME)).thenReturn(List.of(pet));
-        when(petMapper.toOutDTO(pet)).thenReturn(petOutDTO);
+        when(petRepositoryAdapter.findByName(PET_NAME)).thenReturn(List.of(petProjection));
+        when(petMapper.toOutDTO(petProjection)).thenReturn(petOutDTO);
 
         // Act
         List<PetOutDTO> pets = petServiceImpl.getByName(PET_NAME);
@@ -163,7 +182,7 @@ public class PetServiceTest {
 
         // Verify
         verify(petRepositoryAdapter, times(1)).findByName(PET_NAME);
-        verify(petMapper, times(1)).toOutDTO(pet);
+        verify(petMapper, times(1)).toOutDTO(petProjection);
     }
 
     @Test
@@ -185,8 +204,8 @@ public class PetServiceTest {
     @Test
     public void testGetByBirthDate_whenPetsFound_returnListOfPets() {
         // Arrange
-        when(petRepositoryAdapter.findByBirthDate(BIRTH_DATE)).thenReturn(List.of(pet));
-        when(petMapper.toOutDTO(pet)).thenReturn(petOutDTO);
+        when(petRepositoryAdapter.findByBirthDate(BIRTH_DATE)).thenReturn(List.of(petProjection));
+        when(petMapper.toOutDTO(petProjection)).thenReturn(petOutDTO);
 
         // Act
         List<PetOutDTO> pets = petServiceImpl.getByBirthDate(BIRTH_DATE);
@@ -198,7 +217,7 @@ public class PetServiceTest {
 
         // Verify
         verify(petRepositoryAdapter, times(1)).findByBirthDate(BIRTH_DATE);
-        verify(petMapper, times(1)).toOutDTO(pet);
+        verify(petMapper, times(1)).toOutDTO(petProjection);
     }
 
     @Test
@@ -220,8 +239,8 @@ public class PetServiceTest {
     @Test
     public void testGetByBreedName_whenPetsFound_returnListOfPets() {
         // Arrange
-        when(petRepositoryAdapter.findByBreedName(BREED_NAME)).thenReturn(List.of(pet));
-        when(petMapper.toOutDTO(pet)).thenReturn(petOutDTO);
+        when(petRepositoryAdapter.findByBreedName(BREED_NAME)).thenReturn(List.of(petProjection));
+        when(petMapper.toOutDTO(petProjection)).thenReturn(petOutDTO);
 
         // Act
         List<PetOutDTO> pets = petServiceImpl.getByBreedName(BREED_NAME);
@@ -232,7 +251,7 @@ public class PetServiceTest {
 
         // Verify
         verify(petRepositoryAdapter, times(1)).findByBreedName(BREED_NAME);
-        verify(petMapper, times(1)).toOutDTO(pet);
+        verify(petMapper, times(1)).toOutDTO(petProjection);
     }
 
     @Test
@@ -254,8 +273,8 @@ public class PetServiceTest {
     @Test
     public void testGetBySpecieName_whenPetsFound_returnListOfPets() {
         // Arrange
-        when(petRepositoryAdapter.findBySpecieName(SPECIE_NAME)).thenReturn(List.of(pet));
-        when(petMapper.toOutDTO(pet)).thenReturn(petOutDTO);
+        when(petRepositoryAdapter.findBySpecieName(SPECIE_NAME)).thenReturn(List.of(petProjection));
+        when(petMapper.toOutDTO(petProjection)).thenReturn(petOutDTO);
 
         // Act
         List<PetOutDTO> pets = petServiceImpl.getBySpecieName(SPECIE_NAME);
@@ -266,7 +285,7 @@ public class PetServiceTest {
 
         // Verify
         verify(petRepositoryAdapter, times(1)).findBySpecieName(SPECIE_NAME);
-        verify(petMapper, times(1)).toOutDTO(pet);
+        verify(petMapper, times(1)).toOutDTO(petProjection);
     }
 
     @Test
@@ -287,12 +306,12 @@ public class PetServiceTest {
 
     @Test
     public void testGetAll_whenPetsFound_returnPageOfPets() {
-        List<Pet> petList = List.of(pet);
-        Page<Pet> petPage = new PageImpl<>(petList, testPageable, petList.size());
+        List<PetProjection> petList = List.of(petProjection);
+        Page<PetProjection> petPage = new PageImpl<>(petList, testPageable, petList.size());
 
         // Arrange
         when(petRepositoryAdapter.findAll(testPageable)).thenReturn(petPage);
-        when(petMapper.toOutDTO(pet)).thenReturn(petOutDTO);
+        when(petMapper.toOutDTO(petProjection)).thenReturn(petOutDTO);
 
         // Act
         Page<PetOutDTO> pets = petServiceImpl.getAll(testPageable);
@@ -303,7 +322,7 @@ public class PetServiceTest {
 
         // Verify
         verify(petRepositoryAdapter, times(1)).findAll(testPageable);
-        verify(petMapper, times(1)).toOutDTO(pet);
+        verify(petMapper, times(1)).toOutDTO(petProjection);
     }
 
     @Test
@@ -322,15 +341,38 @@ public class PetServiceTest {
         verify(petRepositoryAdapter, times(1)).findAll(testPageable);
     }
 
+    @Test
+    public void testScrollPets_whenSizeExceedsMaximum_limitPageSize() {
+        CursorPage<PetProjection> petPage = new CursorPage<>(List.of(petProjection), CursorPage.MAX_SIZE, true, "cursor");
+
+        // Arrange
+        when(petRepositoryAdapter.scrollByFilters(null, null, null, null, null, null, CursorPage.MAX_SIZE))
+                .thenReturn(petPage);
+        when(petMapper.toOutDTO(petProjection)).thenReturn(petOutDTO);
+
+        // Act
+        CursorPage<PetOutDTO> pets = petServiceImpl.scrollPets(null, null, null, null, null, null, 10_000);
+
+        // Assert
+        assertEquals(List.of(petOutDTO), pets.content());
+        assertEquals("cursor", pets.nextCursor());
+
+        // Verify
+        verify(petRepositoryAdapter, times(1)).scrollByFilters(null, null, null, null, null, null, CursorPage.MAX_SIZE);
+    }
+
     @Test
     public void testSave_whenValidData_returnSavedPet() {
         // Arrange
-        when(userRepositoryAdapter.findByEmail(EMAIL)).thenReturn(Optional.of(user));
-        when(specieRepositoryAdapter.findById(SPECIE_ID)).thenReturn(Optional.of(specie));
-        when(breedRepositoryAdapter.findById(BREED_ID)).thenReturn(Optional.of(breed));
+        when(referenceCatalog.getSpecie(SPECIE_ID)).thenReturn(specieRef);
+        when(referenceCatalog.getBreed(BREED_ID, SPECIE_ID)).thenReturn(breedRef);
+        when(userRepositoryAdapter.findIdByEmail(EMAIL)).thenReturn(Optional.of(1L));
+        when(userRepositoryAdapter.getReference(1L)).thenReturn(user);
+        when(specieRepositoryAdapter.getReference(SPECIE_ID)).thenReturn(specie);
+        when(breedRepositoryAdapter.getReference(BREED_ID)).thenReturn(breed);
         when(petMapper.toEntity(petInDTO)).thenReturn(pet);
         when(petRepositoryAdapter.save(any(Pet.class))).thenReturn(pet);
-        when(petMapper.toOutDTO(pet)).thenReturn(petOutDTO);
+        when(petMapper.toOutDTO(any(PetProjection.class))).thenReturn(petOutDTO);
 
         // Act
         PetOutDTO result = petServiceImpl.save(petInDTO);
@@ -340,57 +382,68 @@ public class PetServiceTest {
         assertEquals(petOutDTO.getName(), result.getName());
 
         // Verify
-        verify(userRepositoryAdapter, times(1)).findByEmail(EMAIL);
-        verify(specieRepositoryAdapter, times(1)).findById(SPECIE_ID);
-        verify(breedRepositoryAdapter, times(1)).findById(BREED_ID);
+        verify(userRepositoryAdapter, times(1)).findIdByEmail(EMAIL);
+        verify(userRepositoryAdapter, times(0)).findByEmail(any());
+        verify(specieRepositoryAdapter, times(0)).findById(any());
+        verify(breedRepositoryAdapter, times(0)).findById(any());
         verify(petRepositoryAdapter, times(1)).save(any(Pet.class));
     }
 
     @Test
     public void testSave_whenUserNotFound_throwsEmailNotFoundException() {
         // Arrange
-        when(userRepositoryAdapter.findByEmail(EMAIL)).thenReturn(Optional.empty());
+        when(referenceCatalog.getSpecie(SPECIE_ID)).thenReturn(specieRef);
+        when(referenceCatalog.getBreed(BREED_ID, SPECIE_ID)).thenReturn(breedRef);
+        when(userRepositoryAdapter.findIdByEmail(EMAIL)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(EmailNotFoundException.class, () -> petServiceImpl.save(petInDTO));
 
         // Verify
-        verify(userRepositoryAdapter, times(1)).findByEmail(EMAIL);
-        verify(specieRepositoryAdapter, times(0)).findByName(any());
-        verify(breedRepositoryAdapter, times(0)).findByName(any());
+        verify(userRepositoryAdapter, times(1)).findIdByEmail(EMAIL);
         verify(petRepositoryAdapter, times(0)).save(any());
     }
 
     @Test
     public void testSave_whenSpecieNotFound_throwsIdNotFoundException() {
         // Arrange
-        when(userRepositoryAdapter.findByEmail(EMAIL)).thenReturn(Optional.of(user));
-        when(specieRepositoryAdapter.findById(SPECIE_ID)).thenReturn(Optional.empty());
+        when(referenceCatalog.getSpecie(SPECIE_ID)).thenThrow(new IdNotFoundException());
 
         // Act & Assert
         assertThrows(IdNotFoundException.class, () -> petServiceImpl.save(petInDTO));
 
         // Verify
-        verify(userRepositoryAdapter, times(1)).findByEmail(EMAIL);
-        verify(specieRepositoryAdapter, times(1)).findById(SPECIE_ID);
-        verify(breedRepositoryAdapter, times(0)).findByName(any());
+        verify(referenceCatalog, times(0)).getBreed(any(), any());
+        verify(userRepositoryAdapter, times(0)).findIdByEmail(any());
         verify(petRepositoryAdapter, times(0)).save(any());
     }
 
     @Test
     public void testSave_whenBreedNotFound_throwsIdNotFoundException() {
         // Arrange
-        when(userRepositoryAdapter.findByEmail(EMAIL)).thenReturn(Optional.of(user));
-        when(specieRepositoryAdapter.findById(SPECIE_ID)).thenReturn(Optional.of(specie));
-        when(breedRepositoryAdapter.findById(BREED_ID)).thenReturn(Optional.empty());
+        when(referenceCatalog.getSpecie(SPECIE_ID)).thenReturn(specieRef);
+        when(referenceCatalog.getBreed(BREED_ID, SPECIE_ID)).thenThrow(new IdNotFoundException());
 
         // Act & Assert
         assertThrows(IdNotFoundException.class, () -> petServiceImpl.save(petInDTO));
 
         // Verify
-        verify(userRepositoryAdapter, times(1)).findByEmail(EMAIL);
-        verify(specieRepositoryAdapter, times(1)).findById(SPECIE_ID);
-        verify(breedRepositoryAdapter, times(1)).findById(BREED_ID);
+        verify(referenceCatalog, times(1)).getBreed(BREED_ID, SPECIE_ID);
+        verify(userRepositoryAdapter, times(0)).findIdByEmail(any());
+        verify(petRepositoryAdapter, times(0)).save(any());
+    }
+
+    @Test
+    public void testSave_whenBreedBelongsToOtherSpecie_throwsBreedSpecieMismatchException() {
+        // Arrange
+        when(referenceCatalog.getSpecie(SPECIE_ID)).thenReturn(specieRef);
+        when(referenceCatalog.getBreed(BREED_ID, SPECIE_ID)).thenThrow(new BreedSpecieMismatchException());
+
+        // Act & Assert
+        assertThrows(BreedSpecieMismatchException.class, () -> petServiceImpl.save(petInDTO));
+
+        // Verify
+        verify(userRepositoryAdapter, times(0)).findIdByEmail(any());
         verify(petRepositoryAdapter, times(0)).save(any());
     }
 
@@ -419,4 +472,74 @@ public class PetServiceTest {
         verify(petRepositoryAdapter, times(1)).findById(PET_ID);
         verify(petRepositoryAdapter, times(0)).delete(any());
     }
+
+    @Test
+    public void testUpdatePet_whenOwnerAndVersionMatch_updateWithSingleStatement() {
+        // Arrange
+        PetUpdateDTO petUpdateDTO = new PetUpdateDTO(null, 25.0, null, 0L);
+        when(petRepositoryAdapter.updateIfOwner(PET_ID, EMAIL, 0L, null, 25.0, null)).thenReturn(true);
+        when(petRepositoryAdapter.findProjectionById(PET_ID)).thenReturn(Optional.of(petProjection));
+        when(petMapper.toOutDTO(petProjection)).thenReturn(petOutDTO);
+
+        // Act
+        PetOutDTO result = petServiceImpl.updatePet(PET_ID, petUpdateDTO, EMAIL);
+
+        // Assert
+        assertEquals(petOutDTO, result);
+
+        // Verify
+        verify(petRepositoryAdapter, times(0)).findById(any());
+        verify(petRepositoryAdapter, times(0)).findOwnerEmailById(any());
+        verify(petRepositoryAdapter, times(0)).save(any(Pet.class));
+    }
+
+    @Test
+    public void testUpdatePet_whenNotOwner_throwsSecurityException() {
+        // Arrange
+        PetUpdateDTO petUpdateDTO = new PetUpdateDTO("Luna", null, null, 0L);
+        when(petRepositoryAdapter.updateIfOwner(PET_ID, "otro@gmail.com", 0L, "Luna", null, null))
+                .thenReturn(false);
+        when(petRepositoryAdapter.findOwnerEmailById(PET_ID)).thenReturn(Optional.of(EMAIL));
+
+        // Act & Assert
+        assertThrows(SecurityException.class,
+                () -> petServiceImpl.updatePet(PET_ID, petUpdateDTO, "otro@gmail.com"));
+    }
+
+    @Test
+    public void testUpdatePet_whenVersionIsStale_throwsVersionConflictException() {
+        // Arrange
+        PetUpdateDTO petUpdateDTO = new PetUpdateDTO("Luna", null, null, 3L);
+        when(petRepositoryAdapter.updateIfOwner(PET_ID, EMAIL, 3L, "Luna", null, null)).thenReturn(false);
+        when(petRepositoryAdapter.findOwnerEmailById(PET_ID)).thenReturn(Optional.of(EMAIL));
+
+        // Act & Assert
+        assertThrows(VersionConflictException.class, () -> petServiceImpl.updatePet(PET_ID, petUpdateDTO, EMAIL));
+
+        // Verify
+        verify(petRepositoryAdapter, times(0)).findProjectionById(any());
+    }
+
+    @Test
+    public void testUpdatePet_whenVersionIsMissing_throwsVersionRequiredException() {
+        // Arrange
+        PetUpdateDTO petUpdateDTO = new PetUpdateDTO("Luna", null, null, null);
+
+        // Act & Assert
+        assertThrows(VersionRequiredException.class, () -> petServiceImpl.updatePet(PET_ID, petUpdateDTO, EMAIL));
+
+        // Verify
+        verify(petRepositoryAdapter, times(0)).updateIfOwner(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void testUpdatePet_whenPetNotFound_throwsIdNotFoundException() {
+        // Arrange
+        PetUpdateDTO petUpdateDTO = new PetUpdateDTO("Luna", null, null, 0L);
+        when(petRepositoryAdapter.updateIfOwner(PET_ID, EMAIL, 0L, "Luna", null, null)).thenReturn(false);
+        when(petRepositoryAdapter.findOwnerEmailById(PET_ID)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(IdNotFoundException.class, () -> petServiceImpl.updatePet(PET_ID, petUpdateDTO, EMAIL));
+    }
 }
@@ -0,0 +1,229 @@
+package com.alonso.vipera.training.springboot_apirest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.alonso.vipera.training.springboot_apirest.exception.BreedSpecieMismatchException;
+import com.alonso.vipera.training.springboot_apirest.exception.IdNotFoundException;
+import com.alonso.vipera.training.springboot_apirest.model.pet.Breed;
+import com.alonso.vipera.training.springboot_apirest.model.pet.Specie;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.BreedRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.PetRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.SpecieRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.service.CatalogChangedEvent;
+import com.alonso.vipera.training.springboot_apirest.service.ReferenceCatalog;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceCatalogTest {
+
+    private static final Long DOG_ID = 1L;
+    private static final Long CAT_ID = 2L;
+    private static final Long LABRADOR_ID = 10L;
+    private static final Long SIAMESE_ID = 20L;
+
+    @Mock
+    private SpecieRepositoryAdapter specieRepositoryAdapter;
+
+    @Mock
+    private BreedRepositoryAdapter breedRepositoryAdapter;
+
+    @Mock
+    private PetRepositoryAdapter petRepositoryAdapter;
+
+    private Specie dog;
+    private Specie cat;
+    private Breed labrador;
+
+    @BeforeEach
+    void setUp() {
+        dog = new Specie(DOG_ID, "Perro", null);
+        cat = new Specie(CAT_ID, "Gato", null);
+        labrador = new Breed(LABRADOR_ID, "Labrador", dog, "1");
+    }
+
+    @Test
+    void testGetBreed_whenBreedMatchesSpecie_returnBreedWithoutFurtherQueries() {
+        // Arrange
+        ReferenceCatalog referenceCatalog = catalog(Duration.ofSeconds(30));
+        when(specieRepositoryAdapter.findAll()).thenReturn(List.of(dog, cat));
+        when(breedRepositoryAdapter.findAll()).thenReturn(List.of(labrador));
+
+        // Act
+        ReferenceCatalog.SpecieRef specie = referenceCatalog.getSpecie(DOG_ID);
+        ReferenceCatalog.BreedRef breed = referenceCatalog.getBreed(LABRADOR_ID, DOG_ID);
+
+        // Assert
+        assertEquals("Perro", specie.name());
+        assertEquals("Labrador", breed.name());
+        assertEquals(specie, breed.specie());
+
+        // Verify
+        verify(specieRepositoryAdapter, times(1)).findAll();
+        verify(breedRepositoryAdapter, times(1)).findAll();
+    }
+
+    @Test
+    void testGetBreed_whenBreedBelongsToOtherSpecie_throwsBreedSpecieMismatchException() {
+        // Arrange
+        ReferenceCatalog referenceCatalog = catalog(Duration.ofSeconds(30));
+        when(specieRepositoryAdapter.findAll()).thenReturn(List.of(dog, cat));
+        when(breedRepositoryAdapter.findAll()).thenReturn(List.of(labrador));
+
+        // Act & Assert
+        assertThrows(BreedSpecieMismatchException.class, () -> referenceCatalog.getBreed(LABRADOR_ID, CAT_ID));
+    }
+
+    @Test
+    void testGetBreed_whenMissingWithinInterval_throwsIdNotFoundExceptionWithoutReloading() {
+        // Arrange
+        ReferenceCatalog referenceCatalog = catalog(Duration.ofHours(1));
+        when(specieRepositoryAdapter.findAll()).thenReturn(List.of(dog, cat));
+        when(breedRepositoryAdapter.findAll()).thenReturn(List.of(labrador));
+
+        // Act & Assert
+        assertThrows(IdNotFoundException.class, () -> referenceCatalog.getBreed(SIAMESE_ID, CAT_ID));
+        assertThrows(IdNotFoundException.class, () -> referenceCatalog.getBreed(SIAMESE_ID, CAT_ID));
+
+        // Verify
+        verify(breedRepositoryAdapter, times(1)).findAll();
+    }
+
+    @Test
+    void testGetBreed_whenMissingAfterInterval_reloadAndReturnNewBreed() {
+        // Arrange
+        ReferenceCatalog referenceCatalog = catalog(Duration.ZERO);
+        Breed siamese = new Breed(SIAMESE_ID, "Siamés", cat, "3");
+        when(specieRepositoryAdapter.findAll()).thenReturn(List.of(dog, cat));
+        when(breedRepositoryAdapter.findAll()).thenReturn(List.of(labrador), List.of(labrador, siamese));
+        referenceCatalog.getSpecie(CAT_ID);
+
+        // Act
+        ReferenceCatalog.BreedRef breed = referenceCatalog.getBreed(SIAMESE_ID, CAT_ID);
+
+        // Assert
+        assertEquals("Siamés", breed.name());
+
+        // Verify
+        verify(breedRepositoryAdapter, times(2)).findAll();
+        verify(petRepositoryAdapter, never()).countPetsByBreed();
+    }
+
+    @Test
+    void testFindByName_shouldIgnoreCaseAccentsAndSurroundingSpaces() {
+        // Arrange
+        ReferenceCatalog referenceCatalog = catalog(Duration.ofSeconds(30));
+        Breed siamese = new Breed(SIAMESE_ID, "Siamés", cat, "3");
+        when(specieRepositoryAdapter.findAll()).thenReturn(List.of(dog, cat));
+        when(breedRepositoryAdapter.findAll()).thenReturn(List.of(siamese, labrador));
+
+        // Act
+        ReferenceCatalog.BreedRef breed = referenceCatalog.findBreedByName("  SIAMES ").orElseThrow();
+        ReferenceCatalog.SpecieRef specie = referenceCatalog.findSpecieByName("gato").orElseThrow();
+
+        // Assert
+        assertEquals(SIAMESE_ID, breed.id());
+        assertEquals(CAT_ID, specie.id());
+        assertTrue(referenceCatalog.findBreedByName("Beagle").isEmpty());
+        assertEquals(List.of(LABRADOR_ID, SIAMESE_ID),
+                referenceCatalog.getBreeds().stream().map(ReferenceCatalog.BreedRef::id).toList());
+        assertEquals(List.of(breed), referenceCatalog.getBreedsBySpecie(CAT_ID));
+
+        // Verify
+        verify(breedRepositoryAdapter, times(1)).findAll();
+    }
+
+    @Test
+    void testOnCatalogChanged_shouldSwapSnapshot() {
+        // Arrange
+        ReferenceCatalog referenceCatalog = catalog(Duration.ofHours(1));
+        Breed siamese = new Breed(SIAMESE_ID, "Siamés", cat, "3");
+        when(specieRepositoryAdapter.findAll()).thenReturn(List.of(dog, cat));
+        when(breedRepositoryAdapter.findAll()).thenReturn(List.of(labrador), List.of(labrador, siamese));
+        List<ReferenceCatalog.BreedRef> before = referenceCatalog.getBreedsBySpecie(CAT_ID);
+
+        // Act
+        referenceCatalog.onCatalogChanged(new CatalogChangedEvent("sync razas de gato"));
+
+        // Assert
+        assertEquals(List.of(), before);
+        assertEquals("Siamés", referenceCatalog.getBreedsBySpecie(CAT_ID).get(0).name());
+
+        // Verify
+        verify(breedRepositoryAdapter, times(2)).findAll();
+    }
+
+    @Test
+    void testSuggestBreeds_shouldMatchWordPrefixesIgnoringAccentsAndRankByPetCount() {
+        // Arrange
+        ReferenceCatalog referenceCatalog = catalog(Duration.ofSeconds(30));
+        Breed golden = new Breed(11L, "Golden Retriever", dog, "2");
+        Breed flatCoated = new Breed(12L, "Flat-Coated Retriever", dog, "3");
+        Breed siamese = new Breed(SIAMESE_ID, "Siamés", cat, "4");
+        Breed somali = new Breed(21L, "Somalí", cat, "5");
+        when(specieRepositoryAdapter.findAll()).thenReturn(List.of(dog, cat));
+        when(breedRepositoryAdapter.findAll()).thenReturn(List.of(labrador, golden, flatCoated, siamese, somali));
+        when(petRepositoryAdapter.countPetsByBreed()).thenReturn(Map.of(12L, 5L, SIAMESE_ID, 1L));
+        referenceCatalog.refreshPetCounts();
+
+        // Act
+        List<ReferenceCatalog.BreedRef> retrievers = referenceCatalog.suggestBreeds("RETR", null, 10);
+        List<ReferenceCatalog.BreedRef> cats = referenceCatalog.suggestBreeds("s", CAT_ID, 10);
+        List<ReferenceCatalog.BreedRef> siameseOnly = referenceCatalog.suggestBreeds("siam", DOG_ID, 10);
+        List<ReferenceCatalog.BreedRef> limited = referenceCatalog.suggestBreeds("so", null, 1);
+
+        // Assert
+        assertEquals(List.of(12L, 11L), retrievers.stream().map(ReferenceCatalog.BreedRef::id).toList());
+        assertEquals(List.of(SIAMESE_ID, 21L), cats.stream().map(ReferenceCatalog.BreedRef::id).toList());
+        assertEquals(List.of(), siameseOnly);
+        assertEquals("Somalí", limited.get(0).name());
+        assertEquals(List.of(), referenceCatalog.suggestBreeds("  ", null, 10));
+
+        // Verify
+        verify(petRepositoryAdapter, times(1)).countPetsByBreed();
+    }
+
+    @Test
+    void testSuggestSpecies_shouldMatchWordPrefixesIgnoringAccentsAndRankByPetCount() {
+        // Arrange
+        ReferenceCatalog referenceCatalog = catalog(Duration.ofSeconds(30));
+        Specie hamster = new Specie(3L, "Hámster", null);
+        Specie hedgehog = new Specie(4L, "Erizo Pigmeo", null);
+        Specie guineaPig = new Specie(5L, "Cobaya", null);
+        Breed dwarfHamster = new Breed(30L, "Hámster Enano", hamster, "6");
+        when(specieRepositoryAdapter.findAll()).thenReturn(List.of(dog, cat, hamster, hedgehog, guineaPig));
+        when(breedRepositoryAdapter.findAll()).thenReturn(List.of(labrador, dwarfHamster));
+        when(petRepositoryAdapter.countPetsByBreed()).thenReturn(Map.of(LABRADOR_ID, 3L, 30L, 2L));
+        referenceCatalog.refreshPetCounts();
+
+        // Act
+        List<ReferenceCatalog.SpecieRef> hamsters = referenceCatalog.suggestSpecies("HAMS", 10);
+        List<ReferenceCatalog.SpecieRef> pigs = referenceCatalog.suggestSpecies("pig", 10);
+        List<ReferenceCatalog.SpecieRef> ranked = referenceCatalog.suggestSpecies("p", 10);
+
+        // Assert
+        assertEquals(List.of(3L), hamsters.stream().map(ReferenceCatalog.SpecieRef::id).toList());
+        assertEquals(List.of(4L), pigs.stream().map(ReferenceCatalog.SpecieRef::id).toList());
+        assertEquals(List.of(DOG_ID, 4L), ranked.stream().map(ReferenceCatalog.SpecieRef::id).toList());
+        assertEquals(List.of(), referenceCatalog.suggestSpecies(" ", 10));
+    }
+
+    private ReferenceCatalog catalog(Duration reloadOnMissInterval) {
+        return new ReferenceCatalog(specieRepositoryAdapter, breedRepositoryAdapter, petRepositoryAdapter,
+                reloadOnMissInterval);
+    }
+}
@@ -0,0 +1,121 @@
+package com.alonso.vipera.training.springboot_apirest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.alonso.vipera.training.springboot_apirest.exception.InvalidRefreshTokenException;
+import com.alonso.vipera.training.springboot_apirest.model.user.RefreshToken;
+import com.alonso.vipera.training.springboot_apirest.model.user.User;
+import com.alonso.vipera.training.springboot_apirest.persistence.repository.RefreshTokenRepository;
+import com.alonso.vipera.training.springboot_apirest.service.RefreshTokenService;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final Long TOKEN_ID = 10L;
+    private static final String FAMILY_ID = "family";
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenService refreshTokenService;
+    private User userEntity;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, Duration.ofDays(30));
+
+        userEntity = new User();
+        userEntity.setId(USER_ID);
+        userEntity.setEnabled(true);
+    }
+
+    @Test
+    void testIssue_shouldStoreOnlyTheHash() {
+        // Arrange
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+
+        // Act
+        String rawToken = refreshTokenService.issue(userEntity);
+
+        // Assert
+        verify(refreshTokenRepository).save(captor.capture());
+        RefreshToken stored = captor.getValue();
+        assertNotNull(stored.getFamilyId());
+        assertEquals(64, stored.getTokenHash().length());
+        assertNotEquals(rawToken, stored.getTokenHash());
+    }
+
+    @Test
+    void testRotate_whenTokenValid_shouldIssueNextTokenOfSameFamily() {
+        // Arrange
+        RefreshToken stored = storedToken(null);
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.markUsed(eq(TOKEN_ID), any())).thenReturn(true);
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+
+        // Act
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("raw-token");
+
+        // Assert
+        assertEquals(userEntity, rotation.user());
+        assertNotNull(rotation.refreshToken());
+        verify(refreshTokenRepository).save(captor.capture());
+        assertEquals(FAMILY_ID, captor.getValue().getFamilyId());
+    }
+
+    @Test
+    void testRotate_whenTokenAlreadyUsed_shouldRevokeFamily() {
+        // Arrange
+        RefreshToken stored = storedToken(LocalDateTime.now().minusMinutes(1));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(stored));
+
+        // Act & Assert
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("raw-token"));
+
+        // Verify
+        verify(refreshTokenRepository, times(1)).revokeFamily(eq(FAMILY_ID), any());
+        verify(refreshTokenRepository, times(0)).save(any());
+    }
+
+    @Test
+    void testRotate_whenTokenNotFound_shouldThrowInvalidRefreshTokenException() {
+        // Arrange
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("raw-token"));
+    }
+
+    private RefreshToken storedToken(LocalDateTime usedAt) {
+        RefreshToken stored = RefreshToken.builder()
+                .tokenHash("hash")
+                .familyId(FAMILY_ID)
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .usedAt(usedAt)
+                .user(userEntity)
+                .build();
+        stored.setId(TOKEN_ID);
+        return stored;
+    }
+}
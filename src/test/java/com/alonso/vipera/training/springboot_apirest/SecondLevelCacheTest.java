@@ -0,0 +1,212 @@
+package com.alonso.vipera.training.springboot_apirest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Date;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.alonso.vipera.training.springboot_apirest.mapper.BreedMapper;
+import com.alonso.vipera.training.springboot_apirest.mapper.PetMapper;
+import com.alonso.vipera.training.springboot_apirest.mapper.SpecieMapper;
+import com.alonso.vipera.training.springboot_apirest.model.pet.Breed;
+import com.alonso.vipera.training.springboot_apirest.model.pet.Pet;
+import com.alonso.vipera.training.springboot_apirest.model.pet.Specie;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.PetOutDTO;
+import com.alonso.vipera.training.springboot_apirest.model.user.Role;
+import com.alonso.vipera.training.springboot_apirest.model.user.User;
+import com.alonso.vipera.training.springboot_apirest.model.user.UserRole;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.BreedRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.PetRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.SpecieRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.UserRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.persistence.jpa.UserRoleJpaRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Comprueba la caché de segundo nivel de Hibernate para especies, razas y
+ * roles: tras la primera lectura, volver a leer una mascota o un usuario no
+ * consulta las tablas species, breeds ni roles, y las búsquedas de roles y
+ * especies por nombre salen de la caché de consultas.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ BreedRepositoryAdapter.class, SpecieRepositoryAdapter.class, PetRepositoryAdapter.class,
+        UserRepositoryAdapter.class, PetMapper.class, BreedMapper.class, SpecieMapper.class })
+class SecondLevelCacheTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRoleJpaRepository userRoleJpaRepository;
+
+    @Autowired
+    private BreedRepositoryAdapter breedRepositoryAdapter;
+
+    @Autowired
+    private SpecieRepositoryAdapter specieRepositoryAdapter;
+
+    @Autowired
+    private PetRepositoryAdapter petRepositoryAdapter;
+
+    @Autowired
+    private UserRepositoryAdapter userRepositoryAdapter;
+
+    @Autowired
+    private PetMapper petMapper;
+
+    private Statistics statistics;
+    private Long specieId;
+    private Long petId;
+    private Long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        transactionTemplate.executeWithoutResult(status -> {
+            Specie dog = entityManager.persist(new Specie(null, "Perro", null));
+            Breed labrador = entityManager.persist(new Breed(null, "Labrador", dog, "1"));
+            UserRole userRole = entityManager.persist(new UserRole(null, Role.USER));
+            User owner = entityManager.persist(User.builder()
+                    .name("Juan")
+                    .surnames("Perez")
+                    .email("owner@gmail.com")
+                    .userRole(userRole)
+                    .build());
+            specieId = dog.getId();
+            ownerId = owner.getId();
+            petId = entityManager.persist(Pet.builder()
+                    .name("Toby")
+                    .birthDate(Date.valueOf("2020-05-15"))
+                    .weight(10.0)
+                    .user(owner)
+                    .specie(dog)
+                    .breed(labrador)
+                    .build()).getId();
+        });
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String table : new String[] { "pets", "users", "roles", "breeds", "species" }) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void testRepeatedPetReads_shouldNotQuerySpeciesOrBreeds() {
+        // Arrange
+        readPet();
+        statistics.clear();
+
+        // Act
+        PetOutDTO pet = readPet();
+
+        // Assert
+        assertEquals("Toby", pet.getName());
+        assertEquals("Perro", pet.getSpecie().getName());
+        assertEquals("Labrador", pet.getBreed().getName());
+        assertEquals(1, statistics.getPrepareStatementCount()); // solo pets
+        assertEquals(0, statistics.getSecondLevelCacheMissCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("species").getHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("breeds").getHitCount());
+    }
+
+    @Test
+    void testRepeatedUserReads_shouldNotQueryRoles() {
+        // Arrange
+        readOwnerRole();
+        statistics.clear();
+
+        // Act
+        Role role = readOwnerRole();
+
+        // Assert
+        assertEquals(Role.USER, role);
+        assertEquals(1, statistics.getPrepareStatementCount()); // solo users
+        assertEquals(0, statistics.getSecondLevelCacheMissCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("roles").getHitCount());
+    }
+
+    @Test
+    void testFindByRole_whenRepeated_shouldUseQueryCache() {
+        // Arrange
+        userRoleJpaRepository.findByRole(Role.USER);
+        statistics.clear();
+
+        // Act
+        UserRole userRole = userRoleJpaRepository.findByRole(Role.USER).orElseThrow();
+
+        // Assert
+        assertEquals(Role.USER, userRole.getRole());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void testSaveAllBreeds_shouldBeVisibleAndKeepSpecieQueryCached() {
+        // Arrange
+        specieRepositoryAdapter.findByName("Perro");
+        Specie dog = specieRepositoryAdapter.findById(specieId).orElseThrow();
+
+        // Act
+        transactionTemplate.executeWithoutResult(
+                status -> breedRepositoryAdapter.saveAllBreeds(List.of(new Breed(null, "Beagle", dog, "2"))));
+        statistics.clear();
+        List<Breed> breeds = breedRepositoryAdapter.findAll();
+        specieRepositoryAdapter.findByName("Perro");
+
+        // Assert
+        assertEquals(2, breeds.size());
+        assertEquals(1, statistics.getPrepareStatementCount()); // solo breeds
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    /**
+     * Lee la mascota por el repositorio en una transacción nueva y la mapea a
+     * DTO, lo que recorre su especie, su raza y la especie de la raza.
+     */
+    private PetOutDTO readPet() {
+        return transactionTemplate.execute(
+                status -> petMapper.toOutDTO(petRepositoryAdapter.findById(petId).orElseThrow()));
+    }
+
+    /**
+     * Lee el dueño por el repositorio en una transacción nueva y recorre su rol.
+     */
+    private Role readOwnerRole() {
+        return transactionTemplate.execute(
+                status -> userRepositoryAdapter.findById(ownerId).orElseThrow().getUserRole().getRole());
+    }
+}
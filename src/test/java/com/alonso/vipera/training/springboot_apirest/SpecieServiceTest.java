@@ -9,6 +9,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -18,11 +19,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.alonso.vipera.training.springboot_apirest.exception.SpecieNotFoundException;
 import com.alonso.vipera.training.springboot_apirest.mapper.SpecieMapper;
-import com.alonso.vipera.training.springboot_apirest.model.pet.Specie;
 import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.SpecieOutDTO;
-import com.alonso.vipera.training.springboot_apirest.persistence.adapter.SpecieRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.service.ReferenceCatalog;
+import com.alonso.vipera.training.springboot_apirest.service.ReferenceCatalog.SpecieRef;
 import com.alonso.vipera.training.springboot_apirest.service.SpecieServiceImpl;
+import com.alonso.vipera.training.springboot_apirest.service.SuggestIndex;
 
 @ExtendWith(MockitoExtension.class)
 public class SpecieServiceTest {
@@ -31,7 +34,7 @@ public class SpecieServiceTest {
     private static final Long SPECIE_ID = 1L;
 
     @Mock
-    private SpecieRepositoryAdapter specieRepositoryAdapter;
+    private ReferenceCatalog referenceCatalog;
 
     @Mock
     private SpecieMapper specieMapper;
@@ -39,22 +42,35 @@ public class SpecieServiceTest {
     @InjectMocks
     private SpecieServiceImpl specieServiceImpl;
 
-    private Specie specie;
+    private SpecieRef specie;
     private SpecieOutDTO specieOutDTO;
 
     @BeforeEach
     void setUp() {
-        specie = new Specie();
-        specie.setId(SPECIE_ID);
-        specie.setName(SPECIE_NAME);
-
+        specie = new SpecieRef(SPECIE_ID, SPECIE_NAME);
         specieOutDTO = new SpecieOutDTO(SPECIE_ID, SPECIE_NAME);
     }
 
+    @Test
+    void testGetAll_shouldMapCatalogSpecies() {
+        // Arrange
+        when(referenceCatalog.getSpecies()).thenReturn(List.of(specie));
+        when(specieMapper.toDTO(specie)).thenReturn(specieOutDTO);
+
+        // Act
+        List<SpecieOutDTO> species = specieServiceImpl.getAll();
+
+        // Assert
+        assertEquals(List.of(specieOutDTO), species);
+
+        // Verify
+        verify(referenceCatalog, times(1)).getSpecies();
+    }
+
     @Test
     void testFindByName_whenNameFound_shouldReturnSpecie() {
         // Arrange
-        when(specieRepositoryAdapter.findByName(SPECIE_NAME)).thenReturn(Optional.of(specie));
+        when(referenceCatalog.findSpecieByName(SPECIE_NAME)).thenReturn(Optional.of(specie));
         when(specieMapper.toDTO(specie)).thenReturn(specieOutDTO);
 
         // Act
@@ -66,25 +82,25 @@ public class SpecieServiceTest {
         assertEquals(SPECIE_ID, result.getId());
 
         // Verify
-        verify(specieRepositoryAdapter, times(1)).findByName(SPECIE_NAME);
+        verify(referenceCatalog, times(1)).findSpecieByName(SPECIE_NAME);
     }
 
     @Test
-    void testFindByName_whenNameNotFound_shouldThrowRuntimeException() {
+    void testFindByName_whenNameNotFound_shouldThrowSpecieNotFoundException() {
         // Arrange
-        when(specieRepositoryAdapter.findByName(SPECIE_NAME)).thenReturn(Optional.empty());
+        when(referenceCatalog.findSpecieByName(SPECIE_NAME)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(RuntimeException.class, () -> specieServiceImpl.findByName(SPECIE_NAME));
+        assertThrows(SpecieNotFoundException.class, () -> specieServiceImpl.findByName(SPECIE_NAME));
 
         // Verify
-        verify(specieRepositoryAdapter, times(1)).findByName(SPECIE_NAME);
+        verify(referenceCatalog, times(1)).findSpecieByName(SPECIE_NAME);
     }
 
     @Test
     void testExistsByName_whenNameExists_shouldReturnTrue() {
         // Arrange
-        when(specieRepositoryAdapter.existsByName(SPECIE_NAME)).thenReturn(true);
+        when(referenceCatalog.findSpecieByName(SPECIE_NAME)).thenReturn(Optional.of(specie));
 
         // Act
         boolean exists = specieServiceImpl.existsByName(SPECIE_NAME);
@@ -93,13 +109,13 @@ public class SpecieServiceTest {
         assertTrue(exists);
 
         // Verify
-        verify(specieRepositoryAdapter, times(1)).existsByName(SPECIE_NAME);
+        verify(referenceCatalog, times(1)).findSpecieByName(SPECIE_NAME);
     }
 
     @Test
     void testExistsByName_whenNameDoesNotExist_shouldReturnFalse() {
         // Arrange
-        when(specieRepositoryAdapter.existsByName(SPECIE_NAME)).thenReturn(false);
+        when(referenceCatalog.findSpecieByName(SPECIE_NAME)).thenReturn(Optional.empty());
 
         // Act
         boolean exists = specieServiceImpl.existsByName(SPECIE_NAME);
@@ -108,6 +124,22 @@ public class SpecieServiceTest {
         assertFalse(exists);
 
         // Verify
-        verify(specieRepositoryAdapter, times(1)).existsByName(SPECIE_NAME);
+        verify(referenceCatalog, times(1)).findSpecieByName(SPECIE_NAME);
+    }
+
+    @Test
+    void testSuggest_whenLimitMissing_shouldUseDefaultLimitAndMapSpecies() {
+        // Arrange
+        when(referenceCatalog.suggestSpecies("per", SuggestIndex.DEFAULT_LIMIT)).thenReturn(List.of(specie));
+        when(specieMapper.toDTO(specie)).thenReturn(specieOutDTO);
+
+        // Act
+        List<SpecieOutDTO> species = specieServiceImpl.suggest("per", null);
+
+        // Assert
+        assertEquals(List.of(specieOutDTO), species);
+
+        // Verify
+        verify(referenceCatalog, times(1)).suggestSpecies("per", SuggestIndex.DEFAULT_LIMIT);
     }
 }
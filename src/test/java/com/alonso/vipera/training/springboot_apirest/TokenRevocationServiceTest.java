@@ -0,0 +1,82 @@
+package com.alonso.vipera.training.springboot_apirest;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.alonso.vipera.training.springboot_apirest.model.user.RevokedToken;
+import com.alonso.vipera.training.springboot_apirest.persistence.repository.RevokedTokenRepository;
+import com.alonso.vipera.training.springboot_apirest.service.TokenRevocationService;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    private static final String JTI = "3f2b8c1e-6a4d-4e7f-9b0a-1c2d3e4f5a6b";
+    private static final String OTHER_JTI = "9a8b7c6d-5e4f-4a3b-8c2d-1e0f9a8b7c6d";
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService = new TokenRevocationService(revokedTokenRepository, 100);
+    }
+
+    @Test
+    void testRevoke_shouldPersistAndRejectOnlyRevokedToken() {
+        // Act
+        tokenRevocationService.revoke(JTI, 1L, LocalDateTime.now().plusHours(1));
+
+        // Assert
+        assertTrue(tokenRevocationService.isRevoked(JTI));
+        assertFalse(tokenRevocationService.isRevoked(OTHER_JTI));
+        assertFalse(tokenRevocationService.isRevoked(null));
+
+        // Verify
+        verify(revokedTokenRepository, times(1)).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void testReload_shouldLoadRemoteRevocationsAndDropExpiredOnes() {
+        // Arrange
+        tokenRevocationService.revoke(OTHER_JTI, 1L, LocalDateTime.now().minusSeconds(1));
+        when(revokedTokenRepository.findActive(any())).thenReturn(Map.of(JTI, LocalDateTime.now().plusHours(1)));
+
+        // Act
+        tokenRevocationService.reload();
+
+        // Assert
+        assertTrue(tokenRevocationService.isRevoked(JTI));
+        assertFalse(tokenRevocationService.isRevoked(OTHER_JTI));
+    }
+
+    @Test
+    void testReload_whenTokenRevokedDuringReload_shouldKeepRevocation() {
+        // Arrange
+        when(revokedTokenRepository.findActive(any())).thenAnswer(invocation -> {
+            tokenRevocationService.revoke(OTHER_JTI, 1L, LocalDateTime.now().plusHours(1));
+            return Map.of(JTI, LocalDateTime.now().plusHours(1));
+        });
+
+        // Act
+        tokenRevocationService.reload();
+
+        // Assert
+        assertTrue(tokenRevocationService.isRevoked(JTI));
+        assertTrue(tokenRevocationService.isRevoked(OTHER_JTI));
+    }
+}
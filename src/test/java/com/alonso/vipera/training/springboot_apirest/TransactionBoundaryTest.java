@@ -0,0 +1,381 @@
+package com.alonso.vipera.training.springboot_apirest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Date;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import com.alonso.vipera.training.springboot_apirest.exception.VersionConflictException;
+import com.alonso.vipera.training.springboot_apirest.mapper.BreedMapper;
+import com.alonso.vipera.training.springboot_apirest.mapper.PetMapper;
+import com.alonso.vipera.training.springboot_apirest.mapper.SpecieMapper;
+import com.alonso.vipera.training.springboot_apirest.mapper.UserMapper;
+import com.alonso.vipera.training.springboot_apirest.model.pet.Breed;
+import com.alonso.vipera.training.springboot_apirest.model.pet.Pet;
+import com.alonso.vipera.training.springboot_apirest.model.pet.Specie;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.in.PetInDTO;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.in.PetUpdateDTO;
+import com.alonso.vipera.training.springboot_apirest.model.pet.dto.out.PetOutDTO;
+import com.alonso.vipera.training.springboot_apirest.model.user.ConfirmationToken;
+import com.alonso.vipera.training.springboot_apirest.model.user.Role;
+import com.alonso.vipera.training.springboot_apirest.model.user.User;
+import com.alonso.vipera.training.springboot_apirest.model.user.UserRole;
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.ActivateAccountRequestDTO;
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.OwnerCreationRequestDTO;
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.UserUpdateDTO;
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.OwnerOnboardingOutDTO;
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.UserOutDTO;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.BreedRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.ConfirmationTokenRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.PetRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.SpecieRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.UserRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.service.ActivationEmailSender;
+import com.alonso.vipera.training.springboot_apirest.service.AuthServiceImpl;
+import com.alonso.vipera.training.springboot_apirest.service.CatalogChangedEvent;
+import com.alonso.vipera.training.springboot_apirest.service.EmailService;
+import com.alonso.vipera.training.springboot_apirest.service.JwtService;
+import com.alonso.vipera.training.springboot_apirest.service.OwnerOnboardingServiceImpl;
+import com.alonso.vipera.training.springboot_apirest.service.PasswordHashingService;
+import com.alonso.vipera.training.springboot_apirest.service.PetServiceImpl;
+import com.alonso.vipera.training.springboot_apirest.service.PrincipalCache;
+import com.alonso.vipera.training.springboot_apirest.service.ReferenceCatalog;
+import com.alonso.vipera.training.springboot_apirest.service.RefreshTokenService;
+import com.alonso.vipera.training.springboot_apirest.service.TokenRevocationService;
+import com.alonso.vipera.training.springboot_apirest.service.TokenVersionRegistry;
+import com.alonso.vipera.training.springboot_apirest.service.UserServiceImpl;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Comprueba los límites transaccionales de los servicios llamándolos sin
+ * transacción externa, como hacen los controladores con Open-Session-In-View
+ * desactivado: cualquier carga perezosa fuera de la transacción del servicio
+ * falla con LazyInitializationException. Cuenta además las transacciones de
+ * cada caso de uso con las estadísticas de Hibernate.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ PetServiceImpl.class, UserServiceImpl.class, AuthServiceImpl.class, ReferenceCatalog.class,
+        OwnerOnboardingServiceImpl.class, LocalValidatorFactoryBean.class,
+        PetRepositoryAdapter.class, UserRepositoryAdapter.class, SpecieRepositoryAdapter.class,
+        BreedRepositoryAdapter.class, ConfirmationTokenRepositoryAdapter.class,
+        PetMapper.class, BreedMapper.class, SpecieMapper.class, UserMapper.class })
+class TransactionBoundaryTest {
+
+    private static final String OWNER_EMAIL = "owner@gmail.com";
+    private static final String ACTIVATION_TOKEN = "activation-token";
+
+    @Autowired
+    private PetServiceImpl petService;
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @Autowired
+    private AuthServiceImpl authService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReferenceCatalog referenceCatalog;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @MockitoBean
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @MockitoBean
+    private PrincipalCache principalCache;
+
+    @MockitoBean
+    private RefreshTokenService refreshTokenService;
+
+    @MockitoBean
+    private PasswordHashingService passwordHashingService;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
+    @MockitoBean
+    private ActivationEmailSender activationEmailSender;
+
+    @Autowired
+    private OwnerOnboardingServiceImpl ownerOnboardingService;
+
+    private Statistics statistics;
+    private Long ownerId;
+    private Long petId;
+    private Long specieId;
+    private Long breedId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transactionTemplate.executeWithoutResult(status -> {
+            Specie dog = entityManager.persist(new Specie(null, "Perro", null));
+            Breed labrador = entityManager.persist(new Breed(null, "Labrador", dog, "1"));
+            UserRole userRole = entityManager.persist(new UserRole(null, Role.USER));
+            User owner = entityManager.persist(User.builder()
+                    .name("Juan")
+                    .surnames("Perez")
+                    .email(OWNER_EMAIL)
+                    .password("hash")
+                    .enabled(false)
+                    .userRole(userRole)
+                    .build());
+            Pet pet = entityManager.persist(Pet.builder()
+                    .name("Toby")
+                    .birthDate(Date.valueOf("2020-05-15"))
+                    .weight(10.0)
+                    .user(owner)
+                    .specie(dog)
+                    .breed(labrador)
+                    .build());
+            entityManager.persist(ConfirmationToken.builder()
+                    .token(ACTIVATION_TOKEN)
+                    .createdAt(LocalDateTime.now())
+                    .expiresAt(LocalDateTime.now().plusHours(24))
+                    .user(owner)
+                    .build());
+            entityManager.flush();
+            specieId = dog.getId();
+            breedId = labrador.getId();
+            ownerId = owner.getId();
+            petId = pet.getId();
+        });
+        referenceCatalog.reload();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String table : new String[] { "confirmation_tokens", "pets", "users", "roles", "breeds", "species" }) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+        // Los DELETE por JDBC no pasan por Hibernate: vaciar la caché de segundo nivel
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void testSavePet_shouldRunInSingleTransaction() {
+        // Arrange
+        PetInDTO petInDTO = new PetInDTO();
+        petInDTO.setName("Luna");
+        petInDTO.setBirthDate(Date.valueOf("2021-01-10"));
+        petInDTO.setWeight(5.0);
+        petInDTO.setSpecieId(specieId);
+        petInDTO.setBreedId(breedId);
+        petInDTO.setEmail(OWNER_EMAIL);
+
+        // Act
+        PetOutDTO pet = petService.save(petInDTO);
+
+        // Assert
+        assertEquals("Perro", pet.getSpecie().getName());
+        assertEquals(1, statistics.getTransactionCount());
+    }
+
+    @Test
+    void testUpdatePet_shouldRunConditionalUpdateWithoutLoadingEntities() {
+        // Arrange
+        PetUpdateDTO petUpdateDTO = new PetUpdateDTO();
+        petUpdateDTO.setWeight(12.5);
+        petUpdateDTO.setVersion(0L);
+
+        // Act
+        PetOutDTO pet = petService.updatePet(petId, petUpdateDTO, OWNER_EMAIL);
+
+        // Assert
+        assertEquals(12.5, pet.getWeight());
+        assertEquals(1L, pet.getVersion());
+        assertEquals(1, statistics.getTransactionCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testUpdatePet_whenVersionIsStale_shouldThrowConflictAndKeepRow() {
+        // Arrange
+        PetUpdateDTO first = new PetUpdateDTO();
+        first.setName("Rocky");
+        first.setVersion(0L);
+        petService.updatePet(petId, first, OWNER_EMAIL);
+        PetUpdateDTO stale = new PetUpdateDTO();
+        stale.setName("Toby");
+        stale.setVersion(0L);
+
+        // Act & Assert
+        assertThrows(VersionConflictException.class, () -> petService.updatePet(petId, stale, OWNER_EMAIL));
+        assertEquals("Rocky", jdbcTemplate.queryForObject("SELECT name FROM pets WHERE id = ?", String.class, petId));
+    }
+
+    @Test
+    void testDeletePet_shouldSoftDeleteAndBumpVersion() {
+        // Act
+        petService.delete(petId);
+
+        // Assert
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pets WHERE id = ? AND deleted_at IS NOT NULL AND version = 1", Integer.class,
+                petId));
+        assertEquals(1, statistics.getTransactionCount());
+    }
+
+    @Test
+    void testCatalogChanged_shouldSwapSnapshotOnlyAfterCommit() {
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.persist(new Breed(null, "Beagle", entityManager.find(Specie.class, specieId), "2"));
+            eventPublisher.publishEvent(new CatalogChangedEvent("test"));
+            assertEquals(1, referenceCatalog.getBreeds().size());
+        });
+        statistics.clear();
+
+        // Assert
+        assertEquals(2, referenceCatalog.getBreedsBySpecie(specieId).size());
+        assertEquals("Beagle", referenceCatalog.findBreedByName(" beagle ").orElseThrow().name());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetUserById_whenCalledOutsideTransaction_shouldMapLazyRole() {
+        // Act
+        UserOutDTO user = userService.getById(ownerId);
+
+        // Assert
+        assertEquals(Role.USER, user.getRole());
+        assertEquals(1, statistics.getTransactionCount());
+        assertEquals(0, statistics.getEntityUpdateCount());
+    }
+
+    @Test
+    void testUpdateUser_shouldRunInSingleTransaction() {
+        // Arrange
+        UserUpdateDTO userUpdateDTO = new UserUpdateDTO();
+        userUpdateDTO.setName("Juan Carlos");
+        userUpdateDTO.setVersion(0L);
+
+        // Act
+        UserOutDTO user = userService.updateUser(ownerId, userUpdateDTO, OWNER_EMAIL);
+
+        // Assert
+        assertEquals("Juan Carlos", user.getName());
+        assertEquals(1L, user.getVersion());
+        assertEquals(1, statistics.getTransactionCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testDeleteUser_shouldSoftDeletePetsAndTokensWithFixedNumberOfStatements() {
+        // Arrange
+        for (int i = 0; i < 50; i++) {
+            jdbcTemplate.update("INSERT INTO pets (name, birth_date, weight, user_id, specie_id, breed_id, version, "
+                    + "created_at, modified_at) VALUES (?, '2020-01-01', 5.0, ?, ?, ?, 0, NOW(), NOW())",
+                    "Pet " + i, ownerId, specieId, breedId);
+        }
+
+        // Act
+        userService.delete(ownerId);
+
+        // Assert
+        verify(tokenVersionRegistry).revoke(eq(ownerId), anyInt());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pets WHERE user_id = ? AND deleted_at IS NULL", Integer.class, ownerId));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM confirmation_tokens WHERE deleted_at IS NULL", Integer.class));
+        assertEquals(1, statistics.getTransactionCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        // Usuario, mascotas, tokens de confirmación y versión de tokens (UPDATE + SELECT)
+        assertEquals(5, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testOnboardOwners_shouldInsertUsersAndActivationTokensInOneWriteTransaction() {
+        // Arrange
+        List<OwnerCreationRequestDTO> owners = List.of(
+                new OwnerCreationRequestDTO("Ana", "López", "ana@gmail.com", "600111222", "11111111A", Role.USER),
+                new OwnerCreationRequestDTO("Luis", "Gil", "luis@gmail.com", "600333444", "22222222B", Role.USER),
+                new OwnerCreationRequestDTO("Otro", "Juan", OWNER_EMAIL, "600555666", "33333333C", Role.USER));
+        ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+
+        // Act
+        OwnerOnboardingOutDTO result = ownerOnboardingService.onboard(owners);
+
+        // Assert
+        assertEquals(2, result.getCreated());
+        assertEquals(3, result.getErrors().get(0).getRow());
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM confirmation_tokens", Integer.class));
+        // Lectura de roles + lote de inserciones
+        assertEquals(2, statistics.getTransactionCount());
+
+        // Verify
+        verify(activationEmailSender).send(eq("ana@gmail.com"), token.capture());
+        verify(passwordHashingService, never()).encode(anyString());
+        when(passwordHashingService.encode(anyString())).thenReturn("new-hash");
+        UserOutDTO activated = authService.activateAccount(
+                new ActivateAccountRequestDTO(token.getValue(), "password123", "password123"));
+        assertEquals("ana@gmail.com", activated.getEmail());
+    }
+
+    @Test
+    void testActivateAccount_whenCalledOutsideTransaction_shouldActivateUser() {
+        // Arrange
+        when(passwordHashingService.encode(anyString())).thenReturn("new-hash");
+
+        // Act
+        UserOutDTO user = authService.activateAccount(
+                new ActivateAccountRequestDTO(ACTIVATION_TOKEN, "password123", "password123"));
+
+        // Assert
+        assertEquals(Role.USER, user.getRole());
+        assertTrue(jdbcTemplate.queryForObject("SELECT enabled FROM users WHERE id = ?", Boolean.class, ownerId));
+        assertEquals(1, statistics.getTransactionCount());
+    }
+}
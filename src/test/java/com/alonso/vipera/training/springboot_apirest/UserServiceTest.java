@@ -2,12 +2,15 @@ package com.alonso.vipera.training.springboot_apirest;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -17,20 +20,36 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import com.alonso.vipera.training.springboot_apirest.exception.EmailNotFoundException;
 import com.alonso.vipera.training.springboot_apirest.exception.IdNotFoundException;
+import com.alonso.vipera.training.springboot_apirest.exception.VersionConflictException;
+import com.alonso.vipera.training.springboot_apirest.exception.VersionRequiredException;
 import com.alonso.vipera.training.springboot_apirest.mapper.UserMapper;
+import com.alonso.vipera.training.springboot_apirest.model.CursorPage;
+import com.alonso.vipera.training.springboot_apirest.model.user.Role;
 import com.alonso.vipera.training.springboot_apirest.model.user.User;
+import com.alonso.vipera.training.springboot_apirest.model.user.UserRole;
+import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.UserUpdateDTO;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.in.VetRegisterRequestDTO;
 import com.alonso.vipera.training.springboot_apirest.model.user.dto.out.UserOutDTO;
+import com.alonso.vipera.training.springboot_apirest.persistence.adapter.PetRepositoryAdapter;
 import com.alonso.vipera.training.springboot_apirest.persistence.adapter.UserRepositoryAdapter;
+import com.alonso.vipera.training.springboot_apirest.persistence.repository.ConfirmationTokenRepository;
+import com.alonso.vipera.training.springboot_apirest.service.PrincipalCache;
+import com.alonso.vipera.training.springboot_apirest.service.RefreshTokenService;
+import com.alonso.vipera.training.springboot_apirest.service.TokenVersionRegistry;
 import com.alonso.vipera.training.springboot_apirest.service.UserServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -48,9 +67,24 @@ class UserServiceTest {
     @Mock
     private UserRepositoryAdapter userRepositoryAdapter;
 
+    @Mock
+    private PetRepositoryAdapter petRepositoryAdapter;
+
+    @Mock
+    private ConfirmationTokenRepository confirmationTokenRepository;
+
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Spy
+    private PrincipalCache principalCache = new PrincipalCache(100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+
     @InjectMocks
     private UserServiceImpl userServiceImpl;
 
@@ -77,6 +111,7 @@ class UserServiceTest {
         userEntity.setEmail(EMAIL);
         userEntity.setPassword(ENCODED_PASSWORD);
         userEntity.setAddress(ADDRESS);
+        userEntity.setUserRole(new UserRole(1L, Role.VET));
 
         userOutDTO = new UserOutDTO();
         userOutDTO.setId(USER_ID);
@@ -88,12 +123,11 @@ class UserServiceTest {
 
     @Test
     void testGetAllUsers_whenUsersFound_shouldReturnUserPage() {
-        List<User> userList = List.of(userEntity);
-        Page<User> userPage = new PageImpl<>(userList, (org.springframework.data.domain.Pageable) testPageable, userList.size());
+        List<UserOutDTO> userList = List.of(userOutDTO);
+        Page<UserOutDTO> userPage = new PageImpl<>(userList, (org.springframework.data.domain.Pageable) testPageable, userList.size());
 
         // Arrange
         when(userRepositoryAdapter.findAll(testPageable)).thenReturn(userPage);
-        when(userMapper.toOutDTO(userEntity)).thenReturn(userOutDTO);
 
         // Act
         Page<UserOutDTO> users = userServiceImpl.getAll(testPageable);
@@ -104,7 +138,6 @@ class UserServiceTest {
 
         // Verify
         verify(userRepositoryAdapter, times(1)).findAll(testPageable);
-        verify(userMapper, times(1)).toOutDTO(userEntity);
     }
 
     @Test
@@ -123,6 +156,26 @@ class UserServiceTest {
         verify(userRepositoryAdapter, times(1)).findAll(testPageable);
     }
 
+    @Test
+    void testScrollUsers_whenSizeIsMissing_shouldUseDefaultPageSize() {
+        CursorPage<UserOutDTO> userPage = new CursorPage<>(List.of(userOutDTO), CursorPage.DEFAULT_SIZE, false, null);
+
+        // Arrange
+        when(userRepositoryAdapter.scrollByFilters(null, NAME, null, null, Role.USER, "createdAt", null,
+                CursorPage.DEFAULT_SIZE)).thenReturn(userPage);
+
+        // Act
+        CursorPage<UserOutDTO> users = userServiceImpl.scrollUsers(null, NAME, null, null, Role.USER, "createdAt",
+                null, null);
+
+        // Assert
+        assertSame(userPage, users);
+
+        // Verify
+        verify(userRepositoryAdapter, times(1)).scrollByFilters(null, NAME, null, null, Role.USER, "createdAt", null,
+                CursorPage.DEFAULT_SIZE);
+    }
+
     @Test
     void testGetUserById_whenUserFound_shouldReturnUser() {
         // Arrange
@@ -202,6 +255,38 @@ class UserServiceTest {
         verify(userRepositoryAdapter, times(1)).findByEmail(EMAIL);
     }
 
+    @Test
+    void testLoadUserDetails_whenCalledTwice_shouldHitCache() {
+        // Arrange
+        when(userRepositoryAdapter.findByEmail(EMAIL)).thenReturn(Optional.of(userEntity));
+
+        // Act
+        UserDetails first = userServiceImpl.loadUserByUsername(EMAIL);
+        UserDetails second = userServiceImpl.loadUserByUsername(EMAIL);
+
+        // Assert
+        assertSame(first, second);
+
+        // Verify
+        verify(userRepositoryAdapter, times(1)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void testLoadUserDetails_afterDelete_shouldReloadFromRepository() {
+        // Arrange
+        when(userRepositoryAdapter.findByEmail(EMAIL)).thenReturn(Optional.of(userEntity));
+        when(userRepositoryAdapter.delete(USER_ID)).thenReturn(true);
+        userServiceImpl.loadUserByUsername(EMAIL);
+
+        // Act
+        userServiceImpl.delete(USER_ID);
+        userServiceImpl.loadUserByUsername(EMAIL);
+
+        // Verify
+        verify(principalCache, times(1)).invalidateUserId(USER_ID);
+        verify(userRepositoryAdapter, times(2)).findByEmail(EMAIL);
+    }
+
     @Test
     void testLoadUserDetails_whenEmailNotFound_shouldThrowEmailNotFoundException() {
         // Arrange
@@ -215,29 +300,102 @@ class UserServiceTest {
     }
 
     @Test
-    void testDeleteUser_whenUserExists_shouldDeleteUserSuccessfully() {
+    void testDeleteUser_whenUserExists_shouldSoftDeleteUserPetsAndTokensBySet() {
         // Arrange
-        when(userRepositoryAdapter.existsById(USER_ID)).thenReturn(true);
-        doNothing().when(userRepositoryAdapter).delete(USER_ID);
+        when(userRepositoryAdapter.delete(USER_ID)).thenReturn(true);
+        when(userRepositoryAdapter.incrementTokenVersion(USER_ID)).thenReturn(1);
 
         // Act
         userServiceImpl.delete(USER_ID);
 
         // Verify
-        verify(userRepositoryAdapter, times(1)).existsById(USER_ID);
+        verify(userRepositoryAdapter, times(0)).findById(USER_ID);
         verify(userRepositoryAdapter, times(1)).delete(USER_ID);
+        verify(petRepositoryAdapter, times(1)).softDeleteByUserId(USER_ID);
+        verify(confirmationTokenRepository, times(1)).softDeleteByUserId(USER_ID);
+        verify(tokenVersionRegistry, times(1)).revoke(USER_ID, 1);
     }
 
     @Test
     void testDeleteUser_whenIdNotFound_shouldThrowIdNotFoundException() {
         // Arrange
-        when(userRepositoryAdapter.existsById(USER_ID)).thenReturn(false);
+        when(userRepositoryAdapter.delete(USER_ID)).thenReturn(false);
 
         // Act & Assert
         assertThrows(IdNotFoundException.class, () -> userServiceImpl.delete(USER_ID));
 
         // Verify
-        verify(userRepositoryAdapter, times(1)).existsById(USER_ID);
-        verify(userRepositoryAdapter, times(0)).delete(USER_ID);
+        verify(petRepositoryAdapter, times(0)).softDeleteByUserId(USER_ID);
+        verify(userRepositoryAdapter, times(0)).incrementTokenVersion(USER_ID);
+    }
+
+    @Test
+    void testUpdateUser_whenEmailChanges_shouldRevokeTokensWithoutLoadingUser() {
+        // Arrange
+        UserUpdateDTO userUpdateDTO = new UserUpdateDTO(null, null, null, "nuevo@gmail.com", null, 2L);
+        when(userRepositoryAdapter.updateIfRequester(USER_ID, EMAIL, 2L, null, null, null, "nuevo@gmail.com", null))
+                .thenReturn(true);
+        when(userRepositoryAdapter.incrementTokenVersion(USER_ID)).thenReturn(1);
+        when(userRepositoryAdapter.findOutDTOById(USER_ID)).thenReturn(Optional.of(userOutDTO));
+
+        // Act
+        UserOutDTO result = userServiceImpl.updateUser(USER_ID, userUpdateDTO, EMAIL);
+
+        // Assert
+        assertSame(userOutDTO, result);
+
+        // Verify
+        verify(userRepositoryAdapter, times(0)).findById(USER_ID);
+        verify(tokenVersionRegistry, times(1)).revoke(USER_ID, 1);
+        verify(refreshTokenService, times(1)).revokeAll(USER_ID);
+    }
+
+    @Test
+    void testDelete_whenTransactionRollsBack_shouldNotPublishTokenVersion() {
+        // Arrange
+        when(userRepositoryAdapter.delete(USER_ID)).thenReturn(true);
+        when(userRepositoryAdapter.incrementTokenVersion(USER_ID)).thenReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            // Act
+            userServiceImpl.delete(USER_ID);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(
+                            TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Verify
+        verify(tokenVersionRegistry, never()).revoke(USER_ID, 1);
+    }
+
+    @Test
+    void testUpdateUser_whenVersionIsStale_shouldThrowVersionConflictException() {
+        // Arrange
+        UserUpdateDTO userUpdateDTO = new UserUpdateDTO(NAME, null, null, null, null, 0L);
+        when(userRepositoryAdapter.updateIfRequester(USER_ID, EMAIL, 0L, NAME, null, null, null, null))
+                .thenReturn(false);
+        when(userRepositoryAdapter.findEmailById(USER_ID)).thenReturn(Optional.of(EMAIL));
+
+        // Act & Assert
+        assertThrows(VersionConflictException.class, () -> userServiceImpl.updateUser(USER_ID, userUpdateDTO, EMAIL));
+
+        // Verify
+        verify(userRepositoryAdapter, times(0)).incrementTokenVersion(USER_ID);
+    }
+
+    @Test
+    void testUpdateUser_whenVersionIsMissing_shouldThrowVersionRequiredException() {
+        // Arrange
+        UserUpdateDTO userUpdateDTO = new UserUpdateDTO(NAME, null, null, null, null, null);
+
+        // Act & Assert
+        assertThrows(VersionRequiredException.class, () -> userServiceImpl.updateUser(USER_ID, userUpdateDTO, EMAIL));
+
+        // Verify
+        verify(userRepositoryAdapter, times(0)).updateIfRequester(any(), any(), any(), any(), any(), any(), any(),
+                any());
     }
-}
\ No newline at end of file
+}
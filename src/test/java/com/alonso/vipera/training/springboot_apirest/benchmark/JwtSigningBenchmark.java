@@ -0,0 +1,95 @@
+package com.alonso.vipera.training.springboot_apirest.benchmark;
+
+import java.security.KeyPair;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.alonso.vipera.training.springboot_apirest.model.user.VerifiedJwt;
+import com.alonso.vipera.training.springboot_apirest.service.JwtService;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Comparativa JMH del coste de firmar y verificar tokens con cada algoritmo
+ * soportado por el conjunto de claves (HS256 y ES256).
+ *
+ * Ejecución:
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.alonso.vipera.training.springboot_apirest.benchmark.JwtSigningBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtSigningBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+    @Param({ "HS256", "ES256" })
+    private String algorithm;
+
+    private JwtService jwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "SECRET_KEY", SECRET);
+        ReflectionTestUtils.setField(jwtService, "EXPIRATION_TIME", 3_600_000L);
+        if ("ES256".equals(algorithm)) {
+            KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+            ReflectionTestUtils.setField(jwtService, "EC_KEYS", "ec-bench="
+                    + Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()) + ":"
+                    + Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+            ReflectionTestUtils.setField(jwtService, "ACTIVE_KID", "ec-bench");
+        }
+        userDetails = new User("bench@vipera.com", "", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        token = jwtService.generateToken(userDetails);
+    }
+
+    /**
+     * Firma de un token nuevo (login y refresh).
+     */
+    @Benchmark
+    public String sign() {
+        return jwtService.generateToken(userDetails);
+    }
+
+    /**
+     * Verificación de un token (cada petición autenticada).
+     */
+    @Benchmark
+    public VerifiedJwt verify() {
+        return jwtService.verify(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtSigningBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
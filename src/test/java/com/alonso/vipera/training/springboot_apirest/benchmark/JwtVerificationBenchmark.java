@@ -0,0 +1,98 @@
+package com.alonso.vipera.training.springboot_apirest.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.alonso.vipera.training.springboot_apirest.model.user.VerifiedJwt;
+import com.alonso.vipera.training.springboot_apirest.service.JwtService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Comparativa JMH entre la verificación de JWT anterior (tres parseos por
+ * petición, construyendo parser y clave en cada uno) y la verificación de un
+ * único parseo con parser y clave precalculados.
+ *
+ * Ejecución:
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.alonso.vipera.training.springboot_apirest.benchmark.JwtVerificationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private JwtService jwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "SECRET_KEY", SECRET);
+        ReflectionTestUtils.setField(jwtService, "EXPIRATION_TIME", 3_600_000L);
+        userDetails = new User("bench@vipera.com", "", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        token = jwtService.generateToken(userDetails);
+    }
+
+    /**
+     * Ruta anterior del JwtFilter: extractUsername + isTokenValid (que vuelve a
+     * extraer el username y la expiración).
+     */
+    @Benchmark
+    public boolean legacyTripleParse() {
+        String username = legacyExtractClaim(token, Claims::getSubject);
+        return username.equals(legacyExtractClaim(token, Claims::getSubject))
+                && !legacyExtractClaim(token, Claims::getExpiration).before(new Date());
+    }
+
+    /**
+     * Ruta actual: un único parseo con parser reutilizado.
+     */
+    @Benchmark
+    public boolean singleParse() {
+        VerifiedJwt verifiedJwt = jwtService.verify(token);
+        return jwtService.isTokenValid(verifiedJwt, userDetails);
+    }
+
+    private static <T> T legacyExtractClaim(String token, Function<Claims, T> resolver) {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        return resolver.apply(claims);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}